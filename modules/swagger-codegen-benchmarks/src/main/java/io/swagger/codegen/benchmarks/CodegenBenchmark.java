@@ -0,0 +1,102 @@
+package io.swagger.codegen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.codegen.InlineModelResolver;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.Property;
+
+/**
+ * Conversion of all models, properties and operations of a spec to their codegen counterparts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodegenBenchmark {
+
+    @Param({"java", "spring", "python", "typescript-angular", "go"})
+    public String language;
+
+    @Param({"petstore", "wordnik", "synthetic-1000"})
+    public String spec;
+
+    private Swagger swagger;
+    private DefaultCodegen config;
+    private List<String> paths;
+    private List<HttpMethod> methods;
+    private List<Operation> operations;
+
+    @Setup
+    public void setUp() {
+        swagger = Specs.parse(spec);
+        new InlineModelResolver().flatten(swagger);
+        // all generators extend DefaultCodegen, which has fromProperty
+        config = (DefaultCodegen) CodegenConfigLoader.forName(language);
+        config.processOpts();
+        config.preprocessSwagger(swagger);
+
+        paths = new ArrayList<String>();
+        methods = new ArrayList<HttpMethod>();
+        operations = new ArrayList<Operation>();
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                paths.add(path.getKey());
+                methods.add(operation.getKey());
+                operations.add(operation.getValue());
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromModel(Blackhole blackhole) {
+        Map<String, Model> definitions = swagger.getDefinitions();
+        for (Map.Entry<String, Model> definition : definitions.entrySet()) {
+            blackhole.consume(config.fromModel(definition.getKey(), definition.getValue(), definitions));
+        }
+    }
+
+    @Benchmark
+    public void fromProperty(Blackhole blackhole) {
+        for (Model model : swagger.getDefinitions().values()) {
+            if (model.getProperties() == null) {
+                continue;
+            }
+            for (Map.Entry<String, Property> property : model.getProperties().entrySet()) {
+                blackhole.consume(config.fromProperty(property.getKey(), property.getValue()));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fromOperation(Blackhole blackhole) {
+        for (int i = 0; i < operations.size(); i++) {
+            blackhole.consume(config.fromOperation(paths.get(i), methods.get(i).name().toLowerCase(),
+                    operations.get(i), swagger.getDefinitions(), swagger));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package io.swagger.codegen.benchmarks;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.CodegenConfigLoader;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.output.InMemoryOutput;
+
+/**
+ * A complete {@link DefaultGenerator#generate()} run. The files are kept in memory, so that disk
+ * performance doesn't affect the results.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class GeneratorBenchmark {
+
+    @Param({"java", "spring", "python", "typescript-angular", "go"})
+    public String language;
+
+    @Param({"petstore", "wordnik", "synthetic-1000"})
+    public String spec;
+
+    private DefaultGenerator generator;
+
+    // generation takes milliseconds at least, so a fresh spec and config can be set up per invocation
+    @Setup(Level.Invocation)
+    public void setUp() {
+        File outputFolder = new File(System.getProperty("java.io.tmpdir"), "swagger-codegen-benchmarks" + File.separator + language);
+        CodegenConfig config = CodegenConfigLoader.forName(language);
+        config.setOutputDir(outputFolder.getAbsolutePath());
+
+        ClientOptInput input = new ClientOptInput().opts(new ClientOpts()).swagger(Specs.parse(spec)).config(config);
+        generator = new DefaultGenerator();
+        generator.setOutput(new InMemoryOutput(outputFolder));
+        generator.opts(input);
+    }
+
+    @Benchmark
+    public List<File> generate() {
+        return generator.generate();
+    }
+}
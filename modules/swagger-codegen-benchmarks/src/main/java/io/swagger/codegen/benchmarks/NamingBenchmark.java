@@ -0,0 +1,98 @@
+package io.swagger.codegen.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.swagger.codegen.DefaultCodegen;
+import io.swagger.models.Model;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.Parameter;
+
+/**
+ * Name conversions of {@link DefaultCodegen}, applied to all model, property, operation and
+ * parameter names of a spec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamingBenchmark {
+
+    @Param({"petstore", "wordnik", "synthetic-1000"})
+    public String spec;
+
+    private List<String> names;
+    private DefaultCodegen codegen;
+
+    @Setup
+    public void setUp() {
+        Swagger swagger = Specs.parse(spec);
+        names = new ArrayList<String>();
+        if (swagger.getDefinitions() != null) {
+            for (Map.Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+                names.add(definition.getKey());
+                if (definition.getValue().getProperties() != null) {
+                    names.addAll(definition.getValue().getProperties().keySet());
+                }
+            }
+        }
+        for (Path path : swagger.getPaths().values()) {
+            for (Operation operation : path.getOperations()) {
+                if (operation.getOperationId() != null) {
+                    names.add(operation.getOperationId());
+                }
+                for (Parameter parameter : operation.getParameters()) {
+                    names.add(parameter.getName());
+                }
+            }
+        }
+        codegen = new DefaultCodegen();
+    }
+
+    @Benchmark
+    public void camelize(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.camelize(name));
+        }
+    }
+
+    @Benchmark
+    public void camelizeLowercaseFirstLetter(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.camelize(name, true));
+        }
+    }
+
+    @Benchmark
+    public void underscore(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(DefaultCodegen.underscore(name));
+        }
+    }
+
+    @Benchmark
+    public void sanitizeName(Blackhole blackhole) {
+        for (String name : names) {
+            blackhole.consume(codegen.sanitizeName(name));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.swagger.codegen.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.commons.io.IOUtils;
+
+import io.swagger.models.Info;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Response;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.PathParameter;
+import io.swagger.models.parameters.QueryParameter;
+import io.swagger.models.properties.ArrayProperty;
+import io.swagger.models.properties.DateTimeProperty;
+import io.swagger.models.properties.LongProperty;
+import io.swagger.models.properties.RefProperty;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Specs to run the benchmarks with:
+ * <ul>
+ * <li>{@code petstore} and {@code wordnik}: the specs of the codegen unit tests</li>
+ * <li>{@code synthetic-<n>}: a generated spec with {@code n} models and {@code 2n} operations,
+ * e.g. {@code synthetic-2000}</li>
+ * </ul>
+ */
+public final class Specs {
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+    private static final int SYNTHETIC_TAGS = 50;
+    private static final int SYNTHETIC_GROUP_SIZE = 10;
+
+    private static final Map<String, String> CONTENTS = new ConcurrentHashMap<String, String>();
+
+    private Specs() {
+    }
+
+    /**
+     * Parses a fresh copy of the named spec, as generators modify the spec they process.
+     *
+     * @param name spec name
+     * @return parsed spec
+     */
+    public static Swagger parse(String name) {
+        Swagger swagger = new SwaggerParser().parse(contents(name));
+        if (swagger == null) {
+            throw new IllegalArgumentException("Invalid spec " + name);
+        }
+        return swagger;
+    }
+
+    /**
+     * @param name spec name
+     * @return source of the named spec, JSON or YAML
+     */
+    public static String contents(String name) {
+        String contents = CONTENTS.get(name);
+        if (contents == null) {
+            contents = load(name);
+            CONTENTS.put(name, contents);
+        }
+        return contents;
+    }
+
+    private static String load(String name) {
+        if (name.startsWith(SYNTHETIC_PREFIX)) {
+            try {
+                return Json.mapper().writeValueAsString(synthetic(Integer.parseInt(name.substring(SYNTHETIC_PREFIX.length()))));
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not serialize spec " + name, e);
+            }
+        }
+        for (String resource : Arrays.asList("/specs/" + name + ".yaml", "/specs/" + name + ".json")) {
+            InputStream in = Specs.class.getResourceAsStream(resource);
+            if (in != null) {
+                try {
+                    return IOUtils.toString(in, UTF_8);
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not read spec " + name, e);
+                } finally {
+                    IOUtils.closeQuietly(in);
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown spec " + name);
+    }
+
+    /**
+     * Builds a spec with the given number of models, each with a get and a create operation.
+     * Models refer to other models within groups of ten, and operations are spread over a fixed
+     * number of tags.
+     */
+    static Swagger synthetic(int models) {
+        Swagger swagger = new Swagger()
+                .info(new Info().title("Synthetic").version("1.0.0").description("Synthetic spec with " + models + " models"))
+                .host("synthetic.example.com")
+                .basePath("/v1");
+        for (int i = 0; i < models; i++) {
+            String name = "Resource" + i;
+            ModelImpl model = new ModelImpl();
+            model.setType("object");
+            model.setDescription("Synthetic resource number " + i);
+            model.property("id", new LongProperty());
+            model.property("name", new StringProperty().description("Name of the resource"));
+            model.property("createdAt", new DateTimeProperty());
+            model.property("labels", new ArrayProperty(new StringProperty()));
+            model.property("status", new StringProperty()._enum(Arrays.asList("active", "inactive", "deleted")));
+            // refer to the first model of each group, nesting refs deeper makes examples grow exponentially
+            int head = i - i % SYNTHETIC_GROUP_SIZE;
+            if (i != head) {
+                model.property("parent", new RefProperty("Resource" + head));
+                model.property("siblings", new ArrayProperty(new RefProperty("Resource" + head)));
+            }
+            model.setRequired(Arrays.asList("id", "name"));
+            swagger.addDefinition(name, model);
+
+            String tag = "tag" + (i % SYNTHETIC_TAGS);
+            Response found = new Response().description("the resource").schema(new RefProperty(name));
+            Operation get = new Operation()
+                    .tag(tag)
+                    .operationId("get" + name)
+                    .summary("Get a " + name)
+                    .parameter(new PathParameter().name("id").type("integer").format("int64"))
+                    .parameter(new QueryParameter().name("fields").type("string"))
+                    .produces("application/json")
+                    .response(200, found)
+                    .response(404, new Response().description("not found"));
+            Operation create = new Operation()
+                    .tag(tag)
+                    .operationId("create" + name)
+                    .summary("Create a " + name)
+                    .parameter(new BodyParameter().name("body").schema(new RefModel(name)))
+                    .consumes("application/json")
+                    .produces("application/json")
+                    .response(201, found);
+            swagger.path("/resources" + i + "/{id}", new Path().get(get));
+            swagger.path("/resources" + i, new Path().post(create));
+        }
+        return swagger;
+    }
+}
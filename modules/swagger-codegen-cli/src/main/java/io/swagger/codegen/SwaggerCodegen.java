@@ -2,7 +2,10 @@ package io.swagger.codegen;
 
 import io.airlift.airline.Cli;
 import io.airlift.airline.Help;
+import io.swagger.codegen.cmd.Batch;
+import io.swagger.codegen.cmd.Client;
 import io.swagger.codegen.cmd.ConfigHelp;
+import io.swagger.codegen.cmd.Daemon;
 import io.swagger.codegen.cmd.Generate;
 import io.swagger.codegen.cmd.Langs;
 import io.swagger.codegen.cmd.Meta;
@@ -30,7 +33,7 @@ public class SwaggerCodegen {
                                         version))
                         .withDefaultCommand(Langs.class)
                         .withCommands(Generate.class, Meta.class, Langs.class, Help.class,
-                                ConfigHelp.class, Validate.class, Version.class);
+                                ConfigHelp.class, Validate.class, Version.class, Batch.class, Daemon.class, Client.class);
 
         builder.build().parse(args).run();
     }
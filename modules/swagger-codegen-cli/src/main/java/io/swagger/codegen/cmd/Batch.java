@@ -0,0 +1,97 @@
+package io.swagger.codegen.cmd;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import io.swagger.codegen.BatchGenerator;
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates code for all entries of a manifest, a YAML or JSON list of generations (or an object
+ * with such a list as "jobs"). Entries have the same format as the configuration file of the
+ * generate command (inputSpec, lang, outputDir, additionalProperties, language options, ...) and
+ * may refer to such a file as "configFile", whose settings they override:
+ * <pre>
+ * - inputSpec: petstore.yaml
+ *   lang: java
+ *   outputDir: clients/java
+ *   configFile: java-config.json
+ * - inputSpec: petstore.yaml
+ *   lang: python
+ *   outputDir: clients/python
+ * </pre>
+ */
+@Command(name = "batch", description = "Generate code for several specs and languages listed in a manifest")
+public class Batch implements Runnable {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Batch.class);
+
+    private static final String CONFIG_FILE = "configFile";
+
+    @Option(name = {"-m", "--manifest"}, title = "manifest file", required = true,
+            description = "YAML or JSON list of generations, each with inputSpec, lang, outputDir and the options "
+                    + "of a configuration file, or a configFile to read them from (required)")
+    private String manifest;
+
+    @Option(name = {"--threads"}, title = "threads",
+            description = "maximum number of generations running at the same time (number of processors by default)")
+    private Integer threads;
+
+    @Override
+    public void run() {
+        List<CodegenConfigurator> configurators = readManifest(new File(manifest));
+        int poolSize = threads != null ? threads : Runtime.getRuntime().availableProcessors();
+        long start = System.nanoTime();
+        List<File> files = new BatchGenerator(poolSize).generate(configurators);
+        LOG.info("Generated " + files.size() + " files in " + configurators.size() + " generations in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    static List<CodegenConfigurator> readManifest(File manifest) {
+        JsonNode root;
+        try {
+            // YAML is a superset of JSON
+            root = Yaml.mapper().readTree(manifest);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read manifest " + manifest, e);
+        }
+        JsonNode jobs = root != null && root.isObject() ? root.get("jobs") : root;
+        if (jobs == null || !jobs.isArray()) {
+            throw new RuntimeException("Manifest " + manifest + " must be a list of generations");
+        }
+        List<CodegenConfigurator> configurators = new ArrayList<CodegenConfigurator>();
+        for (JsonNode job : jobs) {
+            if (!job.isObject()) {
+                throw new RuntimeException("Invalid generation in manifest " + manifest + ": " + job);
+            }
+            ObjectNode settings = ((ObjectNode) job).deepCopy();
+            CodegenConfigurator configurator = null;
+            JsonNode configFile = settings.remove(CONFIG_FILE);
+            if (configFile != null) {
+                configurator = CodegenConfigurator.fromFile(configFile.asText());
+                if (configurator == null) {
+                    throw new RuntimeException("Could not read configuration file " + configFile.asText());
+                }
+            }
+            if (configurator == null) {
+                configurator = new CodegenConfigurator();
+            }
+            try {
+                configurators.add(Json.mapper().readerForUpdating(configurator).<CodegenConfigurator>readValue(settings));
+            } catch (IOException e) {
+                throw new RuntimeException("Invalid generation in manifest " + manifest + ": " + job, e);
+            }
+        }
+        return configurators;
+    }
+}
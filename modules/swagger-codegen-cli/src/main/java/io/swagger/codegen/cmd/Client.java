@@ -0,0 +1,87 @@
+package io.swagger.codegen.cmd;
+
+import io.airlift.airline.Arguments;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Sends a command to a running {@link Daemon}, e.g.
+ * {@code client -- generate -i petstore.yaml -l java -o out}, or {@code client stop} to stop it.
+ * The token of the daemon is read from its token file (see {@link Daemon#tokenFile(String, int)}).
+ */
+@Command(name = "client", description = "Run a generate or batch command in a running daemon: client [-p port | --port-file file] -- generate <options>, or client stop")
+public class Client implements Runnable {
+
+    // options whose values are files, resolved here since the daemon runs in another directory
+    private static final Set<String> PATH_OPTIONS = new HashSet<String>(Arrays.asList(
+            "-i", "--input-spec", "-o", "--output", "-t", "--template-dir", "-c", "--config",
+            "--ignore-file-override", "--metrics-json", "-m", "--manifest", "--spec-cache-dir"));
+
+    @Option(name = {"-p", "--port"}, title = "port",
+            description = "port the daemon listens on (7681 by default, or read from the port file)")
+    private Integer port;
+
+    @Option(name = {"--port-file"}, title = "port file",
+            description = "port file the daemon was started with, to read its port and token from")
+    private String portFile;
+
+    @Arguments(title = "command", description = "command to run in the daemon, with its options")
+    private List<String> command = new ArrayList<>();
+
+    @Override
+    public void run() {
+        if (command.isEmpty()) {
+            throw new IllegalArgumentException("No command given, e.g. client -- generate -i petstore.yaml -l java");
+        }
+        int daemonPort = port != null ? port : Daemon.DEFAULT_PORT;
+        try {
+            if (port == null && portFile != null) {
+                daemonPort = Integer.parseInt(FileUtils.readFileToString(new File(portFile), StandardCharsets.UTF_8).trim());
+            }
+        } catch (IOException | NumberFormatException e) {
+            throw new RuntimeException("Could not read the port of the daemon from " + portFile, e);
+        }
+        File tokenFile = Daemon.tokenFile(portFile, daemonPort);
+        String token;
+        try {
+            token = FileUtils.readFileToString(tokenFile, StandardCharsets.US_ASCII).trim();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read the token of the daemon from " + tokenFile
+                    + ", is a daemon running as this user" + (portFile == null ? "" : " with this port file") + "?", e);
+        }
+        Daemon.send(daemonPort, token, resolvePaths(command));
+    }
+
+    static String[] resolvePaths(List<String> args) {
+        String[] resolved = args.toArray(new String[args.size()]);
+        for (int i = 0; i < resolved.length; i++) {
+            String arg = resolved[i];
+            int equals = arg.indexOf('=');
+            if (equals > 0 && arg.startsWith("--") && PATH_OPTIONS.contains(arg.substring(0, equals))) {
+                resolved[i] = arg.substring(0, equals + 1) + resolvePath(arg.substring(equals + 1));
+            } else if (PATH_OPTIONS.contains(arg) && i + 1 < resolved.length) {
+                resolved[i + 1] = resolvePath(resolved[i + 1]);
+                i++;
+            }
+        }
+        return resolved;
+    }
+
+    private static String resolvePath(String path) {
+        if (path.isEmpty() || path.contains("://")) {
+            // URLs of specs
+            return path;
+        }
+        return new File(path).getAbsolutePath();
+    }
+}
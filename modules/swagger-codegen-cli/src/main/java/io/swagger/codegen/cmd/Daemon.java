@@ -0,0 +1,279 @@
+package io.swagger.codegen.cmd;
+
+import com.google.common.io.BaseEncoding;
+import io.airlift.airline.Cli;
+import io.airlift.airline.Command;
+import io.airlift.airline.Option;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Keeps a generator JVM running and serves generate and batch commands sent by {@link Client} over
+ * a socket bound to the loopback interface, so that repeated generation doesn't pay for JVM
+ * startup, the lookup of the language configs and the compilation of the templates every time.
+ * <p>
+ * Connections are served in their own threads, so a client which doesn't send its command doesn't
+ * hold up the others, but commands run one after the other; each one may still use several
+ * generator threads. Their output goes to the log of the daemon.
+ * <p>
+ * Commands can write files wherever the user running the daemon can, so clients must send a
+ * random token which the daemon writes to a file only that user can read: next to the port file
+ * if there is one, or else in {@code ~/.swagger-codegen}. Connections without it are rejected.
+ */
+@Command(name = "daemon", description = "Keep a generator running to serve generate and batch commands sent with the client command")
+public class Daemon implements Runnable {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Daemon.class);
+
+    public static final int DEFAULT_PORT = 7681;
+
+    static final String STOP = "stop";
+
+    // clients send their command right after connecting
+    static final int REQUEST_TIMEOUT_MILLIS = 30000;
+
+    @Option(name = {"-p", "--port"}, title = "port",
+            description = "local port to listen on (7681 by default, 0 for any free port)")
+    private Integer port;
+
+    @Option(name = {"--port-file"}, title = "port file",
+            description = "file to write the port listened on to, once the daemon accepts commands. "
+                    + "The token clients must send is written next to it, to <port file>.token")
+    private String portFile;
+
+    // commands set system properties, which are global
+    private final Object commandLock = new Object();
+    private volatile boolean stopped;
+
+    @Override
+    public void run() {
+        final ServerSocket server;
+        try {
+            server = new ServerSocket(port == null ? DEFAULT_PORT : port, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new RuntimeException("Could not listen on port " + (port == null ? DEFAULT_PORT : port), e);
+        }
+        File tokenFile = tokenFile(portFile, server.getLocalPort());
+        ExecutorService connections = Executors.newCachedThreadPool(new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "daemon-connection-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            byte[] random = new byte[32];
+            new SecureRandom().nextBytes(random);
+            final String token = BaseEncoding.base16().lowerCase().encode(random);
+            writeToken(tokenFile, token);
+            if (portFile != null) {
+                FileUtils.writeStringToFile(new File(portFile), String.valueOf(server.getLocalPort()), StandardCharsets.UTF_8);
+            }
+            LOG.info("Listening on port " + server.getLocalPort() + ", token in " + tokenFile);
+            while (!stopped) {
+                final Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketException e) {
+                    if (stopped) {
+                        // closed by the stop command
+                        break;
+                    }
+                    throw e;
+                }
+                connections.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        handle(socket, token, server);
+                    }
+                });
+            }
+            synchronized (commandLock) {
+                // the running command is complete, later ones are rejected
+            }
+            LOG.info("Stopped");
+        } catch (IOException e) {
+            throw new RuntimeException("Could not accept commands", e);
+        } finally {
+            connections.shutdownNow();
+            FileUtils.deleteQuietly(tokenFile);
+            try {
+                server.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close server socket", e);
+            }
+        }
+    }
+
+    /**
+     * @param portFile port file of the daemon, may be null
+     * @param port port the daemon listens on
+     * @return file the token of the daemon is written to
+     */
+    static File tokenFile(String portFile, int port) {
+        if (portFile != null) {
+            return new File(portFile + ".token");
+        }
+        return new File(System.getProperty("user.home"), ".swagger-codegen/daemon-" + port + ".token");
+    }
+
+    /**
+     * Writes the token to a file which only the owner can read and write.
+     */
+    private static void writeToken(File file, String token) throws IOException {
+        File folder = file.getAbsoluteFile().getParentFile();
+        Files.createDirectories(folder.toPath());
+        Files.deleteIfExists(file.toPath());
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            Files.createFile(file.toPath(), PosixFilePermissions.asFileAttribute(
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE)));
+        } else if (!file.createNewFile() || !file.setReadable(false, false) || !file.setReadable(true, true)
+                || !file.setWritable(false, false) || !file.setWritable(true, true)) {
+            throw new IOException("Could not restrict access to " + file);
+        }
+        FileUtils.writeStringToFile(file, token, StandardCharsets.US_ASCII);
+    }
+
+    private void handle(Socket socket, String token, ServerSocket server) {
+        try {
+            if (serve(socket, token)) {
+                stopped = true;
+                server.close();
+            }
+        } catch (IOException e) {
+            LOG.warn("Could not serve command", e);
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close socket", e);
+            }
+        }
+    }
+
+    /**
+     * @return true if the daemon was asked to stop
+     */
+    private boolean serve(Socket socket, String token) throws IOException {
+        socket.setSoTimeout(REQUEST_TIMEOUT_MILLIS);
+        DataInputStream in = new DataInputStream(socket.getInputStream());
+        DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+        if (!MessageDigest.isEqual(in.readUTF().getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8))) {
+            LOG.warn("Rejected a connection without the token of the daemon");
+            respond(out, 1, "Invalid token");
+            return false;
+        }
+        String[] args = new String[in.readInt()];
+        for (int i = 0; i < args.length; i++) {
+            args[i] = in.readUTF();
+        }
+        if (args.length == 1 && STOP.equals(args[0])) {
+            respond(out, 0, "");
+            return true;
+        }
+        synchronized (commandLock) {
+            if (stopped) {
+                respond(out, 1, "The daemon stopped");
+                return false;
+            }
+            LOG.info("Running " + Arrays.toString(args));
+            // commands set system properties (-D) which must not leak into the next ones
+            Properties systemProperties = (Properties) System.getProperties().clone();
+            long start = System.nanoTime();
+            try {
+                commands().parse(args).run();
+                respond(out, 0, "");
+            } catch (Exception e) {
+                LOG.error("Command " + Arrays.toString(args) + " failed", e);
+                respond(out, 1, String.valueOf(e.getMessage()));
+            } finally {
+                System.setProperties(systemProperties);
+            }
+            LOG.info("Done in " + (System.nanoTime() - start) / 1000000 + " ms");
+        }
+        return false;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cli<Runnable> commands() {
+        return Cli.<Runnable>builder("swagger-codegen-cli")
+                .withCommands(Generate.class, Batch.class)
+                .build();
+    }
+
+    private static void respond(DataOutputStream out, int status, String message) throws IOException {
+        out.writeInt(status);
+        out.writeUTF(message);
+        out.flush();
+    }
+
+    /**
+     * Send a command to the daemon listening on the given port and wait for it to complete.
+     *
+     * @param port port of the daemon
+     * @param token token of the daemon, read from its token file
+     * @param args command and its options
+     * @throws RuntimeException if there is no daemon or the command failed
+     */
+    public static void send(int port, String token, String... args) {
+        Socket socket;
+        try {
+            socket = new Socket(InetAddress.getLoopbackAddress(), port);
+        } catch (ConnectException e) {
+            throw new RuntimeException("No daemon listening on port " + port + ", start one with the daemon command", e);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not connect to the daemon on port " + port, e);
+        }
+        try {
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+            out.writeUTF(token);
+            out.writeInt(args.length);
+            for (String arg : args) {
+                out.writeUTF(arg);
+            }
+            out.flush();
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            int status = in.readInt();
+            String message = in.readUTF();
+            if (status != 0) {
+                throw new RuntimeException("Command failed in the daemon: " + message);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not send command to the daemon on port " + port, e);
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                LOG.warn("Could not close socket", e);
+            }
+        }
+    }
+}
@@ -5,13 +5,18 @@ import io.airlift.airline.Option;
 import io.swagger.codegen.ClientOptInput;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.GenerationWatcher;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static io.swagger.codegen.config.CodegenConfiguratorUtils.*;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -172,6 +177,44 @@ public class Generate implements Runnable {
             description = CodegenConstants.REMOVE_OPERATION_ID_PREFIX_DESC)
     private Boolean removeOperationIdPrefix;
 
+    @Option(name = {"--generator-threads"}, title = "generator threads",
+            description = CodegenConstants.GENERATOR_THREADS_DESC)
+    private Integer generatorThreads;
+
+    @Option(name = {"--parallel-flatten"}, title = "resolve inline models in parallel",
+            description = CodegenConstants.PARALLEL_FLATTEN_DESC)
+    private Boolean parallelFlatten;
+
+    @Option(name = {"--low-memory"}, title = "low memory generation",
+            description = CodegenConstants.LOW_MEMORY_DESC)
+    private Boolean lowMemory;
+
+    @Option(name = {"--preload-templates"}, title = "preload embedded templates",
+            description = CodegenConstants.PRELOAD_TEMPLATES_DESC)
+    private Boolean preloadTemplates;
+
+    @Option(name = {"--incremental"}, title = "incremental generation",
+            description = CodegenConstants.INCREMENTAL_DESC)
+    private Boolean incremental;
+
+    @Option(name = {"--remove-stale-files"}, title = "remove stale files",
+            description = CodegenConstants.REMOVE_STALE_FILES_DESC)
+    private Boolean removeStaleFiles;
+
+    @Option(name = {"--spec-cache-dir"}, title = "spec cache directory",
+            description = CodegenConstants.SPEC_CACHE_DIR_DESC)
+    private String specCacheDir;
+
+    @Option(name = {"--metrics-json"}, title = "metrics file",
+            description = "write timings of the generation phases and templates, and counts of models, "
+                    + "operations and files, as JSON to the given file")
+    private String metricsJson;
+
+    @Option(name = {"--watch"}, title = "watch",
+            description = "after generating, watch the spec, the files it refers to and the template directory, "
+                    + "and generate again the files affected by each change (implies --incremental), until interrupted")
+    private Boolean watch;
+
     @Override
     public void run() {
 
@@ -273,6 +316,34 @@ public class Generate implements Runnable {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (generatorThreads != null) {
+            configurator.setGeneratorThreads(generatorThreads);
+        }
+
+        if (parallelFlatten != null) {
+            configurator.setParallelFlatten(parallelFlatten);
+        }
+
+        if (lowMemory != null) {
+            configurator.setLowMemory(lowMemory);
+        }
+
+        if (preloadTemplates != null) {
+            configurator.setPreloadTemplates(preloadTemplates);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (removeStaleFiles != null) {
+            configurator.setRemoveStaleFiles(removeStaleFiles);
+        }
+
+        if (isNotEmpty(specCacheDir)) {
+            configurator.setSpecCacheDir(specCacheDir);
+        }
+
         applySystemPropertiesKvpList(systemProperties, configurator);
         applyInstantiationTypesKvpList(instantiationTypes, configurator);
         applyImportMappingsKvpList(importMappings, configurator);
@@ -280,8 +351,31 @@ public class Generate implements Runnable {
         applyAdditionalPropertiesKvpList(additionalProperties, configurator);
         applyLanguageSpecificPrimitivesCsvList(languageSpecificPrimitives, configurator);
         applyReservedWordsMappingsKvpList(reservedWordsMappings, configurator);
+        if (Boolean.TRUE.equals(watch)) {
+            try {
+                new GenerationWatcher(configurator).watch();
+            } catch (IOException e) {
+                throw new RuntimeException("Could not watch " + configurator.getInputSpec(), e);
+            }
+            return;
+        }
+
         final ClientOptInput clientOptInput = configurator.toClientOptInput();
 
-        new DefaultGenerator().opts(clientOptInput).generate();
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput).generate();
+
+        if (isNotEmpty(metricsJson)) {
+            writeMetrics(generator.getMetrics());
+        }
+    }
+
+    private void writeMetrics(GenerationMetrics metrics) {
+        try {
+            Json.pretty().writeValue(new File(metricsJson), metrics);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write metrics to " + metricsJson, e);
+        }
+        LOG.info(metrics.getSummary());
     }
 }
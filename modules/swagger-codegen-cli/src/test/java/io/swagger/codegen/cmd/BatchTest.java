@@ -0,0 +1,80 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class BatchTest {
+
+    private static final String SPEC = "../swagger-codegen/src/test/resources/2_0/petstore.yaml";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testReadManifest() throws Exception {
+        File config = folder.newFile("config.json");
+        FileUtils.writeStringToFile(config, "{\"modelPackage\": \"com.example.model\", \"apiPackage\": \"com.example.api\"}",
+                StandardCharsets.UTF_8);
+        File manifest = folder.newFile("manifest.yaml");
+        FileUtils.writeStringToFile(manifest, "jobs:\n"
+                + "- inputSpec: petstore.yaml\n"
+                + "  lang: java\n"
+                + "  outputDir: out/java\n"
+                + "  configFile: " + config.getPath() + "\n"
+                + "  apiPackage: com.example.client\n"
+                + "- inputSpec: petstore.yaml\n"
+                + "  lang: python\n"
+                + "  outputDir: out/python\n"
+                + "  packageName: petstore\n", StandardCharsets.UTF_8);
+
+        List<CodegenConfigurator> configurators = Batch.readManifest(manifest);
+
+        assertEquals(configurators.size(), 2);
+        CodegenConfigurator java = configurators.get(0);
+        assertEquals(java.getLang(), "java");
+        assertEquals(java.getInputSpec(), "petstore.yaml");
+        assertEquals(java.getOutputDir(), new File("out/java").getAbsolutePath());
+        assertEquals(java.getModelPackage(), "com.example.model");
+        assertEquals(java.getApiPackage(), "com.example.client");
+        CodegenConfigurator python = configurators.get(1);
+        assertEquals(python.getLang(), "python");
+        assertEquals(python.getDynamicProperties().get("packageName"), "petstore");
+    }
+
+    @Test
+    public void testGenerateFromManifest() throws Exception {
+        File java = new File(folder.getRoot(), "java");
+        File python = new File(folder.getRoot(), "python");
+        File manifest = folder.newFile("manifest.json");
+        FileUtils.writeStringToFile(manifest, "["
+                + "{\"inputSpec\": \"" + SPEC + "\", \"lang\": \"java\", \"outputDir\": \"" + java.getPath() + "\"},"
+                + "{\"inputSpec\": \"" + SPEC + "\", \"lang\": \"python\", \"outputDir\": \"" + python.getPath() + "\"}"
+                + "]", StandardCharsets.UTF_8);
+
+        SwaggerCodegen.main(new String[]{"batch", "-m", manifest.getPath(), "--threads", "2"});
+
+        assertTrue(new File(java, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        assertTrue(new File(python, "swagger_client/models/pet.py").exists());
+    }
+}
@@ -0,0 +1,107 @@
+package io.swagger.codegen.cmd;
+
+import io.swagger.codegen.SwaggerCodegen;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class DaemonTest {
+
+    private static final String SPEC = "../swagger-codegen/src/test/resources/2_0/petstore.yaml";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test(timeOut = 60000)
+    public void testGenerateInDaemon() throws Exception {
+        final File portFile = new File(folder.getRoot(), "port");
+        Thread daemon = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                SwaggerCodegen.main(new String[]{"daemon", "--port", "0", "--port-file", portFile.getPath()});
+            }
+        });
+        daemon.start();
+        for (int i = 0; i < 100 && !portFile.exists(); i++) {
+            Thread.sleep(100);
+        }
+        String port = FileUtils.readFileToString(portFile, StandardCharsets.UTF_8);
+        File tokenFile = new File(portFile.getPath() + ".token");
+        assertTrue(tokenFile.isFile());
+        if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+            assertEquals(Files.getPosixFilePermissions(tokenFile.toPath()),
+                    EnumSet.of(PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE));
+        }
+
+        // connections without the token are rejected
+        try {
+            Daemon.send(Integer.parseInt(port), "guess", "generate", "-i", SPEC, "-l", "java", "-o", folder.getRoot().getPath());
+            fail("no token");
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "Command failed in the daemon: Invalid token");
+        }
+
+        // a client which doesn't send its command doesn't hold up the others
+        Socket idle = new Socket(InetAddress.getLoopbackAddress(), Integer.parseInt(port));
+
+        File output = new File(folder.getRoot(), "java");
+        SwaggerCodegen.main(new String[]{"client", "--port-file", portFile.getPath(), "--", "generate", "-i", SPEC, "-l", "java",
+                "-o", output.getPath(), "-Dmodels"});
+        assertTrue(new File(output, "src/main/java/io/swagger/client/model/Pet.java").exists());
+        assertFalse(new File(output, "src/main/java/io/swagger/client/api/PetApi.java").exists());
+        idle.close();
+
+        // system properties of a command don't apply to the next one
+        File second = new File(folder.getRoot(), "second");
+        SwaggerCodegen.main(new String[]{"client", "--port-file", portFile.getPath(), "--", "generate", "-i", SPEC, "-l", "java",
+                "-o", second.getPath()});
+        assertTrue(new File(second, "src/main/java/io/swagger/client/api/PetApi.java").exists());
+
+        try {
+            SwaggerCodegen.main(new String[]{"client", "--port-file", portFile.getPath(), "--", "generate", "-i", SPEC, "-l", "unknown"});
+            fail("unknown language");
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage().startsWith("Command failed in the daemon"), e.getMessage());
+        }
+
+        SwaggerCodegen.main(new String[]{"client", "--port-file", portFile.getPath(), "stop"});
+        daemon.join(10000);
+        assertFalse(daemon.isAlive());
+        assertFalse(tokenFile.exists());
+    }
+
+    @Test
+    public void testResolvePaths() {
+        String[] resolved = Client.resolvePaths(Arrays.asList("generate", "-i", "spec.yaml", "-l", "java",
+                "--output=out", "-t", "/templates", "-i", "http://host/spec.yaml"));
+        assertEquals(resolved, new String[]{"generate", "-i", new File("spec.yaml").getAbsolutePath(), "-l", "java",
+                "--output=" + new File("out").getAbsolutePath(), "-t", new File("/templates").getAbsolutePath(),
+                "-i", "http://host/spec.yaml"});
+    }
+}
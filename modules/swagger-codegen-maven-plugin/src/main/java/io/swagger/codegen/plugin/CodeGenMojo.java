@@ -29,23 +29,43 @@ import static io.swagger.codegen.config.CodegenConfiguratorUtils.applyReservedWo
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecution;
 import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Component;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
+import org.sonatype.plexus.build.incremental.BuildContext;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import io.swagger.codegen.BatchGenerator;
 import io.swagger.codegen.CliOption;
 import io.swagger.codegen.ClientOptInput;
-import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConstants;
 import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.SpecCache;
 import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.util.Json;
 
 /**
  * Goal which generates client/server code from a swagger json/yaml definition.
@@ -59,7 +79,7 @@ public class CodeGenMojo extends AbstractMojo {
     /**
      * Client language to generate.
      */
-    @Parameter(name = "language", required = true)
+    @Parameter(name = "language", required = false)
     private String language;
 
     /**
@@ -72,7 +92,7 @@ public class CodeGenMojo extends AbstractMojo {
     /**
      * Location of the swagger spec, as URL or file.
      */
-    @Parameter(name = "inputSpec", required = true)
+    @Parameter(name = "inputSpec", required = false)
     private String inputSpec;
 
     /**
@@ -118,6 +138,75 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter(name = "removeOperationIdPrefix", required = false)
     private Boolean removeOperationIdPrefix;
 
+    /**
+     * Number of threads used to render model and api files in parallel.
+     */
+    @Parameter(name = "generatorThreads", required = false)
+    private Integer generatorThreads;
+
+    /**
+     * With more than one generator thread, also resolve the inline models of the paths in parallel.
+     */
+    @Parameter(name = "parallelFlatten", required = false)
+    private Boolean parallelFlatten;
+
+    /**
+     * Render each model and api as soon as it is processed and keep only summaries of them for the
+     * supporting files, for very large specs.
+     */
+    @Parameter(name = "lowMemory", required = false)
+    private Boolean lowMemory;
+
+    /**
+     * Read all embedded templates of the language from the generator JAR into memory at once,
+     * instead of looking up every template and partial separately.
+     */
+    @Parameter(name = "preloadTemplates", required = false)
+    private Boolean preloadTemplates;
+
+    /**
+     * Generations to run instead of the single one configured by the parameters of the plugin, e.g.
+     * several languages from several specs. Each generation may set inputSpec, language, output,
+     * library, configurationFile, templateDirectory, apiPackage, modelPackage, invokerPackage,
+     * configOptions and additionalProperties, the other parameters of the plugin apply to all of
+     * them. The output defaults to a directory named after the language in the output of the
+     * plugin. Each distinct spec is parsed once.
+     */
+    @Parameter(name = "generations", required = false)
+    private List<Generation> generations;
+
+    /**
+     * Maximum number of generations running at the same time (the number of processors by default).
+     */
+    @Parameter(name = "generationThreads", required = false)
+    private Integer generationThreads;
+
+    /**
+     * Only render files whose template or template data changed since the last generation.
+     */
+    @Parameter(name = "incremental", required = false)
+    private Boolean incremental;
+
+    /**
+     * With incremental generation, delete files which are not generated any more.
+     */
+    @Parameter(name = "removeStaleFiles", required = false)
+    private Boolean removeStaleFiles;
+
+    /**
+     * Directory to cache parsed specs in, so that specs which did not change (including the local
+     * files they refer to) are not parsed again by the next build.
+     */
+    @Parameter(name = "specCacheDir", required = false)
+    private File specCacheDir;
+
+    /**
+     * File to write timings of the generation phases and templates, and counts of models,
+     * operations and files to, as JSON.
+     */
+    @Parameter(name = "metricsFile", required = false)
+    private File metricsFile;
+
     /**
      * The package to use for generated api objects/classes
      */
@@ -302,13 +391,35 @@ public class CodeGenMojo extends AbstractMojo {
     @Parameter
     private boolean configHelp = false;
 
+    /**
+     * Skip the generation if its inputs (spec and the files it refers to, templates, configuration
+     * and the parameters of the plugin) did not change since the last generation, as recorded in
+     * target/swagger-codegen/&lt;execution id&gt;.sha256. Specs which are not local files are
+     * always generated.
+     */
+    @Parameter(name = "skipIfUnchanged", property = "codegen.skipIfUnchanged", required = false, defaultValue = "false")
+    private Boolean skipIfUnchanged;
+
     /**
      * The project being built.
      */
     @Parameter(readonly = true, required = true, defaultValue = "${project}")
     private MavenProject project;
 
+    @Parameter(readonly = true, required = true, defaultValue = "${mojoExecution}")
+    private MojoExecution mojoExecution;
+
+    /**
+     * Build context of the IDE (e.g. m2e), which only generates code again if an input changed.
+     */
+    @Component
+    private BuildContext buildContext;
+
+
 
+    // system properties selecting what to generate
+    private static final String[] GENERATION_OPTIONS = {"apis", "models", "supportingFiles", "modelTests", "modelDocs",
+            "apiTests", "apiDocs", "withXml"};
 
     @Override
     public void execute() throws MojoExecutionException {
@@ -321,6 +432,277 @@ public class CodeGenMojo extends AbstractMojo {
             return;
         }
 
+        // Set generation options
+        if (null != generateApis && generateApis) {
+            System.setProperty("apis", "");
+        } else {
+            System.clearProperty("apis");
+        }
+
+        if (null != generateModels && generateModels) {
+            System.setProperty("models", modelsToGenerate);
+        } else {
+            System.clearProperty("models");
+        }
+
+        if (null != generateSupportingFiles && generateSupportingFiles) {
+            System.setProperty("supportingFiles", supportingFilesToGenerate);
+        } else {
+            System.clearProperty("supportingFiles");
+        }
+
+        System.setProperty("modelTests", generateModelTests.toString());
+        System.setProperty("modelDocs", generateModelDocumentation.toString());
+        System.setProperty("apiTests", generateApiTests.toString());
+        System.setProperty("apiDocs", generateApiDocumentation.toString());
+        System.setProperty("withXml", withXml.toString());
+
+        boolean batch = generations != null && !generations.isEmpty();
+        if (!batch && (language == null || inputSpec == null)) {
+            throw new MojoExecutionException("The language and inputSpec parameters are required (or generations)");
+        }
+
+        List<CodegenConfigurator> configurators = new ArrayList<CodegenConfigurator>();
+        Map<CodegenConfigurator, Map<?, ?>> generationConfigOptions = new IdentityHashMap<CodegenConfigurator, Map<?, ?>>();
+        // null if an input is not a local file, whose changes the build context can't tell
+        List<File> inputFiles = new ArrayList<File>();
+        for (Generation generation : batch ? generations : Collections.<Generation>singletonList(null)) {
+            CodegenConfigurator configurator = createConfigurator(generation);
+            configurators.add(configurator);
+            generationConfigOptions.put(configurator, configOptions(generation));
+            List<File> files = inputFiles(configurator, generation);
+            if (files == null) {
+                inputFiles = null;
+            } else if (inputFiles != null) {
+                inputFiles.addAll(files);
+            }
+        }
+
+        if (configHelp) {
+            final ClientOptInput input = configurators.get(0).toClientOptInput();
+            applyConfigOptions(input, configOptions);
+            for (CliOption langCliOption : input.getConfig().cliOptions()) {
+                System.out.println("\t" + langCliOption.getOpt());
+                System.out.println("\t    "
+                        + langCliOption.getOptionHelp().replaceAll("\n", "\n\t    "));
+                System.out.println();
+            }
+            return;
+        }
+
+        if (buildContext.isIncremental() && inputFiles != null && !inputFiles.isEmpty() && !hasDelta(inputFiles)) {
+            getLog().info("Code generation is skipped, no input changed.");
+            addCompileSourceRootIfConfigured();
+            return;
+        }
+
+        String digest = null;
+        File marker = null;
+        if (Boolean.TRUE.equals(skipIfUnchanged)) {
+            digest = inputsDigest(configurators, generationConfigOptions);
+            marker = markerFile();
+            if (digest != null && isUpToDate(configurators, marker, digest)) {
+                getLog().info("Code generation is skipped, the inputs did not change since the last generation.");
+                addCompileSourceRootIfConfigured();
+                return;
+            }
+            // written again once the generation succeeded
+            FileUtils.deleteQuietly(marker);
+        }
+
+        generate(configurators, generationConfigOptions);
+
+        if (digest != null) {
+            writeMarker(marker, digest);
+        }
+        for (CodegenConfigurator configurator : configurators) {
+            buildContext.refresh(new File(configurator.getOutputDir()));
+        }
+
+        addCompileSourceRootIfConfigured();
+    }
+
+    private void generate(List<CodegenConfigurator> configurators, final Map<CodegenConfigurator, Map<?, ?>> generationConfigOptions)
+            throws MojoExecutionException {
+        if (generations != null && !generations.isEmpty()) {
+            generateAll(configurators, generationConfigOptions);
+            return;
+        }
+
+        final ClientOptInput input = configurators.get(0).toClientOptInput();
+
+        applyConfigOptions(input, configOptions);
+
+        DefaultGenerator generator = new DefaultGenerator();
+        try {
+            generator.opts(input).generate();
+        } catch (Exception e) {
+            // Maven logs exceptions thrown by plugins only if invoked with -e
+            // I find it annoying to jump through hoops to get basic diagnostic information,
+            // so let's log it in any case:
+            getLog().error(e);
+            throw new MojoExecutionException(
+                    "Code generation failed. See above for the full exception.");
+        }
+        writeMetrics(generator.getMetrics());
+    }
+
+    /**
+     * Run all generations, each distinct spec being parsed once.
+     */
+    private void generateAll(List<CodegenConfigurator> configurators, final Map<CodegenConfigurator, Map<?, ?>> generationConfigOptions)
+            throws MojoExecutionException {
+        int threads = generationThreads != null ? generationThreads : Runtime.getRuntime().availableProcessors();
+        BatchGenerator generator = new BatchGenerator(threads) {
+            @Override
+            protected void configure(CodegenConfigurator configurator, ClientOptInput input) {
+                applyConfigOptions(input, generationConfigOptions.get(configurator));
+            }
+        };
+        try {
+            generator.generate(configurators);
+        } catch (Exception e) {
+            getLog().error(e);
+            throw new MojoExecutionException(
+                    "Code generation failed. See above for the full exception.");
+        }
+    }
+
+    /**
+     * Files read by a generation: the spec and the local files it refers to, the configuration
+     * file, the templates and the ignore file.
+     *
+     * @return the files, or null if the spec is not a local file
+     */
+    private List<File> inputFiles(CodegenConfigurator configurator, Generation generation) {
+        Set<File> specFiles = SpecCache.files(configurator.getInputSpec());
+        if (specFiles == null) {
+            return null;
+        }
+        List<File> files = new ArrayList<File>(specFiles);
+        String configurationFile = generation != null && generation.configurationFile != null
+                ? generation.configurationFile : this.configurationFile;
+        if (isNotEmpty(configurationFile)) {
+            files.add(new File(configurationFile));
+        }
+        if (isNotEmpty(configurator.getTemplateDir())) {
+            files.add(new File(configurator.getTemplateDir()));
+        }
+        if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+            files.add(new File(configurator.getIgnoreFileOverride()));
+        }
+        return files;
+    }
+
+    private boolean hasDelta(List<File> inputFiles) {
+        for (File file : inputFiles) {
+            if (buildContext.hasDelta(file)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Digest of everything a generation depends on: generator version, settings and the contents
+     * of the input files.
+     *
+     * @return digest, or null if a spec is not a local file
+     */
+    private String inputsDigest(List<CodegenConfigurator> configurators, Map<CodegenConfigurator, Map<?, ?>> generationConfigOptions)
+            throws MojoExecutionException {
+        ObjectMapper mapper = Json.mapper().copy().configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+        Hasher hasher = Hashing.sha256().newHasher()
+                .putString(String.valueOf(ImplementationVersion.read()), StandardCharsets.UTF_8);
+        for (String option : GENERATION_OPTIONS) {
+            hasher.putString(option + "=" + System.getProperty(option), StandardCharsets.UTF_8);
+        }
+        try {
+            for (CodegenConfigurator configurator : configurators) {
+                String specDigest = SpecCache.digest(configurator.getInputSpec(), configurator.getAuth());
+                if (specDigest == null) {
+                    getLog().info("Spec " + configurator.getInputSpec() + " is not a local file, generating code anyway");
+                    return null;
+                }
+                hasher.putString(specDigest, StandardCharsets.UTF_8)
+                        .putString(mapper.writeValueAsString(configurator), StandardCharsets.UTF_8)
+                        .putString(mapper.writeValueAsString(generationConfigOptions.get(configurator)), StandardCharsets.UTF_8);
+                if (isNotEmpty(configurator.getTemplateDir())) {
+                    File templateDir = new File(configurator.getTemplateDir());
+                    if (templateDir.isDirectory()) {
+                        for (File template : new TreeSet<File>(FileUtils.listFiles(templateDir, null, true))) {
+                            hasher.putString(template.getPath(), StandardCharsets.UTF_8)
+                                    .putBytes(FileUtils.readFileToByteArray(template));
+                        }
+                    }
+                }
+                if (isNotEmpty(configurator.getIgnoreFileOverride())) {
+                    File ignoreFile = new File(configurator.getIgnoreFileOverride());
+                    if (ignoreFile.isFile()) {
+                        hasher.putBytes(FileUtils.readFileToByteArray(ignoreFile));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not read the inputs of the generation", e);
+        }
+        return hasher.hash().toString();
+    }
+
+    private File markerFile() {
+        return new File(project.getBuild().getDirectory(), "swagger-codegen" + File.separator
+                + mojoExecution.getExecutionId() + ".sha256");
+    }
+
+    private static boolean isUpToDate(List<CodegenConfigurator> configurators, File marker, String digest) {
+        for (CodegenConfigurator configurator : configurators) {
+            if (!new File(configurator.getOutputDir()).isDirectory()) {
+                return false;
+            }
+        }
+        try {
+            return marker.isFile() && digest.equals(FileUtils.readFileToString(marker, StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void writeMarker(File marker, String digest) throws MojoExecutionException {
+        try {
+            FileUtils.writeStringToFile(marker, digest, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write " + marker, e);
+        }
+    }
+
+    /**
+     * @param generation generation overriding the parameters of the plugin, or null
+     */
+    private CodegenConfigurator createConfigurator(Generation generation) {
+        String configurationFile = this.configurationFile;
+        String inputSpec = this.inputSpec;
+        String language = this.language;
+        File output = this.output;
+        String library = this.library;
+        File templateDirectory = this.templateDirectory;
+        String apiPackage = this.apiPackage;
+        String modelPackage = this.modelPackage;
+        String invokerPackage = this.invokerPackage;
+        List<String> additionalProperties = this.additionalProperties;
+        if (generation != null) {
+            configurationFile = generation.configurationFile != null ? generation.configurationFile : configurationFile;
+            inputSpec = generation.inputSpec != null ? generation.inputSpec : inputSpec;
+            language = generation.language != null ? generation.language : language;
+            output = outputOf(generation);
+            library = generation.library != null ? generation.library : library;
+            templateDirectory = generation.templateDirectory != null ? generation.templateDirectory : templateDirectory;
+            apiPackage = generation.apiPackage != null ? generation.apiPackage : apiPackage;
+            modelPackage = generation.modelPackage != null ? generation.modelPackage : modelPackage;
+            invokerPackage = generation.invokerPackage != null ? generation.invokerPackage : invokerPackage;
+            additionalProperties = generation.additionalProperties != null ? generation.additionalProperties : additionalProperties;
+        }
+        Map<?, ?> configOptions = configOptions(generation);
+
         // attempt to read from config file
         CodegenConfigurator configurator = CodegenConfigurator.fromFile(configurationFile);
 
@@ -339,6 +721,34 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setRemoveOperationIdPrefix(removeOperationIdPrefix);
         }
 
+        if (generatorThreads != null) {
+            configurator.setGeneratorThreads(generatorThreads);
+        }
+
+        if (parallelFlatten != null) {
+            configurator.setParallelFlatten(parallelFlatten);
+        }
+
+        if (lowMemory != null) {
+            configurator.setLowMemory(lowMemory);
+        }
+
+        if (preloadTemplates != null) {
+            configurator.setPreloadTemplates(preloadTemplates);
+        }
+
+        if (incremental != null) {
+            configurator.setIncremental(incremental);
+        }
+
+        if (removeStaleFiles != null) {
+            configurator.setRemoveStaleFiles(removeStaleFiles);
+        }
+
+        if (specCacheDir != null) {
+            configurator.setSpecCacheDir(specCacheDir.getAbsolutePath());
+        }
+
         if (isNotEmpty(inputSpec)) {
             configurator.setInputSpec(inputSpec);
         }
@@ -403,31 +813,6 @@ public class CodeGenMojo extends AbstractMojo {
             configurator.setTemplateDir(templateDirectory.getAbsolutePath());
         }
 
-        // Set generation options
-        if (null != generateApis && generateApis) {
-            System.setProperty("apis", "");
-        } else {
-            System.clearProperty("apis");
-        }
-
-        if (null != generateModels && generateModels) {
-            System.setProperty("models", modelsToGenerate);
-        } else {
-            System.clearProperty("models");
-        }
-
-        if (null != generateSupportingFiles && generateSupportingFiles) {
-            System.setProperty("supportingFiles", supportingFilesToGenerate);
-        } else {
-            System.clearProperty("supportingFiles");
-        }
-
-        System.setProperty("modelTests", generateModelTests.toString());
-        System.setProperty("modelDocs", generateModelDocumentation.toString());
-        System.setProperty("apiTests", generateApiTests.toString());
-        System.setProperty("apiDocs", generateApiDocumentation.toString());
-        System.setProperty("withXml", withXml.toString());
-
         if (configOptions != null) {
             // Retained for backwards-compataibility with configOptions -> instantiation-types
             if (instantiationTypes == null && configOptions.containsKey("instantiation-types")) {
@@ -498,7 +883,9 @@ public class CodeGenMojo extends AbstractMojo {
         if (environmentVariables != null) {
 
             for (String key : environmentVariables.keySet()) {
-                originalEnvironmentVariables.put(key, System.getProperty(key));
+                if (!originalEnvironmentVariables.containsKey(key)) {
+                    originalEnvironmentVariables.put(key, System.getProperty(key));
+                }
                 String value = environmentVariables.get(key);
                 if (value == null) {
                     // don't put null values
@@ -509,51 +896,56 @@ public class CodeGenMojo extends AbstractMojo {
             }
         }
 
-        final ClientOptInput input = configurator.toClientOptInput();
-        final CodegenConfig config = input.getConfig();
+        return configurator;
+    }
+
+    private Map<?, ?> configOptions(Generation generation) {
+        return generation != null && generation.configOptions != null ? generation.configOptions : configOptions;
+    }
+
+    private File outputOf(Generation generation) {
+        if (generation.output != null) {
+            return generation.output;
+        }
+        return new File(output, generation.language != null ? generation.language : language);
+    }
 
+    private static void applyConfigOptions(ClientOptInput input, Map<?, ?> configOptions) {
         if (configOptions != null) {
-            for (CliOption langCliOption : config.cliOptions()) {
+            for (CliOption langCliOption : input.getConfig().cliOptions()) {
                 if (configOptions.containsKey(langCliOption.getOpt())) {
                     input.getConfig().additionalProperties()
                             .put(langCliOption.getOpt(), configOptions.get(langCliOption.getOpt()));
                 }
             }
         }
+    }
 
-        if (configHelp) {
-            for (CliOption langCliOption : config.cliOptions()) {
-                System.out.println("\t" + langCliOption.getOpt());
-                System.out.println("\t    "
-                        + langCliOption.getOptionHelp().replaceAll("\n", "\n\t    "));
-                System.out.println();
-            }
+    private void writeMetrics(GenerationMetrics metrics) throws MojoExecutionException {
+        getLog().info(metrics.getSummary());
+        if (metricsFile == null) {
             return;
         }
+        File parent = metricsFile.getAbsoluteFile().getParentFile();
         try {
-            new DefaultGenerator().opts(input).generate();
-        } catch (Exception e) {
-            // Maven logs exceptions thrown by plugins only if invoked with -e
-            // I find it annoying to jump through hoops to get basic diagnostic information,
-            // so let's log it in any case:
-            getLog().error(e);
-            throw new MojoExecutionException(
-                    "Code generation failed. See above for the full exception.");
+            if (!parent.isDirectory() && !parent.mkdirs()) {
+                throw new IOException("Could not create directory " + parent);
+            }
+            Json.pretty().writeValue(metricsFile, metrics);
+        } catch (IOException e) {
+            throw new MojoExecutionException("Could not write metrics to " + metricsFile, e);
         }
-
-        addCompileSourceRootIfConfigured();
     }
 
     private void addCompileSourceRootIfConfigured() {
         if (addCompileSourceRoot) {
-            final Object sourceFolderObject =
-                    configOptions == null ? null : configOptions
-                            .get(CodegenConstants.SOURCE_FOLDER);
-            final String sourceFolder =
-                    sourceFolderObject == null ? "src/main/java" : sourceFolderObject.toString();
-
-            String sourceJavaFolder = output.toString() + "/" + sourceFolder;
-            project.addCompileSourceRoot(sourceJavaFolder);
+            if (generations != null && !generations.isEmpty()) {
+                for (Generation generation : generations) {
+                    addCompileSourceRoot(outputOf(generation), configOptions(generation));
+                }
+            } else {
+                addCompileSourceRoot(output, configOptions);
+            }
         }
 
         // Reset all environment variables to their original value. This prevents unexpected
@@ -567,4 +959,15 @@ public class CodeGenMojo extends AbstractMojo {
             }
         }
     }
+
+    private void addCompileSourceRoot(File output, Map<?, ?> configOptions) {
+        final Object sourceFolderObject =
+                configOptions == null ? null : configOptions
+                        .get(CodegenConstants.SOURCE_FOLDER);
+        final String sourceFolder =
+                sourceFolderObject == null ? "src/main/java" : sourceFolderObject.toString();
+
+        String sourceJavaFolder = output.toString() + "/" + sourceFolder;
+        project.addCompileSourceRoot(sourceJavaFolder);
+    }
 }
@@ -0,0 +1,68 @@
+package io.swagger.codegen.plugin;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One of the generations of {@link CodeGenMojo}. Parameters which are not set default to those of
+ * the plugin.
+ */
+public class Generation {
+
+    /**
+     * Location of the swagger spec, as URL or file.
+     */
+    String inputSpec;
+
+    /**
+     * Client language to generate.
+     */
+    String language;
+
+    /**
+     * Location of the output directory, by default a directory named after the language in the
+     * output directory of the plugin.
+     */
+    File output;
+
+    /**
+     * Sets the library
+     */
+    String library;
+
+    /**
+     * Path to json configuration file.
+     */
+    String configurationFile;
+
+    /**
+     * Location of the template directory.
+     */
+    File templateDirectory;
+
+    /**
+     * The package to use for generated api objects/classes
+     */
+    String apiPackage;
+
+    /**
+     * The package to use for generated model objects/classes
+     */
+    String modelPackage;
+
+    /**
+     * The package to use for the generated invoker objects
+     */
+    String invokerPackage;
+
+    /**
+     * A map of language-specific parameters as passed with the -c option to the command line
+     */
+    Map<?, ?> configOptions;
+
+    /**
+     * A map of additional properties that can be referenced by the mustache templates
+     */
+    List<String> additionalProperties;
+}
@@ -0,0 +1,154 @@
+package io.swagger.codegen.plugin;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.maven.plugin.MojoExecution;
+import org.apache.maven.plugin.descriptor.MojoDescriptor;
+import org.apache.maven.project.MavenProject;
+import org.junit.rules.TemporaryFolder;
+import org.sonatype.plexus.build.incremental.BuildContext;
+import org.sonatype.plexus.build.incremental.DefaultBuildContext;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+public class CodeGenMojoTest {
+
+    private static final String SPEC = "petstore-minimal.yaml";
+    private static final String PET = "src/main/java/io/swagger/client/model/Pet.java";
+    private static final String CATEGORY = "src/main/java/io/swagger/client/model/Category.java";
+    private static final String CHANGED = "changed since generated";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File spec;
+    private File output;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+        spec = new File(folder.getRoot(), "petstore.yaml");
+        FileUtils.writeStringToFile(spec, resource(SPEC), UTF_8);
+        output = new File(folder.getRoot(), "generated");
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testUnchangedInputsAreNotGeneratedAgain() throws Exception {
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        File pet = new File(output, PET);
+        assertTrue(pet.isFile());
+        assertTrue(new File(folder.getRoot(), "target/swagger-codegen/test.sha256").isFile());
+
+        FileUtils.writeStringToFile(pet, CHANGED, UTF_8);
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        assertEquals(FileUtils.readFileToString(pet, UTF_8), CHANGED);
+    }
+
+    @Test
+    public void testChangedSpecIsGeneratedAgain() throws Exception {
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        File pet = new File(output, PET);
+        FileUtils.writeStringToFile(pet, CHANGED, UTF_8);
+
+        FileUtils.writeStringToFile(spec, FileUtils.readFileToString(spec, UTF_8) + "      age:\n        type: integer\n", UTF_8);
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        assertTrue(FileUtils.readFileToString(pet, UTF_8).contains("Integer age"));
+    }
+
+    @Test
+    public void testChangedReferencedFileIsGeneratedAgain() throws Exception {
+        FileUtils.writeStringToFile(spec, "      category:\n        $ref: './models.yaml#/Category'\n", UTF_8, true);
+        File models = new File(folder.getRoot(), "models.yaml");
+        FileUtils.writeStringToFile(models, "Category:\n  type: object\n  properties:\n    name:\n      type: string\n", UTF_8);
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        File category = new File(output, CATEGORY);
+        assertTrue(category.isFile());
+        FileUtils.writeStringToFile(category, CHANGED, UTF_8);
+
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        assertEquals(FileUtils.readFileToString(category, UTF_8), CHANGED);
+
+        FileUtils.writeStringToFile(models, "    tag:\n      type: string\n", UTF_8, true);
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        assertTrue(FileUtils.readFileToString(category, UTF_8).contains("String tag"));
+    }
+
+    @Test
+    public void testDeletedOutputIsGeneratedAgain() throws Exception {
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        FileUtils.deleteDirectory(output);
+
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        assertTrue(new File(output, PET).isFile());
+    }
+
+    @Test
+    public void testIncrementalBuildSkipsOnlyUnchangedLocalInputs() throws Exception {
+        mojo(spec.getPath(), new DefaultBuildContext()).execute();
+        File pet = new File(output, PET);
+        FileUtils.writeStringToFile(pet, CHANGED, UTF_8);
+
+        // e.g. m2e building after a change to another file of the project
+        mojo(spec.getPath(), new UnchangedBuildContext()).execute();
+        assertEquals(FileUtils.readFileToString(pet, UTF_8), CHANGED);
+
+        // the build context can't tell whether a spec which is not a local file changed
+        mojo(SPEC, new UnchangedBuildContext()).execute();
+        assertTrue(FileUtils.readFileToString(pet, UTF_8).contains("String name"));
+    }
+
+    private CodeGenMojo mojo(String inputSpec, BuildContext buildContext) throws Exception {
+        MavenProject project = new MavenProject();
+        project.getBuild().setDirectory(new File(folder.getRoot(), "target").getPath());
+        CodeGenMojo mojo = new CodeGenMojo();
+        set(mojo, "language", "java");
+        set(mojo, "inputSpec", inputSpec);
+        set(mojo, "output", output);
+        set(mojo, "skip", false);
+        set(mojo, "skipIfUnchanged", true);
+        set(mojo, "project", project);
+        set(mojo, "mojoExecution", new MojoExecution(new MojoDescriptor(), "test"));
+        set(mojo, "buildContext", buildContext);
+        return mojo;
+    }
+
+    private static void set(CodeGenMojo mojo, String name, Object value) throws Exception {
+        Field field = CodeGenMojo.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(mojo, value);
+    }
+
+    private static String resource(String name) throws Exception {
+        InputStream in = CodeGenMojoTest.class.getClassLoader().getResourceAsStream(name);
+        try {
+            return IOUtils.toString(in, UTF_8);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static class UnchangedBuildContext extends DefaultBuildContext {
+        @Override
+        public boolean isIncremental() {
+            return true;
+        }
+
+        @Override
+        public boolean hasDelta(File file) {
+            return false;
+        }
+    }
+}
@@ -1,42 +1,130 @@
 package io.swagger.codegen;
 
-import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.io.Writer;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.regex.Pattern;
 
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.CountingInputStream;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.swagger.codegen.output.FileContents;
+import io.swagger.codegen.output.FileSystemOutput;
+import io.swagger.codegen.output.GeneratorOutput;
+
 public abstract class AbstractGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractGenerator.class);
 
-    @SuppressWarnings("static-method")
-    public File writeToFile(String filename, String contents) throws IOException {
-        LOGGER.info("writing file " + filename);
-        File output = new File(filename);
+    private GeneratorOutput output = new FileSystemOutput();
 
-        if (output.getParent() != null && !new File(output.getParent()).exists()) {
-            File parent = new File(output.getParent());
-            parent.mkdirs();
-        }
-        Writer out = new BufferedWriter(new OutputStreamWriter(
-                new FileOutputStream(output), "UTF-8"));
+    // template lookups of the current run, see clearTemplateLookups()
+    private final Map<String, String> resolvedTemplates = new ConcurrentHashMap<String, String>();
+    private final Map<String, byte[]> embeddedTemplateSources = new ConcurrentHashMap<String, byte[]>();
+    private final Map<String, Boolean> embeddedTemplateLookups = new ConcurrentHashMap<String, Boolean>();
+    // embedded templates read by preloadEmbeddedTemplates(String), by classpath resource path
+    private final Map<String, byte[]> embeddedTemplates = new ConcurrentHashMap<String, byte[]>();
+    private final Set<String> preloadedDirs = new CopyOnWriteArraySet<String>();
 
-        out.write(contents);
-        out.close();
+    public GeneratorOutput getOutput() {
         return output;
     }
 
+    /**
+     * Set the target generated files are written to, the filesystem by default.
+     *
+     * @param output generator output
+     */
+    public void setOutput(GeneratorOutput output) {
+        this.output = output;
+    }
+
+    public File writeToFile(String filename, String contents) throws IOException {
+        return writeToFile(filename, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public File writeToFile(String filename, byte[] contents) throws IOException {
+        File file = new File(filename);
+        long start = System.nanoTime();
+        boolean written = output.write(file, contents);
+        fileWritten(file, written, contents.length, System.nanoTime() - start);
+        return file;
+    }
+
+    /**
+     * Copy the given stream to a file. The stream is not closed.
+     */
+    public File copyToFile(String filename, InputStream contents) throws IOException {
+        File file = new File(filename);
+        CountingInputStream counted = new CountingInputStream(contents);
+        long start = System.nanoTime();
+        boolean written = output.write(file, counted);
+        fileWritten(file, written, counted.getByteCount(), System.nanoTime() - start);
+        return file;
+    }
+
+    /**
+     * Write a file whose contents are produced while writing, streaming them to the output.
+     * The time spent producing the contents is not included in the time reported to
+     * {@link #fileWritten(File, boolean, long, long)}.
+     */
+    public File writeToFile(String filename, final FileContents contents) throws IOException {
+        File file = new File(filename);
+        final long[] producedBytesAndNanos = new long[2];
+        long start = System.nanoTime();
+        boolean written = output.write(file, new FileContents() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                CountingOutputStream counted = new CountingOutputStream(out);
+                long start = System.nanoTime();
+                contents.writeTo(counted);
+                producedBytesAndNanos[0] = counted.getByteCount();
+                producedBytesAndNanos[1] = System.nanoTime() - start;
+            }
+        });
+        fileWritten(file, written, producedBytesAndNanos[0], System.nanoTime() - start - producedBytesAndNanos[1]);
+        return file;
+    }
+
+    /**
+     * Called after each file passed to the output.
+     *
+     * @param file file
+     * @param written false if the file already had the same contents
+     * @param bytes size of the file
+     * @param nanos time spent writing (or comparing) the file
+     */
+    protected void fileWritten(File file, boolean written, long bytes, long nanos) {
+        if (written) {
+            LOGGER.info("writing file " + file);
+        } else {
+            LOGGER.info("unchanged file " + file);
+        }
+    }
+
     public String readTemplate(String name) {
         try {
             Reader reader = getTemplateReader(name);
@@ -53,17 +141,122 @@ public abstract class AbstractGenerator {
 
     public Reader getTemplateReader(String name) {
         try {
-            InputStream is = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(name));
-            if (is == null) {
-                is = new FileInputStream(new File(name)); // May throw but never return a null value
-            }
-            return new InputStreamReader(is, "UTF-8");
+            return new InputStreamReader(new ByteArrayInputStream(getTemplateSource(name)), "UTF-8");
         } catch (Exception e) {
             LOGGER.error(e.getMessage());
         }
         throw new RuntimeException("can't load template " + name);
     }
 
+    /**
+     * Contents of the given template: from the classpath if it is an embedded template, read once
+     * per run, from the filesystem otherwise, read on every call so that changes are seen.
+     *
+     * @param name template path, as returned by {@link #getFullTemplateFile(CodegenConfig, String)}
+     * @return template contents
+     * @throws IOException if the template could not be read
+     */
+    public byte[] getTemplateSource(String name) throws IOException {
+        String resourcePath = getCPResourcePath(name);
+        byte[] source = embeddedTemplates.get(resourcePath);
+        if (source == null) {
+            source = embeddedTemplateSources.get(resourcePath);
+        }
+        if (source != null) {
+            return source;
+        }
+        InputStream is = isPreloaded(resourcePath) ? null : this.getClass().getClassLoader().getResourceAsStream(resourcePath);
+        if (is != null) {
+            try {
+                source = IOUtils.toByteArray(is);
+            } finally {
+                is.close();
+            }
+            embeddedTemplateSources.put(resourcePath, source);
+            return source;
+        }
+        return FileUtils.readFileToByteArray(new File(name));
+    }
+
+    /**
+     * Read all templates in the given directory of the classpath (e.g. the embedded template
+     * directory of a language, packaged in the JAR) into memory at once, instead of looking up
+     * and reading every template and partial separately.
+     *
+     * @param embeddedTemplateDir embedded template directory
+     * @return number of templates read
+     */
+    public int preloadEmbeddedTemplates(String embeddedTemplateDir) {
+        String dir = StringUtils.removeEnd(getCPResourcePath(embeddedTemplateDir), "/") + "/";
+        if (preloadedDirs.contains(dir)) {
+            return 0;
+        }
+        URL url = this.getClass().getClassLoader().getResource(dir);
+        if (url == null) {
+            LOGGER.warn("Embedded template directory " + embeddedTemplateDir + " not found");
+            return 0;
+        }
+        Map<String, byte[]> templates = new HashMap<String, byte[]>();
+        try {
+            if ("jar".equals(url.getProtocol())) {
+                JarURLConnection connection = (JarURLConnection) url.openConnection();
+                connection.setUseCaches(false);
+                JarFile jar = connection.getJarFile();
+                try {
+                    Enumeration<JarEntry> entries = jar.entries();
+                    while (entries.hasMoreElements()) {
+                        JarEntry entry = entries.nextElement();
+                        if (!entry.isDirectory() && entry.getName().startsWith(dir)) {
+                            InputStream in = jar.getInputStream(entry);
+                            try {
+                                templates.put(entry.getName(), IOUtils.toByteArray(in));
+                            } finally {
+                                in.close();
+                            }
+                        }
+                    }
+                } finally {
+                    jar.close();
+                }
+            } else if ("file".equals(url.getProtocol())) {
+                File root = new File(url.toURI());
+                for (File template : FileUtils.listFiles(root, null, true)) {
+                    templates.put(dir + root.toURI().relativize(template.toURI()).getPath(), FileUtils.readFileToByteArray(template));
+                }
+            } else {
+                LOGGER.warn("Can't list embedded templates at " + url);
+                return 0;
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Could not preload embedded templates from " + url, e);
+            return 0;
+        }
+        embeddedTemplates.putAll(templates);
+        preloadedDirs.add(dir);
+        LOGGER.debug("preloaded " + templates.size() + " embedded templates from " + url);
+        return templates.size();
+    }
+
+    private boolean isPreloaded(String resourcePath) {
+        for (String dir : preloadedDirs) {
+            if (resourcePath.startsWith(dir)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forget the template paths resolved and the embedded templates read so far, e.g. before a new
+     * run, so that templates added to the template directory are found. Preloaded embedded templates
+     * are kept.
+     */
+    public void clearTemplateLookups() {
+        resolvedTemplates.clear();
+        embeddedTemplateSources.clear();
+        embeddedTemplateLookups.clear();
+    }
+
     private String buildLibraryFilePath(String dir, String library, String file) {
         return dir + File.separator + "libraries" + File.separator + library + File.separator + file;
     }
@@ -77,30 +270,45 @@ public abstract class AbstractGenerator {
      * @return String Full template file path
      */
     public String getFullTemplateFile(CodegenConfig config, String templateFile) {
+        return getFullTemplateFile(config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(), templateFile);
+    }
+
+    /**
+     * Get the template file path with template dir prepended, and use the
+     * library template if exists.
+     *
+     * @param templateDir Template directory
+     * @param embeddedTemplateDir Embedded template directory
+     * @param library Library (sub-template), may be empty
+     * @param templateFile Template file
+     * @return String Full template file path
+     */
+    public String getFullTemplateFile(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
+        // every file and every partial looks its template up, resolve each one once per run
+        String key = templateDir + '\u0000' + embeddedTemplateDir + '\u0000' + library + '\u0000' + templateFile;
+        String resolved = resolvedTemplates.get(key);
+        if (resolved == null) {
+            resolved = resolveTemplateFile(templateDir, embeddedTemplateDir, library, templateFile);
+            resolvedTemplates.put(key, resolved);
+        }
+        return resolved;
+    }
+
+    private String resolveTemplateFile(String templateDir, String embeddedTemplateDir, String library, String templateFile) {
         //1st the code will check if there's a <template folder>/libraries/<library> folder containing the file
         //2nd it will check for the file in the specified <template folder> folder
         //3rd it will check if there's an <embedded template>/libraries/<library> folder containing the file
         //4th and last it will assume the file is in <embedded template> folder.
 
-        //check the supplied template library folder for the file
-        final String library = config.getLibrary();
-        if (StringUtils.isNotEmpty(library)) {
-            //look for the file in the library subfolder of the supplied template
-            final String libTemplateFile = buildLibraryFilePath(config.templateDir(), library, templateFile);
-            if (new File(libTemplateFile).exists()) {
-                return libTemplateFile;
+        for (String template : getTemplateDirFiles(templateDir, library, templateFile)) {
+            if (new File(template).exists()) {
+                return template;
             }
         }
 
-        //check the supplied template main folder for the file
-        final String template = config.templateDir() + File.separator + templateFile;
-        if (new File(template).exists()) {
-            return template;
-        }
-
         //try the embedded template library folder next
         if (StringUtils.isNotEmpty(library)) {
-            final String embeddedLibTemplateFile = buildLibraryFilePath(config.embeddedTemplateDir(), library, templateFile);
+            final String embeddedLibTemplateFile = buildLibraryFilePath(embeddedTemplateDir, library, templateFile);
             if (embeddedTemplateExists(embeddedLibTemplateFile)) {
                 // Fall back to the template file embedded/packaged in the JAR file library folder...
                 return embeddedLibTemplateFile;
@@ -108,7 +316,20 @@ public abstract class AbstractGenerator {
         }
             
         // Fall back to the template file embedded/packaged in the JAR file...
-        return config.embeddedTemplateDir() + File.separator + templateFile;
+        return embeddedTemplateDir + File.separator + templateFile;
+    }
+
+    /**
+     * @return the files of the supplied template folder which the template is looked up in, in order:
+     * the library subfolder, if any, then the main folder
+     */
+    List<String> getTemplateDirFiles(String templateDir, String library, String templateFile) {
+        List<String> templates = new ArrayList<String>(2);
+        if (StringUtils.isNotEmpty(library)) {
+            templates.add(buildLibraryFilePath(templateDir, library, templateFile));
+        }
+        templates.add(templateDir + File.separator + templateFile);
+        return templates;
     }
 
     public String readResourceContents(String resourceFilePath) {
@@ -122,7 +343,16 @@ public abstract class AbstractGenerator {
     }
 
     public boolean embeddedTemplateExists(String name) {
-        return this.getClass().getClassLoader().getResource(getCPResourcePath(name)) != null;
+        String resourcePath = getCPResourcePath(name);
+        if (isPreloaded(resourcePath)) {
+            return embeddedTemplates.containsKey(resourcePath);
+        }
+        Boolean exists = embeddedTemplateLookups.get(resourcePath);
+        if (exists == null) {
+            exists = this.getClass().getClassLoader().getResource(resourcePath) != null;
+            embeddedTemplateLookups.put(resourcePath, exists);
+        }
+        return exists;
     }
 
     @SuppressWarnings("static-method")
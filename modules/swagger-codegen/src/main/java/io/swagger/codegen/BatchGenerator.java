@@ -0,0 +1,174 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Runs many generations (e.g. several languages from several specs) on a bounded pool of threads.
+ * Each distinct spec is parsed only once; every generation gets its own copy of the parsed spec,
+ * since generators modify it.
+ * <p>
+ * System properties are global, so generations which set different ones (e.g. to select the
+ * models to generate) run one after the other, each with the system properties as they were
+ * before the batch. They are restored once the batch completed.
+ */
+public class BatchGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BatchGenerator.class);
+
+    private final int threads;
+    private final ConcurrentMap<String, FutureTask<Swagger>> specs = new ConcurrentHashMap<String, FutureTask<Swagger>>();
+
+    /**
+     * @param threads maximum number of generations running at the same time
+     */
+    public BatchGenerator(int threads) {
+        this.threads = Math.max(1, threads);
+    }
+
+    /**
+     * Run the generation of every configurator, waiting for all of them to complete.
+     *
+     * @param configurators configurators of the generations
+     * @return files generated by all generations
+     * @throws RuntimeException if one or more generations failed, after all generations completed
+     */
+    public List<File> generate(List<CodegenConfigurator> configurators) {
+        int poolSize = Math.min(threads, configurators.size());
+        if (poolSize > 1 && !sameSystemProperties(configurators)) {
+            LOGGER.warn("Generations set different system properties, running them one after the other");
+            poolSize = 1;
+        }
+        if (poolSize < 1) {
+            return new ArrayList<File>();
+        }
+        // generations set system properties, which must not leak into the next ones
+        final Properties systemProperties = (Properties) System.getProperties().clone();
+        final boolean serial = poolSize == 1;
+        ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+        List<Future<List<File>>> results = new ArrayList<Future<List<File>>>(configurators.size());
+        try {
+            for (final CodegenConfigurator configurator : configurators) {
+                results.add(executor.submit(new Callable<List<File>>() {
+                    @Override
+                    public List<File> call() {
+                        try {
+                            return generate(configurator);
+                        } finally {
+                            if (serial) {
+                                System.setProperties((Properties) systemProperties.clone());
+                            }
+                        }
+                    }
+                }));
+            }
+            List<File> files = new ArrayList<File>();
+            int failed = 0;
+            Throwable failure = null;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    files.addAll(results.get(i).get());
+                } catch (ExecutionException e) {
+                    CodegenConfigurator configurator = configurators.get(i);
+                    LOGGER.error("Could not generate " + configurator.getLang() + " from " + configurator.getInputSpec(), e.getCause());
+                    failed++;
+                    if (failure == null) {
+                        failure = e.getCause();
+                    }
+                }
+            }
+            if (failed > 0) {
+                throw new RuntimeException(failed + " of " + configurators.size() + " generations failed", failure);
+            }
+            return files;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating", e);
+        } finally {
+            executor.shutdownNow();
+            System.setProperties(systemProperties);
+        }
+    }
+
+    /**
+     * Run a single generation, with the spec parsed by an earlier generation if there was one.
+     *
+     * @param configurator configurator of the generation
+     * @return files generated
+     */
+    public List<File> generate(CodegenConfigurator configurator) {
+        Swagger swagger = SpecCache.copy(getSpec(configurator));
+        ClientOptInput input = configurator.toClientOptInput(swagger);
+        configure(configurator, input);
+        LOGGER.info("Generating " + configurator.getLang() + " from " + configurator.getInputSpec() + " in " + configurator.getOutputDir());
+        return new DefaultGenerator().opts(input).generate();
+    }
+
+    /**
+     * Called with the input of each generation before it runs, to adjust the config.
+     *
+     * @param configurator configurator of the generation
+     * @param input input of the generation
+     */
+    protected void configure(CodegenConfigurator configurator, ClientOptInput input) {
+    }
+
+    private Swagger getSpec(final CodegenConfigurator configurator) {
+        final String inputSpec = configurator.getInputSpec();
+        String key = inputSpec + '\u0000' + configurator.getAuth();
+        FutureTask<Swagger> spec = specs.get(key);
+        if (spec == null) {
+            FutureTask<Swagger> parse = new FutureTask<Swagger>(new Callable<Swagger>() {
+                @Override
+                public Swagger call() {
+                    Swagger swagger = configurator.readSpec();
+                    if (swagger == null) {
+                        throw new RuntimeException("Could not read spec " + inputSpec);
+                    }
+                    return swagger;
+                }
+            });
+            spec = specs.putIfAbsent(key, parse);
+            if (spec == null) {
+                spec = parse;
+                parse.run();
+            }
+        }
+        try {
+            return spec.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while reading spec " + inputSpec, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Could not read spec " + inputSpec, e.getCause());
+        }
+    }
+
+    private static boolean sameSystemProperties(List<CodegenConfigurator> configurators) {
+        Set<Map<String, String>> systemProperties = new HashSet<Map<String, String>>();
+        for (CodegenConfigurator configurator : configurators) {
+            systemProperties.add(configurator.getSystemProperties());
+        }
+        return systemProperties.size() < 2;
+    }
+}
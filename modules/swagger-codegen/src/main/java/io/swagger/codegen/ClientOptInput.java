@@ -1,5 +1,6 @@
 package io.swagger.codegen;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.annotations.ApiModelProperty;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
@@ -12,6 +13,7 @@ public class ClientOptInput {
     private ClientOpts opts;
     private Swagger swagger;
     private List<AuthorizationValue> auths;
+    private GenerationMetrics metrics;
 
     public ClientOptInput swagger(Swagger swagger) {
         this.setSwagger(swagger);
@@ -28,6 +30,11 @@ public class ClientOptInput {
         return this;
     }
 
+    public ClientOptInput metrics(GenerationMetrics metrics) {
+        this.setMetrics(metrics);
+        return this;
+    }
+
     @Deprecated
     public ClientOptInput auth(String urlEncodedAuthString) {
         this.setAuth(urlEncodedAuthString);
@@ -73,4 +80,16 @@ public class ClientOptInput {
     public void setSwagger(Swagger swagger) {
         this.swagger = swagger;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return metrics the generator adds to, e.g. holding the time spent parsing the spec
+     */
+    @JsonIgnore
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(GenerationMetrics metrics) {
+        this.metrics = metrics;
+    }
+}
@@ -149,6 +149,16 @@ public interface CodegenConfig {
 
     Map<String, Object> postProcessAllModels(Map<String, Object> objs);
 
+    /**
+     * Inheritance graph of the processed models, set by the generator before
+     * {@link #postProcessAllModels(Map)}.
+     *
+     * @param modelGraph graph of the processed models
+     */
+    void setModelGraph(ModelGraph modelGraph);
+
+    ModelGraph getModelGraph();
+
     Map<String, Object> postProcessModels(Map<String, Object> objs);
 
     Map<String, Object> postProcessOperations(Map<String, Object> objs);
@@ -1,10 +1,18 @@
 package io.swagger.codegen;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.ServiceLoader;
+import java.util.WeakHashMap;
 
 import static java.util.ServiceLoader.load;
 
 public class CodegenConfigLoader {
+    // names of the config classes found with SPI, by class loader and config name; configs are stateful,
+    // so every lookup gets a new instance, but the (slow) scan of all configs only happens once per
+    // class loader (class names rather than classes, so that class loaders can still be collected)
+    private static final Map<ClassLoader, Map<String, String>> CONFIG_CLASSES = new WeakHashMap<ClassLoader, Map<String, String>>();
+
     /**
      * Tries to load config class with SPI first, then with class name directly from classpath
      *
@@ -12,23 +20,48 @@ public class CodegenConfigLoader {
      * @return config class
      */
     public static CodegenConfig forName(String name) {
-        ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class);
-
-        StringBuilder availableConfigs = new StringBuilder();
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        if (classLoader == null) {
+            classLoader = CodegenConfigLoader.class.getClassLoader();
+        }
+        Map<String, String> configClasses = configClasses(classLoader);
 
-        for (CodegenConfig config : loader) {
-            if (config.getName().equals(name)) {
-                return config;
+        String configClass = configClasses.get(name);
+        if (configClass != null) {
+            try {
+                return (CodegenConfig) Class.forName(configClass, true, classLoader).newInstance();
+            } catch (Exception e) {
+                throw new RuntimeException("Can't instantiate config class " + configClass, e);
             }
-
-            availableConfigs.append(config.getName()).append("\n");
         }
 
         // else try to load directly
         try {
             return (CodegenConfig) Class.forName(name).newInstance();
         } catch (Exception e) {
+            StringBuilder availableConfigs = new StringBuilder();
+            for (String configName : configClasses.keySet()) {
+                availableConfigs.append(configName).append("\n");
+            }
             throw new RuntimeException("Can't load config class with name ".concat(name) + " Available: " + availableConfigs.toString(), e);
         }
     }
+
+    private static Map<String, String> configClasses(ClassLoader classLoader) {
+        synchronized (CONFIG_CLASSES) {
+            Map<String, String> configClasses = CONFIG_CLASSES.get(classLoader);
+            if (configClasses == null) {
+                configClasses = new LinkedHashMap<String, String>();
+                ServiceLoader<CodegenConfig> loader = load(CodegenConfig.class, classLoader);
+                for (CodegenConfig config : loader) {
+                    // the first config with a name wins, as when looking configs up one by one
+                    if (!configClasses.containsKey(config.getName())) {
+                        configClasses.put(config.getName(), config.getClass().getName());
+                    }
+                }
+                CONFIG_CLASSES.put(classLoader, configClasses);
+            }
+            return configClasses;
+        }
+    }
 }
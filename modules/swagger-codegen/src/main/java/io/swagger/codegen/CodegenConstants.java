@@ -200,4 +200,25 @@ public class CodegenConstants {
 
     public static final String REMOVE_OPERATION_ID_PREFIX = "removeOperationIdPrefix";
     public static final String REMOVE_OPERATION_ID_PREFIX_DESC = "Remove prefix of operationId, e.g. config_getId => getId";
+
+    public static final String GENERATOR_THREADS = "generatorThreads";
+    public static final String GENERATOR_THREADS_DESC = "Number of threads used to render model and api files in parallel, default is 1 (sequential). The generated output is identical regardless of the thread count.";
+
+    public static final String PARALLEL_FLATTEN = "parallelFlatten";
+    public static final String PARALLEL_FLATTEN_DESC = "With more than one generator thread, also resolve the inline models of the paths in parallel. Model names are the same as when resolving sequentially.";
+
+    public static final String LOW_MEMORY = "lowMemory";
+    public static final String LOW_MEMORY_DESC = "Process the operations of one api at a time and render each model and api as soon as it is processed, for very large specs. Unless supporting files render model properties or operation parameters and responses, only summaries of the models and operations are kept for them. All models are still processed before the first one is rendered, as generators post-process them together.";
+
+    public static final String PRELOAD_TEMPLATES = "preloadTemplates";
+    public static final String PRELOAD_TEMPLATES_DESC = "Read all embedded templates of the language from the generator JAR into memory at once, instead of looking up every template and partial separately.";
+
+    public static final String INCREMENTAL = "incremental";
+    public static final String INCREMENTAL_DESC = "Only render files whose template or template data changed since the last run, using the digests recorded in .swagger-codegen/manifest.json.";
+
+    public static final String REMOVE_STALE_FILES = "removeStaleFiles";
+    public static final String REMOVE_STALE_FILES_DESC = "With incremental generation, delete files generated by the last run which are not generated any more (e.g. models removed from the spec).";
+
+    public static final String SPEC_CACHE_DIR = "specCacheDir";
+    public static final String SPEC_CACHE_DIR_DESC = "Directory to cache parsed specs in, so that specs which did not change (including the local files they refer to) are not parsed again.";
 }
@@ -8,6 +8,7 @@ import java.util.TreeSet;
 import java.util.Objects;
 
 import io.swagger.models.ExternalDocs;
+import io.swagger.util.Json;
 
 
 public class CodegenModel {
@@ -19,7 +20,11 @@ public class CodegenModel {
     public List<CodegenModel> interfaceModels;
     public List<CodegenModel> children;
 
-    public String name, classname, title, description, classVarName, modelJson, dataType, xmlPrefix, xmlNamespace, xmlName;
+    public String name, classname, title, description, classVarName, dataType, xmlPrefix, xmlNamespace, xmlName;
+    // null when serialized on demand, see getModelJson()
+    public String modelJson;
+    private Object modelJsonSource;
+    private transient String lazyModelJson;
     public String classFilename; // store the class file name, mainly used for import
     public String unescapedDescription;
     public String discriminator;
@@ -90,6 +95,8 @@ public class CodegenModel {
             return false;
         if (modelJson != null ? !modelJson.equals(that.modelJson) : that.modelJson != null)
             return false;
+        if (modelJsonSource != null ? !modelJsonSource.equals(that.modelJsonSource) : that.modelJsonSource != null)
+            return false;
         if (dataType != null ? !dataType.equals(that.dataType) : that.dataType != null)
             return false;
         if (xmlPrefix != null ? !xmlPrefix.equals(that.xmlPrefix) : that.xmlPrefix != null)
@@ -157,6 +164,7 @@ public class CodegenModel {
         result = 31 * result + (description != null ? description.hashCode() : 0);
         result = 31 * result + (classVarName != null ? classVarName.hashCode() : 0);
         result = 31 * result + (modelJson != null ? modelJson.hashCode() : 0);
+        result = 31 * result + (modelJsonSource != null ? modelJsonSource.hashCode() : 0);
         result = 31 * result + (dataType != null ? dataType.hashCode() : 0);
         result = 31 * result + (xmlPrefix != null ? xmlPrefix.hashCode() : 0);
         result = 31 * result + (xmlNamespace != null ? xmlNamespace.hashCode() : 0);
@@ -185,4 +193,73 @@ public class CodegenModel {
         result = 31 * result + Objects.hash(parentVars);
         return result;
     }
+
+    /**
+     * @return the JSON of the model set explicitly, or else the pretty printed JSON of the swagger object
+     * set with {@link #setModelJsonSource(Object)}, serialized when first requested (e.g. by
+     * {@code {{modelJson}}} in a template)
+     */
+    public String getModelJson() {
+        if (modelJson != null || modelJsonSource == null) {
+            return modelJson;
+        }
+        if (lazyModelJson == null) {
+            lazyModelJson = Json.pretty(modelJsonSource);
+        }
+        return lazyModelJson;
+    }
+
+    public void setModelJson(String modelJson) {
+        this.modelJson = modelJson;
+    }
+
+    /**
+     * Set the swagger object the JSON of the model is serialized from, on demand: most templates
+     * never use it.
+     */
+    public void setModelJsonSource(Object modelJsonSource) {
+        this.modelJsonSource = modelJsonSource;
+        this.lazyModelJson = null;
+    }
+
+    /**
+     * @return a copy of this model without its properties, related models and JSON, for data
+     * which only lists the models (e.g. supporting files when generating with low memory)
+     */
+    public CodegenModel summary() {
+        CodegenModel summary = new CodegenModel();
+        summary.parent = parent;
+        summary.parentSchema = parentSchema;
+        summary.interfaces = interfaces;
+        summary.name = name;
+        summary.classname = classname;
+        summary.title = title;
+        summary.description = description;
+        summary.classVarName = classVarName;
+        summary.dataType = dataType;
+        summary.xmlPrefix = xmlPrefix;
+        summary.xmlNamespace = xmlNamespace;
+        summary.xmlName = xmlName;
+        summary.classFilename = classFilename;
+        summary.unescapedDescription = unescapedDescription;
+        summary.discriminator = discriminator;
+        summary.defaultValue = defaultValue;
+        summary.arrayModelType = arrayModelType;
+        summary.isAlias = isAlias;
+        summary.allowableValues = allowableValues;
+        summary.imports = imports;
+        summary.hasVars = hasVars;
+        summary.emptyVars = emptyVars;
+        summary.hasMoreModels = hasMoreModels;
+        summary.hasEnums = hasEnums;
+        summary.isEnum = isEnum;
+        summary.hasRequired = hasRequired;
+        summary.isArrayModel = isArrayModel;
+        summary.hasChildren = hasChildren;
+        summary.hasOnlyReadOnly = hasOnlyReadOnly;
+        summary.externalDocs = externalDocs;
+        summary.vendorExtensions = vendorExtensions;
+        summary.additionalPropertiesType = additionalPropertiesType;
+        return summary;
+    }
 }
@@ -177,6 +177,57 @@ public class CodegenOperation {
         return ("/{" + id + "}").equals(pathWithoutBaseName());
     }
 
+    /**
+     * @return a copy of this operation without its body, query, header and form parameters,
+     * responses and examples, for data which only lists the operations (e.g. supporting files when
+     * generating with low memory)
+     */
+    public CodegenOperation summary() {
+        CodegenOperation summary = new CodegenOperation();
+        summary.hasAuthMethods = hasAuthMethods;
+        summary.hasConsumes = hasConsumes;
+        summary.hasProduces = hasProduces;
+        summary.hasParams = hasParams;
+        summary.hasOptionalParams = hasOptionalParams;
+        summary.returnTypeIsPrimitive = returnTypeIsPrimitive;
+        summary.returnSimpleType = returnSimpleType;
+        summary.subresourceOperation = subresourceOperation;
+        summary.isMapContainer = isMapContainer;
+        summary.isListContainer = isListContainer;
+        summary.isMultipart = isMultipart;
+        summary.hasMore = hasMore;
+        summary.isResponseBinary = isResponseBinary;
+        summary.isResponseFile = isResponseFile;
+        summary.hasReference = hasReference;
+        summary.isDeprecated = isDeprecated;
+        summary.path = path;
+        summary.operationId = operationId;
+        summary.returnType = returnType;
+        summary.httpMethod = httpMethod;
+        summary.returnBaseType = returnBaseType;
+        summary.returnContainer = returnContainer;
+        summary.summary = this.summary;
+        summary.unescapedNotes = unescapedNotes;
+        summary.notes = notes;
+        summary.baseName = baseName;
+        summary.defaultResponse = defaultResponse;
+        summary.discriminator = discriminator;
+        summary.consumes = consumes;
+        summary.produces = produces;
+        summary.prioritizedContentTypes = prioritizedContentTypes;
+        // path parameters are kept, the restful checks depend on them
+        summary.pathParams = pathParams;
+        summary.authMethods = authMethods;
+        summary.tags = tags;
+        summary.externalDocs = externalDocs;
+        summary.vendorExtensions = vendorExtensions;
+        summary.nickname = nickname;
+        summary.operationIdLowerCase = operationIdLowerCase;
+        summary.operationIdCamelCase = operationIdCamelCase;
+        summary.operationIdSnakeCase = operationIdSnakeCase;
+        return summary;
+    }
+
     @Override
     public String toString() {
         return String.format("%s(%s)", baseName, path);
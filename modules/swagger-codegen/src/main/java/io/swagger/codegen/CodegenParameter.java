@@ -1,5 +1,6 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Map;
@@ -13,7 +14,10 @@ public class CodegenParameter {
           collectionFormat, description, unescapedDescription, baseType, defaultValue, enumName;
 
     public String example; // example value (x-example)
+    // null when serialized on demand, see getJsonSchema()
     public String jsonSchema;
+    private Object jsonSchemaSource;
+    private transient String lazyJsonSchema;
     public boolean isString, isInteger, isLong, isFloat, isDouble, isByteArray, isBinary, isBoolean, isDate, isDateTime;
     public boolean isListContainer, isMapContainer;
     public boolean isFile, notFile;
@@ -114,6 +118,7 @@ public class CodegenParameter {
         output.uniqueItems = this.uniqueItems;
         output.multipleOf = this.multipleOf;
         output.jsonSchema = this.jsonSchema;
+        output.jsonSchemaSource = this.jsonSchemaSource;
         output.defaultValue = this.defaultValue;
         output.example = this.example;
         output.isEnum = this.isEnum;
@@ -207,6 +212,8 @@ public class CodegenParameter {
             return false;
         if (jsonSchema != null ? !jsonSchema.equals(that.jsonSchema) : that.jsonSchema != null)
             return false;
+        if (jsonSchemaSource != null ? !jsonSchemaSource.equals(that.jsonSchemaSource) : that.jsonSchemaSource != null)
+            return false;
         if (isString != that.isString)
             return false;
         if (isInteger != that.isInteger)
@@ -297,6 +304,7 @@ public class CodegenParameter {
         result = 31 * result + (defaultValue != null ? defaultValue.hashCode() : 0);
         result = 31 * result + (example != null ? example.hashCode() : 0);
         result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (jsonSchemaSource != null ? jsonSchemaSource.hashCode() : 0);
         result = 31 * result + (isString ? 13:31);
         result = 31 * result + (isInteger ? 13:31);
         result = 31 * result + (isLong ? 13:31);
@@ -331,5 +339,32 @@ public class CodegenParameter {
         result = 31 * result + (multipleOf != null ? multipleOf.hashCode() : 0);
         return result;
     }
-}
 
+    /**
+     * @return the JSON schema of the parameter set explicitly, or else the pretty printed JSON of the swagger object
+     * set with {@link #setJsonSchemaSource(Object)}, serialized when first requested (e.g. by
+     * {@code {{jsonSchema}}} in a template)
+     */
+    public String getJsonSchema() {
+        if (jsonSchema != null || jsonSchemaSource == null) {
+            return jsonSchema;
+        }
+        if (lazyJsonSchema == null) {
+            lazyJsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return lazyJsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+    }
+
+    /**
+     * Set the swagger object the JSON schema of the parameter is serialized from, on demand: most templates
+     * never use it.
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.lazyJsonSchema = null;
+    }
+}
@@ -1,5 +1,6 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -31,7 +32,10 @@ public class CodegenProperty implements Cloneable {
      */
     public String example;
 
+    // null when serialized on demand, see getJsonSchema()
     public String jsonSchema;
+    private Object jsonSchemaSource;
+    private transient String lazyJsonSchema;
     public String minimum;
     public String maximum;
     public boolean exclusiveMinimum;
@@ -100,6 +104,7 @@ public class CodegenProperty implements Cloneable {
         result = prime * result + ((isReadOnly  ? 13:31));
         result = prime * result + ((items == null) ? 0 : items.hashCode());
         result = prime * result + ((jsonSchema == null) ? 0 : jsonSchema.hashCode());
+        result = prime * result + Objects.hashCode(jsonSchemaSource);
         result = prime * result + ((max == null) ? 0 : max.hashCode());
         result = prime * result + ((maxLength == null) ? 0 : maxLength.hashCode());
         result = prime * result + ((maximum == null) ? 0 : maximum.hashCode());
@@ -209,6 +214,9 @@ public class CodegenProperty implements Cloneable {
         if ((this.jsonSchema == null) ? (other.jsonSchema != null) : !this.jsonSchema.equals(other.jsonSchema)) {
             return false;
         }
+        if (!Objects.equals(this.jsonSchemaSource, other.jsonSchemaSource)) {
+            return false;
+        }
         if (this.minimum != other.minimum && (this.minimum == null || !this.minimum.equals(other.minimum))) {
             return false;
         }
@@ -352,5 +360,31 @@ public class CodegenProperty implements Cloneable {
         }
     }
 
+    /**
+     * @return the JSON schema of the property set explicitly, or else the pretty printed JSON of the swagger object
+     * set with {@link #setJsonSchemaSource(Object)}, serialized when first requested (e.g. by
+     * {@code {{jsonSchema}}} in a template)
+     */
+    public String getJsonSchema() {
+        if (jsonSchema != null || jsonSchemaSource == null) {
+            return jsonSchema;
+        }
+        if (lazyJsonSchema == null) {
+            lazyJsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return lazyJsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+    }
 
+    /**
+     * Set the swagger object the JSON schema of the property is serialized from, on demand: most templates
+     * never use it.
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.lazyJsonSchema = null;
+    }
 }
@@ -1,5 +1,6 @@
 package io.swagger.codegen;
 
+import io.swagger.util.Json;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -20,7 +21,10 @@ public class CodegenResponse {
     public boolean isBinary = false;
     public boolean isFile = false;
     public Object schema;
+    // null when serialized on demand, see getJsonSchema()
     public String jsonSchema;
+    private Object jsonSchemaSource;
+    private transient String lazyJsonSchema;
     public Map<String, Object> vendorExtensions;
 
     public boolean isWildcard() {
@@ -73,6 +77,8 @@ public class CodegenResponse {
             return false;
         if (vendorExtensions != null ? !vendorExtensions.equals(that.vendorExtensions) : that.vendorExtensions != null)
             return false;
+        if (jsonSchemaSource != null ? !jsonSchemaSource.equals(that.jsonSchemaSource) : that.jsonSchemaSource != null)
+            return false;
         return jsonSchema != null ? jsonSchema.equals(that.jsonSchema) : that.jsonSchema == null;
 
     }
@@ -96,7 +102,36 @@ public class CodegenResponse {
         result = 31 * result + (isFile ? 13:31);
         result = 31 * result + (schema != null ? schema.hashCode() : 0);
         result = 31 * result + (jsonSchema != null ? jsonSchema.hashCode() : 0);
+        result = 31 * result + (jsonSchemaSource != null ? jsonSchemaSource.hashCode() : 0);
         result = 31 * result + (vendorExtensions != null ? vendorExtensions.hashCode() : 0);
         return result;
     }
+
+    /**
+     * @return the JSON schema of the response set explicitly, or else the pretty printed JSON of the swagger object
+     * set with {@link #setJsonSchemaSource(Object)}, serialized when first requested (e.g. by
+     * {@code {{jsonSchema}}} in a template)
+     */
+    public String getJsonSchema() {
+        if (jsonSchema != null || jsonSchemaSource == null) {
+            return jsonSchema;
+        }
+        if (lazyJsonSchema == null) {
+            lazyJsonSchema = Json.pretty(jsonSchemaSource);
+        }
+        return lazyJsonSchema;
+    }
+
+    public void setJsonSchema(String jsonSchema) {
+        this.jsonSchema = jsonSchema;
+    }
+
+    /**
+     * Set the swagger object the JSON schema of the response is serialized from, on demand: most templates
+     * never use it.
+     */
+    public void setJsonSchemaSource(Object jsonSchemaSource) {
+        this.jsonSchemaSource = jsonSchemaSource;
+        this.lazyJsonSchema = null;
+    }
 }
@@ -11,11 +11,13 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -111,6 +113,23 @@ public class DefaultCodegen {
     protected Boolean sortParamsByRequiredFlag = true;
     protected Boolean ensureUniqueParams = true;
     protected Boolean allowUnicodeIdentifiers = false;
+    protected ModelGraph modelGraph;
+    // set by the built-in generators, see serializesJsonOnDemand()
+    protected boolean serializeJsonOnDemand;
+
+    // camelize, underscore and sanitizeName run for every name of every model, property, operation
+    // and parameter, mostly on the same names; results are cached up to a bounded number of names.
+    // camelize and underscore are static and change case in the default locale: their results are
+    // only cached while generations run (see beginNameCaching()) and for the same default locale
+    private static final int NAME_CACHE_SIZE = 10000;
+    private static final Map<String, String> CAMELIZED = new ConcurrentHashMap<String, String>();
+    private static final Map<String, String> LOWER_CAMELIZED = new ConcurrentHashMap<String, String>();
+    private static final Map<String, String> UNDERSCORED = new ConcurrentHashMap<String, String>();
+    private static final Object NAME_CACHE_LOCK = new Object();
+    private static volatile int nameCachingRuns;
+    private static volatile Locale nameCacheLocale;
+    private final Map<String, String> sanitizedNames = new ConcurrentHashMap<String, String>();
+    private final Map<String, String> unicodeSanitizedNames = new ConcurrentHashMap<String, String>();
     protected String gitUserId, gitRepoId, releaseNote;
     protected String httpUserAgent;
     protected Boolean hideGenerationTimestamp = true;
@@ -173,50 +192,47 @@ public class DefaultCodegen {
     @SuppressWarnings({ "static-method", "unchecked" })
     public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
         if (supportsInheritance) {
-            // Index all CodegenModels by model name.
-            Map<String, CodegenModel> allModels = new HashMap<String, CodegenModel>();
-            for (Entry<String, Object> entry : objs.entrySet()) {
-                String modelName = toModelName(entry.getKey());
-                Map<String, Object> inner = (Map<String, Object>) entry.getValue();
-                List<Map<String, Object>> models = (List<Map<String, Object>>) inner.get("models");
-                for (Map<String, Object> mo : models) {
-                    CodegenModel cm = (CodegenModel) mo.get("model");
-                    allModels.put(modelName, cm);
-                }
-            }
-            // Fix up all parent and interface CodegenModel references.
-            for (CodegenModel cm : allModels.values()) {
-                if (cm.parent != null) {
-                    cm.parentModel = allModels.get(cm.parent);
-                }
-                if (cm.interfaces != null && !cm.interfaces.isEmpty()) {
-                    cm.interfaceModels = new ArrayList<CodegenModel>(cm.interfaces.size());
-                    for (String intf : cm.interfaces) {
-                        CodegenModel intfModel = allModels.get(intf);
-                        if (intfModel != null) {
-                            cm.interfaceModels.add(intfModel);
+            // Index all CodegenModels by model name, reusing the graph of the generator if it was built for these models
+            ModelGraph graph = modelGraph != null && modelGraph.describes(objs) ? modelGraph : new ModelGraph(objs, this);
+            final Map<String, CodegenModel> allModels = graph.getModels(objs);
+            // Models only refer to models of their own subtree as parent and as children, so subtrees can be fixed up independently
+            graph.forEachSubtree(objs, new ModelGraph.SubtreeTask() {
+                @Override
+                public void process(List<CodegenModel> subtree) {
+                    // Fix up all parent and interface CodegenModel references.
+                    for (CodegenModel cm : subtree) {
+                        if (cm.parent != null) {
+                            cm.parentModel = allModels.get(cm.parent);
+                        }
+                        if (cm.interfaces != null && !cm.interfaces.isEmpty()) {
+                            cm.interfaceModels = new ArrayList<CodegenModel>(cm.interfaces.size());
+                            for (String intf : cm.interfaces) {
+                                CodegenModel intfModel = allModels.get(intf);
+                                if (intfModel != null) {
+                                    cm.interfaceModels.add(intfModel);
+                                }
+                            }
                         }
                     }
-                }
-            }
-            // Let parent know about all its children
-            for (String name : allModels.keySet()) {
-                CodegenModel cm = allModels.get(name);
-                CodegenModel parent = allModels.get(cm.parent);
-                // if a discriminator exists on the parent, don't add this child to the inheritance heirarchy
-                // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
-                while (parent != null) {
-                    if (parent.children == null) {
-                       parent.children = new ArrayList<CodegenModel>();
-                    }
-                    parent.children.add(cm);
-                    if (parent.discriminator == null) {
-                        parent = allModels.get(parent.parent);
-                    } else {
-                        parent = null;
+                    // Let parent know about all its children
+                    for (CodegenModel cm : subtree) {
+                        CodegenModel parent = allModels.get(cm.parent);
+                        // if a discriminator exists on the parent, don't add this child to the inheritance heirarchy
+                        // TODO Determine what to do if the parent discriminator name == the grandparent discriminator name
+                        while (parent != null) {
+                            if (parent.children == null) {
+                               parent.children = new ArrayList<CodegenModel>();
+                            }
+                            parent.children.add(cm);
+                            if (parent.discriminator == null) {
+                                parent = allModels.get(parent.parent);
+                            } else {
+                                parent = null;
+                            }
+                        }
                     }
                 }
-            }
+            });
         }
         return objs;
     }
@@ -1292,6 +1308,21 @@ public class DefaultCodegen {
         return initialCaps(modelNamePrefix + name + modelNameSuffix);
     }
 
+    /**
+     * Whether the JSON of models, properties, parameters and responses is only serialized when
+     * requested through {@link CodegenModel#getModelJson()} or the {@code getJsonSchema()} getters,
+     * e.g. by {@code {{modelJson}}} in a template, rather than set in their public fields up front.
+     * <p>
+     * The built-in generators, which only read the JSON through templates, opt in by setting
+     * {@link #serializeJsonOnDemand}. Other generators may read the public fields directly, so they
+     * get them filled unless they set it too or override this method.
+     *
+     * @return true if the JSON is serialized on demand
+     */
+    protected boolean serializesJsonOnDemand() {
+        return serializeJsonOnDemand;
+    }
+
     /**
      * Convert Swagger Model object to Codegen Model object without providing all model definitions
      *
@@ -1324,7 +1355,11 @@ public class DefaultCodegen {
         m.classname = toModelName(name);
         m.classVarName = toVarName(name);
         m.classFilename = toModelFilename(name);
-        m.modelJson = Json.pretty(model);
+        if (serializesJsonOnDemand()) {
+            m.setModelJsonSource(model);
+        } else {
+            m.modelJson = Json.pretty(model);
+        }
         m.externalDocs = model.getExternalDocs();
         m.vendorExtensions = model.getVendorExtensions();
 
@@ -1563,7 +1598,11 @@ public class DefaultCodegen {
         }
         property.defaultValue = toDefaultValue(p);
         property.defaultValueWithParam = toDefaultValueWithParam(name, p);
-        property.jsonSchema = Json.pretty(p);
+        if (serializesJsonOnDemand()) {
+            property.setJsonSchemaSource(p);
+        } else {
+            property.jsonSchema = Json.pretty(p);
+        }
         if (p.getReadOnly() != null) {
             property.isReadOnly = p.getReadOnly();
         }
@@ -2348,7 +2387,11 @@ public class DefaultCodegen {
         r.message = escapeText(response.getDescription());
         r.schema = response.getSchema();
         r.examples = toExamples(response.getExamples());
-        r.jsonSchema = Json.pretty(response);
+        if (serializesJsonOnDemand()) {
+            r.setJsonSchemaSource(response);
+        } else {
+            r.jsonSchema = Json.pretty(response);
+        }
         r.vendorExtensions = response.getVendorExtensions();
         addHeaders(response, r.headers);
         r.hasHeaders = !r.headers.isEmpty();
@@ -2431,7 +2474,11 @@ public class DefaultCodegen {
         if (param.getRequired()) {
             p.required = param.getRequired();
         }
-        p.jsonSchema = Json.pretty(param);
+        if (serializesJsonOnDemand()) {
+            p.setJsonSchemaSource(param);
+        } else {
+            p.jsonSchema = Json.pretty(param);
+        }
 
         if (System.getProperty("debugParser") != null) {
             LOGGER.info("working on Parameter " + param.getName());
@@ -3008,19 +3055,43 @@ public class DefaultCodegen {
      * @return The underscored version of the word
      */
     public static String underscore(String word) {
-        String firstPattern = "([A-Z]+)([A-Z][a-z])";
-        String secondPattern = "([a-z\\d])([A-Z])";
-        String replacementPattern = "$1_$2";
-        // Replace package separator with slash.
-        word = word.replaceAll("\\.", "/"); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-        // Replace $ with two underscores for inner classes.
-        word = word.replaceAll("\\$", "__");
-        // Replace capital letter with _ plus lowercase letter.
-        word = word.replaceAll(firstPattern, replacementPattern);
-        word = word.replaceAll(secondPattern, replacementPattern);
-        word = word.replace('-', '_');
-        word = word.toLowerCase();
-        return word;
+        Map<String, String> cache = nameCache(UNDERSCORED);
+        if (cache == null) {
+            return underscoreUncached(word);
+        }
+        String underscored = cache.get(word);
+        if (underscored == null) {
+            underscored = cache(cache, word, underscoreUncached(word));
+        }
+        return underscored;
+    }
+
+    private static String underscoreUncached(String word) {
+        // in a single pass: replace package separator with slash, $ with two underscores for inner
+        // classes and dashes with underscores; insert an underscore before a capital letter following
+        // a lowercase letter or digit, or ending a run of capitals and followed by a lowercase letter
+        final int length = word.length();
+        StringBuilder underscored = new StringBuilder(length + 8);
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '.') {
+                underscored.append('/');
+            } else if (c == '$') {
+                underscored.append("__");
+            } else if (c == '-') {
+                underscored.append('_');
+            } else {
+                if (isUpperCaseAscii(c) && i > 0) {
+                    char previous = word.charAt(i - 1);
+                    if (isLowerCaseAscii(previous) || isDigitAscii(previous)
+                            || (isUpperCaseAscii(previous) && i + 1 < length && isLowerCaseAscii(word.charAt(i + 1)))) {
+                        underscored.append('_');
+                    }
+                }
+                underscored.append(c);
+            }
+        }
+        return underscored.toString().toLowerCase();
     }
 
     /**
@@ -3209,52 +3280,178 @@ public class DefaultCodegen {
      * @return camelized string
      */
     public static String camelize(String word, boolean lowercaseFirstLetter) {
-        // Replace all slashes with dots (package separator)
-        Pattern p = Pattern.compile("\\/(.?)");
-        Matcher m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("." + m.group(1)/*.toUpperCase()*/); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-            m = p.matcher(word);
+        Map<String, String> cache = nameCache(lowercaseFirstLetter ? LOWER_CAMELIZED : CAMELIZED);
+        if (cache == null) {
+            return camelizeUncached(word, lowercaseFirstLetter);
+        }
+        String camelized = cache.get(word);
+        if (camelized == null) {
+            camelized = cache(cache, word, camelizeUncached(word, lowercaseFirstLetter));
+        }
+        return camelized;
+    }
+
+    private static String camelizeUncached(String word, boolean lowercaseFirstLetter) {
+        // in a single pass: drop slashes and dots (package separators), upper-casing the character
+        // following them; upper-case the first word character and drop underscores, upper-casing the
+        // character following them
+        final int length = word.length();
+        StringBuilder camelized = new StringBuilder(length);
+        boolean afterSeparator = true;
+        boolean afterFirstWordCharacter = false;
+        boolean escaped = false;
+        boolean afterUnderscore = false;
+        for (int i = 0; i < length; i++) {
+            char c = word.charAt(i);
+            if (c == '/' || c == '.') {
+                afterSeparator = true;
+                continue;
+            }
+            if (afterSeparator) {
+                c = Character.toUpperCase(c);
+                afterSeparator = false;
+            }
+            String replacement = null;
+            if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(word.charAt(i + 1))) {
+                // a supplementary character, upper-cased as a whole after an underscore
+                replacement = word.substring(i, i + 2);
+                i++;
+            }
+            if (replacement != null) {
+                escaped = false;
+            } else if (!afterFirstWordCharacter) {
+                if (isWordCharacterAscii(c)) {
+                    replacement = String.valueOf(c).toUpperCase();
+                    afterFirstWordCharacter = true;
+                }
+            } else if (c == '\\' && !escaped) {
+                // the rest of the word used to be a replacement string, where a backslash escapes the
+                // following character
+                escaped = true;
+                continue;
+            } else {
+                escaped = false;
+            }
+            if (replacement == null) {
+                replacement = String.valueOf(c);
+            }
+            for (int j = 0; j < replacement.length(); ) {
+                int r = replacement.codePointAt(j);
+                j += Character.charCount(r);
+                if (r == '_') {
+                    afterUnderscore = true;
+                } else if (afterUnderscore) {
+                    afterUnderscore = false;
+                    if (isLineTerminator(r)) {
+                        camelized.append('_').appendCodePoint(r);
+                    } else {
+                        camelized.append(new String(Character.toChars(r)).toUpperCase());
+                    }
+                } else {
+                    camelized.appendCodePoint(r);
+                }
+            }
+        }
+        if (escaped) {
+            camelized.append('\\');
+        }
+        if (afterUnderscore) {
+            camelized.append('_');
         }
 
-        // case out dots
-        String[] parts = word.split("\\.");
-        StringBuilder f = new StringBuilder();
-        for (String z : parts) {
-            if (z.length() > 0) {
-                f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
-            }
+        if (lowercaseFirstLetter && camelized.length() > 0) {
+            return camelized.substring(0, 1).toLowerCase() + camelized.substring(1);
         }
-        word = f.toString();
+        return camelized.toString();
+    }
 
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1)/*.toUpperCase()*/);
-            m = p.matcher(word);
+    /**
+     * Caches the results of {@link #camelize(String, boolean)} and {@link #underscore(String)} until
+     * the matching {@link #endNameCaching()}, for a generation run.
+     */
+    static void beginNameCaching() {
+        synchronized (NAME_CACHE_LOCK) {
+            nameCachingRuns++;
         }
+    }
 
-        // Uppercase the class name.
-        p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
-        m = p.matcher(word);
-        if (m.find()) {
-            String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
-            rep = rep.replaceAll("\\$", "\\\\\\$");
-            word = m.replaceAll(rep);
+    /**
+     * Ends caching for a generation run, emptying the caches once no generation runs.
+     */
+    static void endNameCaching() {
+        synchronized (NAME_CACHE_LOCK) {
+            if (--nameCachingRuns == 0) {
+                clearNameCaches();
+            }
         }
+    }
 
-        // Remove all underscores
-        p = Pattern.compile("(_)(.)");
-        m = p.matcher(word);
-        while (m.find()) {
-            word = m.replaceFirst(m.group(2).toUpperCase());
-            m = p.matcher(word);
+    /**
+     * @return the cache to use, emptied if the default locale changed, or null when no generation runs
+     */
+    private static Map<String, String> nameCache(Map<String, String> cache) {
+        if (nameCachingRuns == 0) {
+            return null;
+        }
+        Locale locale = Locale.getDefault();
+        if (!locale.equals(nameCacheLocale)) {
+            synchronized (NAME_CACHE_LOCK) {
+                if (!locale.equals(nameCacheLocale)) {
+                    clearNameCaches();
+                    nameCacheLocale = locale;
+                }
+            }
         }
+        return cache;
+    }
 
-        if (lowercaseFirstLetter && word.length() > 0) {
-            word = word.substring(0, 1).toLowerCase() + word.substring(1);
+    private static void clearNameCaches() {
+        CAMELIZED.clear();
+        LOWER_CAMELIZED.clear();
+        UNDERSCORED.clear();
+        nameCacheLocale = null;
+    }
+
+    private static String cache(Map<String, String> cache, String word, String result) {
+        if (cache.size() >= NAME_CACHE_SIZE) {
+            cache.clear();
         }
+        cache.put(word, result);
+        return result;
+    }
+
+    private static boolean isUpperCaseAscii(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static boolean isLowerCaseAscii(char c) {
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigitAscii(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordCharacterAscii(char c) {
+        return isUpperCaseAscii(c) || isLowerCaseAscii(c) || isDigitAscii(c) || c == '_';
+    }
 
-        return word;
+    private static boolean isLineTerminator(int c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    private static boolean isWordCharacterUnicode(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.NON_SPACING_MARK:
+            case Character.ENCLOSING_MARK:
+            case Character.COMBINING_SPACING_MARK:
+            case Character.DECIMAL_DIGIT_NUMBER:
+            case Character.CONNECTOR_PUNCTUATION:
+                return true;
+            default:
+                // join controls: zero width non-joiner and joiner
+                return Character.isAlphabetic(codePoint) || codePoint == 0x200C || codePoint == 0x200D;
+        }
     }
 
     public String apiFilename(String templateName, String tag) {
@@ -3300,6 +3497,14 @@ public class DefaultCodegen {
         this.skipOverwrite = skipOverwrite;
     }
 
+    public void setModelGraph(ModelGraph modelGraph) {
+        this.modelGraph = modelGraph;
+    }
+
+    public ModelGraph getModelGraph() {
+        return modelGraph;
+    }
+
     public boolean isRemoveOperationIdPrefix() {
         return removeOperationIdPrefix;
     }
@@ -3426,10 +3631,9 @@ public class DefaultCodegen {
      */
     @SuppressWarnings("static-method")
     public String sanitizeName(String name) {
-        // NOTE: performance wise, we should have written with 2 replaceAll to replace desired
-        // character with _ or empty character. Below aims to spell out different cases we've
-        // encountered so far and hopefully make it easier for others to add more special
-        // cases in the future.
+        // NOTE: names are sanitized in a single pass, see sanitizeNameUncached, which aims to spell
+        // out different cases we've encountered so far and hopefully make it easier for others to
+        // add more special cases in the future.
 
         // better error handling when map/array type is invalid
         if (name == null) {
@@ -3442,36 +3646,52 @@ public class DefaultCodegen {
             return "value";
         }
 
-        // input[] => input
-        name = name.replaceAll("\\[\\]", ""); // FIXME: a parameter should not be assigned. Also declare the methods parameters as 'final'.
-
-        // input[a][b] => input_a_b
-        name = name.replaceAll("\\[", "_");
-        name = name.replaceAll("\\]", "");
-
-        // input(a)(b) => input_a_b
-        name = name.replaceAll("\\(", "_");
-        name = name.replaceAll("\\)", "");
-
-        // input.name => input_name
-        name = name.replaceAll("\\.", "_");
-
-        // input-name => input_name
-        name = name.replaceAll("-", "_");
-
-        // input name and age => input_name_and_age
-        name = name.replaceAll(" ", "_");
-
-        // remove everything else other than word, number and _
-        // $php_variable => php_variable
-        if (allowUnicodeIdentifiers) { //could be converted to a single line with ?: operator
-            name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
-        }
-        else {
-            name = name.replaceAll("\\W", "");
+        Map<String, String> cache = allowUnicodeIdentifiers ? unicodeSanitizedNames : sanitizedNames;
+        String sanitized = cache.get(name);
+        if (sanitized == null) {
+            sanitized = cache(cache, name, sanitizeNameUncached(name));
         }
+        return sanitized;
+    }
 
-        return name;
+    private String sanitizeNameUncached(String name) {
+        final int length = name.length();
+        StringBuilder sanitized = new StringBuilder(length);
+        for (int i = 0; i < length; ) {
+            int c = name.codePointAt(i);
+            i += Character.charCount(c);
+            switch (c) {
+                case '[':
+                    if (i < length && name.charAt(i) == ']') {
+                        // input[] => input
+                        i++;
+                    } else {
+                        // input[a][b] => input_a_b
+                        sanitized.append('_');
+                    }
+                    break;
+                case ']':
+                case ')':
+                    break;
+                // input(a)(b) => input_a_b
+                case '(':
+                // input.name => input_name
+                case '.':
+                // input-name => input_name
+                case '-':
+                // input name and age => input_name_and_age
+                case ' ':
+                    sanitized.append('_');
+                    break;
+                default:
+                    // remove everything else other than word, number and _
+                    // $php_variable => php_variable
+                    if (allowUnicodeIdentifiers ? isWordCharacterUnicode(c) : c < 0x80 && isWordCharacterAscii((char) c)) {
+                        sanitized.appendCodePoint(c);
+                    }
+            }
+        }
+        return sanitized.toString();
     }
 
     /**
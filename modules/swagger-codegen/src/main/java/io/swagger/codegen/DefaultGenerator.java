@@ -1,18 +1,21 @@
 package io.swagger.codegen;
 
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.Reader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -20,20 +23,33 @@ import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
-
-import org.apache.commons.io.IOUtils;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.joda.time.DateTime;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
 import com.samskivert.mustache.Mustache;
 import com.samskivert.mustache.Template;
 
 import io.swagger.codegen.ignore.CodegenIgnoreProcessor;
 import io.swagger.codegen.languages.AbstractJavaCodegen;
+import io.swagger.codegen.output.FileContents;
 import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.codegen.utils.ObjectDigest;
 import io.swagger.models.ComposedModel;
 import io.swagger.models.Contact;
 import io.swagger.models.Info;
@@ -51,6 +67,17 @@ import io.swagger.models.parameters.Parameter;
 import io.swagger.util.Json;
 
 public class DefaultGenerator extends AbstractGenerator implements Generator {
+    private static final int RENDER_BUFFER_SIZE = 8192;
+    private static final Pattern PARTIAL = Pattern.compile("\\{\\{>\\s*([^}\\s]+)\\s*\\}\\}");
+    // template variables of models and operations which their summaries leave out, see CodegenModel#summary()
+    private static final Set<String> MODEL_SUMMARY_OMITS = new HashSet<String>(Arrays.asList(
+            "parentModel", "interfaceModels", "children", "modelJson", "vars", "requiredVars", "optionalVars",
+            "readOnlyVars", "readWriteVars", "allVars", "parentVars", "mandatory", "allMandatory"));
+    private static final Set<String> OPERATION_SUMMARY_OMITS = new HashSet<String>(Arrays.asList(
+            "responseHeaders", "bodyParam", "allParams", "bodyParams", "queryParams", "headerParams", "formParams",
+            "responses", "imports", "examples", "hasBodyParam", "hasQueryParams", "hasHeaderParams", "hasFormParams",
+            "hasExamples"));
+
     protected final Logger LOGGER = LoggerFactory.getLogger(DefaultGenerator.class);
     protected CodegenConfig config;
     protected ClientOptInput opts;
@@ -66,14 +93,40 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     private String basePath;
     private String basePathWithoutHost;
     private String contextPath;
+    private ExecutorService executor;
+    private boolean parallelFlatten;
+    private boolean lowMemory;
+    private List<Callable<File>> pendingTemplates = new ArrayList<Callable<File>>();
+    private TemplateCache templateCache = TemplateCache.getSharedInstance();
+    private Map<String, Template> compiledTemplates = new ConcurrentHashMap<String, Template>();
+    private GenerationManifest manifest;
+    private boolean removeStaleFiles;
+    private final ObjectDigest objectDigest = new ObjectDigest("generatedDate");
+    private final Map<Object, String> dataDigests = Collections.synchronizedMap(new IdentityHashMap<Object, String>());
+    private String templateDirDigest;
+    private final Map<String, String> templateDigests = new ConcurrentHashMap<String, String>();
+    private GenerationMetrics metrics = new GenerationMetrics();
+    private Swagger previousSwagger;
+    // models, groups of operations and supporting files affected by the changes since
+    // previousSwagger, null for all
+    private Set<String> changedModels;
+    private Set<String> changedApis;
+    private Set<SupportingFile> changedSupportingFiles;
+    // whether unchanged models and operations are processed for the supporting files
+    private boolean processUnchanged;
 
     @Override
     public Generator opts(ClientOptInput opts) {
         this.opts = opts;
         this.swagger = opts.getSwagger();
+        this.previousSwagger = null;
         this.config = opts.getConfig();
         this.config.additionalProperties().putAll(opts.getOpts().getProperties());
+        this.metrics = opts.getMetrics() != null ? opts.getMetrics() : new GenerationMetrics();
+        clearTemplateLookups();
 
+        // the ignore file may have changed since a previous run of this generator
+        this.ignoreProcessor = null;
         String ignoreFileLocation = this.config.getIgnoreFilePathOverride();
         if(ignoreFileLocation != null) {
             final File ignoreFile = new File(ignoreFileLocation);
@@ -91,6 +144,39 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         return this;
     }
 
+    /**
+     * Use the given cache for compiled templates instead of the one shared by all generators.
+     *
+     * @param templateCache template cache
+     * @return this generator
+     */
+    public DefaultGenerator templateCache(TemplateCache templateCache) {
+        this.templateCache = templateCache;
+        return this;
+    }
+
+    /**
+     * Only generate the files affected by the changes since the given version of the spec, which
+     * the output was last generated from with the same configuration and templates, see
+     * {@link SpecDiff}. Supporting files are only generated again if they may be affected, in
+     * which case all files are generated. Call after {@link #opts(ClientOptInput)}.
+     *
+     * @param previousSwagger previous version of the spec, as parsed; null to generate all files
+     * @return this generator
+     */
+    public DefaultGenerator changedSince(Swagger previousSwagger) {
+        this.previousSwagger = previousSwagger;
+        return this;
+    }
+
+    /**
+     * @return timings and counts of the generation run, including the time spent parsing the spec
+     * when the input was created by {@link io.swagger.codegen.config.CodegenConfigurator}
+     */
+    public GenerationMetrics getMetrics() {
+        return metrics;
+    }
+
     private String getScheme() {
         String scheme;
         if (swagger.getSchemes() != null && swagger.getSchemes().size() > 0) {
@@ -174,6 +260,35 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         basePath = config.escapeText(getHost());
         basePathWithoutHost = config.escapeText(swagger.getBasePath());
 
+        // render templates on a worker pool if more than one generator thread is requested
+        int generatorThreads = 1;
+        if (config.additionalProperties().containsKey(CodegenConstants.GENERATOR_THREADS)) {
+            generatorThreads = Integer.parseInt(config.additionalProperties().get(CodegenConstants.GENERATOR_THREADS).toString());
+        }
+        if (generatorThreads > 1) {
+            executor = Executors.newFixedThreadPool(generatorThreads);
+        }
+        lowMemory = config.additionalProperties().containsKey(CodegenConstants.LOW_MEMORY)
+                && Boolean.valueOf(config.additionalProperties().get(CodegenConstants.LOW_MEMORY).toString());
+        if (config.additionalProperties().containsKey(CodegenConstants.PRELOAD_TEMPLATES)
+                && Boolean.valueOf(config.additionalProperties().get(CodegenConstants.PRELOAD_TEMPLATES).toString())) {
+            preloadEmbeddedTemplates(config.embeddedTemplateDir());
+            preloadEmbeddedTemplates(config.getCommonTemplateDir());
+        }
+        parallelFlatten = config.additionalProperties().containsKey(CodegenConstants.PARALLEL_FLATTEN)
+                && Boolean.valueOf(config.additionalProperties().get(CodegenConstants.PARALLEL_FLATTEN).toString());
+        if (parallelFlatten && executor == null) {
+            LOGGER.warn("{} has no effect with a single generator thread, inline models are resolved sequentially. Set {} above 1 to resolve them in parallel.",
+                    CodegenConstants.PARALLEL_FLATTEN, CodegenConstants.GENERATOR_THREADS);
+        }
+
+        // skip rendering files whose inputs did not change since the last run
+        if (config.additionalProperties().containsKey(CodegenConstants.INCREMENTAL)
+                && Boolean.valueOf(config.additionalProperties().get(CodegenConstants.INCREMENTAL).toString())) {
+            manifest = GenerationManifest.load(new File(config.outputFolder()), ImplementationVersion.read());
+            removeStaleFiles = config.additionalProperties().containsKey(CodegenConstants.REMOVE_STALE_FILES)
+                    && Boolean.valueOf(config.additionalProperties().get(CodegenConstants.REMOVE_STALE_FILES).toString());
+        }
     }
 
     private void configureSwaggerInfo() {
@@ -236,12 +351,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             // do not overwrite test file that already exists
             if (new File(filename).exists()) {
                 LOGGER.info("File exists. Skipped overwriting " + filename);
+                retainFile(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            scheduleTemplateToFile(files, models, templateName, filename);
         }
     }
 
@@ -251,12 +364,10 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             String filename = config.modelDocFileFolder() + File.separator + config.toModelDocFilename(modelName) + suffix;
             if (!config.shouldOverwrite(filename)) {
                 LOGGER.info("Skipped overwriting " + filename);
+                retainFile(filename);
                 continue;
             }
-            File written = processTemplateToFile(models, templateName, filename);
-            if (written != null) {
-                files.add(written);
-            }
+            scheduleTemplateToFile(files, models, templateName, filename);
         }
     }
 
@@ -287,16 +398,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
             modelKeys = updatedKeys;
         }
+        if (changedModels != null && !processUnchanged) {
+            Set<String> updatedKeys = new LinkedHashSet<String>(modelKeys);
+            updatedKeys.retainAll(changedModels);
+            modelKeys = updatedKeys;
+        }
 
         // store all processed models
         Map<String,Object> allProcessedModels = new TreeMap<String, Object>(new Comparator<String>() {
+            // depths are computed once per model instead of on every comparison
+            private final Map<String, Integer> inheritanceDepths = new HashMap<String, Integer>();
+
             @Override
             public int compare(String o1, String o2) {
-                Model model1 = definitions.get(o1);
-                Model model2 = definitions.get(o2);
-
-                int model1InheritanceDepth = getInheritanceDepth(model1);
-                int model2InheritanceDepth = getInheritanceDepth(model2);
+                int model1InheritanceDepth = getInheritanceDepth(o1);
+                int model2InheritanceDepth = getInheritanceDepth(o2);
 
                 if (model1InheritanceDepth == model2InheritanceDepth) {
                     return ObjectUtils.compare(config.toModelName(o1), config.toModelName(o2));
@@ -307,6 +423,15 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
             }
 
+            private int getInheritanceDepth(String name) {
+                Integer depth = inheritanceDepths.get(name);
+                if (depth == null) {
+                    depth = getInheritanceDepth(definitions.get(name));
+                    inheritanceDepths.put(name, depth);
+                }
+                return depth;
+            }
+
             private int getInheritanceDepth(Model model) {
                 int inheritanceDepth = 0;
                 Model parent = getParent(model);
@@ -350,7 +475,9 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 Model model = definitions.get(name);
                 Map<String, Model> modelMap = new HashMap<String, Model>();
                 modelMap.put(name, model);
+                long start = System.nanoTime();
                 Map<String, Object> models = processModels(config, modelMap, definitions);
+                metrics.addPhase(GenerationMetrics.PROCESS_MODELS, System.nanoTime() - start);
                 models.put("classname", config.toModelName(name));
                 models.putAll(config.additionalProperties());
                 allProcessedModels.put(name, models);
@@ -359,12 +486,25 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
             }
         }
 
+        // supporting files rendering the details of models need them all
+        boolean summarizeModels = lowMemory && !supportingFilesUse(MODEL_SUMMARY_OMITS);
+        if (lowMemory && !summarizeModels) {
+            LOGGER.info("Supporting files render the properties of models, keeping all of them in memory");
+        }
+
         // post process all processed models
-        allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        long start = System.nanoTime();
+        config.setModelGraph(new ModelGraph(allProcessedModels, config, executor));
+        try {
+            allProcessedModels = config.postProcessAllModels(allProcessedModels);
+        } finally {
+            config.setModelGraph(null);
+        }
+        metrics.addPhase(GenerationMetrics.POST_PROCESS_ALL_MODELS, System.nanoTime() - start);
 
         // generate files based on processed models
-        for (String modelName: allProcessedModels.keySet()) {
-            Map<String, Object> models = (Map<String, Object>)allProcessedModels.get(modelName);
+        for (String modelName: new ArrayList<String>(allProcessedModels.keySet())) {
+            Map<String, Object> models = (Map<String, Object>) (lowMemory ? allProcessedModels.remove(modelName) : allProcessedModels.get(modelName));
             try {
                 //don't generate models that have an import mapping
                 if(config.importMapping().containsKey(modelName)) {
@@ -381,17 +521,19 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 }
                 allModels.add(modelTemplate);
+                if (changedModels != null && !changedModels.contains(modelName)) {
+                    // only processed for the supporting files
+                    continue;
+                }
                 for (String templateName : config.modelTemplateFiles().keySet()) {
                     String suffix = config.modelTemplateFiles().get(templateName);
                     String filename = config.modelFileFolder() + File.separator + config.toModelFilename(modelName) + suffix;
                     if (!config.shouldOverwrite(filename)) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        retainFile(filename);
                         continue;
                     }
-                    File written = processTemplateToFile(models, templateName, filename);
-                    if(written != null) {
-                        files.add(written);
-                    }
+                    scheduleTemplateToFile(files, models, templateName, filename);
                 }
                 if(generateModelTests) {
                     generateModelTests(files, models, modelName);
@@ -400,10 +542,21 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     // to generate model documentation files
                     generateModelDocumentation(files, models, modelName);
                 }
+                if (lowMemory) {
+                    // render the files of the model right away and keep only a summary of it
+                    flushTemplates(files);
+                    dataDigests.clear();
+                    if (summarizeModels && modelTemplate.get("model") instanceof CodegenModel) {
+                        Map<String, Object> summary = new HashMap<String, Object>(modelTemplate);
+                        summary.put("model", ((CodegenModel) modelTemplate.get("model")).summary());
+                        allModels.set(allModels.size() - 1, summary);
+                    }
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate model '" + modelName + "'", e);
             }
         }
+        flushTemplates(files);
         if (System.getProperty("debugModels") != null) {
             LOGGER.info("############ Model info ############");
             Json.prettyPrint(allModels);
@@ -415,31 +568,71 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (!generateApis) {
             return;
         }
-        Map<String, List<CodegenOperation>> paths = processPaths(swagger.getPaths());
+        long start = System.nanoTime();
+        Map<String, List<CodegenOperation>> paths = null;
+        Map<String, List<TaggedOperation>> index = null;
+        Set<String> tags;
+        if (lowMemory && groupsOperationsByTag()) {
+            // the operations of each group are processed right before rendering its files
+            index = indexOperations(swagger.getPaths());
+            tags = new TreeSet<String>(index.keySet());
+            if (changedApis != null && !processUnchanged) {
+                tags.retainAll(changedApis);
+            }
+        } else {
+            if (lowMemory) {
+                LOGGER.info("Operations are not grouped by tag, processing all of them at once");
+            }
+            paths = processPaths(swagger.getPaths(), processUnchanged ? null : changedApis);
+            tags = paths.keySet();
+        }
+        metrics.addPhase(GenerationMetrics.PROCESS_PATHS, System.nanoTime() - start);
         Set<String> apisToGenerate = null;
         String apiNames = System.getProperty("apis");
         if(apiNames != null && !apiNames.isEmpty()) {
             apisToGenerate = new HashSet<String>(Arrays.asList(apiNames.split(",")));
         }
         if(apisToGenerate != null && !apisToGenerate.isEmpty()) {
-            Map<String, List<CodegenOperation>> updatedPaths = new TreeMap<String, List<CodegenOperation>>();
-            for(String m : paths.keySet()) {
+            Set<String> updatedTags = new TreeSet<String>();
+            for(String m : tags) {
                 if(apisToGenerate.contains(m)) {
-                    updatedPaths.put(m, paths.get(m));
+                    updatedTags.add(m);
                 }
             }
-            paths = updatedPaths;
+            tags = updatedTags;
+        }
+        // supporting files rendering the details of operations need them all
+        boolean summarizeOperations = lowMemory && !supportingFilesUse(OPERATION_SUMMARY_OMITS);
+        if (lowMemory && !summarizeOperations) {
+            LOGGER.info("Supporting files render the parameters or responses of operations, keeping all of them in memory");
         }
-        for (String tag : paths.keySet()) {
+        for (String tag : new ArrayList<String>(tags)) {
             try {
-                List<CodegenOperation> ops = paths.get(tag);
+                List<CodegenOperation> ops;
+                if (index != null) {
+                    start = System.nanoTime();
+                    Map<String, List<CodegenOperation>> group = new HashMap<String, List<CodegenOperation>>();
+                    for (TaggedOperation tagged : index.remove(tag)) {
+                        processOperation(tagged.resourcePath, tagged.httpMethod, tagged.operation, tagged.tags, tagged.tag, group);
+                    }
+                    ops = group.get(tag);
+                    metrics.addPhase(GenerationMetrics.PROCESS_PATHS, System.nanoTime() - start);
+                    if (ops == null) {
+                        continue;
+                    }
+                } else {
+                    ops = paths.get(tag);
+                }
                 Collections.sort(ops, new Comparator<CodegenOperation>() {
                     @Override
                     public int compare(CodegenOperation one, CodegenOperation another) {
                         return ObjectUtils.compare(one.operationId, another.operationId);
                     }
                 });
+                start = System.nanoTime();
                 Map<String, Object> operation = processOperations(config, tag, ops, allModels);
+                metrics.addPhase(GenerationMetrics.PROCESS_OPERATIONS, System.nanoTime() - start);
+                metrics.setOperations(metrics.getOperations() + ops.size());
 
                 operation.put("basePath", basePath);
                 operation.put("basePathWithoutHost", basePathWithoutHost);
@@ -473,18 +666,20 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         oo.put("hasMore", "true");
                     }
                 }
+                if (changedApis != null && !changedApis.contains(tag)) {
+                    // only processed for the supporting files
+                    continue;
+                }
 
                 for (String templateName : config.apiTemplateFiles().keySet()) {
                     String filename = config.apiFilename(templateName, tag);
                     if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
                         LOGGER.info("Skipped overwriting " + filename);
+                        retainFile(filename);
                         continue;
                     }
 
-                    File written = processTemplateToFile(operation, templateName, filename);
-                    if(written != null) {
-                        files.add(written);
-                    }
+                    scheduleTemplateToFile(files, operation, templateName, filename);
                 }
 
                 if(generateApiTests) {
@@ -494,13 +689,11 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         // do not overwrite test file that already exists
                         if (new File(filename).exists()) {
                             LOGGER.info("File exists. Skipped overwriting " + filename);
+                            retainFile(filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        scheduleTemplateToFile(files, operation, templateName, filename);
                     }
                 }
 
@@ -511,20 +704,27 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                         String filename = config.apiDocFilename(templateName, tag);
                         if (!config.shouldOverwrite(filename) && new File(filename).exists()) {
                             LOGGER.info("Skipped overwriting " + filename);
+                            retainFile(filename);
                             continue;
                         }
 
-                        File written = processTemplateToFile(operation, templateName, filename);
-                        if (written != null) {
-                            files.add(written);
-                        }
+                        scheduleTemplateToFile(files, operation, templateName, filename);
                     }
                 }
 
+                if (lowMemory) {
+                    // render the files of the api right away and keep only a summary of its operations
+                    flushTemplates(files);
+                    dataDigests.clear();
+                    if (summarizeOperations) {
+                        summarizeOperations((Map<String, Object>) allOperations.get(allOperations.size() - 1));
+                    }
+                }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate api file for '" + tag + "'", e);
             }
         }
+        flushTemplates(files);
         if (System.getProperty("debugOperations") != null) {
             LOGGER.info("############ Operation info ############");
             Json.prettyPrint(allOperations);
@@ -532,6 +732,27 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    /**
+     * Replace the operations of an api in the supporting file data with summaries.
+     */
+    @SuppressWarnings("unchecked")
+    private static void summarizeOperations(Map<String, Object> api) {
+        if (!(api.get("operations") instanceof Map)) {
+            return;
+        }
+        Map<String, Object> operations = new HashMap<String, Object>((Map<String, Object>) api.get("operations"));
+        List<CodegenOperation> ops = (List<CodegenOperation>) operations.get("operation");
+        if (ops == null) {
+            return;
+        }
+        List<CodegenOperation> summaries = new ArrayList<CodegenOperation>(ops.size());
+        for (CodegenOperation op : ops) {
+            summaries.add(op.summary());
+        }
+        operations.put("operation", summaries);
+        api.put("operations", operations);
+    }
+
     private void generateSupportingFiles(List<File> files, Map<String, Object> bundle) {
         if (!generateSupportingFiles) {
             return;
@@ -548,47 +769,41 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 if (StringUtils.isNotEmpty(support.folder)) {
                     outputFolder += File.separator + support.folder;
                 }
-                File of = new File(outputFolder);
-                if (!of.isDirectory()) {
-                    of.mkdirs();
-                }
                 String outputFilename = outputFolder + File.separator + support.destinationFilename.replace('/', File.separatorChar);
                 if (!config.shouldOverwrite(outputFilename)) {
                     LOGGER.info("Skipped overwriting " + outputFilename);
+                    retainFile(outputFilename);
                     continue;
                 }
-                String templateFile;
-                if( support instanceof GlobalSupportingFile) {
-                    templateFile = config.getCommonTemplateDir() + File.separator +  support.templateFile;
-                } else {
-                    templateFile = getFullTemplateFile(config, support.templateFile);
-                }
+                String templateFile = supportingTemplateFile(support);
                 boolean shouldGenerate = true;
                 if(supportingFilesToGenerate != null && !supportingFilesToGenerate.isEmpty()) {
                     shouldGenerate = supportingFilesToGenerate.contains(support.destinationFilename);
                 }
+                if (changedSupportingFiles != null && !changedSupportingFiles.contains(support)) {
+                    shouldGenerate = false;
+                }
                 if (!shouldGenerate){
                     continue;
                 }
 
                 if(ignoreProcessor.allowsFile(new File(outputFilename))) {
                     if (templateFile.endsWith("mustache")) {
-                        String template = readTemplate(templateFile);
-                        Mustache.Compiler compiler = Mustache.compiler();
-                        compiler = config.processCompiler(compiler);
-                        Template tmpl = compiler
-                                .withLoader(new Mustache.TemplateLoader() {
-                                    @Override
-                                    public Reader getTemplate(String name) {
-                                        return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                                    }
-                                })
-                                .defaultValue("")
-                                .compile(template);
-
-                        writeToFile(outputFilename, tmpl.execute(bundle));
+                        String digest = manifest == null ? null : digest(templateFile, bundle);
+                        if (isUpToDate(outputFilename, digest, false)) {
+                            files.add(new File(outputFilename));
+                            continue;
+                        }
+                        Template tmpl = compileTemplate(templateFile);
+                        renderToFile(outputFilename, tmpl, templateFile, bundle);
+                        recordFile(outputFilename, digest, false);
                         files.add(new File(outputFilename));
                     } else {
+                        String digest = manifest == null ? null : digest(templateFile, sourceDigest(templateFile));
+                        if (isUpToDate(outputFilename, digest, false)) {
+                            files.add(new File(outputFilename));
+                            continue;
+                        }
                         InputStream in = null;
 
                         try {
@@ -600,11 +815,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                             in = this.getClass().getClassLoader().getResourceAsStream(getCPResourcePath(templateFile));
                         }
                         File outputFile = new File(outputFilename);
-                        OutputStream out = new FileOutputStream(outputFile, false);
                         if (in != null) {
-                            LOGGER.info("writing file " + outputFile);
-                            IOUtils.copy(in, out);
-                            out.close();
+                            try {
+                                copyToFile(outputFilename, in);
+                            } finally {
+                                in.close();
+                            }
+                            recordFile(outputFilename, digest, false);
                         } else {
                             LOGGER.error("can't open " + templateFile + " for input");
                         }
@@ -612,11 +829,16 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                     }
                 } else {
                     LOGGER.info("Skipped generation of " + outputFilename + " due to rule in .swagger-codegen-ignore");
+                    retainFile(outputFilename);
                 }
             } catch (Exception e) {
                 throw new RuntimeException("Could not generate supporting file '" + support + "'", e);
             }
         }
+        if (changedSupportingFiles != null) {
+            // the files below don't depend on the spec
+            return;
+        }
 
         // Consider .swagger-codegen-ignore a supporting file
         // Output .swagger-codegen-ignore if it doesn't exist and wasn't explicitly created by a generator
@@ -663,6 +885,13 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
 
     }
 
+    private String supportingTemplateFile(SupportingFile support) {
+        if (support instanceof GlobalSupportingFile) {
+            return config.getCommonTemplateDir() + File.separator + support.templateFile;
+        }
+        return getFullTemplateFile(config, support.templateFile);
+    }
+
     private Map<String, Object> buildSupportFileBundle(List<Object> allOperations, List<Object> allModels) {
 
         Map<String, Object> bundle = new HashMap<String, Object>();
@@ -714,53 +943,411 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (swagger == null || config == null) {
             throw new RuntimeException("missing swagger input or config!");
         }
+        long generateStart = System.nanoTime();
+        long start = generateStart;
+        // compared before the config and the generator modify the spec
+        SpecDiff diff = previousSwagger == null ? null : SpecDiff.compare(previousSwagger, swagger);
         configureGeneratorProperties();
         configureSwaggerInfo();
-
-        // resolve inline models
-        InlineModelResolver inlineModelResolver = new InlineModelResolver();
-        inlineModelResolver.flatten(swagger);
+        metrics.addPhase(GenerationMetrics.CONFIGURE, System.nanoTime() - start);
 
         List<File> files = new ArrayList<File>();
-        // models
-        List<Object> allModels = new ArrayList<Object>();
-        generateModels(files, allModels);
-        // apis
-        List<Object> allOperations = new ArrayList<Object>();
-        generateApis(files, allOperations, allModels);
-
-        // supporting files
-        Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
-        generateSupportingFiles(files, bundle);
+        DefaultCodegen.beginNameCaching();
+        try {
+            // resolve inline models
+            start = System.nanoTime();
+            Set<String> definitions = swagger.getDefinitions() == null
+                    ? Collections.<String>emptySet() : new HashSet<String>(swagger.getDefinitions().keySet());
+            InlineModelResolver inlineModelResolver = new InlineModelResolver();
+            inlineModelResolver.flatten(swagger, parallelFlatten ? executor : null);
+            metrics.addPhase(GenerationMetrics.FLATTEN, System.nanoTime() - start);
+            if (diff != null) {
+                restrictToChanges(diff, definitions);
+            }
+
+            // models
+            start = System.nanoTime();
+            List<Object> allModels = new ArrayList<Object>();
+            generateModels(files, allModels);
+            metrics.addPhase(GenerationMetrics.GENERATE_MODELS, System.nanoTime() - start);
+            metrics.setModels(allModels.size());
+            // apis
+            start = System.nanoTime();
+            List<Object> allOperations = new ArrayList<Object>();
+            generateApis(files, allOperations, allModels);
+            metrics.addPhase(GenerationMetrics.GENERATE_APIS, System.nanoTime() - start);
+
+            // supporting files
+            start = System.nanoTime();
+            Map<String, Object> bundle = buildSupportFileBundle(allOperations, allModels);
+            generateSupportingFiles(files, bundle);
+            metrics.addPhase(GenerationMetrics.GENERATE_SUPPORTING_FILES, System.nanoTime() - start);
+
+            if (manifest != null) {
+                start = System.nanoTime();
+                writeManifest();
+                metrics.addPhase(GenerationMetrics.WRITE_MANIFEST, System.nanoTime() - start);
+            }
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+            }
+            config.setModelGraph(null);
+            DefaultCodegen.endNameCaching();
+            pendingTemplates.clear();
+            compiledTemplates.clear();
+            dataDigests.clear();
+            templateDigests.clear();
+            templateDirDigest = null;
+            manifest = null;
+            changedModels = null;
+            changedApis = null;
+            changedSupportingFiles = null;
+            processUnchanged = false;
+        }
+        start = System.nanoTime();
         config.processSwagger(swagger);
+        metrics.addPhase(GenerationMetrics.PROCESS_SWAGGER, System.nanoTime() - start);
+        metrics.setFiles(files.size());
+        metrics.addPhase(GenerationMetrics.GENERATE, System.nanoTime() - generateStart);
         return files;
     }
 
+    /**
+     * Restrict generation to the files affected by the changes to the spec. Supporting files are
+     * rendered from all models and operations: when some may render details of the changes, all
+     * models and operations are processed, but only the affected files rendered.
+     *
+     * @param diff changes to the spec
+     * @param definitions definitions of the spec before inline models were added
+     */
+    private void restrictToChanges(SpecDiff diff, Set<String> definitions) {
+        if (diff.isOutlineChanged()) {
+            LOGGER.info("Outline of the spec changed, generating all files");
+            return;
+        }
+        changedSupportingFiles = new HashSet<SupportingFile>();
+        if (generateSupportingFiles && !diff.isEmpty()) {
+            for (SupportingFile support : config.supportingFiles()) {
+                if (usesSpecDetails(supportingTemplateFile(support), new HashSet<String>())) {
+                    changedSupportingFiles.add(support);
+                }
+            }
+        }
+        processUnchanged = !changedSupportingFiles.isEmpty();
+        changedModels = new HashSet<String>(diff.getModels());
+        if (!diff.isEmpty() && swagger.getDefinitions() != null) {
+            // inline models don't have a definition to compare
+            for (String name : swagger.getDefinitions().keySet()) {
+                if (!definitions.contains(name)) {
+                    changedModels.add(name);
+                }
+            }
+        }
+        changedApis = swagger.getPaths() == null ? Collections.<String>emptySet() : operationGroups(diff.getOperations());
+        LOGGER.info("Generating " + changedModels.size() + " models, " + changedApis.size() + " apis and "
+                + changedSupportingFiles.size() + " supporting files affected by changes to the spec");
+    }
+
+    /**
+     * @return whether the template or one of its partials may render details of models or
+     * operations, see {@link SpecDiff#usesDetails(String)}
+     */
+    private boolean usesSpecDetails(String templateFile, Set<String> visited) {
+        return usesVariables(templateFile, SpecDiff.detailVariables(), visited);
+    }
+
+    /**
+     * @return whether the template of a supporting file to generate or one of its partials may use
+     * one of the variables
+     */
+    private boolean supportingFilesUse(Set<String> variables) {
+        if (!generateSupportingFiles) {
+            return false;
+        }
+        for (SupportingFile support : config.supportingFiles()) {
+            if (usesVariables(supportingTemplateFile(support), variables, new HashSet<String>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether the template or one of its partials may use one of the variables, see
+     * {@link SpecDiff#usesVariables(String, Set)}
+     */
+    private boolean usesVariables(String templateFile, Set<String> variables, Set<String> visited) {
+        if (!templateFile.endsWith(".mustache") || !visited.add(templateFile)) {
+            return false;
+        }
+        String template;
+        try {
+            template = readTemplate(templateFile);
+        } catch (RuntimeException e) {
+            // reported when rendering
+            return true;
+        }
+        if (SpecDiff.usesVariables(template, variables)) {
+            return true;
+        }
+        Matcher partial = PARTIAL.matcher(template);
+        while (partial.find()) {
+            if (usesVariables(getFullTemplateFile(config, partial.group(1) + ".mustache"), variables, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Render a template to the given file. When generating with more than one thread, rendering
+     * is deferred until {@link #flushTemplates(List)} so that all template data has been processed
+     * before any template is executed.
+     */
+    private void scheduleTemplateToFile(List<File> files, final Map<String, Object> templateData, final String templateName, final String outputFilename) throws IOException {
+        if (executor == null) {
+            File written = processTemplateToFile(templateData, templateName, outputFilename);
+            if (written != null) {
+                files.add(written);
+            }
+            return;
+        }
+        pendingTemplates.add(new Callable<File>() {
+            @Override
+            public File call() throws Exception {
+                try {
+                    return processTemplateToFile(templateData, templateName, outputFilename);
+                } catch (Exception e) {
+                    throw new RuntimeException("Could not generate file '" + outputFilename + "'", e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Render all deferred templates on the worker pool, adding the written files in the order
+     * they were scheduled.
+     */
+    private void flushTemplates(List<File> files) {
+        if (pendingTemplates.isEmpty()) {
+            return;
+        }
+        try {
+            for (Future<File> written : executor.invokeAll(pendingTemplates)) {
+                if (written.get() != null) {
+                    files.add(written.get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while generating files", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        } finally {
+            pendingTemplates.clear();
+        }
+    }
+
     private File processTemplateToFile(Map<String, Object> templateData, String templateName, String outputFilename) throws IOException {
         String adjustedOutputFilename = outputFilename.replaceAll("//", "/").replace('/', File.separatorChar);
         if(ignoreProcessor.allowsFile(new File(adjustedOutputFilename))) {
             String templateFile = getFullTemplateFile(config, templateName);
-            String template = readTemplate(templateFile);
-            Mustache.Compiler compiler = Mustache.compiler();
-            compiler = config.processCompiler(compiler);
-            Template tmpl = compiler
-                    .withLoader(new Mustache.TemplateLoader() {
-                        @Override
-                        public Reader getTemplate(String name) {
-                            return getTemplateReader(getFullTemplateFile(config, name + ".mustache"));
-                        }
-                    })
-                    .defaultValue("")
-                    .compile(template);
-
-            writeToFile(adjustedOutputFilename, tmpl.execute(templateData));
+            String digest = manifest == null ? null : digest(templateFile, templateData);
+            if (isUpToDate(adjustedOutputFilename, digest, true)) {
+                return new File(adjustedOutputFilename);
+            }
+            Template tmpl = compileTemplate(templateFile);
+            renderToFile(adjustedOutputFilename, tmpl, templateFile, templateData);
+            recordFile(adjustedOutputFilename, digest, true);
             return new File(adjustedOutputFilename);
         }
 
         LOGGER.info("Skipped generation of " + adjustedOutputFilename + " due to rule in .swagger-codegen-ignore");
+        retainFile(adjustedOutputFilename);
         return null;
     }
 
+    /**
+     * Digest of everything a generated file depends on: the generator, the template (including
+     * the partials it includes) and the data. The generation date is left out so that unchanged
+     * files are not rendered on every run.
+     */
+    private String digest(String templateFile, Object data) {
+        String dataDigest = dataDigests.get(data);
+        if (dataDigest == null) {
+            dataDigest = objectDigest.digest(data);
+            dataDigests.put(data, dataDigest);
+        }
+        return objectDigest.digest(config.getClass().getName(), templateFile, templateDigest(templateFile), dataDigest);
+    }
+
+    /**
+     * Digest of the sources of a template and of the partials it includes, directly or not, so
+     * that editing a template only renders the files produced with it again. Embedded templates
+     * only change with the generator version.
+     */
+    private String templateDigest(String templateFile) {
+        String digest = templateDigests.get(templateFile);
+        if (digest == null) {
+            Map<String, String> sources = new TreeMap<String, String>();
+            addTemplateSources(templateFile, sources);
+            digest = objectDigest.digest(sources);
+            templateDigests.put(templateFile, digest);
+        }
+        return digest;
+    }
+
+    private void addTemplateSources(String templateFile, Map<String, String> sources) {
+        if (sources.containsKey(templateFile)) {
+            return;
+        }
+        sources.put(templateFile, sourceDigest(templateFile));
+        if (!templateFile.endsWith(".mustache")) {
+            // copied as is
+            return;
+        }
+        String template;
+        try {
+            template = readTemplate(templateFile);
+        } catch (RuntimeException e) {
+            // reported when rendering
+            return;
+        }
+        if (template.contains("{{=")) {
+            // with custom delimiters partials can't be found, depend on all templates instead
+            sources.put("", templateDirDigest());
+        }
+        Matcher partial = PARTIAL.matcher(template);
+        while (partial.find()) {
+            addTemplateSources(getFullTemplateFile(config, partial.group(1) + ".mustache"), sources);
+        }
+    }
+
+    private synchronized String templateDirDigest() {
+        if (templateDirDigest == null) {
+            Map<String, String> templates = new TreeMap<String, String>();
+            File templateDir = config.templateDir() == null ? null : new File(config.templateDir());
+            if (templateDir != null && templateDir.isDirectory()) {
+                for (File template : FileUtils.listFiles(templateDir, null, true)) {
+                    templates.put(templateDir.toURI().relativize(template.toURI()).getPath(), sourceDigest(template.getPath()));
+                }
+            }
+            templateDirDigest = objectDigest.digest(templates);
+        }
+        return templateDirDigest;
+    }
+
+    private static String sourceDigest(String file) {
+        File source = new File(file);
+        if (!source.isFile()) {
+            // embedded resources only change with the generator version
+            return null;
+        }
+        try {
+            return Files.asByteSource(source).hash(Hashing.sha256()).toString();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not read " + file, e);
+        }
+    }
+
+    private boolean isUpToDate(String filename, String digest, boolean specFile) {
+        if (manifest == null || !manifest.isUpToDate(new File(filename), digest)) {
+            return false;
+        }
+        LOGGER.info("Skipped unchanged " + filename);
+        manifest.record(new File(filename), digest, specFile);
+        metrics.fileUpToDate();
+        return true;
+    }
+
+    private void recordFile(String filename, String digest, boolean specFile) {
+        if (manifest != null) {
+            manifest.record(new File(filename), digest, specFile);
+        }
+    }
+
+    private void retainFile(String filename) {
+        if (manifest != null) {
+            manifest.retain(new File(filename));
+        }
+    }
+
+    /**
+     * Write the generation manifest, removing model and api files which are not generated any more
+     * if requested. Files are only considered stale when all files were generated in this run.
+     */
+    private void writeManifest() {
+        boolean fullRun = generateApis && generateModels && generateSupportingFiles && changedModels == null
+                && StringUtils.isEmpty(System.getProperty("apis")) && StringUtils.isEmpty(System.getProperty("models"))
+                && StringUtils.isEmpty(System.getProperty("supportingFiles"))
+                && generateModelTests && generateModelDocumentation && generateApiTests && generateApiDocumentation;
+        if (!fullRun) {
+            manifest.retainPrevious();
+        } else {
+            for (File staleFile : manifest.getStaleFiles()) {
+                if (!removeStaleFiles || !ignoreProcessor.allowsFile(staleFile) || !config.shouldOverwrite(staleFile.getPath())) {
+                    manifest.retain(staleFile);
+                } else if (staleFile.isFile()) {
+                    LOGGER.info("Removing stale file " + staleFile);
+                    if (!staleFile.delete()) {
+                        LOGGER.warn("Could not remove stale file " + staleFile);
+                    }
+                }
+            }
+        }
+        try {
+            manifest.write();
+        } catch (IOException e) {
+            throw new RuntimeException("Could not write generation manifest", e);
+        }
+    }
+
+    /**
+     * Compile the given template (with its partials) once per run, reusing templates compiled by
+     * earlier runs when the template cache has them.
+     */
+    private Template compileTemplate(String templateFile) {
+        Template tmpl = compiledTemplates.get(templateFile);
+        if (tmpl == null) {
+            Mustache.Compiler compiler = Mustache.compiler();
+            compiler = config.processCompiler(compiler);
+            long start = System.nanoTime();
+            tmpl = templateCache.getTemplate(this, config, templateFile, compiler.defaultValue(""));
+            metrics.templateCompiled(templateFile, System.nanoTime() - start);
+            compiledTemplates.put(templateFile, tmpl);
+        }
+        return tmpl;
+    }
+
+    /**
+     * Render a template straight into the output file, so that the rendered file is never held in
+     * memory as a whole.
+     */
+    private void renderToFile(String filename, final Template tmpl, final String templateFile, final Object data) throws IOException {
+        writeToFile(filename, new FileContents() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                CountingOutputStream counted = new CountingOutputStream(out);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(counted, StandardCharsets.UTF_8), RENDER_BUFFER_SIZE);
+                long start = System.nanoTime();
+                tmpl.execute(data, writer);
+                writer.flush();
+                metrics.templateExecuted(templateFile, System.nanoTime() - start, counted.getByteCount());
+            }
+        });
+    }
+
+    @Override
+    protected void fileWritten(File file, boolean written, long bytes, long nanos) {
+        super.fileWritten(file, written, bytes, nanos);
+        metrics.fileWritten(written, bytes, nanos);
+    }
+
     private static void processMimeTypes(List<String> mimeTypeList, Map<String, Object> operation, String source) {
         if (mimeTypeList == null || mimeTypeList.isEmpty()){
             return;
@@ -785,27 +1372,104 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
     }
 
     public Map<String, List<CodegenOperation>> processPaths(Map<String, Path> paths) {
+        return processPaths(paths, null);
+    }
+
+    /**
+     * @param groups groups of operations to process, null for all
+     */
+    private Map<String, List<CodegenOperation>> processPaths(Map<String, Path> paths, Set<String> groups) {
         Map<String, List<CodegenOperation>> ops = new TreeMap<String, List<CodegenOperation>>();
         for (String resourcePath : paths.keySet()) {
             Path path = paths.get(resourcePath);
-            processOperation(resourcePath, "get", path.getGet(), ops, path);
-            processOperation(resourcePath, "head", path.getHead(), ops, path);
-            processOperation(resourcePath, "put", path.getPut(), ops, path);
-            processOperation(resourcePath, "post", path.getPost(), ops, path);
-            processOperation(resourcePath, "delete", path.getDelete(), ops, path);
-            processOperation(resourcePath, "patch", path.getPatch(), ops, path);
-            processOperation(resourcePath, "options", path.getOptions(), ops, path);
+            processOperation(resourcePath, "get", path.getGet(), ops, path, groups);
+            processOperation(resourcePath, "head", path.getHead(), ops, path, groups);
+            processOperation(resourcePath, "put", path.getPut(), ops, path, groups);
+            processOperation(resourcePath, "post", path.getPost(), ops, path, groups);
+            processOperation(resourcePath, "delete", path.getDelete(), ops, path, groups);
+            processOperation(resourcePath, "patch", path.getPatch(), ops, path, groups);
+            processOperation(resourcePath, "options", path.getOptions(), ops, path, groups);
         }
         return ops;
     }
 
-    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, Path path) {
+    /**
+     * @return the operations of the paths by sanitized tag, in the order {@link #processPaths} processes them
+     */
+    private Map<String, List<TaggedOperation>> indexOperations(Map<String, Path> paths) {
+        Map<String, List<TaggedOperation>> index = new TreeMap<String, List<TaggedOperation>>();
+        for (String resourcePath : paths.keySet()) {
+            Path path = paths.get(resourcePath);
+            indexOperation(resourcePath, "get", path.getGet(), path, index);
+            indexOperation(resourcePath, "head", path.getHead(), path, index);
+            indexOperation(resourcePath, "put", path.getPut(), path, index);
+            indexOperation(resourcePath, "post", path.getPost(), path, index);
+            indexOperation(resourcePath, "delete", path.getDelete(), path, index);
+            indexOperation(resourcePath, "patch", path.getPatch(), path, index);
+            indexOperation(resourcePath, "options", path.getOptions(), path, index);
+        }
+        return index;
+    }
+
+    private void indexOperation(String resourcePath, String httpMethod, Operation operation, Path path, Map<String, List<TaggedOperation>> index) {
         if (operation == null) {
             return;
         }
-        if (System.getProperty("debugOperations") != null) {
-            LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
+        addPathParameters(operation, path);
+        List<Tag> tags = operationTags(operation);
+        for (Tag tag : tags) {
+            String group = config.sanitizeTag(tag.getName());
+            List<TaggedOperation> operations = index.get(group);
+            if (operations == null) {
+                operations = new ArrayList<TaggedOperation>();
+                index.put(group, operations);
+            }
+            operations.add(new TaggedOperation(resourcePath, httpMethod, operation, tags, tag));
+        }
+    }
+
+    /**
+     * @return whether operations are grouped by their sanitized tag, see {@link DefaultCodegen#addOperationToGroup}
+     */
+    private boolean groupsOperationsByTag() {
+        try {
+            return config.getClass().getMethod("addOperationToGroup", String.class, String.class, Operation.class,
+                    CodegenOperation.class, Map.class).getDeclaringClass() == DefaultCodegen.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param operationKeys keys of the operations, see {@link SpecDiff#operationKey(String, String)}, null for all
+     * @return groups (usually by tag, see {@link CodegenConfig#addOperationToGroup}) which the
+     * given operations are added to, computed without processing the operations
+     */
+    private Set<String> operationGroups(Set<String> operationKeys) {
+        Set<String> groups = new HashSet<String>();
+        for (Map.Entry<String, Path> path : swagger.getPaths().entrySet()) {
+            for (Map.Entry<io.swagger.models.HttpMethod, Operation> operation : path.getValue().getOperationMap().entrySet()) {
+                if (operationKeys != null && !operationKeys.contains(SpecDiff.operationKey(operation.getKey().name(), path.getKey()))) {
+                    continue;
+                }
+                for (Tag tag : operationTags(operation.getValue())) {
+                    groups.add(operationGroup(tag, path.getKey(), operation.getValue()));
+                }
+            }
         }
+        return groups;
+    }
+
+    private String operationGroup(Tag tag, String resourcePath, Operation operation) {
+        CodegenOperation probe = CodegenModelFactory.newInstance(CodegenModelType.OPERATION);
+        probe.path = resourcePath;
+        probe.operationId = StringUtils.defaultString(operation.getOperationId(), "operation");
+        Map<String, List<CodegenOperation>> group = new HashMap<String, List<CodegenOperation>>();
+        config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, probe, group);
+        return group.isEmpty() ? null : group.keySet().iterator().next();
+    }
+
+    private List<Tag> operationTags(Operation operation) {
         List<Tag> tags = new ArrayList<Tag>();
 
         List<String> tagNames = operation.getTags();
@@ -836,7 +1500,29 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         if (tags.isEmpty()) {
             tags.add(new Tag().name("default"));
         }
+        return tags;
+    }
+
+    private void processOperation(String resourcePath, String httpMethod, Operation operation, Map<String, List<CodegenOperation>> operations, Path path, Set<String> groups) {
+        if (operation == null) {
+            return;
+        }
+        if (System.getProperty("debugOperations") != null) {
+            LOGGER.info("processOperation: resourcePath= " + resourcePath + "\t;" + httpMethod + " " + operation + "\n");
+        }
+        List<Tag> tags = operationTags(operation);
+        addPathParameters(operation, path);
+
+        for (Tag tag : tags) {
+            if (groups != null && !groups.contains(operationGroup(tag, resourcePath, operation))) {
+                continue;
+            }
+            processOperation(resourcePath, httpMethod, operation, tags, tag, operations);
+        }
+
+    }
 
+    private void addPathParameters(Operation operation, Path path) {
         /*
          build up a set of parameter "ids" defined at the operation level
          per the swagger 2.0 spec "A unique parameter is defined by a combination of a name and location"
@@ -858,65 +1544,64 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
                 }
             }
         }
+    }
 
-        for (Tag tag : tags) {
-            try {
-                CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
-                codegenOperation.tags = new ArrayList<Tag>(tags);
-                config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
-
-                List<Map<String, List<String>>> securities = operation.getSecurity();
-                if (securities == null && swagger.getSecurity() != null) {
-                    securities = new ArrayList<Map<String, List<String>>>();
-                    for (SecurityRequirement sr : swagger.getSecurity()) {
-                        securities.add(sr.getRequirements());
-                    }
-                }
-                if (securities == null || swagger.getSecurityDefinitions() == null) {
-                    continue;
+    private void processOperation(String resourcePath, String httpMethod, Operation operation, List<Tag> tags, Tag tag, Map<String, List<CodegenOperation>> operations) {
+        try {
+            CodegenOperation codegenOperation = config.fromOperation(resourcePath, httpMethod, operation, swagger.getDefinitions(), swagger);
+            codegenOperation.tags = new ArrayList<Tag>(tags);
+            config.addOperationToGroup(config.sanitizeTag(tag.getName()), resourcePath, operation, codegenOperation, operations);
+
+            List<Map<String, List<String>>> securities = operation.getSecurity();
+            if (securities == null && swagger.getSecurity() != null) {
+                securities = new ArrayList<Map<String, List<String>>>();
+                for (SecurityRequirement sr : swagger.getSecurity()) {
+                    securities.add(sr.getRequirements());
                 }
-                Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
-                for (Map<String, List<String>> security: securities) {
-                    for (String securityName : security.keySet()) {
-                        SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
-                        if (securityDefinition == null) {
-                            continue;
-                        }
-                        if (securityDefinition instanceof OAuth2Definition) {
-                            OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
-                            OAuth2Definition oauth2Operation = new OAuth2Definition();
-                            oauth2Operation.setType(oauth2Definition.getType());
-                            oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
-                            oauth2Operation.setFlow(oauth2Definition.getFlow());
-                            oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
-                            oauth2Operation.setScopes(new HashMap<String, String>());
-                            for (String scope : security.get(securityName)) {
-                                if (oauth2Definition.getScopes().containsKey(scope)) {
-                                    oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
-                                }
+            }
+            if (securities == null || swagger.getSecurityDefinitions() == null) {
+                return;
+            }
+            Map<String, SecuritySchemeDefinition> authMethods = new HashMap<String, SecuritySchemeDefinition>();
+            for (Map<String, List<String>> security: securities) {
+                for (String securityName : security.keySet()) {
+                    SecuritySchemeDefinition securityDefinition = swagger.getSecurityDefinitions().get(securityName);
+                    if (securityDefinition == null) {
+                        continue;
+                    }
+                    if (securityDefinition instanceof OAuth2Definition) {
+                        OAuth2Definition oauth2Definition = (OAuth2Definition) securityDefinition;
+                        OAuth2Definition oauth2Operation = new OAuth2Definition();
+                        oauth2Operation.setType(oauth2Definition.getType());
+                        oauth2Operation.setAuthorizationUrl(oauth2Definition.getAuthorizationUrl());
+                        oauth2Operation.setFlow(oauth2Definition.getFlow());
+                        oauth2Operation.setTokenUrl(oauth2Definition.getTokenUrl());
+                        oauth2Operation.setScopes(new HashMap<String, String>());
+                        for (String scope : security.get(securityName)) {
+                            if (oauth2Definition.getScopes().containsKey(scope)) {
+                                oauth2Operation.addScope(scope, oauth2Definition.getScopes().get(scope));
                             }
-                            authMethods.put(securityName, oauth2Operation);
-                        } else {
-                            authMethods.put(securityName, securityDefinition);
                         }
+                        authMethods.put(securityName, oauth2Operation);
+                    } else {
+                        authMethods.put(securityName, securityDefinition);
                     }
                 }
-                if (!authMethods.isEmpty()) {
-                    codegenOperation.authMethods = config.fromSecurity(authMethods);
-                    codegenOperation.hasAuthMethods = true;
-                }
             }
-            catch (Exception ex) {
-                String msg = "Could not process operation:\n" //
-                        + "  Tag: " + tag + "\n"//
-                        + "  Operation: " + operation.getOperationId() + "\n" //
-                        + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
-                        + "  Definitions: " + swagger.getDefinitions() + "\n"  //
-                        + "  Exception: " + ex.getMessage();
-                throw new RuntimeException(msg, ex);
+            if (!authMethods.isEmpty()) {
+                codegenOperation.authMethods = config.fromSecurity(authMethods);
+                codegenOperation.hasAuthMethods = true;
             }
         }
-
+        catch (Exception ex) {
+            String msg = "Could not process operation:\n" //
+                    + "  Tag: " + tag + "\n"//
+                    + "  Operation: " + operation.getOperationId() + "\n" //
+                    + "  Resource: " + httpMethod + " " + resourcePath + "\n"//
+                    + "  Definitions: " + swagger.getDefinitions() + "\n"  //
+                    + "  Exception: " + ex.getMessage();
+            throw new RuntimeException(msg, ex);
+        }
     }
 
     private static String generateParameterId(Parameter parameter) {
@@ -1026,4 +1711,23 @@ public class DefaultGenerator extends AbstractGenerator implements Generator {
         config.postProcessModels(objs);
         return objs;
     }
+
+    /**
+     * An operation of a path under one of its tags, to be processed later.
+     */
+    private static class TaggedOperation {
+        private final String resourcePath;
+        private final String httpMethod;
+        private final Operation operation;
+        private final List<Tag> tags;
+        private final Tag tag;
+
+        private TaggedOperation(String resourcePath, String httpMethod, Operation operation, List<Tag> tags, Tag tag) {
+            this.resourcePath = resourcePath;
+            this.httpMethod = httpMethod;
+            this.operation = operation;
+            this.tags = tags;
+            this.tag = tag;
+        }
+    }
 }
@@ -0,0 +1,180 @@
+package io.swagger.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.swagger.util.Json;
+
+/**
+ * Records a digest of the inputs (template and template data) of every file written by a
+ * generation run, in {@code .swagger-codegen/manifest.json} under the output folder.
+ * <p>
+ * On the next run, files whose inputs have the same digest and which still exist don't need to be
+ * rendered again. Model and api files (including their tests and documentation) recorded by the
+ * previous run but not generated any more are stale, e.g. because the model was removed from the
+ * spec. A manifest written by another generator version is ignored.
+ */
+public class GenerationManifest {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationManifest.class);
+
+    public static final String MANIFEST_FILE = ".swagger-codegen" + File.separator + "manifest.json";
+
+    private final File outputFolder;
+    private final String generatorVersion;
+    private final Map<String, String> previousFiles;
+    private final Set<String> previousSpecFiles;
+    private final Map<String, String> files = new ConcurrentHashMap<String, String>();
+    private final Set<String> specFiles = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    private GenerationManifest(File outputFolder, String generatorVersion, Map<String, String> previousFiles, Set<String> previousSpecFiles) {
+        this.outputFolder = outputFolder;
+        this.generatorVersion = generatorVersion;
+        this.previousFiles = previousFiles;
+        this.previousSpecFiles = previousSpecFiles;
+    }
+
+    /**
+     * Reads the manifest of the previous run from the given output folder. The manifest file is
+     * removed, so that a run which fails halfway does not leave digests of files it may have
+     * overwritten behind; call {@link #write()} once all files have been generated.
+     *
+     * @param outputFolder output folder
+     * @param generatorVersion version of the running generator
+     * @return manifest, without previous entries if there is no (valid) manifest yet
+     */
+    public static GenerationManifest load(File outputFolder, String generatorVersion) {
+        Map<String, String> previousFiles = new TreeMap<String, String>();
+        Set<String> previousSpecFiles = new TreeSet<String>();
+        File manifestFile = new File(outputFolder, MANIFEST_FILE);
+        if (manifestFile.isFile()) {
+            try {
+                Content content = Json.mapper().readValue(manifestFile, Content.class);
+                if (generatorVersion.equals(content.generatorVersion) && content.files != null) {
+                    previousFiles.putAll(content.files);
+                    if (content.specFiles != null) {
+                        previousSpecFiles.addAll(content.specFiles);
+                    }
+                } else {
+                    LOGGER.info("Generation manifest was written by another version, regenerating all files");
+                }
+            } catch (IOException e) {
+                LOGGER.warn("Could not read generation manifest " + manifestFile + ", regenerating all files", e);
+            }
+            if (!manifestFile.delete()) {
+                LOGGER.warn("Could not remove generation manifest " + manifestFile);
+            }
+        }
+        return new GenerationManifest(outputFolder, generatorVersion, previousFiles, previousSpecFiles);
+    }
+
+    /**
+     * @param file generated file
+     * @param digest digest of the inputs of the file
+     * @return true if the previous run generated the file from the same inputs and it still exists
+     */
+    public boolean isUpToDate(File file, String digest) {
+        return digest.equals(previousFiles.get(relativePath(file))) && file.isFile();
+    }
+
+    /**
+     * Records the digest of the inputs of a file generated (or found up to date) by this run.
+     *
+     * @param file generated file
+     * @param digest digest of the inputs of the file
+     * @param specFile whether the file was generated for a model or api of the spec
+     */
+    public void record(File file, String digest, boolean specFile) {
+        String path = relativePath(file);
+        files.put(path, digest);
+        if (specFile) {
+            specFiles.add(path);
+        }
+    }
+
+    /**
+     * Keeps the entry of the previous run for a file which this run did not write (e.g. because
+     * it must not be overwritten), so that the file is not considered stale.
+     */
+    public void retain(File file) {
+        String path = relativePath(file);
+        String digest = previousFiles.get(path);
+        if (digest != null) {
+            files.put(path, digest);
+            if (previousSpecFiles.contains(path)) {
+                specFiles.add(path);
+            }
+        }
+    }
+
+    /**
+     * Keeps the entries of the previous run for all files which this run did not record, e.g.
+     * when only some of the files were generated.
+     */
+    public void retainPrevious() {
+        for (String path : previousFiles.keySet()) {
+            if (!files.containsKey(path)) {
+                retain(new File(outputFolder, path));
+            }
+        }
+    }
+
+    /**
+     * @return model and api files recorded by the previous run which were neither recorded nor
+     * retained by this run
+     */
+    public List<File> getStaleFiles() {
+        List<File> staleFiles = new ArrayList<File>();
+        for (String path : previousSpecFiles) {
+            if (!files.containsKey(path)) {
+                staleFiles.add(new File(outputFolder, path.replace('/', File.separatorChar)));
+            }
+        }
+        return staleFiles;
+    }
+
+    /**
+     * Writes the entries recorded or retained by this run. Entries of the previous run for other
+     * than model and api files are kept, as generators may skip existing supporting files.
+     */
+    public void write() throws IOException {
+        File manifestFile = new File(outputFolder, MANIFEST_FILE);
+        File parent = manifestFile.getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Could not create directory " + parent);
+        }
+        Content content = new Content();
+        content.generatorVersion = generatorVersion;
+        content.files = new TreeMap<String, String>(files);
+        for (Map.Entry<String, String> previous : previousFiles.entrySet()) {
+            if (!previousSpecFiles.contains(previous.getKey()) && !content.files.containsKey(previous.getKey())) {
+                content.files.put(previous.getKey(), previous.getValue());
+            }
+        }
+        content.specFiles = new TreeSet<String>(specFiles);
+        Json.pretty().writeValue(manifestFile, content);
+    }
+
+    private String relativePath(File file) {
+        Path root = outputFolder.toPath().toAbsolutePath().normalize();
+        Path path = file.toPath().toAbsolutePath().normalize();
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+
+    static class Content {
+        public String generatorVersion;
+        public Map<String, String> files;
+        public Set<String> specFiles;
+    }
+}
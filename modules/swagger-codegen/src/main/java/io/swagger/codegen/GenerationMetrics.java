@@ -0,0 +1,254 @@
+package io.swagger.codegen;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Timings and counts of a generation run: the wall time of each phase, the time spent compiling,
+ * executing and writing each template, and the number of models, operations and files.
+ * <p>
+ * Phases nest: {@link #GENERATE_MODELS} includes {@link #PROCESS_MODELS} and
+ * {@link #POST_PROCESS_ALL_MODELS}, {@link #GENERATE_APIS} includes {@link #PROCESS_PATHS} and
+ * {@link #PROCESS_OPERATIONS}, and everything but {@link #PARSE} is part of {@link #GENERATE}.
+ * {@link #COMPILE_TEMPLATES}, {@link #EXECUTE_TEMPLATES} and {@link #WRITE_FILES} are summed over
+ * all files, so they exceed the wall time when generating with more than one thread. Templates
+ * are rendered straight into the output files, so {@link #EXECUTE_TEMPLATES} includes writing
+ * their output, while {@link #WRITE_FILES} covers the rest (comparing with and replacing the
+ * existing files, and copying static files).
+ * <p>
+ * Instances are thread-safe and serialize to JSON with Jackson, with times in milliseconds.
+ */
+@JsonPropertyOrder({"totalMillis", "models", "operations", "files", "filesWritten", "filesUnchanged",
+        "filesUpToDate", "bytesWritten", "phases", "templates"})
+public class GenerationMetrics {
+    public static final String PARSE = "parse";
+    public static final String GENERATE = "generate";
+    public static final String CONFIGURE = "configure";
+    public static final String FLATTEN = "flatten";
+    public static final String GENERATE_MODELS = "generateModels";
+    public static final String PROCESS_MODELS = "processModels";
+    public static final String POST_PROCESS_ALL_MODELS = "postProcessAllModels";
+    public static final String GENERATE_APIS = "generateApis";
+    public static final String PROCESS_PATHS = "processPaths";
+    public static final String PROCESS_OPERATIONS = "processOperations";
+    public static final String GENERATE_SUPPORTING_FILES = "generateSupportingFiles";
+    public static final String COMPILE_TEMPLATES = "compileTemplates";
+    public static final String EXECUTE_TEMPLATES = "executeTemplates";
+    public static final String WRITE_FILES = "writeFiles";
+    public static final String WRITE_MANIFEST = "writeManifest";
+    public static final String PROCESS_SWAGGER = "processSwagger";
+
+    private static final String[] PHASES = {
+            PARSE, GENERATE, CONFIGURE, FLATTEN, GENERATE_MODELS, PROCESS_MODELS, POST_PROCESS_ALL_MODELS,
+            GENERATE_APIS, PROCESS_PATHS, PROCESS_OPERATIONS, GENERATE_SUPPORTING_FILES,
+            COMPILE_TEMPLATES, EXECUTE_TEMPLATES, WRITE_FILES, WRITE_MANIFEST, PROCESS_SWAGGER
+    };
+
+    private final Map<String, Long> phaseNanos = new LinkedHashMap<String, Long>();
+    private final Map<String, TemplateMetrics> templates = new TreeMap<String, TemplateMetrics>();
+    private int models;
+    private int operations;
+    private int files;
+    private int filesWritten;
+    private int filesUnchanged;
+    private int filesUpToDate;
+    private long bytesWritten;
+
+    public GenerationMetrics() {
+        for (String phase : PHASES) {
+            phaseNanos.put(phase, 0L);
+        }
+    }
+
+    /**
+     * Adds time spent in a phase; phases may be entered several times.
+     *
+     * @param phase phase, one of the constants of this class or a custom name
+     * @param nanos elapsed time in nanoseconds
+     */
+    public synchronized void addPhase(String phase, long nanos) {
+        Long previous = phaseNanos.get(phase);
+        phaseNanos.put(phase, previous == null ? nanos : previous + nanos);
+    }
+
+    /**
+     * @param phase phase
+     * @return total time spent in the phase, in nanoseconds
+     */
+    public synchronized long getPhaseNanos(String phase) {
+        Long nanos = phaseNanos.get(phase);
+        return nanos == null ? 0 : nanos;
+    }
+
+    public synchronized void templateCompiled(String templateName, long nanos) {
+        template(templateName).compileNanos += nanos;
+        addPhase(COMPILE_TEMPLATES, nanos);
+    }
+
+    public synchronized void templateExecuted(String templateName, long nanos, long bytes) {
+        TemplateMetrics template = template(templateName);
+        template.executions++;
+        template.executeNanos += nanos;
+        template.bytes += bytes;
+        addPhase(EXECUTE_TEMPLATES, nanos);
+    }
+
+    /**
+     * @param written false if the file already had the same contents
+     */
+    public synchronized void fileWritten(boolean written, long bytes, long nanos) {
+        if (written) {
+            filesWritten++;
+            bytesWritten += bytes;
+        } else {
+            filesUnchanged++;
+        }
+        addPhase(WRITE_FILES, nanos);
+    }
+
+    /**
+     * Counts a file which was not rendered because its inputs did not change since the last
+     * incremental run.
+     */
+    public synchronized void fileUpToDate() {
+        filesUpToDate++;
+    }
+
+    private TemplateMetrics template(String templateName) {
+        TemplateMetrics template = templates.get(templateName);
+        if (template == null) {
+            template = new TemplateMetrics();
+            templates.put(templateName, template);
+        }
+        return template;
+    }
+
+    /**
+     * @return time spent parsing the spec and generating, in milliseconds
+     */
+    public synchronized double getTotalMillis() {
+        return millis(getPhaseNanos(PARSE) + getPhaseNanos(GENERATE));
+    }
+
+    /**
+     * @return wall time of each phase, in milliseconds
+     */
+    public synchronized Map<String, Double> getPhases() {
+        Map<String, Double> phases = new LinkedHashMap<String, Double>();
+        for (Map.Entry<String, Long> phase : phaseNanos.entrySet()) {
+            phases.put(phase.getKey(), millis(phase.getValue()));
+        }
+        return phases;
+    }
+
+    /**
+     * @return metrics of each template by template name
+     */
+    public synchronized Map<String, TemplateMetrics> getTemplates() {
+        Map<String, TemplateMetrics> copy = new TreeMap<String, TemplateMetrics>();
+        for (Map.Entry<String, TemplateMetrics> template : templates.entrySet()) {
+            copy.put(template.getKey(), template.getValue().copy());
+        }
+        return Collections.unmodifiableMap(copy);
+    }
+
+    public synchronized int getModels() {
+        return models;
+    }
+
+    public synchronized void setModels(int models) {
+        this.models = models;
+    }
+
+    public synchronized int getOperations() {
+        return operations;
+    }
+
+    public synchronized void setOperations(int operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * @return number of files returned by the run, including unchanged and up to date files
+     */
+    public synchronized int getFiles() {
+        return files;
+    }
+
+    public synchronized void setFiles(int files) {
+        this.files = files;
+    }
+
+    public synchronized int getFilesWritten() {
+        return filesWritten;
+    }
+
+    public synchronized int getFilesUnchanged() {
+        return filesUnchanged;
+    }
+
+    public synchronized int getFilesUpToDate() {
+        return filesUpToDate;
+    }
+
+    public synchronized long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * @return one line summary for logging
+     */
+    @JsonIgnore
+    public synchronized String getSummary() {
+        return String.format("Generated %d files (%d written, %d unchanged, %d up to date, %d bytes written) "
+                        + "for %d models and %d operations in %.0f ms",
+                files, filesWritten, filesUnchanged, filesUpToDate, bytesWritten, models, operations, getTotalMillis());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Time spent compiling and executing a template, and the size of its output, over all files
+     * rendered from it.
+     */
+    @JsonPropertyOrder({"executions", "compileMillis", "executeMillis", "bytes"})
+    public static class TemplateMetrics {
+        private int executions;
+        private long compileNanos;
+        private long executeNanos;
+        private long bytes;
+
+        public int getExecutions() {
+            return executions;
+        }
+
+        public double getCompileMillis() {
+            return millis(compileNanos);
+        }
+
+        public double getExecuteMillis() {
+            return millis(executeNanos);
+        }
+
+        public long getBytes() {
+            return bytes;
+        }
+
+        private TemplateMetrics copy() {
+            TemplateMetrics copy = new TemplateMetrics();
+            copy.executions = executions;
+            copy.compileNanos = compileNanos;
+            copy.executeNanos = executeNanos;
+            copy.bytes = bytes;
+            return copy;
+        }
+    }
+}
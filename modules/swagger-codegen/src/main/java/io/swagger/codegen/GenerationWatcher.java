@@ -0,0 +1,223 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generates code, then again whenever the spec, a local file it refers to, a file of the custom
+ * template directory or the ignore file changes, until {@link #stop() stopped}.
+ * <p>
+ * Generation is incremental, so only the files whose template (with its partials) or data changed
+ * are rendered again: an edited model or operation re-renders its model or api files, an edited
+ * template the files produced with it. When only the spec changed, only the models and operations
+ * affected by the changes are processed (see {@link SpecDiff}). The parsed spec is kept as long as
+ * the spec files don't change, and compiled templates stay in the template cache.
+ */
+public class GenerationWatcher {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GenerationWatcher.class);
+
+    // editors often write a file in several steps
+    private static final long QUIET_PERIOD_MILLIS = 100;
+
+    private final CodegenConfigurator configurator;
+    private final DefaultGenerator generator = new DefaultGenerator();
+    private final Map<WatchKey, Path> watchedDirs = new HashMap<WatchKey, Path>();
+    private volatile WatchService watchService;
+    private volatile boolean stopped;
+    private Swagger swagger;
+    // spec of the last successful generation, null if other inputs changed since
+    private Swagger generatedSwagger;
+    private Set<Path> specFiles = new HashSet<Path>();
+
+    /**
+     * @param configurator configurator of the generation, made incremental
+     */
+    public GenerationWatcher(CodegenConfigurator configurator) {
+        this.configurator = configurator.setIncremental(true);
+    }
+
+    /**
+     * Generate code, then wait for changes and generate again until stopped. A generation which
+     * fails (e.g. because a spec being edited is invalid) is logged and the watch goes on.
+     *
+     * @throws IOException if the files could not be watched
+     */
+    public void watch() throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        try {
+            generate(true);
+            while (!stopped) {
+                register();
+                LOGGER.info("Watching " + configurator.getInputSpec() + " for changes");
+                Set<Path> changed = awaitChanges();
+                if (changed == null) {
+                    break;
+                }
+                boolean specChanged = false;
+                for (Path file : changed) {
+                    if (specFiles.contains(file)) {
+                        specChanged = true;
+                    } else {
+                        // templates or ignore rules apply to all files
+                        generatedSwagger = null;
+                    }
+                }
+                LOGGER.info("Changed: " + changed);
+                generate(specChanged);
+            }
+        } catch (ClosedWatchServiceException e) {
+            // stopped
+        } finally {
+            watchService.close();
+        }
+    }
+
+    /**
+     * Stop watching; the current generation, if any, completes.
+     */
+    public void stop() {
+        stopped = true;
+        WatchService service = watchService;
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                LOGGER.warn("Could not stop watching", e);
+            }
+        }
+    }
+
+    /**
+     * Called after each successful generation.
+     *
+     * @param files files generated
+     */
+    protected void generated(List<File> files) {
+    }
+
+    private void generate(boolean readSpec) {
+        long start = System.nanoTime();
+        try {
+            if (readSpec || swagger == null) {
+                Swagger parsed = configurator.readSpec();
+                if (parsed == null) {
+                    throw new RuntimeException("Could not read spec " + configurator.getInputSpec());
+                }
+                swagger = parsed;
+            }
+            // the generator modifies the spec
+            generator.opts(configurator.toClientOptInput(SpecCache.copy(swagger)));
+            List<File> files = generator.changedSince(generatedSwagger).generate();
+            generatedSwagger = swagger;
+            LOGGER.info("Rendered " + (files.size() - generator.getMetrics().getFilesUpToDate()) + " of " + files.size()
+                    + " files in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+            generated(files);
+        } catch (RuntimeException e) {
+            // some files may have been generated from the spec
+            generatedSwagger = null;
+            LOGGER.error("Could not generate code from " + configurator.getInputSpec(), e);
+        }
+    }
+
+    /**
+     * Watch the directories of the spec files, the ignore file and the template directory with
+     * its subdirectories, which may have been added since the last registration.
+     */
+    private void register() throws IOException {
+        Set<File> files = SpecCache.files(configurator.getInputSpec());
+        specFiles = new HashSet<Path>();
+        if (files != null) {
+            for (File file : files) {
+                specFiles.add(file.toPath());
+                watch(file.toPath().getParent());
+            }
+        }
+        Path ignoreFile = path(configurator.getIgnoreFileOverride());
+        if (ignoreFile != null) {
+            watch(ignoreFile.getParent());
+        }
+        Path templateDir = path(configurator.getTemplateDir());
+        if (templateDir != null && Files.isDirectory(templateDir)) {
+            Files.walkFileTree(templateDir, new SimpleFileVisitor<Path>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    watch(dir);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+
+    private void watch(Path dir) throws IOException {
+        if (dir != null && !watchedDirs.containsValue(dir) && Files.isDirectory(dir)) {
+            watchedDirs.put(dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), dir);
+        }
+    }
+
+    /**
+     * @return files of interest which changed, once no more changes come in for a moment, or null
+     * if stopped
+     */
+    private Set<Path> awaitChanges() {
+        Set<Path> changed = new HashSet<Path>();
+        try {
+            WatchKey key = watchService.take();
+            while (key != null) {
+                Path dir = watchedDirs.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (dir != null && event.context() instanceof Path) {
+                        Path file = dir.resolve((Path) event.context());
+                        if (isInput(file)) {
+                            changed.add(file);
+                        }
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirs.remove(key);
+                }
+                key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+                if (key == null && changed.isEmpty()) {
+                    key = watchService.take();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+        return stopped ? null : changed;
+    }
+
+    private boolean isInput(Path file) {
+        Path templateDir = path(configurator.getTemplateDir());
+        return specFiles.contains(file) || file.equals(path(configurator.getIgnoreFileOverride()))
+                || templateDir != null && file.startsWith(templateDir);
+    }
+
+    private static Path path(String file) {
+        return StringUtils.isEmpty(file) ? null : new File(file).getAbsoluteFile().toPath().normalize();
+    }
+}
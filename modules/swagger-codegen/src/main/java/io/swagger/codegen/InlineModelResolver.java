@@ -1,5 +1,10 @@
 package io.swagger.codegen;
 
+import com.google.common.hash.Funnels;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
 import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
@@ -8,20 +13,50 @@ import io.swagger.util.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class InlineModelResolver {
+    private static final HashFunction FINGERPRINT = Hashing.murmur3_128();
+
     private Swagger swagger;
     private boolean skipMatches;
     static Logger LOGGER = LoggerFactory.getLogger(InlineModelResolver.class);
 
     Map<String, Model> addedModels = new HashMap<String, Model>();
-    Map<String, String> generatedSignature = new HashMap<String, String>();
+    // generated models by a hash of their JSON, several if the hashes of different models collide
+    Map<HashCode, List<Generated>> generatedSignature = new HashMap<HashCode, List<Generated>>();
+    // the model last looked up by matchGenerated, which is usually registered next
+    private Model lastMatched;
+    private HashCode lastMatchedFingerprint;
+    // set on the resolvers flattening a single path in parallel
+    private Recording recording;
 
     public void flatten(Swagger swagger) {
+        flatten(swagger, null);
+    }
+
+    /**
+     * Moves inline models to the definitions of the spec.
+     *
+     * @param swagger spec to flatten
+     * @param executor if not null, the inline models of the paths are resolved in parallel on
+     *                 this executor; names and definitions are the same as when flattening sequentially
+     */
+    public void flatten(Swagger swagger, ExecutorService executor) {
         this.swagger = swagger;
 
         if (swagger.getDefinitions() == null) {
@@ -33,121 +68,12 @@ public class InlineModelResolver {
         Map<String, Model> models = swagger.getDefinitions();
 
         if (paths != null) {
-            for (String pathname : paths.keySet()) {
-                Path path = paths.get(pathname);
-
-                for (Operation operation : path.getOperations()) {
-                    List<Parameter> parameters = operation.getParameters();
-
-                    if (parameters != null) {
-                        for (Parameter parameter : parameters) {
-                            if (parameter instanceof BodyParameter) {
-                                BodyParameter bp = (BodyParameter) parameter;
-                                if (bp.getSchema() != null) {
-                                    Model model = bp.getSchema();
-                                    if (model instanceof ModelImpl) {
-                                        ModelImpl obj = (ModelImpl) model;
-                                        if (obj.getType() == null || "object".equals(obj.getType())) {
-                                            if (obj.getProperties() != null && obj.getProperties().size() > 0) {
-                                                flattenProperties(obj.getProperties(), pathname);
-                                                String modelName = resolveModelName(obj.getTitle(), bp.getName());
-                                                bp.setSchema(new RefModel(modelName));
-                                                addGenerated(modelName, model);
-                                                swagger.addDefinition(modelName, model);
-                                            }
-                                        }
-                                    } else if (model instanceof ArrayModel) {
-                                        ArrayModel am = (ArrayModel) model;
-                                        Property inner = am.getItems();
-
-                                        if (inner instanceof ObjectProperty) {
-                                            ObjectProperty op = (ObjectProperty) inner;
-                                            if (op.getProperties() != null && op.getProperties().size() > 0) {
-                                                flattenProperties(op.getProperties(), pathname);
-                                                String modelName = resolveModelName(op.getTitle(), bp.getName());
-                                                Model innerModel = modelFromProperty(op, modelName);
-                                                String existing = matchGenerated(innerModel);
-                                                if (existing != null) {
-                                                    am.setItems(new RefProperty(existing));
-                                                } else {
-                                                    am.setItems(new RefProperty(modelName));
-                                                    addGenerated(modelName, innerModel);
-                                                    swagger.addDefinition(modelName, innerModel);
-                                                }
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
-                    Map<String, Response> responses = operation.getResponses();
-                    if (responses != null) {
-                        for (String key : responses.keySet()) {
-                            Response response = responses.get(key);
-                            if (response.getSchema() != null) {
-                                Property property = response.getSchema();
-                                if (property instanceof ObjectProperty) {
-                                    ObjectProperty op = (ObjectProperty) property;
-                                    if (op.getProperties() != null && op.getProperties().size() > 0) {
-                                        String modelName = resolveModelName(op.getTitle(), "inline_response_" + key);
-                                        Model model = modelFromProperty(op, modelName);
-                                        String existing = matchGenerated(model);
-                                        if (existing != null) {
-                                            response.setSchema(this.makeRefProperty(existing, property));
-                                        } else {
-                                            response.setSchema(this.makeRefProperty(modelName, property));
-                                            addGenerated(modelName, model);
-                                            swagger.addDefinition(modelName, model);
-                                        }
-                                    }
-                                } else if (property instanceof ArrayProperty) {
-                                    ArrayProperty ap = (ArrayProperty) property;
-                                    Property inner = ap.getItems();
-
-                                    if (inner instanceof ObjectProperty) {
-                                        ObjectProperty op = (ObjectProperty) inner;
-                                        if (op.getProperties() != null && op.getProperties().size() > 0) {
-                                            flattenProperties(op.getProperties(), pathname);
-                                            String modelName = resolveModelName(op.getTitle(),
-                                                    "inline_response_" + key);
-                                            Model innerModel = modelFromProperty(op, modelName);
-                                            String existing = matchGenerated(innerModel);
-                                            if (existing != null) {
-                                                ap.setItems(this.makeRefProperty(existing, op));
-                                            } else {
-                                                ap.setItems(this.makeRefProperty(modelName, op));
-                                                addGenerated(modelName, innerModel);
-                                                swagger.addDefinition(modelName, innerModel);
-                                            }
-                                        }
-                                    }
-                                } else if (property instanceof MapProperty) {
-                                    MapProperty mp = (MapProperty) property;
-
-                                    Property innerProperty = mp.getAdditionalProperties();
-                                    if (innerProperty instanceof ObjectProperty) {
-                                        ObjectProperty op = (ObjectProperty) innerProperty;
-                                        if (op.getProperties() != null && op.getProperties().size() > 0) {
-                                            flattenProperties(op.getProperties(), pathname);
-                                            String modelName = resolveModelName(op.getTitle(),
-                                                    "inline_response_" + key);
-                                            Model innerModel = modelFromProperty(op, modelName);
-                                            String existing = matchGenerated(innerModel);
-                                            if (existing != null) {
-                                                mp.setAdditionalProperties(new RefProperty(existing));
-                                            } else {
-                                                mp.setAdditionalProperties(new RefProperty(modelName));
-                                                addGenerated(modelName, innerModel);
-                                                swagger.addDefinition(modelName, innerModel);
-                                            }
-                                        }
-                                    }
-                                }
-                            }
-                        }
-                    }
+            if (executor == null) {
+                for (String pathname : paths.keySet()) {
+                    flattenPath(pathname, paths.get(pathname));
                 }
+            } else {
+                flattenPaths(paths, executor);
             }
         }
 
@@ -172,11 +98,11 @@ public class InlineModelResolver {
                             Model innerModel = modelFromProperty(op, innerModelName);
                             String existing = matchGenerated(innerModel);
                             if (existing == null) {
-                                swagger.addDefinition(innerModelName, innerModel);
+                                addDefinition(innerModelName, innerModel);
                                 addGenerated(innerModelName, innerModel);
-                                m.setItems(new RefProperty(innerModelName));
+                                m.setItems(refProperty(innerModelName));
                             } else {
-                                m.setItems(new RefProperty(existing));
+                                m.setItems(refProperty(existing));
                             }
                         }
                     }
@@ -191,6 +117,295 @@ public class InlineModelResolver {
         }
     }
 
+    /**
+     * Flattens every path with its own resolver, which sees the definitions of the spec but
+     * records the names it picks and the models it adds instead of changing the spec. The
+     * recordings are then replayed in path order, so that names and matches come out as if the
+     * paths had been flattened one after the other. Paths sharing an instance that flattening
+     * changes with another path are flattened by this resolver when their turn comes instead.
+     */
+    private void flattenPaths(Map<String, Path> paths, ExecutorService executor) {
+        Set<String> sharing = pathsSharingInstances(paths);
+        if (!sharing.isEmpty()) {
+            LOGGER.debug("Resolving the inline models of {} paths sharing parameters, responses or schemas sequentially", sharing.size());
+        }
+        List<Callable<InlineModelResolver>> tasks = new ArrayList<Callable<InlineModelResolver>>();
+        for (final Map.Entry<String, Path> path : paths.entrySet()) {
+            if (sharing.contains(path.getKey())) {
+                continue;
+            }
+            final InlineModelResolver resolver = new InlineModelResolver();
+            resolver.swagger = swagger;
+            resolver.skipMatches = skipMatches;
+            resolver.recording = new Recording();
+            tasks.add(new Callable<InlineModelResolver>() {
+                @Override
+                public InlineModelResolver call() {
+                    resolver.flattenPath(path.getKey(), path.getValue());
+                    return resolver;
+                }
+            });
+        }
+        try {
+            Iterator<Future<InlineModelResolver>> resolvers = executor.invokeAll(tasks).iterator();
+            for (Map.Entry<String, Path> path : paths.entrySet()) {
+                if (sharing.contains(path.getKey())) {
+                    flattenPath(path.getKey(), path.getValue());
+                } else {
+                    replay(resolvers.next().get());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while resolving inline models", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Finds the paths which share an operation, parameter, response, schema or property with
+     * another path, e.g. a parameter or response the parser resolved from a reference.
+     */
+    private static Set<String> pathsSharingInstances(Map<String, Path> paths) {
+        Map<Object, String> owners = new IdentityHashMap<Object, String>();
+        Set<String> sharing = new HashSet<String>();
+        for (Map.Entry<String, Path> path : paths.entrySet()) {
+            Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+            collectInstances(path.getValue(), instances);
+            for (Object instance : instances) {
+                String owner = owners.put(instance, path.getKey());
+                if (owner != null) {
+                    sharing.add(owner);
+                    sharing.add(path.getKey());
+                }
+            }
+        }
+        return sharing;
+    }
+
+    private static void collectInstances(Path path, Set<Object> instances) {
+        instances.add(path);
+        for (Operation operation : path.getOperations()) {
+            instances.add(operation);
+            if (operation.getParameters() != null) {
+                for (Parameter parameter : operation.getParameters()) {
+                    instances.add(parameter);
+                    if (parameter instanceof BodyParameter) {
+                        collectInstances(((BodyParameter) parameter).getSchema(), instances);
+                    }
+                }
+            }
+            if (operation.getResponses() != null) {
+                for (Response response : operation.getResponses().values()) {
+                    instances.add(response);
+                    collectInstances(response.getSchema(), instances);
+                }
+            }
+        }
+    }
+
+    private static void collectInstances(Model model, Set<Object> instances) {
+        if (model == null || !instances.add(model)) {
+            return;
+        }
+        if (model instanceof ModelImpl) {
+            collectInstances(((ModelImpl) model).getProperties(), instances);
+        } else if (model instanceof ArrayModel) {
+            collectInstances(((ArrayModel) model).getItems(), instances);
+        }
+    }
+
+    private static void collectInstances(Property property, Set<Object> instances) {
+        if (property == null || !instances.add(property)) {
+            return;
+        }
+        if (property instanceof ObjectProperty) {
+            collectInstances(((ObjectProperty) property).getProperties(), instances);
+        } else if (property instanceof ArrayProperty) {
+            collectInstances(((ArrayProperty) property).getItems(), instances);
+        } else if (property instanceof MapProperty) {
+            collectInstances(((MapProperty) property).getAdditionalProperties(), instances);
+        }
+    }
+
+    private static void collectInstances(Map<String, Property> properties, Set<Object> instances) {
+        if (properties == null || !instances.add(properties)) {
+            return;
+        }
+        for (Property property : properties.values()) {
+            collectInstances(property, instances);
+        }
+    }
+
+    private void replay(InlineModelResolver resolver) {
+        Recording recording = resolver.recording;
+        Set<Model> addedByResolver = Collections.newSetFromMap(new IdentityHashMap<Model, Boolean>());
+        addedByResolver.addAll(resolver.addedModels.values());
+        Map<Model, String> replayed = new IdentityHashMap<Model, String>();
+        // once a model got another name, the JSON of the models referring to it changed
+        boolean renamed = false;
+        for (Object step : recording.steps) {
+            if (step instanceof Name) {
+                Name name = (Name) step;
+                name.name = uniqueName(name.key);
+                continue;
+            }
+            Addition addition = (Addition) step;
+            Model model = addition.model;
+            String name = replayed.get(model);
+            if (name != null) {
+                addDefinition(name, model);
+                continue;
+            }
+            HashCode fingerprint = renamed ? null : recording.fingerprints.get(model);
+            if (fingerprint == null) {
+                fingerprint = fingerprint(model);
+            }
+            if (recording.matchable.containsKey(model)) {
+                name = findGenerated(fingerprint, model);
+            }
+            if (name == null) {
+                name = addition.name.name;
+                addDefinition(name, model);
+                register(fingerprint, name, model);
+                if (addedByResolver.contains(model)) {
+                    addedModels.put(name, model);
+                }
+            }
+            replayed.put(model, name);
+            if (!name.equals(addition.name.localName)) {
+                renamed = true;
+                for (Object ref : addition.name.refs) {
+                    if (ref instanceof RefProperty) {
+                        ((RefProperty) ref).set$ref(name);
+                    } else {
+                        ((RefModel) ref).set$ref(name);
+                    }
+                }
+            }
+        }
+    }
+
+    private void flattenPath(String pathname, Path path) {
+
+        for (Operation operation : path.getOperations()) {
+            List<Parameter> parameters = operation.getParameters();
+
+            if (parameters != null) {
+                for (Parameter parameter : parameters) {
+                    if (parameter instanceof BodyParameter) {
+                        BodyParameter bp = (BodyParameter) parameter;
+                        if (bp.getSchema() != null) {
+                            Model model = bp.getSchema();
+                            if (model instanceof ModelImpl) {
+                                ModelImpl obj = (ModelImpl) model;
+                                if (obj.getType() == null || "object".equals(obj.getType())) {
+                                    if (obj.getProperties() != null && obj.getProperties().size() > 0) {
+                                        flattenProperties(obj.getProperties(), pathname);
+                                        String modelName = resolveModelName(obj.getTitle(), bp.getName());
+                                        bp.setSchema(refModel(modelName));
+                                        addGenerated(modelName, model);
+                                        addDefinition(modelName, model);
+                                    }
+                                }
+                            } else if (model instanceof ArrayModel) {
+                                ArrayModel am = (ArrayModel) model;
+                                Property inner = am.getItems();
+
+                                if (inner instanceof ObjectProperty) {
+                                    ObjectProperty op = (ObjectProperty) inner;
+                                    if (op.getProperties() != null && op.getProperties().size() > 0) {
+                                        flattenProperties(op.getProperties(), pathname);
+                                        String modelName = resolveModelName(op.getTitle(), bp.getName());
+                                        Model innerModel = modelFromProperty(op, modelName);
+                                        String existing = matchGenerated(innerModel);
+                                        if (existing != null) {
+                                            am.setItems(refProperty(existing));
+                                        } else {
+                                            am.setItems(refProperty(modelName));
+                                            addGenerated(modelName, innerModel);
+                                            addDefinition(modelName, innerModel);
+                                        }
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+            Map<String, Response> responses = operation.getResponses();
+            if (responses != null) {
+                for (String key : responses.keySet()) {
+                    Response response = responses.get(key);
+                    if (response.getSchema() != null) {
+                        Property property = response.getSchema();
+                        if (property instanceof ObjectProperty) {
+                            ObjectProperty op = (ObjectProperty) property;
+                            if (op.getProperties() != null && op.getProperties().size() > 0) {
+                                String modelName = resolveModelName(op.getTitle(), "inline_response_" + key);
+                                Model model = modelFromProperty(op, modelName);
+                                String existing = matchGenerated(model);
+                                if (existing != null) {
+                                    response.setSchema(this.makeRefProperty(existing, property));
+                                } else {
+                                    response.setSchema(this.makeRefProperty(modelName, property));
+                                    addGenerated(modelName, model);
+                                    addDefinition(modelName, model);
+                                }
+                            }
+                        } else if (property instanceof ArrayProperty) {
+                            ArrayProperty ap = (ArrayProperty) property;
+                            Property inner = ap.getItems();
+
+                            if (inner instanceof ObjectProperty) {
+                                ObjectProperty op = (ObjectProperty) inner;
+                                if (op.getProperties() != null && op.getProperties().size() > 0) {
+                                    flattenProperties(op.getProperties(), pathname);
+                                    String modelName = resolveModelName(op.getTitle(),
+                                            "inline_response_" + key);
+                                    Model innerModel = modelFromProperty(op, modelName);
+                                    String existing = matchGenerated(innerModel);
+                                    if (existing != null) {
+                                        ap.setItems(this.makeRefProperty(existing, op));
+                                    } else {
+                                        ap.setItems(this.makeRefProperty(modelName, op));
+                                        addGenerated(modelName, innerModel);
+                                        addDefinition(modelName, innerModel);
+                                    }
+                                }
+                            }
+                        } else if (property instanceof MapProperty) {
+                            MapProperty mp = (MapProperty) property;
+
+                            Property innerProperty = mp.getAdditionalProperties();
+                            if (innerProperty instanceof ObjectProperty) {
+                                ObjectProperty op = (ObjectProperty) innerProperty;
+                                if (op.getProperties() != null && op.getProperties().size() > 0) {
+                                    flattenProperties(op.getProperties(), pathname);
+                                    String modelName = resolveModelName(op.getTitle(),
+                                            "inline_response_" + key);
+                                    Model innerModel = modelFromProperty(op, modelName);
+                                    String existing = matchGenerated(innerModel);
+                                    if (existing != null) {
+                                        mp.setAdditionalProperties(refProperty(existing));
+                                    } else {
+                                        mp.setAdditionalProperties(refProperty(modelName));
+                                        addGenerated(modelName, innerModel);
+                                        addDefinition(modelName, innerModel);
+                                    }
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
     /**
      * This function fix models that are string (mostly enum). Before this fix, the example
      * would look something like that in the doc: "\"example from def\""
@@ -207,26 +422,104 @@ public class InlineModelResolver {
     }
 
     private String resolveModelName(String title, String key) {
-        if (title == null) {
-            return uniqueName(key);
-        } else {
-            return uniqueName(title);
+        String base = title == null ? key : title;
+        String name = uniqueName(base);
+        if (recording != null) {
+            Name recorded = new Name(base, name);
+            recording.names.put(name, recorded);
+            recording.steps.add(recorded);
         }
+        return name;
     }
 
     public String matchGenerated(Model model) {
         if (this.skipMatches) {
             return null;
         }
-        String json = Json.pretty(model);
-        if (generatedSignature.containsKey(json)) {
-            return generatedSignature.get(json);
+        if (recording != null) {
+            recording.matchable.put(model, Boolean.TRUE);
         }
-        return null;
+        HashCode fingerprint = fingerprint(model);
+        lastMatched = model;
+        lastMatchedFingerprint = fingerprint;
+        return findGenerated(fingerprint, model);
     }
 
     public void addGenerated(String name, Model model) {
-        generatedSignature.put(Json.pretty(model), name);
+        HashCode fingerprint = model == lastMatched ? lastMatchedFingerprint : fingerprint(model);
+        lastMatched = null;
+        lastMatchedFingerprint = null;
+        if (recording != null) {
+            recording.fingerprints.put(model, fingerprint);
+        }
+        register(fingerprint, name, model);
+    }
+
+    private String findGenerated(HashCode fingerprint, Model model) {
+        List<Generated> candidates = generatedSignature.get(fingerprint);
+        if (candidates != null) {
+            for (Generated candidate : candidates) {
+                if (candidate.matches(model)) {
+                    return candidate.name;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void register(HashCode fingerprint, String name, Model model) {
+        List<Generated> candidates = generatedSignature.get(fingerprint);
+        if (candidates == null) {
+            candidates = new ArrayList<Generated>(1);
+            generatedSignature.put(fingerprint, candidates);
+        }
+        // the model registered last wins, as with the JSON keys this replaces
+        for (Iterator<Generated> it = candidates.iterator(); it.hasNext(); ) {
+            if (it.next().matches(model)) {
+                it.remove();
+            }
+        }
+        candidates.add(new Generated(name, model));
+    }
+
+    /**
+     * Hashes the JSON of a model as it is serialized, without building the JSON string: two
+     * models have the same JSON if and only if (barring collisions) they have the same fingerprint.
+     */
+    private static HashCode fingerprint(Model model) {
+        Hasher hasher = FINGERPRINT.newHasher();
+        try {
+            Json.mapper().writeValue(Funnels.asOutputStream(hasher), model);
+        } catch (IOException e) {
+            throw new RuntimeException("Could not serialize model", e);
+        }
+        return hasher.hash();
+    }
+
+    private void addDefinition(String name, Model model) {
+        if (recording == null) {
+            swagger.addDefinition(name, model);
+        } else if (recording.definitions.put(name, model) != model) {
+            recording.steps.add(new Addition(recording.names.get(name), model));
+        }
+    }
+
+    private RefProperty refProperty(String ref) {
+        return recordRef(ref, new RefProperty(ref));
+    }
+
+    private RefModel refModel(String ref) {
+        return recordRef(ref, new RefModel(ref));
+    }
+
+    private <T> T recordRef(String ref, T refObject) {
+        if (recording != null) {
+            Name name = recording.names.get(ref);
+            if (name != null) {
+                name.refs.add(refObject);
+            }
+        }
+        return refObject;
     }
 
     public String uniqueName(String key) {
@@ -244,7 +537,8 @@ public class InlineModelResolver {
             }
             if (swagger.getDefinitions() == null) {
                 return name;
-            } else if (!swagger.getDefinitions().containsKey(name)) {
+            } else if (!swagger.getDefinitions().containsKey(name)
+                    && (recording == null || !recording.definitions.containsKey(name))) {
                 return name;
             }
             count += 1;
@@ -271,12 +565,12 @@ public class InlineModelResolver {
                 String existing = matchGenerated(model);
 
                 if (existing != null) {
-                    propsToUpdate.put(key, new RefProperty(existing));
+                    propsToUpdate.put(key, refProperty(existing));
                 } else {
-                    propsToUpdate.put(key, new RefProperty(modelName));
+                    propsToUpdate.put(key, refProperty(modelName));
                     modelsToAdd.put(modelName, model);
                     addGenerated(modelName, model);
-                    swagger.addDefinition(modelName, model);
+                    addDefinition(modelName, model);
                 }
             } else if (property instanceof ArrayProperty) {
                 ArrayProperty ap = (ArrayProperty) property;
@@ -290,11 +584,11 @@ public class InlineModelResolver {
                         Model innerModel = modelFromProperty(op, modelName);
                         String existing = matchGenerated(innerModel);
                         if (existing != null) {
-                            ap.setItems(new RefProperty(existing));
+                            ap.setItems(refProperty(existing));
                         } else {
-                            ap.setItems(new RefProperty(modelName));
+                            ap.setItems(refProperty(modelName));
                             addGenerated(modelName, innerModel);
-                            swagger.addDefinition(modelName, innerModel);
+                            addDefinition(modelName, innerModel);
                         }
                     }
                 }
@@ -310,11 +604,11 @@ public class InlineModelResolver {
                         Model innerModel = modelFromProperty(op, modelName);
                         String existing = matchGenerated(innerModel);
                         if (existing != null) {
-                            mp.setAdditionalProperties(new RefProperty(existing));
+                            mp.setAdditionalProperties(refProperty(existing));
                         } else {
-                            mp.setAdditionalProperties(new RefProperty(modelName));
+                            mp.setAdditionalProperties(refProperty(modelName));
                             addGenerated(modelName, innerModel);
-                            swagger.addDefinition(modelName, innerModel);
+                            addDefinition(modelName, innerModel);
                         }
                     }
                 }
@@ -326,7 +620,7 @@ public class InlineModelResolver {
             }
         }
         for (String key : modelsToAdd.keySet()) {
-            swagger.addDefinition(key, modelsToAdd.get(key));
+            addDefinition(key, modelsToAdd.get(key));
             this.addedModels.put(key, modelsToAdd.get(key));
         }
     }
@@ -405,7 +699,7 @@ public class InlineModelResolver {
      * @return
      */
     public Property makeRefProperty(String ref, Property property) {
-        RefProperty newProperty = new RefProperty(ref);
+        RefProperty newProperty = refProperty(ref);
         this.copyVendorExtensions(property, newProperty);
         return newProperty;
     }
@@ -431,4 +725,59 @@ public class InlineModelResolver {
         this.skipMatches = skipMatches;
     }
 
+    private static class Generated {
+        private final String name;
+        private final Model model;
+
+        private Generated(String name, Model model) {
+            this.name = name;
+            this.model = model;
+        }
+
+        private boolean matches(Model other) {
+            if (model == other || model.equals(other)) {
+                return true;
+            }
+            try {
+                return Arrays.equals(Json.mapper().writeValueAsBytes(model), Json.mapper().writeValueAsBytes(other));
+            } catch (IOException e) {
+                throw new RuntimeException("Could not serialize model", e);
+            }
+        }
+    }
+
+    /**
+     * Names picked and models added while flattening a single path, in order, with the references
+     * to the added models.
+     */
+    private static class Recording {
+        private final List<Object> steps = new ArrayList<Object>();
+        private final Map<String, Name> names = new HashMap<String, Name>();
+        private final Map<String, Model> definitions = new HashMap<String, Model>();
+        private final Map<Model, Boolean> matchable = new IdentityHashMap<Model, Boolean>();
+        private final Map<Model, HashCode> fingerprints = new IdentityHashMap<Model, HashCode>();
+    }
+
+    private static class Name {
+        private final String key;
+        private final String localName;
+        // name in the spec, once replayed
+        private String name;
+        private final List<Object> refs = new ArrayList<Object>();
+
+        private Name(String key, String localName) {
+            this.key = key;
+            this.localName = localName;
+        }
+    }
+
+    private static class Addition {
+        private final Name name;
+        private final Model model;
+
+        private Addition(Name name, Model model) {
+            this.name = name;
+            this.model = model;
+        }
+    }
 }
@@ -0,0 +1,266 @@
+package io.swagger.codegen;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Inheritance graph of the processed models of a generation run: parents, children, interfaces,
+ * discriminators and inheritance depth of every model, computed once by model name (as returned
+ * by {@link CodegenConfig#toModelName(String)}). The graph only keeps names: the models
+ * themselves are looked up in the processed models it is given.
+ * <p>
+ * Models are partitioned into subtrees: a root model (one without a parent among the processed
+ * models) with all its descendants. Post-processing which only touches a model and its ancestors
+ * can run for different subtrees in parallel with {@link #forEachSubtree(SubtreeTask)}.
+ */
+public class ModelGraph {
+    private final ExecutorService executor;
+    // model names by definition name, in the iteration order of the processed models
+    private final Map<String, String> modelNames = new LinkedHashMap<String, String>();
+    private final Map<String, String> parents = new HashMap<String, String>();
+    private final Map<String, List<String>> interfaces = new HashMap<String, List<String>>();
+    private final Map<String, String> discriminators = new HashMap<String, String>();
+    private final Map<String, List<String>> children = new HashMap<String, List<String>>();
+    private final Map<String, Integer> depths = new HashMap<String, Integer>();
+    private final Map<String, String> roots = new HashMap<String, String>();
+    private final Map<String, List<String>> subtrees = new LinkedHashMap<String, List<String>>();
+
+    /**
+     * @param processedModels processed models by definition name, as passed to
+     *                        {@link CodegenConfig#postProcessAllModels(Map)}
+     * @param config config naming the models
+     * @param executor executor to post-process subtrees on in parallel, or null to process them
+     *                 one after the other
+     */
+    public ModelGraph(Map<String, Object> processedModels, CodegenConfig config, ExecutorService executor) {
+        this(processedModels, modelNames(processedModels, config, null), executor);
+    }
+
+    /**
+     * Builds the graph of the given models for post-processing them one subtree after the other.
+     *
+     * @param processedModels processed models by definition name
+     * @param codegen codegen naming the models
+     */
+    public ModelGraph(Map<String, Object> processedModels, DefaultCodegen codegen) {
+        this(processedModels, modelNames(processedModels, null, codegen), null);
+    }
+
+    private ModelGraph(Map<String, Object> processedModels, List<String> names, ExecutorService executor) {
+        this.executor = executor;
+        int i = 0;
+        for (String definitionName : processedModels.keySet()) {
+            modelNames.put(definitionName, names.get(i++));
+        }
+        // only names are kept, the models are looked up in the processed models when needed
+        Map<String, CodegenModel> models = getModels(processedModels);
+        for (Map.Entry<String, CodegenModel> model : models.entrySet()) {
+            CodegenModel cm = model.getValue();
+            if (cm.parent != null && models.containsKey(cm.parent)) {
+                parents.put(model.getKey(), cm.parent);
+            }
+            if (cm.interfaces != null) {
+                List<String> modelInterfaces = new ArrayList<String>(cm.interfaces.size());
+                for (String intf : cm.interfaces) {
+                    if (models.containsKey(intf)) {
+                        modelInterfaces.add(intf);
+                    }
+                }
+                interfaces.put(model.getKey(), modelInterfaces);
+            }
+            if (cm.discriminator != null) {
+                discriminators.put(model.getKey(), cm.discriminator);
+            }
+        }
+        for (String name : models.keySet()) {
+            String parent = getParent(name);
+            if (parent != null) {
+                List<String> siblings = children.get(parent);
+                if (siblings == null) {
+                    siblings = new ArrayList<String>();
+                    children.put(parent, siblings);
+                }
+                siblings.add(name);
+            }
+        }
+        for (String name : models.keySet()) {
+            // walk up to the root, stopping at cycles
+            Set<String> path = new HashSet<String>();
+            String root = name;
+            path.add(root);
+            while (getParent(root) != null && path.add(getParent(root))) {
+                root = getParent(root);
+            }
+            roots.put(name, root);
+            depths.put(name, path.size() - 1);
+        }
+        for (String name : models.keySet()) {
+            String root = roots.get(name);
+            List<String> subtree = subtrees.get(root);
+            if (subtree == null) {
+                subtree = new ArrayList<String>();
+                subtrees.put(root, subtree);
+            }
+            subtree.add(name);
+        }
+    }
+
+    private static List<String> modelNames(Map<String, Object> processedModels, CodegenConfig config, DefaultCodegen codegen) {
+        List<String> modelNames = new ArrayList<String>(processedModels.size());
+        for (String name : processedModels.keySet()) {
+            modelNames.add(config != null ? config.toModelName(name) : codegen.toModelName(name));
+        }
+        return modelNames;
+    }
+
+    /**
+     * @param processedModels processed models by definition name
+     * @return whether the graph was built from processed models with the same definitions, in the same order
+     */
+    public boolean describes(Map<String, Object> processedModels) {
+        return new ArrayList<String>(modelNames.keySet()).equals(new ArrayList<String>(processedModels.keySet()));
+    }
+
+    public Collection<String> getModelNames() {
+        return Collections.unmodifiableCollection(roots.keySet());
+    }
+
+    /**
+     * @param processedModels processed models the graph was built from
+     * @return the processed models by model name
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, CodegenModel> getModels(Map<String, Object> processedModels) {
+        // same construction (and so iteration order) as the index DefaultCodegen.postProcessAllModels used to build
+        Map<String, CodegenModel> models = new HashMap<String, CodegenModel>();
+        for (Map.Entry<String, String> name : modelNames.entrySet()) {
+            Object value = processedModels.get(name.getKey());
+            if (value == null) {
+                continue;
+            }
+            List<Map<String, Object>> modelList = (List<Map<String, Object>>) ((Map<String, Object>) value).get("models");
+            for (Map<String, Object> mo : modelList) {
+                models.put(name.getValue(), (CodegenModel) mo.get("model"));
+            }
+        }
+        return models;
+    }
+
+    /**
+     * @return name of the parent model, or null if the model has no parent among the processed models
+     */
+    public String getParent(String name) {
+        return parents.get(name);
+    }
+
+    /**
+     * @return names of the models whose parent is the given model
+     */
+    public List<String> getChildren(String name) {
+        List<String> modelChildren = children.get(name);
+        return modelChildren == null ? Collections.<String>emptyList() : Collections.unmodifiableList(modelChildren);
+    }
+
+    /**
+     * @return names of the interfaces of the model which are among the processed models
+     */
+    public List<String> getInterfaces(String name) {
+        List<String> modelInterfaces = interfaces.get(name);
+        return modelInterfaces == null ? Collections.<String>emptyList() : Collections.unmodifiableList(modelInterfaces);
+    }
+
+    public String getDiscriminator(String name) {
+        return discriminators.get(name);
+    }
+
+    /**
+     * @return number of ancestors of the model, 0 for root models
+     */
+    public int getDepth(String name) {
+        Integer depth = depths.get(name);
+        return depth == null ? 0 : depth;
+    }
+
+    /**
+     * @return name of the root of the subtree the model belongs to
+     */
+    public String getRoot(String name) {
+        return roots.get(name);
+    }
+
+    /**
+     * @return the model names of each subtree, in the iteration order of {@link #getModels(Map)}
+     */
+    public Collection<List<String>> getSubtrees() {
+        return Collections.unmodifiableCollection(subtrees.values());
+    }
+
+    /**
+     * Runs the task for every subtree, in parallel if the graph was built with an executor. The task
+     * must only change the models of the subtree it is given.
+     *
+     * @param processedModels processed models the graph was built from
+     * @param task post-processing of a subtree
+     */
+    public void forEachSubtree(Map<String, Object> processedModels, final SubtreeTask task) {
+        Map<String, CodegenModel> models = getModels(processedModels);
+        List<List<CodegenModel>> modelSubtrees = new ArrayList<List<CodegenModel>>(subtrees.size());
+        for (List<String> subtree : subtrees.values()) {
+            List<CodegenModel> subtreeModels = new ArrayList<CodegenModel>(subtree.size());
+            for (String name : subtree) {
+                subtreeModels.add(models.get(name));
+            }
+            modelSubtrees.add(subtreeModels);
+        }
+        if (executor == null || modelSubtrees.size() < 2) {
+            for (List<CodegenModel> subtree : modelSubtrees) {
+                task.process(subtree);
+            }
+            return;
+        }
+        List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(modelSubtrees.size());
+        for (final List<CodegenModel> subtree : modelSubtrees) {
+            tasks.add(new Callable<Void>() {
+                @Override
+                public Void call() {
+                    task.process(subtree);
+                    return null;
+                }
+            });
+        }
+        try {
+            for (Future<Void> done : executor.invokeAll(tasks)) {
+                done.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while post-processing models", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    /**
+     * Post-processing of the models of a subtree.
+     */
+    public interface SubtreeTask {
+        /**
+         * @param subtree models of the subtree, in the iteration order of {@link #getModels(Map)}
+         */
+        void process(List<CodegenModel> subtree);
+    }
+}
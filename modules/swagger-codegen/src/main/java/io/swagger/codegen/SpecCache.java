@@ -0,0 +1,327 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.auth.AuthParser;
+import io.swagger.codegen.utils.ImplementationVersion;
+import io.swagger.models.ComposedModel;
+import io.swagger.models.Model;
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Operation;
+import io.swagger.models.Path;
+import io.swagger.models.RefModel;
+import io.swagger.models.Swagger;
+import io.swagger.models.parameters.AbstractSerializableParameter;
+import io.swagger.models.parameters.BodyParameter;
+import io.swagger.models.parameters.Parameter;
+import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps parsed and resolved specs in a directory, so that a spec which did not change since it was
+ * last parsed (e.g. by the previous build) is read back instead of being parsed and resolved again.
+ * <p>
+ * Entries are keyed by a digest of the generator version, the authorization and the contents of
+ * the spec and of all local files it refers to, directly or not. Remote references are keyed by
+ * their URL only, so a cached spec is used even if a remote file changed; remove the cache directory
+ * to read them again. Specs which are not local files are not cached.
+ */
+public class SpecCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpecCache.class);
+
+    private static final String EXTENSION = ".json";
+
+    // value of a $ref in JSON or YAML, without its fragment
+    private static final Pattern REF = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s#,}]*)");
+
+    // writes specs so that they are read back as parsed: the type of a parameter sets a default
+    // collection format which must be reset afterwards if the spec has none
+    private static final ObjectMapper MAPPER = Json.mapper().copy()
+            .addMixIn(AbstractSerializableParameter.class, CollectionFormatMixIn.class)
+            .registerModule(new SimpleModule().setSerializerModifier(new BeanSerializerModifier() {
+                @Override
+                public List<BeanPropertyWriter> orderProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+                    if (!AbstractSerializableParameter.class.isAssignableFrom(beanDesc.getBeanClass())) {
+                        return beanProperties;
+                    }
+                    List<BeanPropertyWriter> ordered = new ArrayList<BeanPropertyWriter>(beanProperties);
+                    for (BeanPropertyWriter property : beanProperties) {
+                        if (COLLECTION_FORMAT.equals(property.getName())) {
+                            ordered.remove(property);
+                            ordered.add(property);
+                        }
+                    }
+                    return ordered;
+                }
+            }));
+
+    private static final String COLLECTION_FORMAT = "collectionFormat";
+
+    private final File directory;
+
+    /**
+     * @param directory directory of the cached specs, created if needed
+     */
+    public SpecCache(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Read a spec from the cache if it did not change since it was cached, or else parse it and
+     * add it to the cache.
+     *
+     * @param inputSpec location of the spec, as URL or file
+     * @param auth authorization to read the spec with, as accepted by {@link AuthParser}
+     * @return parsed and resolved spec, or null if it could not be read
+     */
+    public Swagger read(String inputSpec, String auth) {
+        String key = key(inputSpec, auth);
+        File entry = key == null ? null : new File(directory, key + EXTENSION);
+        if (entry != null && entry.isFile()) {
+            try {
+                Swagger swagger = read(MAPPER.readValue(entry, Swagger.class));
+                LOGGER.info("Read parsed spec " + inputSpec + " from cache " + entry);
+                return swagger;
+            } catch (IOException e) {
+                LOGGER.warn("Could not read cached spec " + entry + ", parsing " + inputSpec, e);
+            }
+        }
+        Swagger swagger = new SwaggerParser().read(inputSpec, AuthParser.parse(auth), true);
+        if (swagger != null && entry != null) {
+            write(entry, swagger);
+        }
+        return swagger;
+    }
+
+    /**
+     * Copy a spec as if it was read from the cache.
+     *
+     * @param swagger parsed spec
+     * @return deep copy of the spec
+     */
+    public static Swagger copy(Swagger swagger) {
+        try {
+            return read(MAPPER.readValue(MAPPER.writeValueAsBytes(swagger), Swagger.class));
+        } catch (IOException e) {
+            throw new RuntimeException("Could not copy spec", e);
+        }
+    }
+
+    /**
+     * @param inputSpec location of the spec, as URL or file
+     * @param auth authorization to read the spec with
+     * @return key of the cache entry of the spec in its current state, or null if it can't be cached
+     */
+    String key(String inputSpec, String auth) {
+        File spec = specFile(inputSpec);
+        String digest = spec == null ? null : digest(inputSpec, auth);
+        return digest == null ? null : prefix(spec) + "-" + digest;
+    }
+
+    /**
+     * Digest of a spec as cached: of the generator version, the authorization and the contents of
+     * the spec and of all local files it refers to (remote references by their URL only).
+     *
+     * @param inputSpec location of the spec, as URL or file
+     * @param auth authorization to read the spec with
+     * @return digest of the spec in its current state, or null if it is not a local file or could
+     * not be read
+     */
+    public static String digest(String inputSpec, String auth) {
+        Hasher contents = Hashing.sha256().newHasher()
+                .putString(String.valueOf(ImplementationVersion.read()), StandardCharsets.UTF_8)
+                .putString(String.valueOf(auth), StandardCharsets.UTF_8);
+        return readFiles(inputSpec, contents) == null ? null : contents.hash().toString();
+    }
+
+    /**
+     * @param inputSpec location of the spec, as URL or file
+     * @return the spec file and all local files it refers to, directly or not, or null if the spec
+     * is not a local file or could not be read
+     */
+    public static Set<File> files(String inputSpec) {
+        return readFiles(inputSpec, Hashing.goodFastHash(32).newHasher());
+    }
+
+    private static Set<File> readFiles(String inputSpec, Hasher contents) {
+        File spec = specFile(inputSpec);
+        if (spec == null) {
+            LOGGER.debug("Spec " + inputSpec + " is not a local file");
+            return null;
+        }
+        Set<File> visited = new LinkedHashSet<File>();
+        Deque<File> files = new ArrayDeque<File>();
+        files.add(spec);
+        visited.add(spec);
+        while (!files.isEmpty()) {
+            File file = files.poll();
+            String text;
+            try {
+                text = FileUtils.readFileToString(file, StandardCharsets.UTF_8);
+            } catch (IOException e) {
+                // left to the parser to report
+                return null;
+            }
+            contents.putString(file.getPath(), StandardCharsets.UTF_8).putString(text, StandardCharsets.UTF_8);
+            Matcher ref = REF.matcher(text);
+            while (ref.find()) {
+                String location = ref.group(1);
+                if (location.isEmpty()) {
+                    continue;
+                }
+                if (location.contains("://")) {
+                    contents.putString(location, StandardCharsets.UTF_8);
+                    continue;
+                }
+                File referenced = new File(file.getParentFile(), location).getAbsoluteFile().toPath().normalize().toFile();
+                if (visited.add(referenced)) {
+                    files.add(referenced);
+                }
+            }
+        }
+        return visited;
+    }
+
+    /**
+     * Restore composed models as the parser builds them, which is not how they are deserialized.
+     */
+    private static Swagger read(Swagger swagger) {
+        if (swagger.getDefinitions() != null) {
+            for (Map.Entry<String, Model> definition : swagger.getDefinitions().entrySet()) {
+                definition.setValue(read(definition.getValue()));
+            }
+        }
+        if (swagger.getPaths() != null) {
+            for (Path path : swagger.getPaths().values()) {
+                for (Operation operation : path.getOperations()) {
+                    if (operation.getParameters() != null) {
+                        for (Parameter parameter : operation.getParameters()) {
+                            if (parameter instanceof BodyParameter) {
+                                BodyParameter body = (BodyParameter) parameter;
+                                body.setSchema(read(body.getSchema()));
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return swagger;
+    }
+
+    private static Model read(Model model) {
+        if (!(model instanceof ComposedModel)) {
+            return model;
+        }
+        // the parser makes all referenced models interfaces and the last inline model the child,
+        // without parent
+        ComposedModel composed = (ComposedModel) model;
+        ComposedModel parsed = new ComposedModel();
+        List<Model> allOf = new ArrayList<Model>();
+        List<RefModel> interfaces = new ArrayList<RefModel>();
+        Model child = null;
+        for (Model component : composed.getAllOf()) {
+            component = read(component);
+            allOf.add(component);
+            if (component instanceof RefModel) {
+                interfaces.add((RefModel) component);
+            } else if (component instanceof ModelImpl) {
+                child = component;
+            }
+        }
+        parsed.setAllOf(allOf);
+        parsed.setInterfaces(interfaces);
+        if (child != null) {
+            parsed.setChild(child);
+        }
+        parsed.setDescription(composed.getDescription());
+        parsed.setExample(composed.getExample());
+        parsed.setTitle(composed.getTitle());
+        parsed.setExternalDocs(composed.getExternalDocs());
+        parsed.setReference(composed.getReference());
+        parsed.setVendorExtensions(composed.getVendorExtensions());
+        return parsed;
+    }
+
+    private void write(final File entry, Swagger swagger) {
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile("spec", ".tmp", directory);
+            try {
+                MAPPER.writeValue(temp, swagger);
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache parsed spec in " + entry, e);
+            return;
+        }
+        // earlier versions of the same spec won't be used any more
+        final String prefix = entry.getName().substring(0, entry.getName().indexOf('-') + 1);
+        File[] stale = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.getName().startsWith(prefix) && !file.equals(entry);
+            }
+        });
+        if (stale != null) {
+            for (File file : stale) {
+                FileUtils.deleteQuietly(file);
+            }
+        }
+    }
+
+    private static File specFile(String inputSpec) {
+        File file;
+        if (inputSpec.startsWith("file:")) {
+            try {
+                file = new File(new URI(inputSpec));
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                return null;
+            }
+        } else if (inputSpec.contains("://")) {
+            return null;
+        } else {
+            file = new File(inputSpec);
+        }
+        file = file.getAbsoluteFile().toPath().normalize().toFile();
+        return file.isFile() ? file : null;
+    }
+
+    private static String prefix(File spec) {
+        return Hashing.sha256().hashString(spec.getPath(), StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+
+    private abstract static class CollectionFormatMixIn {
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        abstract String getCollectionFormat();
+    }
+}
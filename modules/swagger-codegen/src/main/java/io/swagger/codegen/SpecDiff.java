@@ -0,0 +1,330 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.swagger.models.HttpMethod;
+import io.swagger.models.Swagger;
+import io.swagger.util.Json;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Differences between two versions of a parsed spec, as far as code generation is concerned: the
+ * definitions and operations whose generated files may differ, and whether the outline of the spec
+ * changed.
+ * <p>
+ * A definition is affected when it changed or refers, directly or not, to an affected definition
+ * (as a property, an item or an {@code allOf} component); all models of its inheritance hierarchy
+ * are processed with it, since parents and children are post-processed together. An operation is
+ * affected when it (or its path) changed or refers to an affected definition.
+ * <p>
+ * The outline is everything supporting files may list: the spec without its definitions and
+ * operations, the names of the definitions, and the operations with their id, tags, summary and
+ * security requirements.
+ * When it did not change, only supporting files which render details of models or operations
+ * (see {@link #usesDetails(String)}) depend on the affected definitions and operations.
+ */
+public class SpecDiff {
+    private static final String DEFINITIONS = "definitions";
+    private static final String PATHS = "paths";
+    private static final String REF = "$ref";
+    private static final String DEFINITION_REF = "#/" + DEFINITIONS + "/";
+    private static final Set<String> METHODS = new HashSet<String>();
+
+    static {
+        for (HttpMethod method : HttpMethod.values()) {
+            METHODS.add(method.name().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    // template variables listing models and operations in supporting files, as opposed to their details
+    private static final Set<String> OUTLINE_VARIABLES = new HashSet<String>(Arrays.asList(
+            "name", "classname", "classVarName", "classFilename", "baseName", "importPath", "path",
+            "httpMethod", "operationId", "operationIdLowerCase", "operationIdCamelCase", "operationIdSnakeCase",
+            "nickname", "summary", "tags", "hasMore", "authMethods", "hasAuthMethods"));
+    private static final Set<String> DETAIL_VARIABLES = detailVariables(CodegenModel.class, CodegenOperation.class,
+            CodegenProperty.class, CodegenParameter.class, CodegenResponse.class);
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{[#^/&{]?\\s*([A-Za-z_][\\w-]*)");
+
+    private final boolean outlineChanged;
+    private final Set<String> models;
+    private final Set<String> operations;
+    private final Set<String> tags;
+
+    private SpecDiff(boolean outlineChanged, Set<String> models, Set<String> operations, Set<String> tags) {
+        this.outlineChanged = outlineChanged;
+        this.models = Collections.unmodifiableSet(models);
+        this.operations = Collections.unmodifiableSet(operations);
+        this.tags = Collections.unmodifiableSet(tags);
+    }
+
+    /**
+     * Compare two versions of a spec, both as parsed and not modified by a generator yet.
+     *
+     * @param previous previous version of the spec
+     * @param current current version of the spec
+     * @return differences between the versions
+     */
+    public static SpecDiff compare(Swagger previous, Swagger current) {
+        JsonNode previousTree = Json.mapper().valueToTree(previous);
+        JsonNode currentTree = Json.mapper().valueToTree(current);
+        boolean outlineChanged = !outline(previousTree).equals(outline(currentTree));
+
+        // definitions which changed, and those referring to them
+        JsonNode previousDefinitions = previousTree.path(DEFINITIONS);
+        JsonNode currentDefinitions = currentTree.path(DEFINITIONS);
+        Map<String, Set<String>> referrers = new HashMap<String, Set<String>>();
+        Map<String, Set<String>> hierarchy = new HashMap<String, Set<String>>();
+        Deque<String> changed = new ArrayDeque<String>();
+        for (Iterator<Map.Entry<String, JsonNode>> it = currentDefinitions.fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> definition = it.next();
+            String name = definition.getKey();
+            if (!definition.getValue().equals(previousDefinitions.get(name))) {
+                changed.add(name);
+            }
+            for (String referenced : references(definition.getValue())) {
+                add(referrers, referenced, name);
+            }
+            for (JsonNode component : definition.getValue().path("allOf")) {
+                String parent = definitionName(component.path(REF).asText(null));
+                if (parent != null) {
+                    add(hierarchy, name, parent);
+                    add(hierarchy, parent, name);
+                }
+            }
+        }
+        Set<String> affectedDefinitions = closure(changed, referrers);
+
+        // operations which changed or refer to an affected definition
+        Set<String> operations = new TreeSet<String>();
+        Set<String> tags = new TreeSet<String>();
+        JsonNode previousPaths = previousTree.path(PATHS);
+        for (Iterator<Map.Entry<String, JsonNode>> it = currentTree.path(PATHS).fields(); it.hasNext(); ) {
+            Map.Entry<String, JsonNode> path = it.next();
+            JsonNode previousPath = previousPaths.path(path.getKey());
+            boolean pathChanged = !withoutOperations(path.getValue()).equals(withoutOperations(previousPath));
+            Set<String> pathReferences = references(withoutOperations(path.getValue()));
+            for (Iterator<Map.Entry<String, JsonNode>> ops = path.getValue().fields(); ops.hasNext(); ) {
+                Map.Entry<String, JsonNode> operation = ops.next();
+                if (!METHODS.contains(operation.getKey())) {
+                    continue;
+                }
+                Set<String> referenced = references(operation.getValue());
+                referenced.addAll(pathReferences);
+                referenced.retainAll(affectedDefinitions);
+                if (pathChanged || !referenced.isEmpty() || !operation.getValue().equals(previousPath.get(operation.getKey()))) {
+                    operations.add(operationKey(operation.getKey(), path.getKey()));
+                    JsonNode operationTags = operation.getValue().path("tags");
+                    if (operationTags.size() == 0) {
+                        tags.add("default");
+                    }
+                    for (JsonNode tag : operationTags) {
+                        tags.add(tag.asText());
+                    }
+                }
+            }
+        }
+
+        // models are post-processed with their whole hierarchy
+        Set<String> models = new TreeSet<String>(closure(new ArrayDeque<String>(affectedDefinitions), hierarchy));
+        return new SpecDiff(outlineChanged, models, operations, tags);
+    }
+
+    /**
+     * @param method HTTP method of an operation
+     * @param path path of the operation
+     * @return key of the operation in {@link #getOperations()}, e.g. {@code GET /pets}
+     */
+    public static String operationKey(String method, String path) {
+        return method.toUpperCase(Locale.ROOT) + " " + path;
+    }
+
+    /**
+     * @param template source of a supporting file template or of one of its partials
+     * @return whether the template may render details of models or operations (e.g. properties
+     * or parameters) rather than only list them, or uses custom delimiters
+     */
+    public static boolean usesDetails(String template) {
+        return usesVariables(template, DETAIL_VARIABLES);
+    }
+
+    /**
+     * @param template source of a template or of one of its partials
+     * @param variables names of template variables
+     * @return whether the template may use one of the variables, or uses custom delimiters
+     */
+    public static boolean usesVariables(String template, Set<String> variables) {
+        if (template.contains("{{=")) {
+            return true;
+        }
+        Matcher variable = VARIABLE.matcher(template);
+        while (variable.find()) {
+            if (variables.contains(variable.group(1))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return template variables of the details of models and operations, see {@link #usesDetails(String)}
+     */
+    static Set<String> detailVariables() {
+        return Collections.unmodifiableSet(DETAIL_VARIABLES);
+    }
+
+    /**
+     * @return true if nothing which code is generated from changed
+     */
+    public boolean isEmpty() {
+        return !outlineChanged && models.isEmpty() && operations.isEmpty();
+    }
+
+    /**
+     * @return true if the outline of the spec changed, e.g. a definition or operation was added or
+     * removed, so that all supporting files are affected
+     */
+    public boolean isOutlineChanged() {
+        return outlineChanged;
+    }
+
+    /**
+     * @return names of the affected definitions, with their inheritance hierarchies
+     */
+    public Set<String> getModels() {
+        return models;
+    }
+
+    /**
+     * @return keys of the affected operations, see {@link #operationKey(String, String)}
+     */
+    public Set<String> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return tags of the affected operations, {@code default} for operations without tags
+     */
+    public Set<String> getTags() {
+        return tags;
+    }
+
+    @Override
+    public String toString() {
+        return "SpecDiff{outlineChanged=" + outlineChanged + ", models=" + models + ", operations=" + operations + "}";
+    }
+
+    private static JsonNode outline(JsonNode spec) {
+        ObjectNode outline = spec.deepCopy();
+        ArrayNode definitions = outline.putArray(DEFINITIONS);
+        for (Iterator<String> names = spec.path(DEFINITIONS).fieldNames(); names.hasNext(); ) {
+            definitions.add(names.next());
+        }
+        ObjectNode operations = outline.putObject(PATHS);
+        for (Iterator<Map.Entry<String, JsonNode>> paths = spec.path(PATHS).fields(); paths.hasNext(); ) {
+            Map.Entry<String, JsonNode> path = paths.next();
+            for (Iterator<Map.Entry<String, JsonNode>> ops = path.getValue().fields(); ops.hasNext(); ) {
+                Map.Entry<String, JsonNode> operation = ops.next();
+                if (METHODS.contains(operation.getKey())) {
+                    ObjectNode summary = operations.putObject(operationKey(operation.getKey(), path.getKey()));
+                    summary.set("operationId", operation.getValue().get("operationId"));
+                    summary.set("tags", operation.getValue().get("tags"));
+                    summary.set("summary", operation.getValue().get("summary"));
+                    summary.set("security", operation.getValue().get("security"));
+                }
+            }
+        }
+        return outline;
+    }
+
+    private static JsonNode withoutOperations(JsonNode path) {
+        if (!path.isObject()) {
+            return JsonNodeFactory.instance.objectNode();
+        }
+        ObjectNode copy = path.deepCopy();
+        copy.remove(METHODS);
+        return copy;
+    }
+
+    private static Set<String> references(JsonNode node) {
+        Set<String> references = new HashSet<String>();
+        Deque<JsonNode> nodes = new ArrayDeque<JsonNode>();
+        nodes.add(node);
+        while (!nodes.isEmpty()) {
+            JsonNode next = nodes.poll();
+            String name = definitionName(next.path(REF).asText(null));
+            if (name != null) {
+                references.add(name);
+            }
+            for (JsonNode child : next) {
+                if (child.isContainerNode()) {
+                    nodes.add(child);
+                }
+            }
+        }
+        return references;
+    }
+
+    private static String definitionName(String ref) {
+        if (ref == null) {
+            return null;
+        }
+        if (ref.startsWith(DEFINITION_REF)) {
+            return ref.substring(DEFINITION_REF.length());
+        }
+        return ref.contains("/") || ref.contains("#") ? null : ref;
+    }
+
+    private static Set<String> closure(Deque<String> start, Map<String, Set<String>> edges) {
+        Set<String> reached = new HashSet<String>(start);
+        while (!start.isEmpty()) {
+            Set<String> next = edges.get(start.poll());
+            if (next != null) {
+                for (String name : next) {
+                    if (reached.add(name)) {
+                        start.add(name);
+                    }
+                }
+            }
+        }
+        return reached;
+    }
+
+    private static void add(Map<String, Set<String>> edges, String from, String to) {
+        Set<String> targets = edges.get(from);
+        if (targets == null) {
+            targets = new HashSet<String>();
+            edges.put(from, targets);
+        }
+        targets.add(to);
+    }
+
+    private static Set<String> detailVariables(Class<?>... types) {
+        Set<String> variables = new HashSet<String>();
+        for (Class<?> type : types) {
+            for (Field field : type.getFields()) {
+                if (!Modifier.isStatic(field.getModifiers())) {
+                    variables.add(field.getName());
+                }
+            }
+        }
+        variables.removeAll(OUTLINE_VARIABLES);
+        return variables;
+    }
+}
@@ -0,0 +1,209 @@
+package io.swagger.codegen;
+
+import java.io.File;
+import java.io.Reader;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+
+/**
+ * A bounded cache of compiled mustache templates (including the partials they pull in), keyed by
+ * the resolved template file, the template directories, the library and the compiler settings.
+ * <p>
+ * A single instance may be shared by any number of generation runs in the same JVM; see
+ * {@link #getSharedInstance()}. Templates loaded from the filesystem are recompiled when the
+ * template or one of its partials changes on disk, or when a partial is added to the template
+ * directory, overriding the one compiled in.
+ */
+public class TemplateCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(TemplateCache.class);
+
+    public static final int DEFAULT_MAXIMUM_SIZE = 512;
+
+    private static final TemplateCache SHARED_INSTANCE = new TemplateCache(DEFAULT_MAXIMUM_SIZE);
+
+    private final int maximumSize;
+    private final Map<Key, Entry> entries;
+
+    public TemplateCache(final int maximumSize) {
+        this.maximumSize = maximumSize;
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > TemplateCache.this.maximumSize;
+            }
+        };
+    }
+
+    /**
+     * @return the cache shared by all generators in this JVM
+     */
+    public static TemplateCache getSharedInstance() {
+        return SHARED_INSTANCE;
+    }
+
+    /**
+     * Returns the compiled template for the given template file, compiling it if it is not cached yet
+     * or if its sources have changed since it was compiled.
+     *
+     * @param generator generator used to read the template source
+     * @param config codegen config providing the template directories and library
+     * @param templateFile full path of the template, as returned by {@link AbstractGenerator#getFullTemplateFile(CodegenConfig, String)}
+     * @param compiler compiler to use, as customized by {@link CodegenConfig#processCompiler(Mustache.Compiler)}
+     * @return compiled template
+     */
+    public Template getTemplate(AbstractGenerator generator, CodegenConfig config, String templateFile, Mustache.Compiler compiler) {
+        final Key key = new Key(templateFile, config.templateDir(), config.embeddedTemplateDir(), config.getLibrary(), compiler);
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+        }
+        if (entry != null && entry.isCurrent()) {
+            return entry.template;
+        }
+
+        Loader loader = new Loader(generator, config.templateDir(), config.embeddedTemplateDir(), config.getLibrary());
+        loader.track(templateFile);
+        Template template = compiler.withLoader(loader).compile(generator.readTemplate(templateFile));
+        synchronized (entries) {
+            entries.put(key, new Entry(template, loader));
+        }
+        LOGGER.debug("compiled template " + templateFile);
+        return template;
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static class Entry {
+        private final Template template;
+        private final Loader loader;
+
+        private Entry(Template template, Loader loader) {
+            this.template = template;
+            this.loader = loader;
+        }
+
+        private boolean isCurrent() {
+            for (Map.Entry<String, Long> source : loader.sources.entrySet()) {
+                if (source.getValue() != lastModified(source.getKey())) {
+                    return false;
+                }
+            }
+            for (String override : loader.missing) {
+                if (new File(override).exists()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Loads partials the same way the generator resolves templates and remembers the
+     * filesystem sources read, as well as the files of the template directory which would have
+     * overridden the partials read, so changes can be detected. Partials are looked up through the
+     * generator which compiled the template, sharing its template lookups, without holding on to it
+     * (and the spec) once it is done.
+     */
+    private static class Loader implements Mustache.TemplateLoader {
+        private final WeakReference<AbstractGenerator> generator;
+        private final String templateDir;
+        private final String embeddedTemplateDir;
+        private final String library;
+        private final Map<String, Long> sources = new ConcurrentHashMap<String, Long>();
+        private final Set<String> missing = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+        private Loader(AbstractGenerator generator, String templateDir, String embeddedTemplateDir, String library) {
+            this.generator = new WeakReference<AbstractGenerator>(generator);
+            this.templateDir = templateDir;
+            this.embeddedTemplateDir = embeddedTemplateDir;
+            this.library = library;
+        }
+
+        @Override
+        public Reader getTemplate(String name) {
+            AbstractGenerator resolver = resolver();
+            String templateFile = resolver.getFullTemplateFile(templateDir, embeddedTemplateDir, library, name + ".mustache");
+            for (String override : resolver.getTemplateDirFiles(templateDir, library, name + ".mustache")) {
+                if (override.equals(templateFile)) {
+                    break;
+                }
+                missing.add(override);
+            }
+            track(resolver, templateFile);
+            return resolver.getTemplateReader(templateFile);
+        }
+
+        private void track(String templateFile) {
+            track(resolver(), templateFile);
+        }
+
+        private void track(AbstractGenerator resolver, String templateFile) {
+            if (resolver.embeddedTemplateExists(templateFile)) {
+                // templates packaged in the JAR don't change
+                return;
+            }
+            sources.put(templateFile, lastModified(templateFile));
+        }
+
+        private AbstractGenerator resolver() {
+            AbstractGenerator resolver = generator.get();
+            // a partial first needed after the run: look it up afresh
+            return resolver != null ? resolver : new AbstractGenerator() {
+            };
+        }
+    }
+
+    private static long lastModified(String file) {
+        File source = new File(file);
+        // include the length so that edits within the timestamp resolution are noticed
+        return source.lastModified() * 31 + source.length();
+    }
+
+    private static class Key {
+        private final Object[] parts;
+        private final int hashCode;
+
+        private Key(String templateFile, String templateDir, String embeddedTemplateDir, String library, Mustache.Compiler compiler) {
+            this.parts = new Object[]{
+                    templateFile, templateDir, embeddedTemplateDir, library,
+                    compiler.standardsMode, compiler.strictSections, compiler.nullValue, compiler.missingIsNull,
+                    compiler.emptyStringIsFalse, compiler.zeroIsFalse,
+                    // escapers and formatters are usually shared singletons, collectors are stateless
+                    // (the delimiters are not accessible; custom delimiters are set within the templates)
+                    compiler.formatter, compiler.escaper, compiler.collector.getClass()
+            };
+            this.hashCode = Arrays.hashCode(parts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(parts, ((Key) o).parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+}
@@ -8,6 +8,8 @@ import io.swagger.codegen.ClientOpts;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenConfigLoader;
 import io.swagger.codegen.CodegenConstants;
+import io.swagger.codegen.GenerationMetrics;
+import io.swagger.codegen.SpecCache;
 import io.swagger.codegen.auth.AuthParser;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
@@ -57,6 +59,13 @@ public class CodegenConfigurator implements Serializable {
     private String artifactVersion;
     private String library;
     private String ignoreFileOverride;
+    private int generatorThreads = 1;
+    private boolean parallelFlatten;
+    private boolean lowMemory;
+    private boolean preloadTemplates;
+    private boolean incremental;
+    private boolean removeStaleFiles;
+    private String specCacheDir;
     private Map<String, String> systemProperties = new HashMap<String, String>();
     private Map<String, String> instantiationTypes = new HashMap<String, String>();
     private Map<String, String> typeMappings = new HashMap<String, String>();
@@ -379,7 +388,81 @@ public class CodegenConfigurator implements Serializable {
         return this;
     }
 
+    public int getGeneratorThreads() {
+        return generatorThreads;
+    }
+
+    public CodegenConfigurator setGeneratorThreads(int generatorThreads) {
+        this.generatorThreads = generatorThreads;
+        return this;
+    }
+
+    public boolean isParallelFlatten() {
+        return parallelFlatten;
+    }
+
+    public CodegenConfigurator setParallelFlatten(boolean parallelFlatten) {
+        this.parallelFlatten = parallelFlatten;
+        return this;
+    }
+
+    public boolean isLowMemory() {
+        return lowMemory;
+    }
+
+    public CodegenConfigurator setLowMemory(boolean lowMemory) {
+        this.lowMemory = lowMemory;
+        return this;
+    }
+
+    public boolean isPreloadTemplates() {
+        return preloadTemplates;
+    }
+
+    public CodegenConfigurator setPreloadTemplates(boolean preloadTemplates) {
+        this.preloadTemplates = preloadTemplates;
+        return this;
+    }
+
+    public boolean isIncremental() {
+        return incremental;
+    }
+
+    public CodegenConfigurator setIncremental(boolean incremental) {
+        this.incremental = incremental;
+        return this;
+    }
+
+    public boolean isRemoveStaleFiles() {
+        return removeStaleFiles;
+    }
+
+    public CodegenConfigurator setRemoveStaleFiles(boolean removeStaleFiles) {
+        this.removeStaleFiles = removeStaleFiles;
+        return this;
+    }
+
+    public String getSpecCacheDir() {
+        return specCacheDir;
+    }
+
+    public CodegenConfigurator setSpecCacheDir(String specCacheDir) {
+        this.specCacheDir = specCacheDir;
+        return this;
+    }
+
     public ClientOptInput toClientOptInput() {
+        return toClientOptInput(null);
+    }
+
+    /**
+     * Like {@link #toClientOptInput()}, with a spec which was already parsed from the input spec
+     * (e.g. shared by several configurators); the generator may modify it.
+     *
+     * @param swagger parsed input spec, or null to parse the input spec
+     * @return input of the generator
+     */
+    public ClientOptInput toClientOptInput(Swagger swagger) {
 
         Validate.notEmpty(lang, "language must be specified");
         Validate.notEmpty(inputSpec, "input spec must be specified");
@@ -414,6 +497,22 @@ public class CodegenConfigurator implements Serializable {
         checkAndSetAdditionalProperty(gitRepoId, CodegenConstants.GIT_REPO_ID);
         checkAndSetAdditionalProperty(releaseNote, CodegenConstants.RELEASE_NOTE);
         checkAndSetAdditionalProperty(httpUserAgent, CodegenConstants.HTTP_USER_AGENT);
+        if (generatorThreads > 1) {
+            additionalProperties.put(CodegenConstants.GENERATOR_THREADS, generatorThreads);
+        }
+        if (parallelFlatten) {
+            additionalProperties.put(CodegenConstants.PARALLEL_FLATTEN, true);
+        }
+        if (lowMemory) {
+            additionalProperties.put(CodegenConstants.LOW_MEMORY, true);
+        }
+        if (preloadTemplates) {
+            additionalProperties.put(CodegenConstants.PRELOAD_TEMPLATES, true);
+        }
+        if (incremental) {
+            additionalProperties.put(CodegenConstants.INCREMENTAL, true);
+            additionalProperties.put(CodegenConstants.REMOVE_STALE_FILES, removeStaleFiles);
+        }
 
         handleDynamicProperties(config);
 
@@ -426,16 +525,34 @@ public class CodegenConfigurator implements Serializable {
         ClientOptInput input = new ClientOptInput()
                 .config(config);
 
-        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
-
-        Swagger swagger = new SwaggerParser().read(inputSpec, authorizationValues, true);
+        GenerationMetrics metrics = new GenerationMetrics();
+        if (swagger == null) {
+            long start = System.nanoTime();
+            swagger = readSpec();
+            metrics.addPhase(GenerationMetrics.PARSE, System.nanoTime() - start);
+        }
 
         input.opts(new ClientOpts())
-                .swagger(swagger);
+                .swagger(swagger)
+                .metrics(metrics);
 
         return input;
     }
 
+    /**
+     * Parse and resolve the input spec, or read it from the spec cache if one is configured and
+     * the spec did not change.
+     *
+     * @return parsed input spec, or null if it could not be read
+     */
+    public Swagger readSpec() {
+        if (isNotEmpty(specCacheDir)) {
+            return new SpecCache(new File(specCacheDir)).read(inputSpec, auth);
+        }
+        final List<AuthorizationValue> authorizationValues = AuthParser.parse(auth);
+        return new SwaggerParser().read(inputSpec, authorizationValues, true);
+    }
+
     @JsonAnySetter
     public CodegenConfigurator addDynamicProperty(String name, Object value) {
         dynamicProperties.put(name, value);
@@ -44,6 +44,7 @@ public abstract class AbstractCSharpCodegen extends DefaultCodegen implements Co
 
     public AbstractCSharpCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // C# does not use import mapping
         importMapping.clear();
@@ -7,6 +7,11 @@ import io.swagger.models.properties.Property;
 
 abstract public class AbstractCppCodegen extends DefaultCodegen implements CodegenConfig {
 
+    public AbstractCppCodegen() {
+        super();
+        serializeJsonOnDemand = true;
+    }
+
     @Override
     public String toVarName(String name) {
         if (typeMapping.keySet().contains(name) || typeMapping.values().contains(name)
@@ -39,6 +39,7 @@ public abstract class AbstractEiffelCodegen extends DefaultCodegen implements Co
         
     public AbstractEiffelCodegen(){
         super();
+        serializeJsonOnDemand = true;
         setReservedWordsLowerCase(Arrays.asList(
                 // language reserved words
                 "across", "agent", "alias", "all", "and", "as", "assign", "attribute", "check", "class", "convert",
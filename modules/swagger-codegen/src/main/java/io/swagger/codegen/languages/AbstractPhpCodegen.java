@@ -50,6 +50,7 @@ public abstract class AbstractPhpCodegen extends DefaultCodegen implements Codeg
 
     public AbstractPhpCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         modelTemplateFiles.put("model.mustache", ".php");
         apiTemplateFiles.put("api.mustache", ".php");
@@ -29,6 +29,7 @@ public abstract class AbstractScalaCodegen extends DefaultCodegen {
 
     public AbstractScalaCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         languageSpecificPrimitives.addAll(Arrays.asList(
                         "String",
@@ -30,6 +30,7 @@ public abstract class AbstractTypeScriptClientCodegen extends DefaultCodegen imp
 
     public AbstractTypeScriptClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as TS does not use it
         // at the moment
@@ -46,6 +46,7 @@ public class AndroidClientCodegen extends DefaultCodegen implements CodegenConfi
 
     public AndroidClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/android";
         modelTemplateFiles.put("model.mustache", ".java");
         apiTemplateFiles.put("api.mustache", ".java");
@@ -36,6 +36,7 @@ public class Apache2ConfigCodegen extends DefaultCodegen implements CodegenConfi
 
   public Apache2ConfigCodegen() {
     super();
+    serializeJsonOnDemand = true;
     apiTemplateFiles.put("apache-config.mustache", ".conf");
 
     embeddedTemplateDir = templateDir = "apache2";
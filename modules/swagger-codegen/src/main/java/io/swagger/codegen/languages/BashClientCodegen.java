@@ -87,6 +87,7 @@ public class BashClientCodegen extends DefaultCodegen implements CodegenConfig {
 
   public BashClientCodegen() {
     super();
+    serializeJsonOnDemand = true;
 
     /**
      * Set the output folder here
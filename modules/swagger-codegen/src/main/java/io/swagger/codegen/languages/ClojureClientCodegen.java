@@ -35,6 +35,7 @@ public class ClojureClientCodegen extends DefaultCodegen implements CodegenConfi
 
     public ClojureClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code" + File.separator + "clojure";
         apiTemplateFiles.put("api.mustache", ".clj");
         embeddedTemplateDir = templateDir = "clojure";
@@ -19,6 +19,7 @@ public class ConfluenceWikiGenerator extends DefaultCodegen implements CodegenCo
 
     public ConfluenceWikiGenerator() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "docs";
         embeddedTemplateDir = templateDir = "confluenceWikiDocs";
 
@@ -30,6 +30,7 @@ public class DartClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public DartClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as dart does not use it
         // at the moment
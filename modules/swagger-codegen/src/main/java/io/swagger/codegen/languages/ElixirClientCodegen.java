@@ -28,6 +28,7 @@ public class ElixirClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public ElixirClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // set the output folder here
         outputFolder = "generated-code/elixir";
@@ -31,6 +31,7 @@ public class ErlangServerCodegen extends DefaultCodegen implements CodegenConfig
 
     public ErlangServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // set the output folder here
         outputFolder = "generated-code/erlang-server";
@@ -24,6 +24,7 @@ public class FinchServerCodegen extends DefaultCodegen implements CodegenConfig
 
     public FinchServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/finch";
         modelTemplateFiles.put("model.mustache", ".scala");
         apiTemplateFiles.put("api.mustache", ".scala");
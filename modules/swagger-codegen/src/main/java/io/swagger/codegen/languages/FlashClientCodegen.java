@@ -33,6 +33,7 @@ public class FlashClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public FlashClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         modelPackage = "io.swagger.client.model";
         apiPackage = "io.swagger.client.api";
@@ -38,6 +38,7 @@ public class FlaskConnexionCodegen extends DefaultCodegen implements CodegenConf
 
     public FlaskConnexionCodegen() {
         super();
+        serializeJsonOnDemand = true;
         modelPackage = "models";
         testPackage = "test";
 
@@ -36,6 +36,7 @@ public class GoClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public GoClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/go";
         modelTemplateFiles.put("model.mustache", ".go");
         apiTemplateFiles.put("api.mustache", ".go");
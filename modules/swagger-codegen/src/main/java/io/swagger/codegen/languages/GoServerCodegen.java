@@ -37,6 +37,7 @@ public class GoServerCodegen extends DefaultCodegen implements CodegenConfig {
 
     public GoServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // set the output folder here
         outputFolder = "generated-code/go";
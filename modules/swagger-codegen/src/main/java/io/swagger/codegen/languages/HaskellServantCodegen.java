@@ -50,6 +50,7 @@ public class HaskellServantCodegen extends DefaultCodegen implements CodegenConf
 
     public HaskellServantCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // override the mapping to keep the original mapping in Haskell
         specialCharReplacements.put("-", "Dash");
@@ -49,6 +49,7 @@ public class JMeterCodegen extends DefaultCodegen implements CodegenConfig {
 
   public JMeterCodegen() {
     super();
+    serializeJsonOnDemand = true;
 
     // set the output folder here
     outputFolder = "generated-code/JMeterCodegen";
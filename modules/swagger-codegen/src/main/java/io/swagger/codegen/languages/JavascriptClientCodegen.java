@@ -100,6 +100,7 @@ public class JavascriptClientCodegen extends DefaultCodegen implements CodegenCo
 
     public JavascriptClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/js";
         modelTemplateFiles.put("model.mustache", ".js");
         modelTestTemplateFiles.put("model_test.mustache", ".js");
@@ -19,6 +19,7 @@ public class JavascriptClosureAngularClientCodegen extends DefaultCodegen implem
 
     public JavascriptClosureAngularClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/javascript-closure-angular";
 
         supportsInheritance = false;
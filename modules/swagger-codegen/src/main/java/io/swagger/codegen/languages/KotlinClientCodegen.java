@@ -28,6 +28,7 @@ public class KotlinClientCodegen extends DefaultCodegen implements CodegenConfig
      */
     public KotlinClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         outputFolder = "generated-code" + File.separator + "kotlin-client";
         modelTemplateFiles.put("model.mustache", ".kt");
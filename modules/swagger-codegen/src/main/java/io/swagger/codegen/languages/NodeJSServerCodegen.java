@@ -37,6 +37,7 @@ public class NodeJSServerCodegen extends DefaultCodegen implements CodegenConfig
 
     public NodeJSServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // set the output folder here
         outputFolder = "generated-code/nodejs";
@@ -42,6 +42,7 @@ public class PerlClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public PerlClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as perl does not use it
         // at the moment
@@ -51,6 +51,7 @@ public class PhpClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public PhpClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as php does not use it
         // at the moment
@@ -33,6 +33,7 @@ public class PowerShellClientCodegen extends DefaultCodegen implements CodegenCo
      */
     public PowerShellClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         outputFolder = "generated-code" + File.separator + "powershell";
         modelTemplateFiles.put("model.mustache", ".ps1");
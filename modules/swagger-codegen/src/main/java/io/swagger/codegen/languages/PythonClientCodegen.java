@@ -37,6 +37,7 @@ public class PythonClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public PythonClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as python does not use it
         // at the moment
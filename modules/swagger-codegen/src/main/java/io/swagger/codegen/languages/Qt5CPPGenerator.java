@@ -38,6 +38,7 @@ public class Qt5CPPGenerator extends DefaultCodegen implements CodegenConfig {
 
     public Qt5CPPGenerator() {
         super();
+        serializeJsonOnDemand = true;
 
         // set the output folder here
         outputFolder = "generated-code/qt5cpp";
@@ -60,6 +60,7 @@ public class Rails5ServerCodegen extends DefaultCodegen implements CodegenConfig
 
     public Rails5ServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code" + File.separator + "rails5";
         apiPackage = "app/controllers";
         apiTemplateFiles.put("controller.mustache", ".rb");
@@ -56,6 +56,7 @@ public class RubyClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public RubyClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as ruby does not use it
         // at the moment
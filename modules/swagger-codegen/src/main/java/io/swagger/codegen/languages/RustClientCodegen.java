@@ -40,6 +40,7 @@ public class RustClientCodegen extends DefaultCodegen implements CodegenConfig {
 
     public RustClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code/rust";
         modelTemplateFiles.put("model.mustache", ".rs");
         apiTemplateFiles.put("api.mustache", ".rs");
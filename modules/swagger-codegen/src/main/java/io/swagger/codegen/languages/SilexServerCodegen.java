@@ -27,6 +27,7 @@ public class SilexServerCodegen extends DefaultCodegen implements CodegenConfig
 
     public SilexServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         invokerPackage = camelize("SwaggerServer");
 
@@ -32,6 +32,7 @@ public class SinatraServerCodegen extends DefaultCodegen implements CodegenConfi
 
     public SinatraServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
         apiPackage = "lib";
         outputFolder = "generated-code" + File.separator + "sinatra";
 
@@ -29,6 +29,7 @@ public class SlimFrameworkServerCodegen extends DefaultCodegen implements Codege
 
     public SlimFrameworkServerCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as slim does not use it
         // at the moment
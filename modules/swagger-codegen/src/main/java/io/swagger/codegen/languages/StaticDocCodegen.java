@@ -18,6 +18,7 @@ public class StaticDocCodegen extends DefaultCodegen implements CodegenConfig {
 
     public StaticDocCodegen() {
         super();
+        serializeJsonOnDemand = true;
 
         // clear import mapping (from default generator) as this generator does not use it
         // at the moment
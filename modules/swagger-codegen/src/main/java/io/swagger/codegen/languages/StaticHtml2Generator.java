@@ -33,6 +33,7 @@ public class StaticHtml2Generator extends DefaultCodegen implements CodegenConfi
 
     public StaticHtml2Generator() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "docs";
         embeddedTemplateDir = templateDir = "htmlDocs2";
 
@@ -36,6 +36,7 @@ public class StaticHtmlGenerator extends DefaultCodegen implements CodegenConfig
 
     public StaticHtmlGenerator() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "docs";
         embeddedTemplateDir = templateDir = "htmlDocs";
 
@@ -19,6 +19,7 @@ public class SwaggerGenerator extends DefaultCodegen implements CodegenConfig {
 
     public SwaggerGenerator() {
         super();
+        serializeJsonOnDemand = true;
         embeddedTemplateDir = templateDir = "swagger";
         outputFolder = "generated-code/swagger";
 
@@ -18,6 +18,7 @@ public class SwaggerYamlGenerator extends DefaultCodegen implements CodegenConfi
 
     public SwaggerYamlGenerator() {
         super();
+        serializeJsonOnDemand = true;
         embeddedTemplateDir = templateDir = "swagger";
         outputFolder = "generated-code/swagger";
 
@@ -79,6 +79,7 @@ public class Swift3Codegen extends DefaultCodegen implements CodegenConfig {
 
     public Swift3Codegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code" + File.separator + "swift";
         modelTemplateFiles.put("model.mustache", ".swift");
         apiTemplateFiles.put("api.mustache", ".swift");
@@ -79,6 +79,7 @@ public class Swift4Codegen extends DefaultCodegen implements CodegenConfig {
 
     public Swift4Codegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "generated-code" + File.separator + "swift";
         modelTemplateFiles.put("model.mustache", ".swift");
         apiTemplateFiles.put("api.mustache", ".swift");
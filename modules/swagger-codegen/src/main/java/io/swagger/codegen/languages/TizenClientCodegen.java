@@ -33,6 +33,7 @@ public class TizenClientCodegen extends DefaultCodegen implements CodegenConfig
 
     public TizenClientCodegen() {
         super();
+        serializeJsonOnDemand = true;
         outputFolder = "";
         modelTemplateFiles.put("model-header.mustache", ".h");
         modelTemplateFiles.put("model-body.mustache", ".cpp");
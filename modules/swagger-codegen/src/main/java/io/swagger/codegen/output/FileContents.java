@@ -0,0 +1,20 @@
+package io.swagger.codegen.output;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Contents of a generated file which are produced while being written, e.g. a template rendered
+ * straight into the output, so that they never have to be held in memory as a whole.
+ */
+public interface FileContents {
+
+    /**
+     * Writes the contents to the given stream, which must not be closed. May be called at most
+     * once per file.
+     *
+     * @param out stream to write to
+     * @throws IOException if the contents could not be produced or written
+     */
+    void writeTo(OutputStream out) throws IOException;
+}
@@ -0,0 +1,222 @@
+package io.swagger.codegen.output;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Writes generated files to the filesystem. Files which already have the generated contents are
+ * left untouched, so that their modification time doesn't change and incremental builds of the
+ * generated code don't recompile them.
+ * <p>
+ * Streamed contents are compared with the existing file as they are produced, and only written
+ * (to a temporary file which then replaces it) from the first difference on, so memory use does not
+ * depend on the size of the file.
+ */
+public class FileSystemOutput implements GeneratorOutput {
+    private static final int BUFFER_SIZE = 8192;
+
+    @Override
+    public boolean write(File file, byte[] contents) throws IOException {
+        if (hasContents(file, contents)) {
+            return false;
+        }
+        createParent(file);
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(contents);
+        } finally {
+            out.close();
+        }
+        return true;
+    }
+
+    @Override
+    public boolean write(File file, final InputStream contents) throws IOException {
+        return write(file, new FileContents() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                IOUtils.copy(contents, out);
+            }
+        });
+    }
+
+    @Override
+    public boolean write(File file, FileContents contents) throws IOException {
+        createParent(file);
+        UpdatingOutputStream out = new UpdatingOutputStream(file);
+        boolean completed = false;
+        try {
+            contents.writeTo(out);
+            boolean written = out.finish();
+            completed = true;
+            return written;
+        } finally {
+            if (!completed) {
+                out.abort();
+            }
+        }
+    }
+
+    private static void createParent(File file) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists()) {
+            parent.mkdirs();
+        }
+    }
+
+    /**
+     * @return true if the file exists and has exactly the given contents
+     */
+    static boolean hasContents(File file, byte[] contents) throws IOException {
+        // compare the size first, most changed files differ in size
+        if (!file.isFile() || file.length() != contents.length) {
+            return false;
+        }
+        InputStream in = new FileInputStream(file);
+        try {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int offset = 0;
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                if (offset + read > contents.length) {
+                    return false;
+                }
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] != contents[offset + i]) {
+                        return false;
+                    }
+                }
+                offset += read;
+            }
+            return offset == contents.length;
+        } finally {
+            in.close();
+        }
+    }
+
+    /**
+     * Compares the bytes written with the existing file until they differ, then writes the
+     * contents to a temporary file, starting with the matching part of the existing file. A file
+     * which does not exist yet is written directly.
+     */
+    private static class UpdatingOutputStream extends OutputStream {
+        private final File file;
+        private InputStream existing;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private long matched;
+        private OutputStream out;
+        private File target;
+
+        private UpdatingOutputStream(File file) throws IOException {
+            this.file = file;
+            if (file.isFile()) {
+                existing = new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE);
+            }
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            if (out == null) {
+                if (existing != null && existing.read() == (b & 0xff)) {
+                    matched++;
+                    return;
+                }
+                diverge();
+            }
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (out == null && len > 0) {
+                if (existing == null) {
+                    diverge();
+                    break;
+                }
+                int read = existing.read(buffer, 0, Math.min(len, buffer.length));
+                int same = 0;
+                while (same < read && buffer[same] == b[off + same]) {
+                    same++;
+                }
+                matched += same;
+                off += same;
+                len -= same;
+                if (same < read || read == -1) {
+                    diverge();
+                }
+            }
+            if (len > 0) {
+                out.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (out != null) {
+                out.flush();
+            }
+        }
+
+        /**
+         * Starts writing, copying the part of the existing file which matched so far.
+         */
+        private void diverge() throws IOException {
+            if (existing == null) {
+                target = file;
+                out = new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE);
+                return;
+            }
+            existing.close();
+            existing = null;
+            // prefixed, since temporary file names need at least three characters before the suffix
+            target = File.createTempFile("." + file.getName() + "-", ".tmp", file.getAbsoluteFile().getParentFile());
+            out = new BufferedOutputStream(new FileOutputStream(target), BUFFER_SIZE);
+            InputStream in = new FileInputStream(file);
+            try {
+                IOUtils.copyLarge(in, out, 0, matched);
+            } finally {
+                in.close();
+            }
+        }
+
+        /**
+         * @return true if the file was written, false if it already had the same contents
+         */
+        private boolean finish() throws IOException {
+            if (out == null) {
+                if (existing != null && existing.read() == -1) {
+                    existing.close();
+                    return false;
+                }
+                // the existing file is longer, or there is none and nothing was written
+                diverge();
+            }
+            out.close();
+            if (target != file) {
+                Files.move(target.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        }
+
+        /**
+         * Leaves the existing file as it was, or removes the partially written new file.
+         */
+        private void abort() {
+            IOUtils.closeQuietly(existing);
+            IOUtils.closeQuietly(out);
+            if (target != null) {
+                target.delete();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.swagger.codegen.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Target the generated files are written to.
+ * <p>
+ * Implementations must be thread-safe, as files may be rendered and written by several threads.
+ */
+public interface GeneratorOutput {
+
+    /**
+     * Writes a generated file.
+     *
+     * @param file output file
+     * @param contents contents of the file
+     * @return true if the file was written, false if it was left untouched because it already had the same contents
+     * @throws IOException if the file could not be written
+     */
+    boolean write(File file, byte[] contents) throws IOException;
+
+    /**
+     * Writes a file copied from the given stream. The stream is not closed.
+     *
+     * @param file output file
+     * @param contents contents of the file
+     * @return true if the file was written, false if it was left untouched because it already had the same contents
+     * @throws IOException if the file could not be read or written
+     */
+    boolean write(File file, InputStream contents) throws IOException;
+
+    /**
+     * Writes a file whose contents are produced while writing. Outputs which support it stream the
+     * contents to their target instead of buffering them.
+     *
+     * @param file output file
+     * @param contents contents of the file
+     * @return true if the file was written, false if it was left untouched because it already had the same contents
+     * @throws IOException if the contents could not be produced or the file could not be written
+     */
+    boolean write(File file, FileContents contents) throws IOException;
+}
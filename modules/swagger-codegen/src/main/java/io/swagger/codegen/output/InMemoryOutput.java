@@ -0,0 +1,72 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Keeps the generated files in memory, e.g. to compile generated sources in-process. Nothing is
+ * written to the filesystem; the output folder of the generator only serves to determine the
+ * paths of the files.
+ */
+public class InMemoryOutput implements GeneratorOutput {
+    private final OutputPaths paths;
+    private final Map<String, byte[]> files = new LinkedHashMap<String, byte[]>();
+
+    /**
+     * @param outputFolder output folder of the generator
+     */
+    public InMemoryOutput(File outputFolder) {
+        this.paths = new OutputPaths(outputFolder);
+    }
+
+    @Override
+    public boolean write(File file, byte[] contents) throws IOException {
+        String path = paths.relativePath(file);
+        synchronized (files) {
+            byte[] previous = files.put(path, contents.clone());
+            return previous == null || !Arrays.equals(previous, contents);
+        }
+    }
+
+    @Override
+    public boolean write(File file, InputStream contents) throws IOException {
+        return write(file, IOUtils.toByteArray(contents));
+    }
+
+    @Override
+    public boolean write(File file, FileContents contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contents.writeTo(out);
+        return write(file, out.toByteArray());
+    }
+
+    /**
+     * @return contents of the generated files by path relative to the output folder (with '/'
+     * separators), in the order they were first written
+     */
+    public Map<String, byte[]> getFiles() {
+        synchronized (files) {
+            return new LinkedHashMap<String, byte[]>(files);
+        }
+    }
+
+    /**
+     * @param path path relative to the output folder, with '/' separators
+     * @return contents of the generated file decoded as UTF-8, or null if there is no such file
+     */
+    public String getFileContents(String path) {
+        byte[] contents;
+        synchronized (files) {
+            contents = files.get(path);
+        }
+        return contents == null ? null : new String(contents, StandardCharsets.UTF_8);
+    }
+}
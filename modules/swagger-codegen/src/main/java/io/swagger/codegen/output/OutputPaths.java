@@ -0,0 +1,29 @@
+package io.swagger.codegen.output;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Maps output files to paths relative to the output folder, for outputs which don't write to the
+ * filesystem.
+ */
+class OutputPaths {
+    private final Path root;
+
+    OutputPaths(File outputFolder) {
+        this.root = outputFolder.toPath().toAbsolutePath().normalize();
+    }
+
+    /**
+     * @return path of the file relative to the output folder, with '/' separators
+     * @throws IOException if the file is not within the output folder
+     */
+    String relativePath(File file) throws IOException {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        if (!path.startsWith(root) || path.equals(root)) {
+            throw new IOException("File " + file + " is not within the output folder " + root);
+        }
+        return root.relativize(path).toString().replace(File.separatorChar, '/');
+    }
+}
@@ -0,0 +1,146 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.Deflater;
+
+import org.apache.commons.io.IOUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the generated files into a zip archive as they are written, without writing them to the
+ * filesystem. The output folder of the generator only serves to determine the entry names.
+ * <p>
+ * When a file is written more than once, the last contents are kept, as they are in the filesystem
+ * (see {@link ZipWriter}). {@link #close()} must be called to complete the archive.
+ * <p>
+ * Files are compressed in parallel, a few at a time, and appended to the archive in the order they
+ * were written (see {@link ZipWriter}). Errors compressing a file are thrown by a later write or by
+ * {@link #close()}.
+ */
+public class ZipOutput implements GeneratorOutput, Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ZipOutput.class);
+    private static final ForkJoinPool POOL = new ForkJoinPool();
+    // files compressed ahead of the one being appended, so that large outputs are not held in memory
+    private static final int MAX_RUNNING = 2 * POOL.getParallelism();
+
+    private final OutputPaths paths;
+    private final String entryPrefix;
+    private final int level;
+    private final ZipWriter zip;
+    private final Set<String> entries = new HashSet<String>();
+    // in the order the files were written
+    private final Deque<ForkJoinTask<ZipWriter.Entry>> running = new ArrayDeque<ForkJoinTask<ZipWriter.Entry>>();
+
+    /**
+     * @param out stream to write the archive to, closed by {@link #close()}
+     * @param outputFolder output folder of the generator
+     * @param entryPrefix folder within the archive to put the files in, may be empty
+     */
+    public ZipOutput(OutputStream out, File outputFolder, String entryPrefix) {
+        this(out, outputFolder, entryPrefix, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param out stream to write the archive to, closed by {@link #close()}
+     * @param outputFolder output folder of the generator
+     * @param entryPrefix folder within the archive to put the files in, may be empty
+     * @param level compression level, from {@link Deflater#NO_COMPRESSION} (files are stored) to
+     * {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    public ZipOutput(OutputStream out, File outputFolder, String entryPrefix, int level) {
+        this.paths = new OutputPaths(outputFolder);
+        this.entryPrefix = entryPrefix == null || entryPrefix.isEmpty() || entryPrefix.endsWith("/") ? entryPrefix : entryPrefix + "/";
+        this.level = level;
+        this.zip = new ZipWriter(out);
+    }
+
+    @Override
+    public boolean write(File file, byte[] contents) throws IOException {
+        append(entryName(file), contents);
+        return true;
+    }
+
+    @Override
+    public boolean write(File file, InputStream contents) throws IOException {
+        append(entryName(file), IOUtils.toByteArray(contents));
+        return true;
+    }
+
+    /**
+     * The contents are buffered and compressed before they are added to the archive.
+     */
+    @Override
+    public boolean write(File file, FileContents contents) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        contents.writeTo(out);
+        return write(file, out.toByteArray());
+    }
+
+    private void append(final String name, final byte[] contents) throws IOException {
+        synchronized (zip) {
+            if (!entries.add(name)) {
+                LOGGER.debug("Replacing zip entry " + name);
+            }
+            running.add(POOL.submit(new Callable<ZipWriter.Entry>() {
+                @Override
+                public ZipWriter.Entry call() {
+                    return ZipWriter.compress(name, contents, level);
+                }
+            }));
+            while (!running.isEmpty() && (running.size() > MAX_RUNNING || running.peek().isDone())) {
+                appendCompressed();
+            }
+        }
+    }
+
+    private void appendCompressed() throws IOException {
+        ForkJoinTask<ZipWriter.Entry> task = running.poll();
+        try {
+            zip.write(task.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while compressing zip entries", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Could not compress zip entry", e.getCause());
+        }
+    }
+
+    private String entryName(File file) throws IOException {
+        String path = paths.relativePath(file);
+        return entryPrefix == null ? path : entryPrefix + path;
+    }
+
+    /**
+     * Completes the archive and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (zip) {
+            try {
+                while (!running.isEmpty()) {
+                    appendCompressed();
+                }
+            } finally {
+                for (ForkJoinTask<ZipWriter.Entry> task : running) {
+                    task.cancel(false);
+                }
+                running.clear();
+                zip.close();
+            }
+        }
+    }
+}
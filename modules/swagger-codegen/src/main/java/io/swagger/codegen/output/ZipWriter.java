@@ -0,0 +1,252 @@
+package io.swagger.codegen.output;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * Writes a zip archive from entries compressed beforehand, so that entries can be compressed
+ * concurrently (see {@link #compress(String, byte[], int)}) while they are written one at a time.
+ * {@link java.util.zip.ZipOutputStream} can't do that, since it compresses entries as they are
+ * written.
+ * <p>
+ * Entries are stored rather than deflated when they are already compressed (e.g. jars or images),
+ * when the compression level is {@link Deflater#NO_COMPRESSION}, or when deflating does not make
+ * them smaller. Archives are limited to 65535 entries of less than 4 GB, which is plenty for
+ * generated code. Writing is not synchronized.
+ * <p>
+ * Only the headers of the entries written are kept for the central directory, not their data.
+ * <p>
+ * An entry written again under the same name replaces the earlier one: both are in the archive,
+ * but the central directory, which zip tools read the entries from, only lists the last one. Tools
+ * which read the entries in order instead also end up with the last one when they extract them.
+ */
+public class ZipWriter implements Closeable {
+    private static final int LOCAL_HEADER = 0x04034b50;
+    private static final int CENTRAL_HEADER = 0x02014b50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+    private static final int VERSION = 20;
+    private static final int UTF8_NAMES = 1 << 11;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+    private static final int MAX_ENTRIES = 0xffff;
+    private static final long MAX_SIZE = 0xffffffffL;
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<String>(Arrays.asList(
+            "jar", "war", "aar", "zip", "gz", "tgz", "bz2", "xz", "7z", "png", "jpg", "jpeg", "gif", "ico",
+            "woff", "woff2", "eot", "pdf"));
+
+    private final OutputStream out;
+    // by name
+    private final Map<String, Header> headers = new LinkedHashMap<String, Header>();
+    private final int time;
+    private long offset;
+
+    /**
+     * @param out stream to write the archive to, closed by {@link #close()}
+     */
+    public ZipWriter(OutputStream out) {
+        this.out = out;
+        this.time = dosTime(Calendar.getInstance());
+    }
+
+    /**
+     * Compress an entry, which is thread-safe.
+     *
+     * @param name name of the entry in the archive, with {@code /} as separator
+     * @param contents contents of the entry
+     * @param level compression level, from {@link Deflater#NO_COMPRESSION} to
+     * {@link Deflater#BEST_COMPRESSION}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return entry to write
+     */
+    public static Entry compress(String name, byte[] contents, int level) {
+        CRC32 crc = new CRC32();
+        crc.update(contents);
+        if (level == Deflater.NO_COMPRESSION || isCompressed(name)) {
+            return new Entry(name, STORED, crc.getValue(), contents.length, contents);
+        }
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(contents);
+            deflater.finish();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(Math.max(64, contents.length / 2));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                deflated.write(buffer, 0, deflater.deflate(buffer));
+            }
+            if (deflated.size() >= contents.length) {
+                return new Entry(name, STORED, crc.getValue(), contents.length, contents);
+            }
+            return new Entry(name, DEFLATED, crc.getValue(), contents.length, deflated.toByteArray());
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * @param name name of an entry
+     * @return true if the entry is a file format which is compressed already
+     */
+    public static boolean isCompressed(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Append a compressed entry to the archive.
+     *
+     * @param entry entry returned by {@link #compress(String, byte[], int)}
+     * @throws IOException if the entry could not be written or the archive is too large
+     */
+    public void write(Entry entry) throws IOException {
+        if (headers.size() == MAX_ENTRIES || offset > MAX_SIZE || entry.data.length > MAX_SIZE) {
+            throw new ZipException("Too many or too large entries for a zip archive");
+        }
+        Header header = new Header(entry, offset);
+        ByteArrayOutputStream local = new ByteArrayOutputStream(30 + header.name.length);
+        writeInt(local, LOCAL_HEADER);
+        writeHeader(local, header);
+        writeShort(local, 0);
+        local.write(header.name);
+        local.writeTo(out);
+        out.write(entry.data);
+        offset += local.size() + entry.data.length;
+        headers.put(entry.getName(), header);
+    }
+
+    /**
+     * Writes the central directory of the archive and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            ByteArrayOutputStream directory = new ByteArrayOutputStream();
+            for (Header header : headers.values()) {
+                writeInt(directory, CENTRAL_HEADER);
+                writeShort(directory, VERSION);
+                writeHeader(directory, header);
+                // extra field, comment, disk, internal and external attributes
+                writeShort(directory, 0);
+                writeShort(directory, 0);
+                writeShort(directory, 0);
+                writeShort(directory, 0);
+                writeInt(directory, 0);
+                writeInt(directory, (int) header.offset);
+                directory.write(header.name);
+            }
+            if (offset > MAX_SIZE) {
+                throw new ZipException("Too large a zip archive");
+            }
+            int directorySize = directory.size();
+            writeInt(directory, END_OF_CENTRAL_DIRECTORY);
+            writeShort(directory, 0);
+            writeShort(directory, 0);
+            writeShort(directory, headers.size());
+            writeShort(directory, headers.size());
+            writeInt(directory, directorySize);
+            writeInt(directory, (int) offset);
+            writeShort(directory, 0);
+            directory.writeTo(out);
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    /**
+     * Fields shared by the local and central headers, from the version needed to extract to the
+     * length of the name.
+     */
+    private void writeHeader(ByteArrayOutputStream out, Header header) {
+        writeShort(out, VERSION);
+        writeShort(out, UTF8_NAMES);
+        writeShort(out, header.method);
+        writeInt(out, time);
+        writeInt(out, (int) header.crc);
+        writeInt(out, (int) header.compressedSize);
+        writeInt(out, (int) header.size);
+        writeShort(out, header.name.length);
+    }
+
+    private static void writeShort(ByteArrayOutputStream out, int value) {
+        out.write(value & 0xff);
+        out.write((value >>> 8) & 0xff);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        writeShort(out, value & 0xffff);
+        writeShort(out, (value >>> 16) & 0xffff);
+    }
+
+    private static int dosTime(Calendar time) {
+        return (time.get(Calendar.YEAR) - 1980) << 25
+                | (time.get(Calendar.MONTH) + 1) << 21
+                | time.get(Calendar.DAY_OF_MONTH) << 16
+                | time.get(Calendar.HOUR_OF_DAY) << 11
+                | time.get(Calendar.MINUTE) << 5
+                | time.get(Calendar.SECOND) >> 1;
+    }
+
+    /**
+     * Compressed entry, see {@link #compress(String, byte[], int)}.
+     */
+    public static class Entry {
+        private final byte[] name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final byte[] data;
+
+        private Entry(String name, int method, long crc, long size, byte[] data) {
+            this.name = name.getBytes(StandardCharsets.UTF_8);
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+
+        public String getName() {
+            return new String(name, StandardCharsets.UTF_8);
+        }
+
+        /**
+         * @return true if the entry is stored rather than deflated
+         */
+        public boolean isStored() {
+            return method == STORED;
+        }
+    }
+
+    /**
+     * What the central directory needs of a written entry.
+     */
+    private static class Header {
+        private final byte[] name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+        private final long offset;
+
+        Header(Entry entry, long offset) {
+            this.name = entry.name;
+            this.method = entry.method;
+            this.crc = entry.crc;
+            this.size = entry.size;
+            this.compressedSize = entry.data.length;
+            this.offset = offset;
+        }
+    }
+}
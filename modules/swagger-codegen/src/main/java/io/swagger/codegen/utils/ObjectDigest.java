@@ -0,0 +1,242 @@
+package io.swagger.codegen.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.samskivert.mustache.Mustache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Computes a stable SHA-256 digest over an object graph, e.g. the data passed to a template.
+ * <p>
+ * Strings, numbers, booleans and enums are hashed by value, lists and arrays in order, and
+ * unordered maps and sets independently of their iteration order. Objects from the
+ * {@code io.swagger} packages (codegen and swagger models) are hashed field by field, leaving out
+ * transient fields such as values computed on demand; other objects by their {@code toString()}
+ * if they override it, or else by their JSON serialization. Objects which can't be serialized
+ * get a different digest every time, so that they always count as changed.
+ * Cyclic references are cut at the first repeated object on the current path, and objects
+ * reachable through several paths are hashed only once per call.
+ * <p>
+ * Instances are thread-safe.
+ */
+public class ObjectDigest {
+    private static final HashFunction HASH_FUNCTION = Hashing.sha256();
+    // fails on objects without properties, whose state is unknown
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+    private static final Map<Class<?>, List<Field>> FIELDS = new ConcurrentHashMap<Class<?>, List<Field>>();
+    private static final Comparator<HashCode> HASH_ORDER = new Comparator<HashCode>() {
+        @Override
+        public int compare(HashCode one, HashCode another) {
+            return one.toString().compareTo(another.toString());
+        }
+    };
+
+    private final Set<String> ignoredKeys;
+
+    /**
+     * @param ignoredKeys map keys whose entries are left out of the digest
+     */
+    public ObjectDigest(String... ignoredKeys) {
+        this.ignoredKeys = new HashSet<String>(Arrays.asList(ignoredKeys));
+    }
+
+    /**
+     * @param values objects to digest, in order
+     * @return hex encoded digest
+     */
+    public String digest(Object... values) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        State state = new State();
+        for (Object value : values) {
+            put(hasher, value, state);
+        }
+        return hasher.hash().toString();
+    }
+
+    private void put(Hasher hasher, Object value, State state) {
+        if (value == null) {
+            hasher.putChar('n');
+            return;
+        }
+        Class<?> type = value.getClass();
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean
+                || value instanceof Character || value instanceof Enum) {
+            hasher.putChar('v');
+            putString(hasher, type.getName());
+            putString(hasher, value.toString());
+            return;
+        }
+        HashCode known = state.hashes.get(value);
+        if (known != null) {
+            hasher.putBytes(known.asBytes());
+            return;
+        }
+        if (state.path.containsKey(value)) {
+            hasher.putChar('c');
+            return;
+        }
+        hasher.putBytes(hash(value, type, state).asBytes());
+    }
+
+    private HashCode hash(Object value, Class<?> type, State state) {
+        Hasher hasher = HASH_FUNCTION.newHasher();
+        state.path.put(value, Boolean.TRUE);
+        try {
+            if (value instanceof Map) {
+                putMap(hasher, (Map<?, ?>) value, state);
+            } else if (value instanceof Collection) {
+                putCollection(hasher, (Collection<?>) value, state);
+            } else if (type.isArray()) {
+                hasher.putChar('a');
+                int length = Array.getLength(value);
+                hasher.putInt(length);
+                for (int i = 0; i < length; i++) {
+                    put(hasher, Array.get(value, i), state);
+                }
+            } else if (value instanceof Mustache.Lambda) {
+                // lambdas carry no data
+                hasher.putChar('l');
+                putString(hasher, type.getName());
+            } else if (type.getName().startsWith("io.swagger.")) {
+                hasher.putChar('o');
+                putString(hasher, type.getName());
+                for (Field field : fields(type)) {
+                    putString(hasher, field.getName());
+                    put(hasher, field.get(value), state);
+                }
+            } else {
+                hasher.putChar('t');
+                putString(hasher, type.getName());
+                if (type.getMethod("toString").getDeclaringClass() != Object.class) {
+                    putString(hasher, value.toString());
+                } else {
+                    putJson(hasher, value);
+                }
+            }
+        } catch (ReflectiveOperationException e) {
+            throw new RuntimeException("Could not digest " + type.getName(), e);
+        } finally {
+            state.path.remove(value);
+        }
+        HashCode hash = hasher.hash();
+        state.hashes.put(value, hash);
+        return hash;
+    }
+
+    private static void putJson(Hasher hasher, Object value) {
+        byte[] json;
+        try {
+            json = MAPPER.writeValueAsBytes(value);
+        } catch (IOException | RuntimeException e) {
+            hasher.putChar('u');
+            putString(hasher, UUID.randomUUID().toString());
+            return;
+        }
+        hasher.putChar('j');
+        hasher.putInt(json.length);
+        hasher.putBytes(json);
+    }
+
+    private void putMap(Hasher hasher, Map<?, ?> map, State state) {
+        hasher.putChar('m');
+        boolean ordered = map instanceof LinkedHashMap || map instanceof SortedMap;
+        List<HashCode> entries = new ArrayList<HashCode>(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (entry.getKey() instanceof String && ignoredKeys.contains(entry.getKey())) {
+                continue;
+            }
+            Hasher entryHasher = HASH_FUNCTION.newHasher();
+            put(entryHasher, entry.getKey(), state);
+            put(entryHasher, entry.getValue(), state);
+            entries.add(entryHasher.hash());
+        }
+        putHashes(hasher, entries, ordered);
+    }
+
+    private void putCollection(Hasher hasher, Collection<?> collection, State state) {
+        hasher.putChar('s');
+        boolean ordered = collection instanceof List || collection instanceof LinkedHashSet || collection instanceof SortedSet;
+        List<HashCode> elements = new ArrayList<HashCode>(collection.size());
+        for (Object element : collection) {
+            Hasher elementHasher = HASH_FUNCTION.newHasher();
+            put(elementHasher, element, state);
+            elements.add(elementHasher.hash());
+        }
+        putHashes(hasher, elements, ordered);
+    }
+
+    private static void putHashes(Hasher hasher, List<HashCode> hashes, boolean ordered) {
+        if (!ordered) {
+            Collections.sort(hashes, HASH_ORDER);
+        }
+        hasher.putInt(hashes.size());
+        for (HashCode hash : hashes) {
+            hasher.putBytes(hash.asBytes());
+        }
+    }
+
+    private static void putString(Hasher hasher, String value) {
+        hasher.putInt(value.length());
+        hasher.putString(value, UTF_8);
+    }
+
+    private static class State {
+        // objects on the path from the root to the value being hashed
+        private final Map<Object, Boolean> path = new IdentityHashMap<Object, Boolean>();
+        private final Map<Object, HashCode> hashes = new IdentityHashMap<Object, HashCode>();
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        List<Field> fields = FIELDS.get(type);
+        if (fields == null) {
+            fields = new ArrayList<Field>();
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers()) && !Modifier.isTransient(field.getModifiers()) && !field.isSynthetic()) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            Collections.sort(fields, new Comparator<Field>() {
+                @Override
+                public int compare(Field one, Field another) {
+                    int byName = one.getName().compareTo(another.getName());
+                    return byName != 0 ? byName : one.getDeclaringClass().getName().compareTo(another.getDeclaringClass().getName());
+                }
+            });
+            FIELDS.put(type, fields);
+        }
+        return fields;
+    }
+}
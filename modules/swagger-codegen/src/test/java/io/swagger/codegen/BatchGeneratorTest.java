@@ -0,0 +1,124 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class BatchGeneratorTest {
+
+    private static final List<String> SPECS = Arrays.asList("src/test/resources/2_0/petstore.yaml",
+            "src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml");
+    private static final List<String> LANGUAGES = Arrays.asList("java", "python", "typescript-angular");
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testBatchMatchesSeparateGenerations() throws Exception {
+        List<CodegenConfigurator> configurators = new ArrayList<CodegenConfigurator>();
+        for (int spec = 0; spec < SPECS.size(); spec++) {
+            for (String language : LANGUAGES) {
+                configurators.add(configurator(SPECS.get(spec), language, new File(folder.getRoot(), "batch/" + spec + "/" + language)));
+            }
+        }
+        List<File> files = new BatchGenerator(4).generate(configurators);
+        assertTrue(files.size() > 0);
+
+        for (int spec = 0; spec < SPECS.size(); spec++) {
+            for (String language : LANGUAGES) {
+                File batch = new File(folder.getRoot(), "batch/" + spec + "/" + language);
+                File separate = new File(folder.getRoot(), "separate/" + spec + "/" + language);
+                new DefaultGenerator().opts(configurator(SPECS.get(spec), language, separate).toClientOptInput()).generate();
+                assertSameFiles(batch, separate);
+            }
+        }
+    }
+
+    @Test
+    public void testFailedGenerationDoesNotStopOthers() {
+        File output = new File(folder.getRoot(), "java");
+        List<CodegenConfigurator> configurators = Arrays.asList(
+                configurator(SPECS.get(0), "unknown", new File(folder.getRoot(), "unknown")),
+                configurator(SPECS.get(0), "java", output));
+        try {
+            new BatchGenerator(1).generate(configurators);
+            fail("unknown language");
+        } catch (RuntimeException e) {
+            assertEquals(e.getMessage(), "1 of 2 generations failed");
+        }
+        assertTrue(new File(output, "src/main/java/io/swagger/client/model/Pet.java").exists());
+    }
+
+    @Test
+    public void testSystemPropertiesDoNotLeakIntoLaterGenerations() {
+        File pets = new File(folder.getRoot(), "pets");
+        File all = new File(folder.getRoot(), "all");
+        Map<String, String> onlyPet = new HashMap<String, String>();
+        onlyPet.put("models", "Pet");
+        Map<String, String> noModelDocs = new HashMap<String, String>();
+        noModelDocs.put("modelDocs", "false");
+        List<CodegenConfigurator> configurators = Arrays.asList(
+                configurator(SPECS.get(0), "java", pets).setSystemProperties(onlyPet),
+                configurator(SPECS.get(0), "java", all).setSystemProperties(noModelDocs));
+        new BatchGenerator(2).generate(configurators);
+
+        String models = "src/main/java/io/swagger/client/model/";
+        assertTrue(new File(pets, models + "Pet.java").exists());
+        assertFalse(new File(pets, models + "Order.java").exists());
+        assertTrue(new File(all, models + "Pet.java").exists());
+        assertTrue(new File(all, models + "Order.java").exists());
+        assertFalse(new File(all, "docs/Pet.md").exists());
+        assertNull(System.getProperty("models"));
+        assertNull(System.getProperty("modelDocs"));
+    }
+
+    private static CodegenConfigurator configurator(String spec, String language, File output) {
+        return new CodegenConfigurator()
+                .setInputSpec(spec)
+                .setLang(language)
+                .setOutputDir(output.getAbsolutePath());
+    }
+
+    private static void assertSameFiles(File actual, File expected) throws Exception {
+        Collection<File> expectedFiles = FileUtils.listFiles(expected, null, true);
+        assertEquals(FileUtils.listFiles(actual, null, true).size(), expectedFiles.size(), actual.getPath());
+        for (File expectedFile : expectedFiles) {
+            String path = expected.toURI().relativize(expectedFile.toURI()).getPath();
+            File actualFile = new File(actual, path);
+            assertTrue(actualFile.exists(), path);
+            assertEquals(withoutDate(FileUtils.readFileToString(actualFile, UTF_8)),
+                    withoutDate(FileUtils.readFileToString(expectedFile, UTF_8)), actualFile.getPath());
+        }
+    }
+
+    private static String withoutDate(String contents) {
+        return contents.replaceAll("date = \"[^\"]*\"", "");
+    }
+}
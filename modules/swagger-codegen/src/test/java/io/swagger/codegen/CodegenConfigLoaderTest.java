@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Set;
 
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotSame;
 
 @SuppressWarnings("static-method")
 public class CodegenConfigLoaderTest {
@@ -55,4 +56,13 @@ public class CodegenConfigLoaderTest {
 
 
     }
+
+    @Test
+    public void testLoadReturnsNewInstances() throws Exception {
+        final CodegenConfig first = CodegenConfigLoader.forName("java");
+        final CodegenConfig second = CodegenConfigLoader.forName("java");
+
+        assertEquals(second.getClass(), first.getClass());
+        assertNotSame(second, first);
+    }
 }
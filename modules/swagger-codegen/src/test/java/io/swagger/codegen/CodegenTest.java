@@ -1,15 +1,20 @@
 package io.swagger.codegen;
 
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.languages.JavaClientCodegen;
 import io.swagger.models.Model;
 import io.swagger.models.Operation;
 import io.swagger.models.Swagger;
 import io.swagger.models.properties.Property;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
 import java.util.List;
+import java.util.ServiceLoader;
 
 public class CodegenTest {
 
@@ -414,4 +419,63 @@ public class CodegenTest {
 
         Assert.assertTrue(op.isDeprecated);
     }
+
+    @Test(description = "serialize the model json and json schemas only when a template uses them")
+    public void lazyJsonSchemaTest() {
+        final Swagger model = parseAndPrepareSwagger("src/test/resources/2_0/petstore.json");
+        final DefaultCodegen codegen = new JavaClientCodegen();
+        final Model pet = model.getDefinitions().get("Pet");
+        final CodegenModel cm = codegen.fromModel("Pet", pet, model.getDefinitions());
+        final String path = "/pet/{petId}";
+        final CodegenOperation op = codegen.fromOperation(path, "get", model.getPaths().get(path).getGet(), model.getDefinitions());
+
+        // built-in generators serialize on demand
+        Assert.assertNull(cm.modelJson);
+        Assert.assertNull(cm.vars.get(0).jsonSchema);
+        Assert.assertNull(op.allParams.get(0).jsonSchema);
+        Assert.assertNull(op.responses.get(0).jsonSchema);
+
+        final Template template = Mustache.compiler().compile(
+                "{{{modelJson}}}|{{#vars}}{{{jsonSchema}}}|{{/vars}}");
+        final StringBuilder expected = new StringBuilder(Json.pretty(pet)).append('|');
+        for (CodegenProperty var : cm.vars) {
+            expected.append(Json.pretty(pet.getProperties().get(var.baseName))).append('|');
+        }
+        Assert.assertEquals(template.execute(cm), expected.toString());
+        Assert.assertEquals(Mustache.compiler().compile("{{{jsonSchema}}}").execute(op.allParams.get(0)),
+                Json.pretty(model.getPaths().get(path).getGet().getParameters().get(0)));
+
+        cm.setModelJson("{}");
+        Assert.assertEquals(cm.getModelJson(), "{}");
+    }
+
+    @Test(description = "built-in generators opt in to serializing the json on demand")
+    public void builtInGeneratorsSerializeJsonOnDemandTest() {
+        int generators = 0;
+        for (CodegenConfig config : ServiceLoader.load(CodegenConfig.class)) {
+            if (config instanceof DefaultCodegen) {
+                Assert.assertTrue(((DefaultCodegen) config).serializesJsonOnDemand(), config.getName());
+                generators++;
+            }
+        }
+        Assert.assertTrue(generators > 0);
+        Assert.assertFalse(new DefaultCodegen().serializesJsonOnDemand());
+    }
+
+    @Test(description = "fill the model json and json schemas for custom generators reading the fields")
+    public void customGeneratorJsonSchemaTest() {
+        final Swagger model = parseAndPrepareSwagger("src/test/resources/2_0/petstore.json");
+        final DefaultCodegen codegen = new DefaultCodegen();
+        final Model pet = model.getDefinitions().get("Pet");
+        final CodegenModel cm = codegen.fromModel("Pet", pet, model.getDefinitions());
+        final String path = "/pet/{petId}";
+        final Operation get = model.getPaths().get(path).getGet();
+        final CodegenOperation op = codegen.fromOperation(path, "get", get, model.getDefinitions());
+
+        Assert.assertTrue(cm.modelJson.contains("\"photoUrls\""));
+        Assert.assertEquals(cm.vars.get(0).jsonSchema, Json.pretty(pet.getProperties().get(cm.vars.get(0).baseName)));
+        Assert.assertEquals(op.allParams.get(0).jsonSchema, Json.pretty(get.getParameters().get(0)));
+        Assert.assertEquals(op.responses.get(0).jsonSchema, Json.pretty(get.getResponses().get(op.responses.get(0).code)));
+        Assert.assertEquals(cm.getModelJson(), cm.modelJson);
+    }
 }
@@ -0,0 +1,241 @@
+package io.swagger.codegen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.swagger.util.Json;
+import io.swagger.util.Yaml;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Random;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Compares camelize, underscore and sanitizeName with the regular expression based implementations
+ * they replaced, on the names found in the test specs and on random strings.
+ */
+public class DefaultCodegenNamingTest {
+
+    private static final String ALPHABET = "abcxyzABCXYZ0129_$./\\-[]() \n\r\t\u0085\u2028"
+            // sharp s, accents, dotless and dotted i, superscript two, combining mark, zero width non-joiner,
+            // connector punctuation, CJK, surrogate pair and a lone surrogate
+            + "\u00df\u00e9\u00c9\u0131\u0130\u00b2\u0301\u200c\u203f\u4e2d\ud83d\ude00\ud83d";
+    // drawn as a whole: deseret small and capital letters, which have case, and mathematical script A
+    private static final String[] SUPPLEMENTARY = {"\ud801\udc28", "\ud801\udc00", "\ud835\udc9c"};
+
+    private final Set<String> words = new LinkedHashSet<String>();
+
+    @BeforeClass
+    public void setUp() throws IOException {
+        words.addAll(Arrays.asList("", "$", "_", "__", "a_", "a__", "_a", "__a", "a__b", "_\n", "__\n",
+                "a/b", "a//b", "/a", "a/", "a.b", ".a", "a.", "a..b", "a\\b", "a\\\\b", "foo_$bar",
+                "ABCd", "ABcD", "AbCDe", "aBC", "a1B", "aBcD", "HTTPRequest", "getHTTPResponseCode",
+                "input[]", "input[a][b]", "[[]]", "[]]", "input(a)(b)", "input name and age",
+                "$php_variable", "i", "I", "ist", "_i", "\u00df", "_\u00df", "a_\u00df", "x_\ud801\udc28y", "a/\ud801\udc28",
+                "a_\ud801"));
+        File[] specs = new File("src/test/resources/2_0").listFiles();
+        for (File spec : specs) {
+            if (spec.getName().endsWith(".json")) {
+                collect(Json.mapper().readTree(spec));
+            } else if (spec.getName().endsWith(".yaml")) {
+                collect(Yaml.mapper().readTree(spec));
+            }
+        }
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                int unit = random.nextInt(ALPHABET.length() + SUPPLEMENTARY.length);
+                word.append(unit < ALPHABET.length() ? String.valueOf(ALPHABET.charAt(unit)) : SUPPLEMENTARY[unit - ALPHABET.length()]);
+            }
+            words.add(word.toString());
+        }
+    }
+
+    private void collect(JsonNode node) {
+        if (node.isTextual()) {
+            words.add(node.textValue());
+        }
+        Iterator<String> names = node.fieldNames();
+        while (names.hasNext()) {
+            words.add(names.next());
+        }
+        for (JsonNode child : node) {
+            collect(child);
+        }
+    }
+
+    @Test
+    public void testCamelizeMatchesRegularExpressions() {
+        int compared = 0;
+        for (String word : words) {
+            for (boolean lowercaseFirstLetter : new boolean[]{false, true}) {
+                if (word.contains("\\") && word.contains("$")) {
+                    // an escaped backslash followed by '$' was taken for a group reference
+                    continue;
+                }
+                String expected;
+                try {
+                    expected = LegacyNaming.camelize(word, lowercaseFirstLetter);
+                } catch (IllegalArgumentException e) {
+                    // '$' and '\' after '/' or '_' were taken for group references and escapes
+                    continue;
+                }
+                assertEquals(DefaultCodegen.camelize(word, lowercaseFirstLetter), expected, escape(word));
+                compared++;
+            }
+        }
+        assertEquals(compared > words.size(), true);
+    }
+
+    @Test
+    public void testUnderscoreMatchesRegularExpressions() {
+        for (String word : words) {
+            assertEquals(DefaultCodegen.underscore(word), LegacyNaming.underscore(word), escape(word));
+        }
+    }
+
+    @Test
+    public void testSanitizeNameMatchesRegularExpressions() {
+        DefaultCodegen codegen = new DefaultCodegen();
+        for (String word : words) {
+            assertEquals(codegen.sanitizeName(word), LegacyNaming.sanitizeName(word, false), escape(word));
+        }
+        codegen.setAllowUnicodeIdentifiers(true);
+        for (String word : words) {
+            if (word.codePointCount(0, word.length()) != word.length()) {
+                // the regular expression removed the low surrogate of supplementary word characters
+                continue;
+            }
+            assertEquals(codegen.sanitizeName(word), LegacyNaming.sanitizeName(word, true), escape(word));
+        }
+        assertEquals(codegen.sanitizeName("x_\ud801\udc28y"), "x_\ud801\udc28y");
+        assertEquals(codegen.sanitizeName("a\ud835\udc9c-b"), "a\ud835\udc9c_b");
+    }
+
+    @Test
+    public void testCachedNamesFollowDefaultLocale() {
+        Locale locale = Locale.getDefault();
+        DefaultCodegen.beginNameCaching();
+        try {
+            Locale.setDefault(Locale.US);
+            assertEquals(DefaultCodegen.camelize("i_i"), "II");
+            assertEquals(DefaultCodegen.underscore("I"), "i");
+            Locale.setDefault(new Locale("tr", "TR"));
+            assertEquals(DefaultCodegen.camelize("i_i"), "I\u0130");
+            assertEquals(DefaultCodegen.underscore("I"), "\u0131");
+        } finally {
+            DefaultCodegen.endNameCaching();
+            Locale.setDefault(locale);
+        }
+    }
+
+    private static String escape(String word) {
+        StringBuilder escaped = new StringBuilder();
+        for (char c : word.toCharArray()) {
+            if (c < 0x20 || c > 0x7e) {
+                escaped.append(String.format("\\u%04x", (int) c));
+            } else {
+                escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * The implementations before the single pass rewrite, unchanged.
+     */
+    private static class LegacyNaming {
+
+        static String underscore(String word) {
+            String firstPattern = "([A-Z]+)([A-Z][a-z])";
+            String secondPattern = "([a-z\\d])([A-Z])";
+            String replacementPattern = "$1_$2";
+            word = word.replaceAll("\\.", "/");
+            word = word.replaceAll("\\$", "__");
+            word = word.replaceAll(firstPattern, replacementPattern);
+            word = word.replaceAll(secondPattern, replacementPattern);
+            word = word.replace('-', '_');
+            word = word.toLowerCase();
+            return word;
+        }
+
+        static String camelize(String word, boolean lowercaseFirstLetter) {
+            Pattern p = Pattern.compile("\\/(.?)");
+            Matcher m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst("." + m.group(1));
+                m = p.matcher(word);
+            }
+
+            String[] parts = word.split("\\.");
+            StringBuilder f = new StringBuilder();
+            for (String z : parts) {
+                if (z.length() > 0) {
+                    f.append(Character.toUpperCase(z.charAt(0))).append(z.substring(1));
+                }
+            }
+            word = f.toString();
+
+            m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst("" + Character.toUpperCase(m.group(1).charAt(0)) + m.group(1).substring(1));
+                m = p.matcher(word);
+            }
+
+            p = Pattern.compile("(\\.?)(\\w)([^\\.]*)$");
+            m = p.matcher(word);
+            if (m.find()) {
+                String rep = m.group(1) + m.group(2).toUpperCase() + m.group(3);
+                rep = rep.replaceAll("\\$", "\\\\\\$");
+                word = m.replaceAll(rep);
+            }
+
+            p = Pattern.compile("(_)(.)");
+            m = p.matcher(word);
+            while (m.find()) {
+                word = m.replaceFirst(m.group(2).toUpperCase());
+                m = p.matcher(word);
+            }
+
+            if (lowercaseFirstLetter && word.length() > 0) {
+                word = word.substring(0, 1).toLowerCase() + word.substring(1);
+            }
+
+            return word;
+        }
+
+        static String sanitizeName(String name, boolean allowUnicodeIdentifiers) {
+            if (name == null) {
+                return "ERROR_UNKNOWN";
+            }
+            if ("$".equals(name)) {
+                return "value";
+            }
+            name = name.replaceAll("\\[\\]", "");
+            name = name.replaceAll("\\[", "_");
+            name = name.replaceAll("\\]", "");
+            name = name.replaceAll("\\(", "_");
+            name = name.replaceAll("\\)", "");
+            name = name.replaceAll("\\.", "_");
+            name = name.replaceAll("-", "_");
+            name = name.replaceAll(" ", "_");
+            if (allowUnicodeIdentifiers) {
+                name = Pattern.compile("\\W", Pattern.UNICODE_CHARACTER_CLASS).matcher(name).replaceAll("");
+            } else {
+                name = name.replaceAll("\\W", "");
+            }
+            return name;
+        }
+    }
+}
@@ -1,10 +1,22 @@
 package io.swagger.codegen;
 
+import io.swagger.codegen.languages.CSharpClientCodegen;
+import io.swagger.codegen.languages.ConfluenceWikiGenerator;
 import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.codegen.languages.JavaJerseyServerCodegen;
+import io.swagger.codegen.languages.ObjcClientCodegen;
+import io.swagger.codegen.languages.PerlClientCodegen;
+import io.swagger.codegen.languages.PythonClientCodegen;
+import io.swagger.codegen.languages.SilexServerCodegen;
+import io.swagger.codegen.languages.StaticHtmlGenerator;
+import io.swagger.codegen.languages.Swift3Codegen;
 import io.swagger.models.ExternalDocs;
+import io.swagger.models.ModelImpl;
 import io.swagger.models.Swagger;
 import io.swagger.models.Tag;
+import io.swagger.models.properties.StringProperty;
 import io.swagger.parser.SwaggerParser;
+import io.swagger.util.Json;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.rules.TemporaryFolder;
@@ -481,6 +493,368 @@ public class DefaultGeneratorTest {
         }
     }
 
+    @Test
+    public void testParallelGenerationMatchesSequential() throws Exception {
+        final File sequentialOutput = folder.newFolder("sequential");
+        final File parallelOutput = folder.newFolder("parallel");
+
+        List<File> sequentialFiles = generatePetstore(sequentialOutput, new JavaClientCodegen(), petstore(), null,
+                options(CodegenConstants.GENERATOR_THREADS, 1));
+        List<File> parallelFiles = generatePetstore(parallelOutput, new JavaClientCodegen(), petstore(), null,
+                options(CodegenConstants.GENERATOR_THREADS, 4));
+
+        // in the same order
+        assertEquals(relativePaths(parallelOutput, parallelFiles), relativePaths(sequentialOutput, sequentialFiles));
+        assertSameFiles(sequentialOutput, parallelOutput);
+    }
+
+    @Test
+    public void testLowMemoryGenerationMatchesDefault() throws Exception {
+        final File defaultOutput = folder.newFolder("default");
+        generatePetstore(defaultOutput, new JavaClientCodegen(), petstore(), null, options());
+
+        for (int generatorThreads : new int[]{1, 4}) {
+            final File lowMemoryOutput = folder.newFolder("lowMemory" + generatorThreads);
+            generatePetstore(lowMemoryOutput, new JavaClientCodegen(), petstore(), null,
+                    options(CodegenConstants.GENERATOR_THREADS, generatorThreads, CodegenConstants.LOW_MEMORY, true));
+            assertSameFiles(defaultOutput, lowMemoryOutput);
+        }
+    }
+
+    @Test
+    public void testLowMemoryGenerationMatchesDefaultForSupportingFilesWithDetails() throws Exception {
+        // README, index and model files listing the properties of models or parameters of operations
+        List<Class<? extends CodegenConfig>> languages = Arrays.<Class<? extends CodegenConfig>>asList(CSharpClientCodegen.class,
+                PerlClientCodegen.class, ObjcClientCodegen.class, Swift3Codegen.class, StaticHtmlGenerator.class,
+                ConfluenceWikiGenerator.class, SilexServerCodegen.class);
+        for (Class<? extends CodegenConfig> language : languages) {
+            final File defaultOutput = folder.newFolder(language.getSimpleName());
+            generatePetstore(defaultOutput, newConfig(language), petstore(), null, options());
+            final File lowMemoryOutput = folder.newFolder(language.getSimpleName() + "-lowMemory");
+            generatePetstore(lowMemoryOutput, newConfig(language), petstore(), null,
+                    options(CodegenConstants.LOW_MEMORY, true));
+            assertSameFiles(defaultOutput, lowMemoryOutput);
+        }
+    }
+
+    @Test
+    public void testLowMemoryGenerationMatchesDefaultForOperationsNotGroupedByTag() throws Exception {
+        // groups the operations by the first segment of their path
+        final File defaultOutput = folder.newFolder("default");
+        generatePetstore(defaultOutput, new JavaJerseyServerCodegen(), petstore(), null, options());
+        final File lowMemoryOutput = folder.newFolder("lowMemory");
+        generatePetstore(lowMemoryOutput, new JavaJerseyServerCodegen(), petstore(), null,
+                options(CodegenConstants.LOW_MEMORY, true));
+        assertSameFiles(defaultOutput, lowMemoryOutput);
+    }
+
+    @Test
+    public void testLowMemoryGenerationKeepsDetailsOnlyForSupportingFilesRenderingThem() throws Exception {
+        // the java client README shows the parameters of an operation, but only lists the models
+        Map<String, Object> bundle = lowMemorySupportingFileData(folder.newFolder("readme"), true);
+        assertFalse(operation(bundle, "getPetById").allParams.isEmpty());
+        assertTrue(model(bundle, "Pet").vars.isEmpty());
+
+        bundle = lowMemorySupportingFileData(folder.newFolder("none"), false);
+        assertTrue(operation(bundle, "getPetById").allParams.isEmpty());
+        assertEquals(operation(bundle, "getPetById").pathParams.size(), 1);
+        assertTrue(model(bundle, "Pet").vars.isEmpty());
+        assertEquals(model(bundle, "Pet").classname, "Pet");
+    }
+
+    private static CodegenConfig newConfig(Class<? extends CodegenConfig> language) throws Exception {
+        CodegenConfig codegenConfig = language.newInstance();
+        // random by default
+        codegenConfig.additionalProperties().put(CodegenConstants.OPTIONAL_PROJECT_GUID, "{3AB1F259-1769-484B-9411-84F2BD47E5F0}");
+        return codegenConfig;
+    }
+
+    private static Map<String, Object> lowMemorySupportingFileData(File output, final boolean withSupportingFiles) {
+        final Map<String, Object> bundle = new HashMap<String, Object>();
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public void processOpts() {
+                super.processOpts();
+                if (!withSupportingFiles) {
+                    this.supportingFiles.clear();
+                }
+            }
+
+            @Override
+            public Map<String, Object> postProcessSupportingFileData(Map<String, Object> objs) {
+                bundle.putAll(objs);
+                return super.postProcessSupportingFileData(objs);
+            }
+        };
+        generatePetstore(output, codegenConfig, petstore(), null, options(CodegenConstants.LOW_MEMORY, true));
+        return bundle;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CodegenOperation operation(Map<String, Object> bundle, String operationId) {
+        for (Object api : (List<Object>) ((Map<String, Object>) bundle.get("apiInfo")).get("apis")) {
+            Map<String, Object> operations = (Map<String, Object>) ((Map<String, Object>) api).get("operations");
+            for (CodegenOperation operation : (List<CodegenOperation>) operations.get("operation")) {
+                if (operation.operationId.equals(operationId)) {
+                    return operation;
+                }
+            }
+        }
+        throw new AssertionError("No operation " + operationId);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CodegenModel model(Map<String, Object> bundle, String name) {
+        for (Object model : (List<Object>) bundle.get("models")) {
+            CodegenModel codegenModel = (CodegenModel) ((Map<String, Object>) model).get("model");
+            if (codegenModel.name.equals(name)) {
+                return codegenModel;
+            }
+        }
+        throw new AssertionError("No model " + name);
+    }
+
+    private static Swagger petstore() {
+        return new SwaggerParser().read("src/test/resources/petstore.json");
+    }
+
+    private static Map<String, Object> options(Object... keysAndValues) {
+        Map<String, Object> options = new HashMap<String, Object>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            options.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return options;
+    }
+
+    /**
+     * Generates the spec with the given additional properties, only what changed since
+     * {@code previous} unless it is null.
+     */
+    private static List<File> generatePetstore(File output, CodegenConfig codegenConfig, Swagger swagger,
+                                               Swagger previous, Map<String, Object> options) {
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        codegenConfig.additionalProperties().put(CodegenConstants.HIDE_GENERATION_TIMESTAMP, true);
+        codegenConfig.additionalProperties().putAll(options);
+
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.opts(clientOptInput);
+        return generator.changedSince(previous).generate();
+    }
+
+    private static List<String> relativePaths(File output, Collection<File> files) {
+        List<String> paths = new ArrayList<String>();
+        for (File file : files) {
+            paths.add(output.toURI().relativize(file.toURI()).getPath());
+        }
+        return paths;
+    }
+
+    private static void assertSameFiles(File expectedOutput, File output) throws IOException {
+        List<String> expectedPaths = relativePaths(expectedOutput, FileUtils.listFiles(expectedOutput, null, true));
+        List<String> paths = relativePaths(output, FileUtils.listFiles(output, null, true));
+        Collections.sort(expectedPaths);
+        Collections.sort(paths);
+        assertEquals(paths, expectedPaths);
+        for (String path : expectedPaths) {
+            assertEquals(FileUtils.readFileToString(new File(output, path), UTF_8),
+                    FileUtils.readFileToString(new File(expectedOutput, path), UTF_8), path);
+        }
+    }
+
+    @Test
+    public void testIncrementalGenerationSkipsUnchangedFiles() throws Exception {
+        final File output = folder.getRoot();
+        Map<String, Object> incremental = options(CodegenConstants.INCREMENTAL, true,
+                CodegenConstants.REMOVE_STALE_FILES, true);
+        List<File> files = generatePetstore(output, new JavaClientCodegen(), petstore(), null, incremental);
+        assertTrue(new File(output, GenerationManifest.MANIFEST_FILE).isFile());
+
+        final long past = System.currentTimeMillis() - 3600 * 1000;
+        Map<File, String> contents = new HashMap<File, String>();
+        for (File file : files) {
+            assertTrue(file.setLastModified(past));
+            contents.put(file, FileUtils.readFileToString(file, UTF_8));
+        }
+
+        List<File> regenerated = generatePetstore(output, new JavaClientCodegen(), petstore(), null, incremental);
+        assertTrue(files.containsAll(regenerated));
+        for (File file : files) {
+            if (file.getName().equals("VERSION")) {
+                // always written
+                continue;
+            }
+            assertEquals(file.lastModified(), past, file.getPath());
+            assertEquals(FileUtils.readFileToString(file, UTF_8), contents.get(file));
+        }
+
+        // a deleted file is generated again
+        File order = new File(output, MODEL_ORDER_FILE);
+        assertTrue(order.delete());
+        generatePetstore(output, new JavaClientCodegen(), petstore(), null, incremental);
+        assertEquals(FileUtils.readFileToString(order, UTF_8), contents.get(order));
+    }
+
+    @Test
+    public void testIncrementalGenerationRemovesStaleFiles() throws Exception {
+        final File output = folder.getRoot();
+        Map<String, Object> incremental = options(CodegenConstants.INCREMENTAL, true,
+                CodegenConstants.REMOVE_STALE_FILES, true);
+        generatePetstore(output, new JavaClientCodegen(), petstore(), null, incremental);
+        File order = new File(output, MODEL_ORDER_FILE);
+        File pet = new File(output, "/src/main/java/io/swagger/client/model/Pet.java");
+        assertTrue(order.exists());
+        final long past = System.currentTimeMillis() - 3600 * 1000;
+        assertTrue(pet.setLastModified(past));
+
+        Swagger swagger = petstore();
+        swagger.getDefinitions().remove("Order");
+        List<File> files = generatePetstore(output, new JavaClientCodegen(), swagger, null, incremental);
+
+        assertFalse(order.exists());
+        assertFalse(files.contains(order));
+        assertEquals(pet.lastModified(), past);
+    }
+
+    @Test
+    public void testIncrementalGenerationAfterTemplateChange() throws Exception {
+        final File output = folder.newFolder("output");
+        final File templateDir = folder.newFolder("templates");
+        File header = new File(templateDir, "modelHeader.mustache");
+        FileUtils.writeStringToFile(header, "// header 1\n", UTF_8);
+        FileUtils.writeStringToFile(new File(templateDir, "model.mustache"),
+                "{{>modelHeader}}{{#models}}{{#model}}class {{classname}} {}{{/model}}{{/models}}\n", UTF_8);
+        File unused = new File(templateDir, "unused.mustache");
+        FileUtils.writeStringToFile(unused, "1", UTF_8);
+        Map<String, Object> templateOptions = options(CodegenConstants.INCREMENTAL, true,
+                TEMPLATE_DIR, templateDir.getAbsolutePath());
+        generatePetstore(output, new JavaClientCodegen(), petstore(), null, templateOptions);
+
+        File order = new File(output, MODEL_ORDER_FILE);
+        File api = new File(output, "/src/main/java/io/swagger/client/api/PetApi.java");
+        final long past = System.currentTimeMillis() - 3600 * 1000;
+        assertTrue(order.setLastModified(past));
+        assertTrue(api.setLastModified(past));
+
+        // a template which is not used by any file
+        FileUtils.writeStringToFile(unused, "2", UTF_8);
+        generatePetstore(output, new JavaClientCodegen(), petstore(), null, templateOptions);
+        assertEquals(order.lastModified(), past);
+        assertEquals(api.lastModified(), past);
+
+        // a partial of the model template
+        FileUtils.writeStringToFile(header, "// header 2\n", UTF_8);
+        generatePetstore(output, new JavaClientCodegen(), petstore(), null, templateOptions);
+        assertEquals(FileUtils.readFileToString(order, UTF_8), "// header 2\nclass Order {}\n");
+        assertEquals(api.lastModified(), past);
+    }
+
+    @Test
+    public void testGenerationOfChangesMatchesFullGeneration() throws Exception {
+        final File output = folder.newFolder("changes");
+        final Swagger previous = petstore();
+        generatePetstore(output, new JavaClientCodegen(), SpecCache.copy(previous), null, options());
+        final long past = System.currentTimeMillis() - 3600 * 1000;
+        for (File file : FileUtils.listFiles(output, null, true)) {
+            assertTrue(file.setLastModified(past));
+        }
+
+        Swagger current = SpecCache.copy(previous);
+        ((ModelImpl) current.getDefinitions().get("Tag")).addProperty("color", new StringProperty());
+        List<File> files = generatePetstore(output, new JavaClientCodegen(), SpecCache.copy(current), previous, options());
+        Set<String> generated = new TreeSet<String>();
+        for (File file : files) {
+            generated.add(file.getName());
+        }
+        // the changed model, the model and the api referring to it, with their docs
+        assertEquals(generated, new TreeSet<String>(Arrays.asList("Tag.java", "Tag.md",
+                "Pet.java", "Pet.md", "PetApi.java", "PetApi.md")));
+        assertEquals(new File(output, MODEL_ORDER_FILE).lastModified(), past);
+
+        final File expected = folder.newFolder("full");
+        generatePetstore(expected, new JavaClientCodegen(), SpecCache.copy(current), null, options());
+        assertSameFiles(expected, output);
+
+        // nothing changed
+        assertTrue(generatePetstore(output, new JavaClientCodegen(), SpecCache.copy(current), current, options()).isEmpty());
+    }
+
+    @Test
+    public void testGenerationOfChangesRendersSupportingFilesShowingThem() throws Exception {
+        final File output = folder.newFolder("changes");
+        final Swagger previous = petstore();
+        generatePetstore(output, new PythonClientCodegen(), SpecCache.copy(previous), null, options());
+
+        Swagger current = SpecCache.copy(previous);
+        current.getPath("/store/order").getPost().setDescription("Places an order");
+        List<File> files = generatePetstore(output, new PythonClientCodegen(), SpecCache.copy(current), previous, options());
+        Set<String> generated = new TreeSet<String>();
+        for (File file : files) {
+            generated.add(file.getName());
+        }
+        // the readme shows the parameters of an example operation
+        assertEquals(generated, new TreeSet<String>(Arrays.asList("store_api.py", "StoreApi.md", "README.md")));
+
+        final File expected = folder.newFolder("full");
+        generatePetstore(expected, new PythonClientCodegen(), SpecCache.copy(current), null, options());
+        assertSameFiles(expected, output);
+    }
+
+    @Test
+    public void testModelGraphIsClearedAfterGeneration() throws Exception {
+        final List<ModelGraph> graphs = new ArrayList<ModelGraph>();
+        CodegenConfig codegenConfig = new JavaClientCodegen() {
+            @Override
+            public Map<String, Object> postProcessAllModels(Map<String, Object> objs) {
+                graphs.add(getModelGraph());
+                return super.postProcessAllModels(objs);
+            }
+        };
+        generatePetstore(folder.getRoot(), codegenConfig, petstore(), null, options());
+
+        assertEquals(graphs.size(), 1);
+        assertEquals(graphs.get(0).getModelNames().size(), 5);
+        assertNull(codegenConfig.getModelGraph());
+    }
+
+    @Test
+    public void testMetricsOfGenerationRun() throws Exception {
+        final File output = folder.getRoot();
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts())
+                .swagger(new SwaggerParser().read("src/test/resources/petstore.json")).config(codegenConfig);
+        DefaultGenerator generator = new DefaultGenerator();
+        List<File> files = generator.opts(clientOptInput).generate();
+
+        GenerationMetrics metrics = generator.getMetrics();
+        assertEquals(metrics.getModels(), 5);
+        assertEquals(metrics.getOperations(), 20);
+        assertEquals(metrics.getFiles(), files.size());
+        assertEquals(metrics.getFilesWritten(), files.size());
+        long bytes = 0;
+        for (File file : files) {
+            bytes += file.length();
+        }
+        assertEquals(metrics.getBytesWritten(), bytes);
+        assertTrue(metrics.getPhaseNanos(GenerationMetrics.GENERATE) >= metrics.getPhaseNanos(GenerationMetrics.GENERATE_MODELS)
+                + metrics.getPhaseNanos(GenerationMetrics.GENERATE_APIS));
+        assertTrue(metrics.getPhaseNanos(GenerationMetrics.PROCESS_MODELS) > 0);
+
+        String modelTemplate = generator.getFullTemplateFile(codegenConfig, "model.mustache");
+        GenerationMetrics.TemplateMetrics model = metrics.getTemplates().get(modelTemplate);
+        assertEquals(model.getExecutions(), 5);
+        assertEquals(model.getBytes(), new File(output, MODEL_ORDER_FILE).length()
+                + new File(output, "/src/main/java/io/swagger/client/model/Pet.java").length()
+                + new File(output, "/src/main/java/io/swagger/client/model/Tag.java").length()
+                + new File(output, "/src/main/java/io/swagger/client/model/User.java").length()
+                + new File(output, "/src/main/java/io/swagger/client/model/Category.java").length());
+
+        Map<String, Object> json = Json.mapper().readValue(Json.pretty(metrics), Map.class);
+        assertEquals(json.get("models"), 5);
+        assertTrue(((Map<String, Object>) json.get("phases")).containsKey(GenerationMetrics.POST_PROCESS_ALL_MODELS));
+    }
+
     private void assertOperationHasTags(CodegenOperation op, List<Tag> expectedTags) {
         assertNotNull(op.tags);
         assertEquals(op.tags.size(), expectedTags.size());
@@ -0,0 +1,99 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+public class GenerationWatcherTest {
+
+    private static final String SPEC = "swagger: '2.0'\ninfo:\n  title: Watched\n  version: '1'\npaths: {}\n"
+            + "definitions:\n  Cat:\n    type: object\n    properties:\n      name:\n        type: string\n"
+            + "  Dog:\n    type: object\n    properties:\n      %s:\n        type: string\n";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testChangesAreGenerated() throws Exception {
+        File spec = folder.newFile("spec.yaml");
+        FileUtils.writeStringToFile(spec, String.format(SPEC, "name"), UTF_8);
+        File templateDir = folder.newFolder("templates");
+        File template = new File(templateDir, "model.mustache");
+        FileUtils.writeStringToFile(template, "{{#models}}{{#model}}class {{classname}} { "
+                + "{{#vars}}{{name}}; {{/vars}}}{{/model}}{{/models}}\n", UTF_8);
+        File output = folder.newFolder("output");
+        CodegenConfigurator configurator = new CodegenConfigurator()
+                .setInputSpec(spec.getAbsolutePath())
+                .setLang("java")
+                .setTemplateDir(templateDir.getAbsolutePath())
+                .setOutputDir(output.getAbsolutePath());
+
+        final BlockingQueue<List<File>> generations = new LinkedBlockingQueue<List<File>>();
+        final GenerationWatcher watcher = new GenerationWatcher(configurator) {
+            @Override
+            protected void generated(List<File> files) {
+                generations.add(files);
+            }
+        };
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    watcher.watch();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        });
+        thread.start();
+        try {
+            assertNotNull(generations.poll(30, TimeUnit.SECONDS));
+            File models = new File(output, "src/main/java/io/swagger/client/model");
+            File cat = new File(models, "Cat.java");
+            File dog = new File(models, "Dog.java");
+            assertEquals(FileUtils.readFileToString(dog, UTF_8), "class Dog { name; }\n");
+            final long past = System.currentTimeMillis() - 3600 * 1000;
+            assertTrue(cat.setLastModified(past));
+
+            // give the watch service time to register the directories
+            Thread.sleep(500);
+            FileUtils.writeStringToFile(spec, String.format(SPEC, "breed"), UTF_8);
+            assertNotNull(generations.poll(30, TimeUnit.SECONDS));
+            assertEquals(FileUtils.readFileToString(dog, UTF_8), "class Dog { breed; }\n");
+            assertEquals(cat.lastModified(), past);
+
+            Thread.sleep(500);
+            FileUtils.writeStringToFile(template, "{{#models}}{{#model}}final class {{classname}} { "
+                    + "{{#vars}}{{name}}; {{/vars}}}{{/model}}{{/models}}\n", UTF_8);
+            assertNotNull(generations.poll(30, TimeUnit.SECONDS));
+            assertEquals(FileUtils.readFileToString(cat, UTF_8), "final class Cat { name; }\n");
+        } finally {
+            watcher.stop();
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        assertTrue(!thread.isAlive());
+    }
+}
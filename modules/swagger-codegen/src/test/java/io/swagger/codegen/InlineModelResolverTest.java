@@ -4,10 +4,15 @@ import io.swagger.models.*;
 import io.swagger.models.parameters.BodyParameter;
 import io.swagger.models.parameters.Parameter;
 import io.swagger.models.properties.*;
+import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
 import org.testng.annotations.Test;
 
+import java.io.File;
+import java.util.ArrayList;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.testng.AssertJUnit.*;
 
@@ -946,5 +951,134 @@ public class InlineModelResolverTest {
         assertTrue(inlineProp instanceof ObjectProperty);
         ObjectProperty op = (ObjectProperty) inlineProp;
         assertNull(op.getProperties());
-    }    
+    }
+
+    @Test
+    public void testParallelFlattenMatchesSequential() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            assertSameFlattening(inlineModelsSpec(), inlineModelsSpec(), executor);
+            int compared = 0;
+            for (File spec : new File("src/test/resources/2_0").listFiles()) {
+                if (spec.getName().endsWith(".json") || spec.getName().endsWith(".yaml")) {
+                    Swagger sequential = new SwaggerParser().read(spec.getPath());
+                    if (sequential != null) {
+                        assertSameFlattening(sequential, new SwaggerParser().read(spec.getPath()), executor);
+                        compared++;
+                    }
+                }
+            }
+            assertTrue(compared > 10);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelFlattenWithInstancesSharedAcrossPaths() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < 5; i++) {
+                assertSameFlattening(sharedInstancesSpec(), sharedInstancesSpec(), executor);
+            }
+
+            Swagger swagger = sharedInstancesSpec();
+            InlineModelResolver resolver = new InlineModelResolver();
+            resolver.setSkipMatches(true);
+            resolver.flatten(swagger, executor);
+            // the shared response and body parameter are flattened once, by the first path
+            for (int i = 0; i < 20; i++) {
+                Operation operation = swagger.getPath("/pets/" + i).getPost();
+                RefProperty pet = (RefProperty) operation.getResponses().get("200").getSchema();
+                assertEquals("inline_response_200", pet.getSimpleRef());
+                RefModel body = (RefModel) ((BodyParameter) operation.getParameters().get(0)).getSchema();
+                assertEquals("body", body.getSimpleRef());
+            }
+            assertNull(swagger.getDefinitions().get("inline_response_200_1"));
+            assertNull(swagger.getDefinitions().get("body_1"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testMatchEqualInlineModelsAcrossPaths() {
+        Swagger swagger = inlineModelsSpec();
+        new InlineModelResolver().flatten(swagger);
+
+        // the models of the first path are reused by the paths with equal inline models
+        RefProperty user = (RefProperty) swagger.getPath("/users/6").getPost().getResponses().get("200").getSchema();
+        assertEquals("User_1", user.getSimpleRef());
+        RefProperty other = (RefProperty) swagger.getPath("/users/1").getPost().getResponses().get("200").getSchema();
+        assertEquals("inline_response_200", other.getSimpleRef());
+        ModelImpl otherModel = (ModelImpl) swagger.getDefinitions().get("inline_response_200");
+        RefProperty address = (RefProperty) otherModel.getProperties().get("address");
+        assertEquals("User_1_address", address.getSimpleRef());
+        assertNull(swagger.getDefinitions().get("inline_response_200_address"));
+        assertNull(swagger.getDefinitions().get("User_2"));
+    }
+
+    private static void assertSameFlattening(Swagger sequential, Swagger parallel, ExecutorService executor) {
+        new InlineModelResolver().flatten(sequential);
+        new InlineModelResolver().flatten(parallel, executor);
+        assertEquals(new ArrayList<String>(sequential.getDefinitions().keySet()),
+                new ArrayList<String>(parallel.getDefinitions().keySet()));
+        assertEquals(Json.pretty(sequential), Json.pretty(parallel));
+    }
+
+    /**
+     * Paths sharing a response and a body parameter, as the parser resolves references to them,
+     * among paths with inline models of their own.
+     */
+    private static Swagger sharedInstancesSpec() {
+        Swagger swagger = new Swagger();
+        ObjectProperty pet = new ObjectProperty().property("name", new StringProperty());
+        ModelImpl tag = new ModelImpl().property("name", new StringProperty());
+        for (int i = 0; i < 50; i++) {
+            // nested inline models keep the threads busy with the shared instances
+            pet.property("category" + i, new ObjectProperty().property("id" + i, new LongProperty()));
+            tag.property("owner" + i, new ObjectProperty().property("id" + i, new LongProperty()));
+        }
+        Response response = new Response().schema(pet);
+        BodyParameter body = new BodyParameter().name("body").schema(tag);
+        for (int i = 0; i < 20; i++) {
+            Operation operation = new Operation().response(200, response);
+            operation.addParameter(body);
+            operation.response(400, new Response()
+                    .schema(new ObjectProperty().property("code", new LongProperty())));
+            swagger.path("/pets/" + i, new Path().post(operation));
+        }
+        return swagger;
+    }
+
+    /**
+     * Paths whose inline models have the same titles, or are equal to the inline models of other
+     * paths.
+     */
+    private static Swagger inlineModelsSpec() {
+        Swagger swagger = new Swagger();
+        swagger.addDefinition("User", new ModelImpl().property("id", new LongProperty()));
+        for (int i = 0; i < 20; i++) {
+            ObjectProperty address = new ObjectProperty()
+                    .property("street", new StringProperty())
+                    .property("city", new StringProperty());
+            ObjectProperty tag = new ObjectProperty()
+                    .property("tag" + (i % 2), new StringProperty());
+            ObjectProperty user = new ObjectProperty()
+                    .title(i % 3 == 0 ? "User" : null)
+                    .property("name", new StringProperty())
+                    .property("address", address)
+                    .property("tags", new ArrayProperty(tag));
+            BodyParameter body = new BodyParameter()
+                    .schema(new ModelImpl().property("id" + (i % 4), new LongProperty()));
+            body.setName("body");
+            Operation operation = new Operation()
+                    .parameter(body)
+                    .response(200, new Response().schema(user))
+                    .response(201, new Response().schema(new ArrayProperty(new ObjectProperty()
+                            .property("created", new ObjectProperty().property("at", new DateTimeProperty())))));
+            swagger.path("/users/" + i, new Path().post(operation));
+        }
+        return swagger;
+    }
 }
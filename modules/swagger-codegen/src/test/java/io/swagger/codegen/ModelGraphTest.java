@@ -0,0 +1,144 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+public class ModelGraphTest {
+
+    @Test
+    public void testGraph() {
+        DefaultCodegen codegen = new DefaultCodegen();
+        Map<String, Object> processedModels = processedModels();
+        ModelGraph graph = new ModelGraph(processedModels, codegen);
+
+        assertEquals(graph.getModelNames().size(), 8);
+        assertNull(graph.getParent("Animal"));
+        assertEquals(graph.getParent("Dog"), "Animal");
+        assertEquals(graph.getParent("Puppy"), "Dog");
+        // parents which are not among the models are ignored
+        assertNull(graph.getParent("Orphan"));
+        assertEquals(graph.getDepth("Animal"), 0);
+        assertEquals(graph.getDepth("Dog"), 1);
+        assertEquals(graph.getDepth("Puppy"), 2);
+        assertEquals(graph.getDepth("Orphan"), 0);
+        assertEquals(graph.getRoot("Puppy"), "Animal");
+        assertEquals(graph.getRoot("Shape"), "Shape");
+        assertEquals(sorted(graph.getChildren("Animal")), Arrays.asList("Cat", "Dog"));
+        assertEquals(graph.getChildren("Puppy"), Collections.emptyList());
+        assertEquals(graph.getInterfaces("Circle"), Arrays.asList("Named"));
+        assertEquals(graph.getDiscriminator("Animal"), "type");
+        assertNull(graph.getDiscriminator("Cat"));
+        assertTrue(graph.describes(processedModels));
+        assertFalse(graph.describes(new TreeMap<String, Object>()));
+        assertSame(graph.getModels(processedModels).get("Puppy"), model(processedModels, "Puppy"));
+
+        int models = 0;
+        for (List<String> subtree : graph.getSubtrees()) {
+            String root = graph.getRoot(subtree.get(0));
+            for (String model : subtree) {
+                assertEquals(graph.getRoot(model), root);
+            }
+            models += subtree.size();
+        }
+        assertEquals(graph.getSubtrees().size(), 4);
+        assertEquals(models, 8);
+    }
+
+    @Test
+    public void testParallelPostProcessingMatchesSequential() {
+        DefaultCodegen sequential = new JavaClientCodegen();
+        sequential.supportsInheritance = true;
+        Map<String, Object> expected = sequential.postProcessAllModels(processedModels());
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            JavaClientCodegen parallel = new JavaClientCodegen();
+            parallel.supportsInheritance = true;
+            Map<String, Object> processedModels = processedModels();
+            parallel.setModelGraph(new ModelGraph(processedModels, parallel, executor));
+            Map<String, Object> actual = parallel.postProcessAllModels(processedModels);
+
+            assertEquals(actual.keySet(), expected.keySet());
+            for (String name : expected.keySet()) {
+                CodegenModel expectedModel = model(expected, name);
+                CodegenModel actualModel = model(actual, name);
+                assertEquals(names(actualModel.children), names(expectedModel.children), name);
+                assertEquals(names(actualModel.interfaceModels), names(expectedModel.interfaceModels), name);
+                assertEquals(actualModel.parentModel == null ? null : actualModel.parentModel.classname,
+                        expectedModel.parentModel == null ? null : expectedModel.parentModel.classname, name);
+            }
+            // children are not added past the first parent with a discriminator
+            assertEquals(sorted(names(model(actual, "Animal").children)), Arrays.asList("Cat", "Dog"));
+            assertEquals(names(model(actual, "Dog").children), Arrays.asList("Puppy"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Map<String, Object> processedModels() {
+        Map<String, Object> processedModels = new TreeMap<String, Object>();
+        add(processedModels, "Animal", null, "type");
+        add(processedModels, "Dog", "Animal", "breed");
+        add(processedModels, "Cat", "Animal", null);
+        add(processedModels, "Puppy", "Dog", null);
+        add(processedModels, "Orphan", "Missing", null);
+        add(processedModels, "Shape", null, null);
+        add(processedModels, "Named", null, null);
+        CodegenModel circle = add(processedModels, "Circle", "Shape", null);
+        circle.interfaces = Arrays.asList("Named", "Missing");
+        return processedModels;
+    }
+
+    private static CodegenModel add(Map<String, Object> processedModels, String name, String parent, String discriminator) {
+        CodegenModel model = new CodegenModel();
+        model.name = name;
+        model.classname = name;
+        model.parent = parent;
+        model.discriminator = discriminator;
+        Map<String, Object> mo = new HashMap<String, Object>();
+        mo.put("model", model);
+        Map<String, Object> models = new HashMap<String, Object>();
+        models.put("models", Collections.singletonList(mo));
+        processedModels.put(name, models);
+        return model;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CodegenModel model(Map<String, Object> processedModels, String name) {
+        Map<String, Object> models = (Map<String, Object>) processedModels.get(name);
+        return (CodegenModel) ((List<Map<String, Object>>) models.get("models")).get(0).get("model");
+    }
+
+    private static List<String> names(List<CodegenModel> models) {
+        if (models == null) {
+            return null;
+        }
+        List<String> names = new ArrayList<String>();
+        for (CodegenModel model : models) {
+            names.add(model.classname);
+        }
+        return names;
+    }
+
+    private static List<String> sorted(List<String> names) {
+        List<String> sorted = new ArrayList<String>(names);
+        Collections.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,119 @@
+package io.swagger.codegen;
+
+import io.swagger.codegen.config.CodegenConfigurator;
+import io.swagger.models.Swagger;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Collection;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class SpecCacheTest {
+
+    private static final String SPEC = "src/test/resources/2_0/petstore-with-fake-endpoints-models-for-testing.yaml";
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testCachedSpecIsRead() throws Exception {
+        File spec = folder.newFile("spec.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo:\n  title: Parsed\n  version: '1'\npaths: {}\n", UTF_8);
+        File cacheDir = new File(folder.getRoot(), "cache");
+        SpecCache cache = new SpecCache(cacheDir);
+
+        assertEquals(cache.read(spec.getPath(), null).getInfo().getTitle(), "Parsed");
+        File[] entries = cacheDir.listFiles();
+        assertNotNull(entries);
+        assertEquals(entries.length, 1);
+
+        // the cached spec is used as long as the spec did not change
+        FileUtils.writeStringToFile(entries[0], FileUtils.readFileToString(entries[0], UTF_8).replace("Parsed", "Cached"), UTF_8);
+        assertEquals(cache.read(spec.getPath(), null).getInfo().getTitle(), "Cached");
+
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo:\n  title: Changed\n  version: '1'\npaths: {}\n", UTF_8);
+        assertEquals(cache.read(spec.getPath(), null).getInfo().getTitle(), "Changed");
+        // the entry of the previous version was replaced
+        assertEquals(cacheDir.listFiles().length, 1);
+    }
+
+    @Test
+    public void testKeyCoversReferencedFiles() throws Exception {
+        File spec = folder.newFile("spec.yaml");
+        FileUtils.writeStringToFile(spec, "swagger: '2.0'\ninfo:\n  title: Refs\n  version: '1'\npaths: {}\n"
+                + "definitions:\n  Pet:\n    $ref: 'models/pet.yaml#/Pet'\n", UTF_8);
+        File models = folder.newFolder("models");
+        File pet = new File(models, "pet.yaml");
+        FileUtils.writeStringToFile(pet, "Pet:\n  type: object\n  properties:\n    tag:\n      $ref: \"tag.json\"\n", UTF_8);
+        File tag = new File(models, "tag.json");
+        FileUtils.writeStringToFile(tag, "{\"type\": \"string\"}", UTF_8);
+        SpecCache cache = new SpecCache(new File(folder.getRoot(), "cache"));
+
+        String key = cache.key(spec.getPath(), null);
+        assertEquals(cache.key(spec.getPath(), null), key);
+        assertNotEquals(cache.key(spec.getPath(), "api_key:secret:header"), key);
+
+        FileUtils.writeStringToFile(tag, "{\"type\": \"integer\"}", UTF_8);
+        assertNotEquals(cache.key(spec.getPath(), null), key);
+
+        Swagger swagger = cache.read(spec.getPath(), null);
+        assertTrue(swagger.getDefinitions().containsKey("Pet"));
+    }
+
+    @Test
+    public void testRemoteSpecIsNotCached() {
+        assertNull(new SpecCache(folder.getRoot()).key("http://localhost/swagger.yaml", null));
+    }
+
+    @Test
+    public void testGenerationFromCachedSpec() throws Exception {
+        File cacheDir = new File(folder.getRoot(), "cache");
+        Swagger parsed = configurator("parsed").setSpecCacheDir(cacheDir.getAbsolutePath()).readSpec();
+        Swagger cached = configurator("cached").setSpecCacheDir(cacheDir.getAbsolutePath()).readSpec();
+        // deserialization sets defaults (e.g. collection formats) which are not written, so compare the generated code
+        assertEquals(cached.getPaths().keySet(), parsed.getPaths().keySet());
+        assertEquals(cached.getDefinitions().keySet(), parsed.getDefinitions().keySet());
+
+        new DefaultGenerator().opts(configurator("cached").setSpecCacheDir(cacheDir.getAbsolutePath()).toClientOptInput()).generate();
+        new DefaultGenerator().opts(configurator("parsed").toClientOptInput()).generate();
+        File expected = new File(folder.getRoot(), "parsed");
+        File actual = new File(folder.getRoot(), "cached");
+        Collection<File> expectedFiles = FileUtils.listFiles(expected, null, true);
+        assertEquals(FileUtils.listFiles(actual, null, true).size(), expectedFiles.size());
+        for (File expectedFile : expectedFiles) {
+            String path = expected.toURI().relativize(expectedFile.toURI()).getPath();
+            assertEquals(withoutDate(FileUtils.readFileToString(new File(actual, path), UTF_8)),
+                    withoutDate(FileUtils.readFileToString(expectedFile, UTF_8)), path);
+        }
+    }
+
+    private static String withoutDate(String contents) {
+        return contents.replaceAll("date = \"[^\"]*\"", "");
+    }
+
+    private CodegenConfigurator configurator(String output) {
+        return new CodegenConfigurator()
+                .setInputSpec(SPEC)
+                .setLang("java")
+                .setOutputDir(new File(folder.getRoot(), output).getAbsolutePath());
+    }
+}
@@ -0,0 +1,110 @@
+package io.swagger.codegen;
+
+import io.swagger.models.ModelImpl;
+import io.swagger.models.Swagger;
+import io.swagger.models.properties.StringProperty;
+import io.swagger.parser.SwaggerParser;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.TreeSet;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class SpecDiffTest {
+
+    private static final String SPEC = "swagger: '2.0'\n"
+            + "info:\n  title: Zoo\n  version: '1'\n"
+            + "paths:\n"
+            + "  /animals:\n"
+            + "    get:\n      tags: [animal]\n      operationId: listAnimals\n"
+            + "      responses:\n        200:\n          description: ok\n"
+            + "          schema:\n            type: array\n            items:\n              $ref: '#/definitions/Animal'\n"
+            + "  /keepers:\n"
+            + "    get:\n      tags: [keeper]\n      operationId: listKeepers\n"
+            + "      responses:\n        200:\n          description: ok\n"
+            + "          schema:\n            $ref: '#/definitions/Keeper'\n"
+            + "    post:\n      operationId: addKeeper\n"
+            + "      parameters:\n        - in: query\n          name: name\n          type: string\n"
+            + "      responses:\n        200:\n          description: ok\n"
+            + "definitions:\n"
+            + "  Animal:\n    type: object\n    properties:\n      name:\n        type: string\n"
+            + "  Cat:\n    allOf:\n      - $ref: '#/definitions/Animal'\n"
+            + "      - type: object\n        properties:\n          lives:\n            type: integer\n"
+            + "  Tail:\n    type: object\n    properties:\n      length:\n        type: integer\n"
+            + "  Dog:\n    allOf:\n      - $ref: '#/definitions/Animal'\n"
+            + "      - type: object\n        properties:\n          tail:\n            $ref: '#/definitions/Tail'\n"
+            + "  Keeper:\n    type: object\n    properties:\n      name:\n        type: string\n";
+
+    @Test
+    public void testSameSpecHasNoChanges() {
+        SpecDiff diff = SpecDiff.compare(parse(), parse());
+        assertTrue(diff.isEmpty());
+        assertFalse(diff.isOutlineChanged());
+    }
+
+    @Test
+    public void testChangesFollowReferencesAndInheritance() {
+        Swagger current = parse();
+        ((ModelImpl) current.getDefinitions().get("Tail")).addProperty("color", new StringProperty());
+        SpecDiff diff = SpecDiff.compare(parse(), current);
+
+        assertFalse(diff.isOutlineChanged());
+        // Dog refers to Tail, and is processed with its parent and siblings
+        assertEquals(diff.getModels(), new TreeSet<String>(Arrays.asList("Animal", "Cat", "Dog", "Tail")));
+        // Dog is not an Animal as far as the operation returning animals is concerned
+        assertEquals(diff.getOperations(), Collections.emptySet());
+
+        current = parse();
+        ((ModelImpl) current.getDefinitions().get("Animal")).addProperty("age", new StringProperty());
+        diff = SpecDiff.compare(parse(), current);
+        assertEquals(diff.getModels(), new TreeSet<String>(Arrays.asList("Animal", "Cat", "Dog")));
+        assertEquals(diff.getOperations(), Collections.singleton("GET /animals"));
+        assertEquals(diff.getTags(), Collections.singleton("animal"));
+    }
+
+    @Test
+    public void testChangedOperation() {
+        Swagger current = parse();
+        current.getPath("/keepers").getPost().setDescription("Adds a keeper");
+        SpecDiff diff = SpecDiff.compare(parse(), current);
+
+        assertFalse(diff.isOutlineChanged());
+        assertEquals(diff.getModels(), Collections.emptySet());
+        assertEquals(diff.getOperations(), Collections.singleton("POST /keepers"));
+        assertEquals(diff.getTags(), Collections.singleton("default"));
+    }
+
+    @Test
+    public void testOutlineChanges() {
+        Swagger current = parse();
+        current.getDefinitions().remove("Tail");
+        assertTrue(SpecDiff.compare(parse(), current).isOutlineChanged());
+
+        current = parse();
+        current.getPath("/keepers").getGet().setSummary("Lists the keepers");
+        assertTrue(SpecDiff.compare(parse(), current).isOutlineChanged());
+
+        current = parse();
+        current.setBasePath("/v2");
+        assertTrue(SpecDiff.compare(parse(), current).isOutlineChanged());
+    }
+
+    @Test
+    public void testTemplateDetails() {
+        assertFalse(SpecDiff.usesDetails("{{#apiInfo}}{{#apis}}{{#operations}}{{#operation}}"
+                + "| {{classname}} | {{nickname}} | {{httpMethod}} {{path}} | {{summary}}"
+                + "{{/operation}}{{/operations}}{{/apis}}{{/apiInfo}}"));
+        assertFalse(SpecDiff.usesDetails("{{#models}}{{#model}}{{classname}}{{#hasMore}}, {{/hasMore}}{{/model}}{{/models}}"));
+        assertTrue(SpecDiff.usesDetails("{{#models}}{{#model}}{{#vars}}{{name}}{{/vars}}{{/model}}{{/models}}"));
+        assertTrue(SpecDiff.usesDetails("{{#allParams}}{{{dataType}}} {{paramName}}{{/allParams}}"));
+        assertTrue(SpecDiff.usesDetails("{{=<% %>=}}<%classname%>"));
+    }
+
+    private static Swagger parse() {
+        return new SwaggerParser().parse(SPEC);
+    }
+}
@@ -0,0 +1,157 @@
+package io.swagger.codegen;
+
+import com.samskivert.mustache.Mustache;
+import com.samskivert.mustache.Template;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.util.Collections;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.*;
+
+public class TemplateCacheTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testEmbeddedTemplateIsCompiledOnce() {
+        TemplateCache cache = new TemplateCache(10);
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+        String templateFile = generator.getFullTemplateFile(config, "model.mustache");
+
+        Template first = cache.getTemplate(generator, config, templateFile, Mustache.compiler());
+        Template second = cache.getTemplate(new DefaultGenerator(), new JavaClientCodegen(), templateFile, Mustache.compiler());
+
+        assertSame(second, first);
+        assertEquals(cache.size(), 1);
+    }
+
+    @Test
+    public void testCompilerSettingsArePartOfTheKey() {
+        TemplateCache cache = new TemplateCache(10);
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+        String templateFile = generator.getFullTemplateFile(config, "model.mustache");
+
+        Template escaped = cache.getTemplate(generator, config, templateFile, Mustache.compiler());
+        Template unescaped = cache.getTemplate(generator, config, templateFile, Mustache.compiler().escapeHTML(false));
+
+        assertNotSame(unescaped, escaped);
+        assertEquals(cache.size(), 2);
+    }
+
+    @Test
+    public void testChangedPartialIsRecompiled() throws Exception {
+        File templateDir = folder.getRoot();
+        FileUtils.writeStringToFile(new File(templateDir, "main.mustache"), "[{{>partial}}]", UTF_8);
+        File partial = new File(templateDir, "partial.mustache");
+        FileUtils.writeStringToFile(partial, "{{name}}", UTF_8);
+
+        TemplateCache cache = new TemplateCache(10);
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+        config.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir.getAbsolutePath());
+        config.processOpts();
+        String templateFile = generator.getFullTemplateFile(config, "main.mustache");
+
+        Template template = cache.getTemplate(generator, config, templateFile, Mustache.compiler());
+        assertEquals(template.execute(Collections.singletonMap("name", "pet")), "[pet]");
+        assertSame(cache.getTemplate(generator, config, templateFile, Mustache.compiler()), template);
+
+        FileUtils.writeStringToFile(partial, "<{{name}}>", UTF_8);
+        Template changed = cache.getTemplate(generator, config, templateFile, Mustache.compiler());
+        assertNotSame(changed, template);
+        assertEquals(changed.execute(Collections.singletonMap("name", "pet")), "[<pet>]");
+    }
+
+    @Test
+    public void testPartialAddedToTemplateDirIsRecompiled() throws Exception {
+        File templateDir = folder.getRoot();
+        FileUtils.writeStringToFile(new File(templateDir, "main.mustache"), "[{{>generatedAnnotation}}]", UTF_8);
+
+        TemplateCache cache = new TemplateCache(10);
+        CodegenConfig config = new JavaClientCodegen();
+        config.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir.getAbsolutePath());
+        config.processOpts();
+        DefaultGenerator generator = new DefaultGenerator();
+        String templateFile = generator.getFullTemplateFile(config, "main.mustache");
+
+        // the embedded partial
+        Template template = cache.getTemplate(generator, config, templateFile, Mustache.compiler());
+        assertEquals(template.execute(Collections.singletonMap("hideGenerationTimestamp", true)), "[]");
+        assertSame(cache.getTemplate(new DefaultGenerator(), config, templateFile, Mustache.compiler()), template);
+
+        FileUtils.writeStringToFile(new File(templateDir, "generatedAnnotation.mustache"), "@Custom", UTF_8);
+        Template changed = cache.getTemplate(new DefaultGenerator(), config, templateFile, Mustache.compiler());
+        assertNotSame(changed, template);
+        assertEquals(changed.execute(Collections.singletonMap("hideGenerationTimestamp", true)), "[@Custom]");
+    }
+
+    @Test
+    public void testTemplateIsResolvedOncePerRun() throws Exception {
+        File templateDir = folder.getRoot();
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+        config.additionalProperties().put(CodegenConstants.TEMPLATE_DIR, templateDir.getAbsolutePath());
+        config.processOpts();
+        String embedded = generator.getFullTemplateFile(config, "model.mustache");
+        assertEquals(embedded, config.embeddedTemplateDir() + File.separator + "model.mustache");
+
+        File custom = new File(templateDir, "model.mustache");
+        FileUtils.writeStringToFile(custom, "{{name}}", UTF_8);
+        assertEquals(generator.getFullTemplateFile(config, "model.mustache"), embedded);
+
+        generator.clearTemplateLookups();
+        assertEquals(generator.getFullTemplateFile(config, "model.mustache"), custom.getPath());
+    }
+
+    @Test
+    public void testPreloadedTemplatesMatchTheClasspath() throws Exception {
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+        assertTrue(generator.preloadEmbeddedTemplates(config.embeddedTemplateDir()) > 0);
+        // preloading the same directory again is a no-op
+        assertEquals(generator.preloadEmbeddedTemplates(config.embeddedTemplateDir()), 0);
+
+        DefaultGenerator reference = new DefaultGenerator();
+        for (String name : new String[]{"model.mustache", "api.mustache", "pojo.mustache", "build.gradle.mustache"}) {
+            String templateFile = generator.getFullTemplateFile(config, name);
+            assertTrue(generator.embeddedTemplateExists(templateFile), name);
+            assertEquals(generator.getTemplateSource(templateFile), reference.getTemplateSource(templateFile), name);
+        }
+        String library = generator.getFullTemplateFile(config.embeddedTemplateDir(), config.embeddedTemplateDir(), "feign", "api.mustache");
+        assertEquals(library, config.embeddedTemplateDir() + File.separator + "libraries" + File.separator + "feign" + File.separator + "api.mustache");
+        assertFalse(generator.embeddedTemplateExists(config.embeddedTemplateDir() + File.separator + "missing.mustache"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTemplateIsEvicted() {
+        TemplateCache cache = new TemplateCache(2);
+        DefaultGenerator generator = new DefaultGenerator();
+        CodegenConfig config = new JavaClientCodegen();
+
+        Template model = cache.getTemplate(generator, config, generator.getFullTemplateFile(config, "model.mustache"), Mustache.compiler());
+        cache.getTemplate(generator, config, generator.getFullTemplateFile(config, "api.mustache"), Mustache.compiler());
+        cache.getTemplate(generator, config, generator.getFullTemplateFile(config, "pojo.mustache"), Mustache.compiler());
+
+        assertEquals(cache.size(), 2);
+        assertNotSame(cache.getTemplate(generator, config, generator.getFullTemplateFile(config, "model.mustache"), Mustache.compiler()), model);
+    }
+}
@@ -0,0 +1,180 @@
+package io.swagger.codegen.output;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.*;
+
+public class FileSystemOutputTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final FileSystemOutput output = new FileSystemOutput();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testWritesNewFileAndParentDirectories() throws Exception {
+        File file = new File(folder.getRoot(), "src/main/Pet.java");
+
+        assertTrue(output.write(file, "class Pet {}".getBytes(UTF_8)));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "class Pet {}");
+    }
+
+    @Test
+    public void testUnchangedFileIsNotWritten() throws Exception {
+        File file = folder.newFile("Pet.java");
+        FileUtils.writeStringToFile(file, "class Pet {}", UTF_8);
+        long past = System.currentTimeMillis() - 3600 * 1000;
+        assertTrue(file.setLastModified(past));
+
+        assertFalse(output.write(file, "class Pet {}".getBytes(UTF_8)));
+        assertFalse(output.write(file, new ByteArrayInputStream("class Pet {}".getBytes(UTF_8))));
+        assertEquals(file.lastModified(), past);
+    }
+
+    @Test
+    public void testChangedFileIsWritten() throws Exception {
+        File file = folder.newFile("Pet.java");
+        FileUtils.writeStringToFile(file, "class Pet {}", UTF_8);
+
+        // same size, different contents
+        assertTrue(output.write(file, "class Cat {}".getBytes(UTF_8)));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "class Cat {}");
+
+        assertTrue(output.write(file, new ByteArrayInputStream("class Pet extends Animal {}".getBytes(UTF_8))));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "class Pet extends Animal {}");
+    }
+
+    @Test
+    public void testLargeFilesAreComparedCompletely() throws Exception {
+        byte[] contents = new byte[100000];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) i;
+        }
+        File file = folder.newFile("large.bin");
+        FileUtils.writeByteArrayToFile(file, contents);
+
+        assertFalse(output.write(file, contents.clone()));
+        contents[contents.length - 1]++;
+        assertTrue(output.write(file, contents));
+        assertEquals(FileUtils.readFileToByteArray(file), contents);
+    }
+
+    @Test
+    public void testStreamedContentsAreComparedWithExistingFile() throws Exception {
+        File file = folder.newFile("Pet.java");
+        FileUtils.writeStringToFile(file, "class Pet {}", UTF_8);
+        long past = System.currentTimeMillis() - 3600 * 1000;
+        assertTrue(file.setLastModified(past));
+
+        assertFalse(output.write(file, contents("class ", "Pet {}")));
+        assertEquals(file.lastModified(), past);
+
+        // differs in the middle, is shorter and is longer than the existing file
+        for (String changed : new String[]{"class Cat {}", "class Pet", "class Pet {}\n"}) {
+            assertTrue(output.write(file, contents("class", changed.substring(5))));
+            assertEquals(FileUtils.readFileToString(file, UTF_8), changed);
+        }
+        assertEquals(folder.getRoot().list().length, 1);
+    }
+
+    @Test
+    public void testStreamedContentsReplaceFilesWithShortNames() throws Exception {
+        File file = folder.newFile("R");
+        FileUtils.writeStringToFile(file, "pets", UTF_8);
+
+        assertTrue(output.write(file, contents("pet", "s <- list()")));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "pets <- list()");
+        assertEquals(folder.getRoot().list().length, 1);
+    }
+
+    @Test
+    public void testStreamedContentsAreWrittenToNewFile() throws Exception {
+        File file = new File(folder.getRoot(), "src/main/Pet.java");
+
+        assertTrue(output.write(file, contents("class Pet {}")));
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "class Pet {}");
+
+        File empty = new File(folder.getRoot(), "empty.txt");
+        assertTrue(output.write(empty, contents()));
+        assertTrue(empty.isFile());
+        assertFalse(output.write(empty, contents()));
+    }
+
+    @Test
+    public void testFailedStreamLeavesExistingFileUntouched() throws Exception {
+        File file = folder.newFile("Pet.java");
+        FileUtils.writeStringToFile(file, "class Pet {}", UTF_8);
+        File newFile = new File(folder.getRoot(), "Cat.java");
+
+        for (File target : new File[]{file, newFile}) {
+            try {
+                output.write(target, new FileContents() {
+                    @Override
+                    public void writeTo(OutputStream out) throws IOException {
+                        out.write("class Cat".getBytes(UTF_8));
+                        throw new IOException("failed");
+                    }
+                });
+                fail();
+            } catch (IOException e) {
+                assertEquals(e.getMessage(), "failed");
+            }
+        }
+        assertEquals(FileUtils.readFileToString(file, UTF_8), "class Pet {}");
+        assertFalse(newFile.exists());
+        assertEquals(folder.getRoot().list().length, 1);
+    }
+
+    @Test
+    public void testLargeStreamedFilesAreComparedCompletely() throws Exception {
+        final byte[] contents = new byte[100000];
+        for (int i = 0; i < contents.length; i++) {
+            contents[i] = (byte) i;
+        }
+        File file = folder.newFile("large.bin");
+        FileUtils.writeByteArrayToFile(file, contents);
+
+        assertFalse(output.write(file, new ByteArrayInputStream(contents)));
+        contents[contents.length - 1]++;
+        FileContents bytewise = new FileContents() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                for (byte b : contents) {
+                    out.write(b);
+                }
+            }
+        };
+        assertTrue(output.write(file, bytewise));
+        assertEquals(FileUtils.readFileToByteArray(file), contents);
+    }
+
+    private static FileContents contents(final String... parts) {
+        return new FileContents() {
+            @Override
+            public void writeTo(OutputStream out) throws IOException {
+                for (String part : parts) {
+                    out.write(part.getBytes(UTF_8));
+                }
+            }
+        };
+    }
+}
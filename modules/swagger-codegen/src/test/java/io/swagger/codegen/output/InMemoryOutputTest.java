@@ -0,0 +1,74 @@
+package io.swagger.codegen.output;
+
+import io.swagger.codegen.ClientOptInput;
+import io.swagger.codegen.ClientOpts;
+import io.swagger.codegen.CodegenConfig;
+import io.swagger.codegen.DefaultGenerator;
+import io.swagger.codegen.languages.JavaClientCodegen;
+import io.swagger.models.Swagger;
+import io.swagger.parser.SwaggerParser;
+import org.junit.rules.TemporaryFolder;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.*;
+
+public class InMemoryOutputTest {
+
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder.create();
+    }
+
+    @AfterMethod
+    public void tearDown() throws Exception {
+        folder.delete();
+    }
+
+    @Test
+    public void testGenerateToMemory() throws Exception {
+        final File output = new File(folder.getRoot(), "petstore");
+        final Swagger swagger = new SwaggerParser().read("src/test/resources/petstore.json");
+        CodegenConfig codegenConfig = new JavaClientCodegen();
+        codegenConfig.setOutputDir(output.getAbsolutePath());
+        ClientOptInput clientOptInput = new ClientOptInput().opts(new ClientOpts()).swagger(swagger).config(codegenConfig);
+
+        InMemoryOutput inMemoryOutput = new InMemoryOutput(output);
+        DefaultGenerator generator = new DefaultGenerator();
+        generator.setOutput(inMemoryOutput);
+        List<File> files = generator.opts(clientOptInput).generate();
+
+        assertFalse(output.exists());
+        Map<String, byte[]> generated = inMemoryOutput.getFiles();
+        assertEquals(generated.size(), files.size());
+        assertTrue(generated.containsKey("pom.xml"));
+        assertTrue(inMemoryOutput.getFileContents("src/main/java/io/swagger/client/model/Pet.java").contains("public class Pet"));
+        assertNull(inMemoryOutput.getFileContents("missing.txt"));
+    }
+
+    @Test
+    public void testRewriteReportsChanges() throws Exception {
+        final File output = folder.getRoot();
+        InMemoryOutput inMemoryOutput = new InMemoryOutput(output);
+        File file = new File(output, "a/b.txt");
+
+        assertTrue(inMemoryOutput.write(file, "b".getBytes(UTF_8)));
+        assertFalse(inMemoryOutput.write(file, new ByteArrayInputStream("b".getBytes(UTF_8))));
+        assertTrue(inMemoryOutput.write(file, "c".getBytes(UTF_8)));
+        assertEquals(inMemoryOutput.getFileContents("a/b.txt"), "c");
+    }
+
+    @Test(expectedExceptions = java.io.IOException.class)
+    public void testFilesOutsideOutputFolderAreRejected() throws Exception {
+        new InMemoryOutput(folder.getRoot()).write(new File(folder.getRoot(), "../b.txt"), new byte[0]);
+    }
+}
@@ -0,0 +1,106 @@
+package io.swagger.codegen.output;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.*;
+
+public class ZipOutputTest {
+
+    @Test
+    public void testFilesAreZippedUnderPrefix() throws Exception {
+        File outputFolder = new File("target/does-not-exist/java-client");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ZipOutput zip = new ZipOutput(out, outputFolder, "java-client");
+        assertTrue(zip.write(new File(outputFolder, "pom.xml"), "<project/>".getBytes(UTF_8)));
+        assertTrue(zip.write(new File(outputFolder, "src/Pet.java"), new ByteArrayInputStream("class Pet {}".getBytes(UTF_8))));
+        // the last contents are kept, as in the filesystem
+        assertTrue(zip.write(new File(outputFolder, "pom.xml"), "<other/>".getBytes(UTF_8)));
+        zip.close();
+
+        assertFalse(outputFolder.exists());
+        Map<String, String> expected = new LinkedHashMap<String, String>();
+        expected.put("java-client/pom.xml", "<other/>");
+        expected.put("java-client/src/Pet.java", "class Pet {}");
+
+        // through the central directory
+        File file = File.createTempFile("zip-output", ".zip");
+        try {
+            FileUtils.writeByteArrayToFile(file, out.toByteArray());
+            Map<String, String> entries = new LinkedHashMap<String, String>();
+            ZipFile zipFile = new ZipFile(file);
+            try {
+                for (Enumeration<? extends ZipEntry> it = zipFile.entries(); it.hasMoreElements(); ) {
+                    ZipEntry entry = it.nextElement();
+                    InputStream in = zipFile.getInputStream(entry);
+                    try {
+                        entries.put(entry.getName(), IOUtils.toString(in, UTF_8));
+                    } finally {
+                        in.close();
+                    }
+                }
+            } finally {
+                zipFile.close();
+            }
+            assertEquals(entries, expected);
+        } finally {
+            FileUtils.deleteQuietly(file);
+        }
+
+        // through the local headers, as extracted in order
+        Map<String, String> extracted = new HashMap<String, String>();
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+            extracted.put(entry.getName(), IOUtils.toString(in, UTF_8));
+        }
+        in.close();
+        assertEquals(extracted, expected);
+    }
+
+    @Test
+    public void testManyFilesAreZippedInOrder() throws Exception {
+        File outputFolder = new File("target/does-not-exist/models");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        List<String> expected = new ArrayList<String>();
+
+        ZipOutput zip = new ZipOutput(out, outputFolder, "", Deflater.NO_COMPRESSION);
+        for (int i = 0; i < 200; i++) {
+            zip.write(new File(outputFolder, "Model" + i + ".java"), ("class Model" + i + " {}").getBytes(UTF_8));
+            expected.add("Model" + i + ".java");
+        }
+        zip.write(new File(outputFolder, "Model42.java"), "class Model42 { int id; }".getBytes(UTF_8));
+        expected.add("Model42.java");
+        zip.close();
+
+        List<String> names = new ArrayList<String>();
+        Map<String, String> extracted = new HashMap<String, String>();
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+            assertEquals(entry.getMethod(), ZipEntry.STORED, entry.getName());
+            names.add(entry.getName());
+            extracted.put(entry.getName(), IOUtils.toString(in, UTF_8));
+        }
+        in.close();
+        assertEquals(names, expected);
+        assertEquals(extracted.get("Model42.java"), "class Model42 { int id; }");
+        assertEquals(extracted.get("Model199.java"), "class Model199 {}");
+    }
+}
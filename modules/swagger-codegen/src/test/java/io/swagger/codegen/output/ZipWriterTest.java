@@ -0,0 +1,114 @@
+package io.swagger.codegen.output;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+public class ZipWriterTest {
+
+    private static final String README = "# Pets\n" + StringUtils.repeat("A pet store.\n", 50);
+
+    private File folder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("zip-writer").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileUtils.deleteQuietly(folder);
+    }
+
+    @Test
+    public void testArchiveIsReadable() throws Exception {
+        byte[] jar = new byte[]{'P', 'K', 3, 4, 0, 0, 0, 0};
+        ZipWriter.Entry readme = ZipWriter.compress("pets/README.md", README.getBytes(UTF_8), Deflater.DEFAULT_COMPRESSION);
+        ZipWriter.Entry wrapper = ZipWriter.compress("pets/gradle/wrapper/gradle-wrapper.jar", jar, Deflater.BEST_COMPRESSION);
+        ZipWriter.Entry empty = ZipWriter.compress("pets/.swagger-codegen-ignore", new byte[0], Deflater.DEFAULT_COMPRESSION);
+        ZipWriter.Entry unicode = ZipWriter.compress("pets/docs/Café.md", "Café".getBytes(UTF_8), Deflater.DEFAULT_COMPRESSION);
+        assertFalse(readme.isStored());
+        assertTrue(wrapper.isStored());
+        assertTrue(empty.isStored());
+
+        File file = new File(folder, "pets.zip");
+        ZipWriter zip = new ZipWriter(new FileOutputStream(file));
+        zip.write(readme);
+        zip.write(wrapper);
+        zip.write(empty);
+        zip.write(unicode);
+        zip.close();
+
+        Map<String, byte[]> expected = new LinkedHashMap<String, byte[]>();
+        expected.put("pets/README.md", README.getBytes(UTF_8));
+        expected.put("pets/gradle/wrapper/gradle-wrapper.jar", jar);
+        expected.put("pets/.swagger-codegen-ignore", new byte[0]);
+        expected.put("pets/docs/Café.md", "Café".getBytes(UTF_8));
+
+        // through the central directory
+        ZipFile zipFile = new ZipFile(file);
+        try {
+            assertEquals(zipFile.size(), expected.size());
+            for (Map.Entry<String, byte[]> entry : expected.entrySet()) {
+                ZipEntry zipEntry = zipFile.getEntry(entry.getKey());
+                InputStream in = zipFile.getInputStream(zipEntry);
+                try {
+                    assertEquals(IOUtils.toByteArray(in), entry.getValue(), entry.getKey());
+                } finally {
+                    in.close();
+                }
+            }
+            assertEquals(zipFile.getEntry("pets/README.md").getMethod(), ZipEntry.DEFLATED);
+            assertEquals(zipFile.getEntry("pets/gradle/wrapper/gradle-wrapper.jar").getMethod(), ZipEntry.STORED);
+        } finally {
+            zipFile.close();
+        }
+
+        // through the local headers
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(FileUtils.readFileToByteArray(file)));
+        int entries = 0;
+        for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+            assertEquals(IOUtils.toByteArray(in), expected.get(entry.getName()), entry.getName());
+            entries++;
+        }
+        in.close();
+        assertEquals(entries, expected.size());
+    }
+
+    @Test
+    public void testNoCompressionStoresEntries() throws Exception {
+        ZipWriter.Entry readme = ZipWriter.compress("README.md", README.getBytes(UTF_8), Deflater.NO_COMPRESSION);
+        assertTrue(readme.isStored());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ZipWriter zip = new ZipWriter(out);
+        zip.write(readme);
+        zip.close();
+        ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(out.toByteArray()));
+        ZipEntry entry = in.getNextEntry();
+        assertEquals(entry.getMethod(), ZipEntry.STORED);
+        assertEquals(IOUtils.toString(in, UTF_8), README);
+        in.close();
+    }
+}
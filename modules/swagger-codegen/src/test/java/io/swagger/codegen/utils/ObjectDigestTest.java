@@ -0,0 +1,122 @@
+package io.swagger.codegen.utils;
+
+import io.swagger.codegen.CodegenModel;
+import io.swagger.codegen.CodegenProperty;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+public class ObjectDigestTest {
+
+    private final ObjectDigest digest = new ObjectDigest("generatedDate");
+
+    @Test
+    public void testUnorderedCollectionsIgnoreIterationOrder() {
+        Map<String, Object> one = new HashMap<String, Object>();
+        Map<String, Object> another = new HashMap<String, Object>(1);
+        for (int i = 0; i < 50; i++) {
+            one.put("key" + i, i);
+        }
+        for (int i = 49; i >= 0; i--) {
+            another.put("key" + i, i);
+        }
+        assertEquals(digest.digest(another), digest.digest(one));
+        assertEquals(digest.digest(new HashSet<String>(Arrays.asList("a", "b", "c"))),
+                digest.digest(new HashSet<String>(Arrays.asList("c", "b", "a"))));
+    }
+
+    @Test
+    public void testOrderedCollectionsDependOnOrder() {
+        assertNotEquals(digest.digest(Arrays.asList("a", "b")), digest.digest(Arrays.asList("b", "a")));
+
+        Map<String, Object> one = new LinkedHashMap<String, Object>();
+        one.put("a", 1);
+        one.put("b", 2);
+        Map<String, Object> another = new LinkedHashMap<String, Object>();
+        another.put("b", 2);
+        another.put("a", 1);
+        assertNotEquals(digest.digest(another), digest.digest(one));
+    }
+
+    @Test
+    public void testValuesAreTyped() {
+        assertNotEquals(digest.digest(1), digest.digest("1"));
+        assertNotEquals(digest.digest("ab", "c"), digest.digest("a", "bc"));
+        assertNotEquals(digest.digest((Object) null), digest.digest("null"));
+    }
+
+    @Test
+    public void testIgnoredKeys() {
+        Map<String, Object> one = new HashMap<String, Object>();
+        one.put("name", "pet");
+        one.put("generatedDate", "2017-01-01");
+        Map<String, Object> another = new HashMap<String, Object>(one);
+        another.put("generatedDate", "2017-12-31");
+
+        assertEquals(digest.digest(another), digest.digest(one));
+        another.put("name", "order");
+        assertNotEquals(digest.digest(another), digest.digest(one));
+    }
+
+    @Test
+    public void testCodegenObjectsAreDigestedByFields() {
+        assertEquals(digest.digest(model("Pet", "name")), digest.digest(model("Pet", "name")));
+        assertNotEquals(digest.digest(model("Pet", "name")), digest.digest(model("Pet", "id")));
+    }
+
+    @Test
+    public void testCyclicReferences() {
+        CodegenModel parent = model("Animal", "name");
+        CodegenModel child = model("Cat", "name");
+        child.parentModel = parent;
+        parent.children = new ArrayList<CodegenModel>();
+        parent.children.add(child);
+
+        List<Object> self = new ArrayList<Object>();
+        self.add(self);
+
+        assertEquals(digest.digest(parent), digest.digest(parent));
+        assertNotNull(digest.digest(self));
+    }
+
+    @Test
+    public void testOtherObjectsAreDigestedByJson() {
+        assertEquals(digest.digest(new Tag("pets")), digest.digest(new Tag("pets")));
+        assertNotEquals(digest.digest(new Tag("pets")), digest.digest(new Tag("store")));
+    }
+
+    @Test
+    public void testObjectsWhichCantBeSerializedAlwaysChange() {
+        Object opaque = new Object();
+        assertNotEquals(digest.digest(opaque), digest.digest(opaque));
+    }
+
+    private static CodegenModel model(String name, String propertyName) {
+        CodegenModel model = new CodegenModel();
+        model.name = name;
+        CodegenProperty property = new CodegenProperty();
+        property.name = propertyName;
+        model.vars.add(property);
+        return model;
+    }
+
+    public static class Tag {
+        private final String name;
+
+        Tag(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
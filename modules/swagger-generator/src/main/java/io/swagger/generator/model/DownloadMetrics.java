@@ -0,0 +1,77 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class DownloadMetrics {
+    private int entries;
+    private long bytes;
+    private long registered;
+    private long downloaded;
+    private long expired;
+    private long evicted;
+
+    public DownloadMetrics() {}
+
+    public DownloadMetrics(int entries, long bytes, long registered, long downloaded, long expired, long evicted) {
+        setEntries(entries);
+        setBytes(bytes);
+        setRegistered(registered);
+        setDownloaded(downloaded);
+        setExpired(expired);
+        setEvicted(evicted);
+    }
+
+    @ApiModelProperty(value = "Number of generated files waiting to be downloaded")
+    public int getEntries() {
+        return entries;
+    }
+
+    public void setEntries(int entries) {
+        this.entries = entries;
+    }
+
+    @ApiModelProperty(value = "Size of the generated files waiting to be downloaded")
+    public long getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(long bytes) {
+        this.bytes = bytes;
+    }
+
+    @ApiModelProperty(value = "Number of files generated since the generator started")
+    public long getRegistered() {
+        return registered;
+    }
+
+    public void setRegistered(long registered) {
+        this.registered = registered;
+    }
+
+    @ApiModelProperty(value = "Number of files downloaded completely")
+    public long getDownloaded() {
+        return downloaded;
+    }
+
+    public void setDownloaded(long downloaded) {
+        this.downloaded = downloaded;
+    }
+
+    @ApiModelProperty(value = "Number of files removed because they were not downloaded in time")
+    public long getExpired() {
+        return expired;
+    }
+
+    public void setExpired(long expired) {
+        this.expired = expired;
+    }
+
+    @ApiModelProperty(value = "Number of files removed to make room for newer ones")
+    public long getEvicted() {
+        return evicted;
+    }
+
+    public void setEvicted(long evicted) {
+        this.evicted = evicted;
+    }
+}
@@ -0,0 +1,73 @@
+package io.swagger.generator.model;
+
+import io.swagger.annotations.ApiModelProperty;
+
+public class Job {
+    public enum Status {
+        QUEUED, RUNNING, DONE, FAILED
+    }
+
+    private String id;
+    private Status status;
+    private String code;
+    private String link;
+    private String message;
+
+    public Job() {}
+
+    public Job(String id, Status status, String code, String message) {
+        setId(id);
+        setStatus(status);
+        setCode(code);
+        setMessage(message);
+    }
+
+    @ApiModelProperty(value = "Job id, to get the status of the job with",
+            example = "5e3b3c8e-1d0c-4d4e-9d2b-6a8c9f1e2a7b")
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @ApiModelProperty(value = "Status of the job")
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    @ApiModelProperty(value = "File download code, once the job is done",
+            example = "d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getCode() {
+        return code;
+    }
+
+    public void setCode(String code) {
+        this.code = code;
+    }
+
+    @ApiModelProperty(
+            value = "URL for fetching the generated code, once the job is done",
+            example = "http://generator.swagger.io:80/api/gen/download/d40029be-eda6-4d62-b1ef-d05e2e91a72a")
+    public String getLink() {
+        return link;
+    }
+
+    public void setLink(String link) {
+        this.link = link;
+    }
+
+    @ApiModelProperty(value = "Reason why the job failed")
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
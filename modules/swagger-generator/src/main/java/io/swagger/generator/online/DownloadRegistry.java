@@ -0,0 +1,212 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.model.DownloadMetrics;
+import io.swagger.generator.model.Generated;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generated files waiting to be downloaded, by download code.
+ * <p>
+ * Files which are not downloaded within the time to live are removed, as are the oldest files
+ * when there are more than the maximum number of files or they take more than the maximum size.
+ * Removing a file deletes the temporary folder it was generated in. Downloads which already
+ * opened a file can finish reading it after it is removed.
+ */
+public class DownloadRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(DownloadRegistry.class);
+
+    public static final long DEFAULT_TTL_MINUTES = 60;
+    public static final int DEFAULT_MAX_ENTRIES = 1000;
+    public static final long DEFAULT_MAX_SIZE_MB = 1024;
+
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final long maxBytes;
+    // guarded by this, oldest first
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<String, Entry>();
+    private long bytes;
+    private long registered;
+    private long downloaded;
+    private long expired;
+    private long evicted;
+
+    /**
+     * @param ttl time files are kept for if they are not downloaded
+     * @param unit unit of the time to live
+     * @param maxEntries maximum number of files kept
+     * @param maxBytes maximum size of the files kept
+     */
+    public DownloadRegistry(long ttl, TimeUnit unit, int maxEntries, long maxBytes) {
+        this.ttlNanos = unit.toNanos(ttl);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Registry configured by the {@code GENERATOR_DOWNLOAD_TTL_MINUTES}
+     * ({@value #DEFAULT_TTL_MINUTES} by default), {@code GENERATOR_DOWNLOAD_MAX_ENTRIES}
+     * ({@value #DEFAULT_MAX_ENTRIES} by default) and {@code GENERATOR_DOWNLOAD_MAX_SIZE} (in
+     * megabytes, {@value #DEFAULT_MAX_SIZE_MB} by default) environment variables.
+     */
+    public static DownloadRegistry fromEnvironment() {
+        return new DownloadRegistry(longEnv("GENERATOR_DOWNLOAD_TTL_MINUTES", DEFAULT_TTL_MINUTES), TimeUnit.MINUTES,
+                (int) longEnv("GENERATOR_DOWNLOAD_MAX_ENTRIES", DEFAULT_MAX_ENTRIES),
+                longEnv("GENERATOR_DOWNLOAD_MAX_SIZE", DEFAULT_MAX_SIZE_MB) * 1024 * 1024);
+    }
+
+    /**
+     * Register a generated file, removing the oldest files if the registry is full.
+     *
+     * @param filename generated file
+     * @param friendlyName name of the file for downloads, without extension
+     * @return download code of the file
+     */
+    public String register(String filename, String friendlyName) {
+        Generated generated = new Generated();
+        generated.setFilename(filename);
+        generated.setFriendlyName(friendlyName);
+        String code = UUID.randomUUID().toString();
+        long size = new File(filename).length();
+        List<Entry> removed = new ArrayList<Entry>();
+        Entry entry;
+        synchronized (this) {
+            expire(removed);
+            // registered in order of time, for expire()
+            entry = new Entry(generated, size, nanoTime());
+            entries.put(code, entry);
+            bytes += entry.size;
+            registered++;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext()
+                    && (entries.size() > maxEntries || bytes > maxBytes); ) {
+                Entry eldest = it.next();
+                if (eldest == entry) {
+                    // larger than the registry, kept until it is downloaded or expires
+                    break;
+                }
+                it.remove();
+                bytes -= eldest.size;
+                evicted++;
+                removed.add(eldest);
+            }
+        }
+        delete(removed);
+        return code;
+    }
+
+    /**
+     * @param code download code of a file
+     * @return the file, or null if there is no such file (any more)
+     */
+    public Generated get(String code) {
+        List<Entry> removed = new ArrayList<Entry>();
+        Entry entry;
+        synchronized (this) {
+            expire(removed);
+            entry = entries.get(code);
+        }
+        delete(removed);
+        return entry == null ? null : entry.generated;
+    }
+
+    /**
+     * Remove a file once it is downloaded.
+     *
+     * @param code download code of the file
+     */
+    public void downloaded(String code) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.remove(code);
+            if (entry != null) {
+                bytes -= entry.size;
+                downloaded++;
+            }
+        }
+        if (entry != null) {
+            delete(entry);
+        }
+    }
+
+    /**
+     * @return current number and size of the files, and counts of files removed so far
+     */
+    public DownloadMetrics getMetrics() {
+        List<Entry> removed = new ArrayList<Entry>();
+        DownloadMetrics metrics;
+        synchronized (this) {
+            expire(removed);
+            metrics = new DownloadMetrics(entries.size(), bytes, registered, downloaded, expired, evicted);
+        }
+        delete(removed);
+        return metrics;
+    }
+
+    /**
+     * @return current time in nanoseconds, as {@link System#nanoTime()}
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    private void expire(List<Entry> removed) {
+        long now = nanoTime();
+        for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+            Entry eldest = it.next();
+            if (now - eldest.registeredNanos < ttlNanos) {
+                break;
+            }
+            it.remove();
+            bytes -= eldest.size;
+            expired++;
+            removed.add(eldest);
+        }
+    }
+
+    private static void delete(List<Entry> removed) {
+        for (Entry entry : removed) {
+            delete(entry);
+        }
+    }
+
+    private static void delete(Entry entry) {
+        File file = new File(entry.generated.getFilename());
+        LOGGER.debug("Removing " + file);
+        // the temporary folder the file was generated in
+        FileUtils.deleteQuietly(file.getParentFile() != null ? file.getParentFile() : file);
+    }
+
+    private static long longEnv(String name, long defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Long.parseLong(value.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Ignoring invalid " + name + " " + value);
+            return defaultValue;
+        }
+    }
+
+    private static class Entry {
+        final Generated generated;
+        final long size;
+        final long registeredNanos;
+
+        Entry(Generated generated, long size, long registeredNanos) {
+            this.generated = generated;
+            this.size = size;
+            this.registeredNanos = registeredNanos;
+        }
+    }
+}
@@ -6,23 +6,34 @@ import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.model.GeneratorInput;
 import io.swagger.generator.model.InputOption;
-import io.swagger.generator.util.ZipUtil;
+import io.swagger.codegen.output.ZipOutput;
 import io.swagger.models.Swagger;
 import io.swagger.models.auth.AuthorizationValue;
 import io.swagger.parser.SwaggerParser;
 import io.swagger.util.Json;
+import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.Deflater;
 
 public class Generator {
     static Logger LOGGER = LoggerFactory.getLogger(Generator.class);
 
+    private static ResultCache resultCache = ResultCache.fromEnvironment();
+
+    // GENERATOR_ZIP_LEVEL, 0 to store files
+    private static int zipLevel = zipLevel();
+
     public static Map<String, CliOption> getOptions(String language) throws ApiException {
         CodegenConfig config = null;
         try {
@@ -71,6 +82,25 @@ public class Generator {
             LOGGER.debug("ignoring empty spec");
             node = null;
         }
+
+        String destPath = null;
+
+        if (opts != null && opts.getOptions() != null) {
+            destPath = opts.getOptions().get("outputFolder");
+        }
+        if (destPath == null) {
+            destPath = language + "-" + type.getTypeName();
+        }
+
+        // an inline spec is looked up before it is parsed, a remote one once it is read
+        String key = null;
+        if (node != null) {
+            key = ResultCache.key(language, type, opts.getOptions(), node, opts.getAuthorizationValue());
+            String cached = getCachedResult(key, destPath);
+            if (cached != null) {
+                return cached;
+            }
+        }
         Swagger swagger;
         if (node == null) {
             if (opts.getSwaggerUrl() != null) {
@@ -98,18 +128,18 @@ public class Generator {
         if (swagger == null) {
             throw new BadRequestException("The swagger specification supplied was not valid");
         }
-
-        String destPath = null;
-
-        if (opts != null && opts.getOptions() != null) {
-            destPath = opts.getOptions().get("outputFolder");
-        }
-        if (destPath == null) {
-            destPath = language + "-" + type.getTypeName();
+        if (key == null) {
+            key = ResultCache.key(language, type, opts.getOptions(), Json.mapper().valueToTree(swagger), null);
+            String cached = getCachedResult(key, destPath);
+            if (cached != null) {
+                return cached;
+            }
         }
 
         ClientOptInput clientOptInput = new ClientOptInput();
         ClientOpts clientOpts = new ClientOpts();
+        // the generated files are zipped as they are rendered, the output folder is not created
+        // unless a generator writes files on its own
         String outputFolder = getTmpFolder().getAbsolutePath() + File.separator + destPath;
         String outputFilename = outputFolder + "-bundle.zip";
 
@@ -134,35 +164,68 @@ public class Generator {
         clientOptInput.setConfig(codegenConfig);
 
         try {
-            List<File> files = new Codegen().opts(clientOptInput).generate();
-            if (files.size() > 0) {
-                List<File> filesToAdd = new ArrayList<File>();
-                LOGGER.debug("adding to " + outputFolder);
-                filesToAdd.add(new File(outputFolder));
-                ZipUtil zip = new ZipUtil();
-                zip.compressFiles(filesToAdd, outputFilename);
-            } else {
-                throw new BadRequestException(
-                        "A target generation was attempted, but no files were created!");
-            }
-            for (File file : files) {
-                try {
-                    file.delete();
-                } catch (Exception e) {
-                    LOGGER.error("unable to delete file " + file.getAbsolutePath());
-                }
-            }
+            ZipOutput zip = new ZipOutput(new FileOutputStream(outputFilename), new File(outputFolder), destPath, zipLevel);
             try {
-                new File(outputFolder).delete();
-            } catch (Exception e) {
-                LOGGER.error("unable to delete output folder " + outputFolder);
+                Codegen codegen = new Codegen();
+                codegen.setOutput(zip);
+                List<File> files = codegen.opts(clientOptInput).generate();
+                if (files.isEmpty()) {
+                    throw new BadRequestException(
+                            "A target generation was attempted, but no files were created!");
+                }
+                addWrittenFiles(zip, new File(outputFolder));
+            } finally {
+                zip.close();
             }
         } catch (Exception e) {
+            new File(outputFilename).delete();
             throw new BadRequestException("Unable to build target: " + e.getMessage());
+        } finally {
+            FileUtils.deleteQuietly(new File(outputFolder));
         }
+        resultCache.put(key, new File(outputFilename));
         return outputFilename;
     }
 
+    /**
+     * @return a copy of the zip generated earlier with the same inputs, or null if it is not cached
+     */
+    private static String getCachedResult(String key, String destPath) {
+        if (!resultCache.contains(key)) {
+            return null;
+        }
+        File folder = getTmpFolder();
+        File zip = new File(folder, destPath + "-bundle.zip");
+        try {
+            if (resultCache.get(key, zip)) {
+                LOGGER.debug("Using cached result " + key);
+                return zip.getAbsolutePath();
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not copy cached result " + key, e);
+        }
+        FileUtils.deleteQuietly(folder);
+        return null;
+    }
+
+    /**
+     * Adds files which the generator wrote to the output folder directly (e.g. the spec written by
+     * the swagger and swagger-yaml generators) to the zip.
+     */
+    private static void addWrittenFiles(ZipOutput zip, File outputFolder) throws IOException {
+        if (!outputFolder.isDirectory()) {
+            return;
+        }
+        for (File file : FileUtils.listFiles(outputFolder, null, true)) {
+            InputStream in = new FileInputStream(file);
+            try {
+                zip.write(file, in);
+            } finally {
+                in.close();
+            }
+        }
+    }
+
     public static InputOption clientOptions(@SuppressWarnings("unused") String language) {
         return null;
     }
@@ -171,6 +234,19 @@ public class Generator {
         return null;
     }
 
+    private static int zipLevel() {
+        String level = System.getenv("GENERATOR_ZIP_LEVEL");
+        if (level == null || level.trim().isEmpty()) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        try {
+            return Math.max(Deflater.NO_COMPRESSION, Math.min(Deflater.BEST_COMPRESSION, Integer.parseInt(level.trim())));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Ignoring invalid GENERATOR_ZIP_LEVEL " + level);
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+    }
+
     protected static File getTmpFolder() {
         try {
             File outputFolder = File.createTempFile("codegen-", "-tmp");
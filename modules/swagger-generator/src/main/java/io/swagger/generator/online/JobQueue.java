@@ -0,0 +1,218 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.exception.ApiException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.model.Job;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs generation jobs in the background, so that generating code from a large spec does not
+ * hold a request thread.
+ * <p>
+ * At most {@code threads} jobs run at a time, and at most {@code languageThreads} for the same
+ * language, so that a burst of jobs for one language does not hold up the others. Jobs which can't
+ * run yet are queued in submission order; when {@code queueSize} jobs are queued, new jobs are
+ * rejected with a {@link TooManyRequestsException}. Finished jobs are forgotten after an hour.
+ */
+public class JobQueue {
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobQueue.class);
+
+    public static final int DEFAULT_QUEUE_SIZE = 100;
+
+    private static final long RETENTION_NANOS = TimeUnit.HOURS.toNanos(1);
+
+    private final int threads;
+    private final int queueSize;
+    private final int languageThreads;
+    private final ExecutorService executor;
+    private final Map<String, Entry> jobs = new ConcurrentHashMap<String, Entry>();
+    // guarded by this
+    private final Deque<Entry> queued = new ArrayDeque<Entry>();
+    private final Map<String, Integer> runningByLanguage = new HashMap<String, Integer>();
+    private int running;
+    private boolean shutdown;
+
+    /**
+     * @param threads maximum number of jobs running at a time
+     * @param queueSize maximum number of jobs waiting to run
+     * @param languageThreads maximum number of jobs for the same language running at a time
+     */
+    public JobQueue(int threads, int queueSize, int languageThreads) {
+        this.threads = threads;
+        this.queueSize = queueSize;
+        this.languageThreads = languageThreads;
+        this.executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "generator-job-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Job queue configured by the {@code GENERATOR_JOB_THREADS} (by default the number of
+     * processors), {@code GENERATOR_JOB_QUEUE_SIZE} (by default {@value #DEFAULT_QUEUE_SIZE})
+     * and {@code GENERATOR_LANGUAGE_JOB_THREADS} (by default half of the job threads) environment
+     * variables.
+     */
+    public static JobQueue fromEnvironment() {
+        int threads = intEnv("GENERATOR_JOB_THREADS", Runtime.getRuntime().availableProcessors());
+        return new JobQueue(threads, intEnv("GENERATOR_JOB_QUEUE_SIZE", DEFAULT_QUEUE_SIZE),
+                intEnv("GENERATOR_LANGUAGE_JOB_THREADS", Math.max(1, threads / 2)));
+    }
+
+    /**
+     * Queue a generation job.
+     *
+     * @param language language generated by the job
+     * @param generation generation returning the download code of the generated files
+     * @return the queued (or already running) job
+     * @throws TooManyRequestsException if the queue is full
+     */
+    public synchronized Job submit(String language, Callable<String> generation) throws TooManyRequestsException {
+        purge();
+        if (queued.size() >= queueSize) {
+            throw new TooManyRequestsException("Too many generation jobs are waiting, please retry later");
+        }
+        Entry entry = new Entry(UUID.randomUUID().toString(), language, generation);
+        jobs.put(entry.id, entry);
+        queued.add(entry);
+        dispatch();
+        return entry.toJob();
+    }
+
+    /**
+     * @param id id of a job
+     * @return current state of the job, or null if there is no such job (any more)
+     */
+    public Job getJob(String id) {
+        Entry entry = jobs.get(id);
+        return entry == null || entry.isExpired() ? null : entry.toJob();
+    }
+
+    /**
+     * Stop running queued jobs and interrupt those running.
+     */
+    public synchronized void shutdown() {
+        shutdown = true;
+        executor.shutdownNow();
+    }
+
+    private void dispatch() {
+        if (shutdown) {
+            return;
+        }
+        for (Iterator<Entry> it = queued.iterator(); running < threads && it.hasNext(); ) {
+            final Entry entry = it.next();
+            Integer languageJobs = runningByLanguage.get(entry.language);
+            if (languageJobs != null && languageJobs >= languageThreads) {
+                continue;
+            }
+            it.remove();
+            runningByLanguage.put(entry.language, languageJobs == null ? 1 : languageJobs + 1);
+            running++;
+            entry.status = Job.Status.RUNNING;
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        entry.run();
+                    } finally {
+                        finished(entry);
+                    }
+                }
+            });
+        }
+    }
+
+    private synchronized void finished(Entry entry) {
+        running--;
+        int languageJobs = runningByLanguage.get(entry.language) - 1;
+        if (languageJobs == 0) {
+            runningByLanguage.remove(entry.language);
+        } else {
+            runningByLanguage.put(entry.language, languageJobs);
+        }
+        dispatch();
+    }
+
+    private void purge() {
+        for (Iterator<Entry> it = jobs.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired()) {
+                it.remove();
+            }
+        }
+    }
+
+    private static int intEnv(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.trim()));
+        } catch (NumberFormatException e) {
+            LOGGER.warn("Ignoring invalid " + name + " " + value);
+            return defaultValue;
+        }
+    }
+
+    private static class Entry {
+        final String id;
+        final String language;
+        final Callable<String> generation;
+        volatile Job.Status status = Job.Status.QUEUED;
+        volatile String code;
+        volatile String message;
+        volatile long finishedNanos;
+
+        Entry(String id, String language, Callable<String> generation) {
+            this.id = id;
+            this.language = language;
+            this.generation = generation;
+        }
+
+        void run() {
+            try {
+                code = generation.call();
+                status = Job.Status.DONE;
+            } catch (ApiException e) {
+                message = e.getMessage();
+                status = Job.Status.FAILED;
+            } catch (Exception e) {
+                LOGGER.error("Generation job " + id + " for " + language + " failed", e);
+                message = "Unable to build target: " + e.getMessage();
+                status = Job.Status.FAILED;
+            } finally {
+                finishedNanos = System.nanoTime();
+            }
+        }
+
+        boolean isExpired() {
+            return finishedNanos != 0 && System.nanoTime() - finishedNanos > RETENTION_NANOS;
+        }
+
+        Job toJob() {
+            return new Job(id, status, code, message);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.google.common.hash.Hashing;
+import io.swagger.codegen.utils.ImplementationVersion;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps generated zips in a directory, so that generating the same spec with the same language and
+ * options again is a matter of copying a file.
+ * <p>
+ * Entries are keyed by a digest of the generator version, the language, the options and the spec
+ * as canonical JSON (with sorted object fields). The least recently used entries are removed when
+ * the zips take more than the maximum size; the index of the entries is kept in memory and rebuilt
+ * from the directory on startup.
+ */
+public class ResultCache {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResultCache.class);
+
+    public static final long DEFAULT_SIZE_MB = 256;
+
+    private static final String EXTENSION = ".zip";
+    private static final String TEMP_EXTENSION = ".tmp";
+
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    private final File directory;
+    private final long maxBytes;
+    // guarded by this, least recently used first
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+    private long bytes;
+
+    /**
+     * @param directory directory of the cached zips, created if needed
+     * @param maxBytes maximum size of the cached zips, 0 to cache nothing
+     */
+    public ResultCache(File directory, long maxBytes) {
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        if (maxBytes > 0) {
+            index();
+        }
+    }
+
+    /**
+     * Result cache configured by the {@code GENERATOR_RESULT_CACHE_DIR} (by default
+     * {@code swagger-generator-results} in the temporary directory) and
+     * {@code GENERATOR_RESULT_CACHE_SIZE} (in megabytes, {@value #DEFAULT_SIZE_MB} by default, 0
+     * to disable the cache) environment variables.
+     */
+    public static ResultCache fromEnvironment() {
+        String dir = System.getenv("GENERATOR_RESULT_CACHE_DIR");
+        File directory = dir == null || dir.trim().isEmpty()
+                ? new File(System.getProperty("java.io.tmpdir"), "swagger-generator-results")
+                : new File(dir.trim());
+        long size = DEFAULT_SIZE_MB;
+        String value = System.getenv("GENERATOR_RESULT_CACHE_SIZE");
+        if (value != null && !value.trim().isEmpty()) {
+            try {
+                size = Math.max(0, Long.parseLong(value.trim()));
+            } catch (NumberFormatException e) {
+                LOGGER.warn("Ignoring invalid GENERATOR_RESULT_CACHE_SIZE " + value);
+            }
+        }
+        return new ResultCache(directory, size * 1024 * 1024);
+    }
+
+    /**
+     * @param language language generated
+     * @param type type of the generated code
+     * @param options generation options, may be null
+     * @param spec spec as JSON
+     * @param auth authorization to read remote references of the spec with, may be null
+     * @return key of the generated zip in the cache
+     */
+    public static String key(String language, Generator.Type type, Map<String, String> options, JsonNode spec,
+            Object auth) {
+        try {
+            return Hashing.sha256().newHasher()
+                    .putString(String.valueOf(ImplementationVersion.read()), StandardCharsets.UTF_8)
+                    .putString(language, StandardCharsets.UTF_8)
+                    .putString(type.getTypeName(), StandardCharsets.UTF_8)
+                    .putBytes(CANONICAL.writeValueAsBytes(options))
+                    .putBytes(CANONICAL.writeValueAsBytes(CANONICAL.treeToValue(spec, Object.class)))
+                    .putBytes(CANONICAL.writeValueAsBytes(auth))
+                    .hash().toString();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write JSON", e);
+        }
+    }
+
+    /**
+     * Copy a cached zip.
+     *
+     * @param key key of the zip
+     * @param target file to copy the zip to
+     * @return true if the zip was cached and copied
+     * @throws IOException if the zip could not be copied to the target
+     */
+    public boolean get(String key, File target) throws IOException {
+        File entry = entry(key);
+        synchronized (this) {
+            if (entries.get(key) == null) {
+                return false;
+            }
+        }
+        try {
+            Files.copy(entry.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            if (entry.isFile()) {
+                throw e;
+            }
+            // evicted in the meantime, or removed from the directory
+            synchronized (this) {
+                remove(key);
+            }
+            return false;
+        }
+        // keeps the order of use when the index is rebuilt
+        entry.setLastModified(System.currentTimeMillis());
+        LOGGER.debug("Copied cached result " + entry + " to " + target);
+        return true;
+    }
+
+    /**
+     * Add a zip to the cache, removing the least recently used zips if it is full.
+     *
+     * @param key key of the zip
+     * @param zip generated zip, which is copied
+     */
+    public void put(String key, File zip) {
+        long size = zip.length();
+        if (size > maxBytes) {
+            return;
+        }
+        File entry = entry(key);
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile("result", TEMP_EXTENSION, directory);
+            try {
+                Files.copy(zip.toPath(), temp.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                Files.move(temp.toPath(), entry.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp.toPath());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Could not cache result in " + entry, e);
+            return;
+        }
+        synchronized (this) {
+            Long previous = entries.put(key, size);
+            bytes += size - (previous == null ? 0 : previous);
+            evict();
+        }
+    }
+
+    /**
+     * @param key key of a zip
+     * @return true if the zip is cached
+     */
+    public synchronized boolean contains(String key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * @return number of cached zips
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void index() {
+        File[] files = directory.listFiles(new FileFilter() {
+            @Override
+            public boolean accept(File file) {
+                return file.isFile();
+            }
+        });
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(File a, File b) {
+                return Long.compare(a.lastModified(), b.lastModified());
+            }
+        });
+        synchronized (this) {
+            for (File file : files) {
+                String name = file.getName();
+                if (name.endsWith(EXTENSION)) {
+                    entries.put(name.substring(0, name.length() - EXTENSION.length()), file.length());
+                    bytes += file.length();
+                } else if (name.endsWith(TEMP_EXTENSION)) {
+                    // left over by an interrupted put
+                    FileUtils.deleteQuietly(file);
+                }
+            }
+            evict();
+        }
+    }
+
+    private void evict() {
+        for (Iterator<Map.Entry<String, Long>> it = entries.entrySet().iterator(); bytes > maxBytes && it.hasNext(); ) {
+            Map.Entry<String, Long> eldest = it.next();
+            bytes -= eldest.getValue();
+            it.remove();
+            FileUtils.deleteQuietly(entry(eldest.getKey()));
+        }
+    }
+
+    private void remove(String key) {
+        Long size = entries.remove(key);
+        if (size != null) {
+            bytes -= size;
+        }
+    }
+
+    private File entry(String key) {
+        return new File(directory, key + EXTENSION);
+    }
+}
@@ -3,6 +3,7 @@ package io.swagger.generator.resource;
 import io.swagger.generator.exception.ApiException;
 import io.swagger.generator.exception.BadRequestException;
 import io.swagger.generator.exception.NotFoundException;
+import io.swagger.generator.exception.TooManyRequestsException;
 import io.swagger.generator.model.ApiResponse;
 import io.swagger.generator.util.ValidationException;
 
@@ -28,6 +29,10 @@ public class ExceptionWriter implements ExceptionMapper<Exception> {
         } else if (exception instanceof NotFoundException) {
             return Response.status(Status.NOT_FOUND)
                     .entity(new ApiResponse(ApiResponse.ERROR, exception.getMessage())).build();
+        } else if (exception instanceof TooManyRequestsException) {
+            return Response.status(TooManyRequestsException.SC_TOO_MANY_REQUESTS)
+                    .header("Retry-After", 1)
+                    .entity(new ApiResponse(ApiResponse.TOO_BUSY, exception.getMessage())).build();
         } else if (exception instanceof BadRequestException) {
             return Response.status(Status.BAD_REQUEST)
                     .entity(new ApiResponse(ApiResponse.ERROR, exception.getMessage())).build();
@@ -8,11 +8,16 @@ import io.swagger.codegen.Codegen;
 import io.swagger.codegen.CodegenConfig;
 import io.swagger.codegen.CodegenType;
 import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.NotFoundException;
+import io.swagger.generator.model.DownloadMetrics;
 import io.swagger.generator.model.Generated;
 import io.swagger.generator.model.GeneratorInput;
+import io.swagger.generator.model.Job;
 import io.swagger.generator.model.ResponseCode;
+import io.swagger.generator.online.DownloadRegistry;
 import io.swagger.generator.online.Generator;
-import org.apache.commons.io.FileUtils;
+import io.swagger.generator.online.JobQueue;
+import io.swagger.generator.util.ByteRange;
 import org.apache.commons.lang3.StringUtils;
 
 import javax.servlet.http.HttpServletRequest;
@@ -20,8 +25,18 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.EOFException;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.Callable;
 
 @Path("/gen")
 @Api(value = "/gen", description = "Resource for generating swagger components")
@@ -29,7 +44,8 @@ import java.util.*;
 public class SwaggerResource {
     static List<String> clients = new ArrayList<String>();
     static List<String> servers = new ArrayList<String>();
-    private static Map<String, Generated> fileMap = new HashMap<String, Generated>();
+    private static DownloadRegistry downloads = DownloadRegistry.fromEnvironment();
+    private static JobQueue jobQueue = JobQueue.fromEnvironment();
 
     static {
         List<CodegenConfig> extensions = Codegen.getExtensions();
@@ -53,29 +69,72 @@ public class SwaggerResource {
             value = "Downloads a pre-generated file",
             notes = "A valid `fileId` is generated by the `/clients/{language}` or `/servers/{language}` POST "
                     + "operations.  The fileId code can be used just once, after which a new `fileId` will need to "
-                    + "be requested.", response = String.class, tags = {"clients", "servers"})
-    public Response downloadFile(@PathParam("fileId") String fileId) throws Exception {
-        Generated g = fileMap.get(fileId);
-        System.out.println("looking for fileId " + fileId);
-        System.out.println("got filename " + g.getFilename());
-        if (g.getFilename() != null) {
-            File file = new java.io.File(g.getFilename());
-            byte[] bytes = org.apache.commons.io.FileUtils.readFileToByteArray(file);
-
-            try {
-                FileUtils.deleteDirectory(file.getParentFile());
-            } catch (Exception e) {
-                System.out.println("failed to delete file " + file.getAbsolutePath());
-            }
-
-            return Response
-                    .ok(bytes, "application/zip")
-                    .header("Content-Disposition",
-                            "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"")
-                    .header("Accept-Range", "bytes").header("Content-Length", bytes.length).build();
-        } else {
+                    + "be requested. Ranges of the file can be requested with a `Range` header, it is then kept for "
+                    + "further requests. Files which are not downloaded in time (an hour by default) are removed.",
+            response = String.class, tags = {"clients", "servers"})
+    public Response downloadFile(@PathParam("fileId") String fileId, @HeaderParam("Range") String range)
+            throws Exception {
+        Generated g = downloads.get(fileId);
+        if (g == null) {
             return Response.status(404).build();
         }
+        // opened right away, so that the download goes on if the file is removed in the meantime
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(new File(g.getFilename()).toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return Response.status(404).build();
+        }
+        long length = channel.size();
+        String disposition = "attachment; filename=\"" + g.getFriendlyName() + "-generated.zip\"";
+        ByteRange byteRange = ByteRange.parse(range, length);
+        if (byteRange == null) {
+            return Response
+                    .ok(stream(channel, 0, length, fileId), "application/zip")
+                    .header("Content-Disposition", disposition)
+                    .header("Accept-Ranges", "bytes").header("Content-Length", length).build();
+        }
+        if (!byteRange.isSatisfiable()) {
+            channel.close();
+            return Response.status(416).header("Content-Range", byteRange.contentRange(length)).build();
+        }
+        return Response
+                .status(206)
+                .entity(stream(channel, byteRange.getStart(), byteRange.getLength(), null))
+                .type("application/zip")
+                .header("Content-Disposition", disposition)
+                .header("Content-Range", byteRange.contentRange(length))
+                .header("Accept-Ranges", "bytes").header("Content-Length", byteRange.getLength()).build();
+    }
+
+    /**
+     * Streams part of a file without reading it in memory.
+     *
+     * @param channel open file, closed once it is sent
+     * @param fileId download code of the file, to remove it once it is sent, or null to keep it
+     */
+    private static StreamingOutput stream(final FileChannel channel, final long position, final long count,
+            final String fileId) {
+        return new StreamingOutput() {
+            @Override
+            public void write(OutputStream output) throws IOException {
+                try {
+                    WritableByteChannel target = Channels.newChannel(output);
+                    for (long sent = 0; sent < count; ) {
+                        long transferred = channel.transferTo(position + sent, count - sent, target);
+                        if (transferred <= 0) {
+                            throw new EOFException("Unexpected end of download " + fileId);
+                        }
+                        sent += transferred;
+                    }
+                } finally {
+                    channel.close();
+                }
+                if (fileId != null) {
+                    downloads.downloaded(fileId);
+                }
+            }
+        };
     }
 
     @POST
@@ -91,26 +150,10 @@ public class SwaggerResource {
             throws Exception {
 
         String filename = Generator.generateClient(language, opts);
-        String host = System.getenv("GENERATOR_HOST");
-
-        if (StringUtils.isBlank(host)) {
-            String scheme = request.getHeader("X-SSL");
-            String port = "";
-            if ("1".equals(scheme)) {
-                scheme = "https";
-            } else {
-                scheme = request.getScheme();
-                port = ":" + request.getServerPort();
-            }
-            host = scheme + "://" + request.getServerName() + port;
-        }
+        String host = getHost(request);
 
         if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(language + "-client");
-            fileMap.put(code, g);
+            String code = downloads.register(filename, language + "-client");
             System.out.println(code + ", " + filename);
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
@@ -197,11 +240,7 @@ public class SwaggerResource {
                         + request.getServerPort();
 
         if (filename != null) {
-            String code = String.valueOf(UUID.randomUUID().toString());
-            Generated g = new Generated();
-            g.setFilename(filename);
-            g.setFriendlyName(framework + "-server");
-            fileMap.put(code, g);
+            String code = downloads.register(filename, framework + "-server");
             System.out.println(code + ", " + filename);
             String link = host + "/api/gen/download/" + code;
             return Response.ok().entity(new ResponseCode(code, link)).build();
@@ -209,4 +248,108 @@ public class SwaggerResource {
             return Response.status(500).build();
         }
     }
+
+    @POST
+    @Path("/jobs/clients/{language}")
+    @ApiOperation(
+            value = "Starts generating a client library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options, and returns "
+                    + "right away with a job whose status is available at `/jobs/{jobId}`. Responds with 429 when "
+                    + "too many jobs are waiting.",
+            response = Job.class, code = 202, tags = "clients")
+    public Response submitClientJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The target language for the client library", required = true) @PathParam("language") final String language,
+            @ApiParam(value = "Configuration for building the client library", required = true) final GeneratorInput opts)
+            throws Exception {
+        return submitJob(request, language, opts, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return downloads.register(Generator.generateClient(language, opts), language + "-client");
+            }
+        });
+    }
+
+    @POST
+    @Path("/jobs/servers/{framework}")
+    @ApiOperation(
+            value = "Starts generating a server library",
+            notes = "Accepts a `GeneratorInput` options map for spec location and generation options, and returns "
+                    + "right away with a job whose status is available at `/jobs/{jobId}`. Responds with 429 when "
+                    + "too many jobs are waiting.",
+            response = Job.class, code = 202, tags = "servers")
+    public Response submitServerJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "framework", required = true) @PathParam("framework") final String framework,
+            @ApiParam(value = "parameters", required = true) final GeneratorInput opts) throws Exception {
+        return submitJob(request, framework, opts, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return downloads.register(Generator.generateServer(framework, opts), framework + "-server");
+            }
+        });
+    }
+
+    @GET
+    @Path("/jobs/{jobId}")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Returns the status of a generation job",
+            notes = "Once the job is done, the generated files can be downloaded from its `link`. Jobs are "
+                    + "forgotten an hour after they finished.",
+            response = Job.class, tags = {"clients", "servers"})
+    public Response getJob(
+            @Context HttpServletRequest request,
+            @ApiParam(value = "The job id", required = true) @PathParam("jobId") String jobId) throws Exception {
+        Job job = jobQueue.getJob(jobId);
+        if (job == null) {
+            throw new NotFoundException("Job " + jobId + " not found");
+        }
+        if (job.getCode() != null) {
+            job.setLink(getHost(request) + "/api/gen/download/" + job.getCode());
+        }
+        return Response.ok().entity(job).build();
+    }
+
+    @GET
+    @Path("/downloads/metrics")
+    @Produces({MediaType.APPLICATION_JSON})
+    @ApiOperation(
+            value = "Returns metrics of the generated files waiting to be downloaded",
+            notes = "Generated files are removed once downloaded, when they are not downloaded in time, or when "
+                    + "newer files need room.",
+            response = DownloadMetrics.class, tags = {"clients", "servers"})
+    public Response getDownloadMetrics() {
+        return Response.ok().entity(downloads.getMetrics()).build();
+    }
+
+    private static Response submitJob(HttpServletRequest request, String language, GeneratorInput opts,
+            Callable<String> generation) throws Exception {
+        if (opts == null) {
+            throw new BadRequestException("No options were supplied");
+        }
+        // rejects unknown languages before queueing
+        Generator.getOptions(language);
+        Job job = jobQueue.submit(language, generation);
+        return Response.accepted(job)
+                .location(URI.create(getHost(request) + "/api/gen/jobs/" + job.getId()))
+                .build();
+    }
+
+    private static String getHost(HttpServletRequest request) {
+        String host = System.getenv("GENERATOR_HOST");
+
+        if (StringUtils.isBlank(host)) {
+            String scheme = request.getHeader("X-SSL");
+            String port = "";
+            if ("1".equals(scheme)) {
+                scheme = "https";
+            } else {
+                scheme = request.getScheme();
+                port = ":" + request.getServerPort();
+            }
+            host = scheme + "://" + request.getServerName() + port;
+        }
+        return host;
+    }
 }
@@ -0,0 +1,88 @@
+package io.swagger.generator.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Single byte range requested by a {@code Range} header, e.g. {@code bytes=500-999},
+ * {@code bytes=500-} or {@code bytes=-500} (the last 500 bytes).
+ */
+public class ByteRange {
+    private static final Pattern RANGE = Pattern.compile("bytes\\s*=\\s*(\\d*)\\s*-\\s*(\\d*)\\s*");
+
+    private static final ByteRange NOT_SATISFIABLE = new ByteRange(0, -1);
+
+    private final long start;
+    private final long end;
+
+    private ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * @param header value of the {@code Range} header, may be null
+     * @param length length of the requested file
+     * @return the requested range, limited to the file, or null if the whole file should be sent
+     * (no, multiple or malformed ranges)
+     */
+    public static ByteRange parse(String header, long length) {
+        if (header == null) {
+            return null;
+        }
+        Matcher range = RANGE.matcher(header);
+        if (!range.matches() || range.group(1).isEmpty() && range.group(2).isEmpty()) {
+            return null;
+        }
+        long first;
+        long last;
+        try {
+            first = range.group(1).isEmpty() ? -1 : Long.parseLong(range.group(1));
+            last = range.group(2).isEmpty() ? -1 : Long.parseLong(range.group(2));
+        } catch (NumberFormatException e) {
+            // too many digits
+            return null;
+        }
+        if (first < 0) {
+            // suffix of the file
+            return last == 0 || length == 0 ? NOT_SATISFIABLE : new ByteRange(Math.max(0, length - last), length - 1);
+        }
+        if (last >= 0 && last < first) {
+            return null;
+        }
+        if (first >= length) {
+            return NOT_SATISFIABLE;
+        }
+        return new ByteRange(first, last < 0 ? length - 1 : Math.min(last, length - 1));
+    }
+
+    /**
+     * @return false if the range is outside the file, which is answered with a 416 status
+     */
+    public boolean isSatisfiable() {
+        return end >= start;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    /**
+     * @return last byte of the range, inclusive
+     */
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @param length length of the file
+     * @return value of the {@code Content-Range} header of the response
+     */
+    public String contentRange(long length) {
+        return isSatisfiable() ? "bytes " + start + "-" + end + "/" + length : "bytes */" + length;
+    }
+}
@@ -0,0 +1,157 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.model.DownloadMetrics;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class DownloadRegistryTest {
+
+    private File folder;
+    private long now;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("downloads").toFile();
+        now = 0;
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileUtils.deleteQuietly(folder);
+    }
+
+    @Test
+    public void testDownloadedFileIsRemoved() throws Exception {
+        DownloadRegistry registry = registry(10, 100);
+        File zip = zip("a", 10);
+        String code = registry.register(zip.getPath(), "java-client");
+        assertEquals(registry.get(code).getFriendlyName(), "java-client");
+        assertMetrics(registry.getMetrics(), 1, 10, 0, 0);
+
+        registry.downloaded(code);
+        assertNull(registry.get(code));
+        assertFalse(zip.getParentFile().exists());
+        assertMetrics(registry.getMetrics(), 0, 0, 0, 0);
+        assertEquals(registry.getMetrics().getDownloaded(), 1);
+    }
+
+    @Test
+    public void testFilesExpire() throws Exception {
+        DownloadRegistry registry = registry(10, 100);
+        File first = zip("a", 10);
+        String firstCode = registry.register(first.getPath(), "a");
+        now += TimeUnit.MINUTES.toNanos(30);
+        File second = zip("b", 10);
+        String secondCode = registry.register(second.getPath(), "b");
+
+        now += TimeUnit.MINUTES.toNanos(31);
+        assertNull(registry.get(firstCode));
+        assertFalse(first.getParentFile().exists());
+        assertNotNull(registry.get(secondCode));
+        assertMetrics(registry.getMetrics(), 1, 10, 1, 0);
+    }
+
+    @Test
+    public void testOldestFilesAreEvicted() throws Exception {
+        DownloadRegistry registry = registry(2, 25);
+        File a = zip("a", 10);
+        String codeA = registry.register(a.getPath(), "a");
+        String codeB = registry.register(zip("b", 10).getPath(), "b");
+        // too many files
+        String codeC = registry.register(zip("c", 1).getPath(), "c");
+        assertNull(registry.get(codeA));
+        assertFalse(a.exists());
+        assertNotNull(registry.get(codeB));
+        assertMetrics(registry.getMetrics(), 2, 11, 0, 1);
+
+        // too large
+        String codeD = registry.register(zip("d", 20).getPath(), "d");
+        assertNull(registry.get(codeB));
+        assertNotNull(registry.get(codeD));
+        assertMetrics(registry.getMetrics(), 2, 21, 0, 2);
+
+        // larger than the registry, kept alone
+        String codeE = registry.register(zip("e", 30).getPath(), "e");
+        assertNull(registry.get(codeC));
+        assertNull(registry.get(codeD));
+        assertNotNull(registry.get(codeE));
+        assertMetrics(registry.getMetrics(), 1, 30, 0, 4);
+    }
+
+    @Test
+    public void testConcurrentRegistrations() throws Exception {
+        final DownloadRegistry registry = new DownloadRegistry(1, TimeUnit.HOURS, 50, Long.MAX_VALUE);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 200; i++) {
+                final File zip = zip("zip" + i, 10);
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        String code = registry.register(zip.getPath(), "zip");
+                        if (registry.get(code) != null) {
+                            registry.downloaded(code);
+                        }
+                        return !zip.exists();
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        DownloadMetrics metrics = registry.getMetrics();
+        assertMetrics(metrics, 0, 0, 0, metrics.getEvicted());
+        assertEquals(metrics.getRegistered(), 200);
+        assertEquals(metrics.getDownloaded() + metrics.getEvicted(), 200);
+    }
+
+    private DownloadRegistry registry(int maxEntries, long maxBytes) {
+        return new DownloadRegistry(1, TimeUnit.HOURS, maxEntries, maxBytes) {
+            @Override
+            protected long nanoTime() {
+                return now;
+            }
+        };
+    }
+
+    private File zip(String name, int size) throws Exception {
+        // generated zips each have their own folder
+        File zip = new File(new File(folder, name), name + ".zip");
+        StringBuilder content = new StringBuilder();
+        while (content.length() < size) {
+            content.append('x');
+        }
+        FileUtils.writeStringToFile(zip, content.toString(), UTF_8);
+        return zip;
+    }
+
+    private static void assertMetrics(DownloadMetrics metrics, int entries, long bytes, long expired, long evicted) {
+        assertEquals(metrics.getEntries(), entries);
+        assertEquals(metrics.getBytes(), bytes);
+        assertEquals(metrics.getExpired(), expired);
+        assertEquals(metrics.getEvicted(), evicted);
+    }
+}
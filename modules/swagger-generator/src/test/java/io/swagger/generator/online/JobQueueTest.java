@@ -0,0 +1,125 @@
+package io.swagger.generator.online;
+
+import io.swagger.generator.exception.BadRequestException;
+import io.swagger.generator.exception.TooManyRequestsException;
+import io.swagger.generator.model.Job;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+public class JobQueueTest {
+
+    private JobQueue queue;
+    private CountDownLatch release;
+
+    @BeforeMethod
+    public void setUp() {
+        // two jobs at a time, one per language, two waiting
+        queue = new JobQueue(2, 2, 1);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        release.countDown();
+        queue.shutdown();
+    }
+
+    @Test
+    public void testJobIsDoneWithItsCode() throws Exception {
+        Job job = queue.submit("java", blocked("code"));
+        assertEquals(job.getStatus(), Job.Status.RUNNING);
+        assertEquals(queue.getJob(job.getId()).getStatus(), Job.Status.RUNNING);
+
+        release.countDown();
+        Job done = await(job);
+        assertEquals(done.getStatus(), Job.Status.DONE);
+        assertEquals(done.getCode(), "code");
+        assertNull(done.getMessage());
+        assertNull(queue.getJob("unknown"));
+    }
+
+    @Test
+    public void testJobsOfTheSameLanguageWait() throws Exception {
+        Job java = queue.submit("java", blocked("java1"));
+        Job otherJava = queue.submit("java", blocked("java2"));
+        Job python = queue.submit("python", blocked("python"));
+        assertEquals(java.getStatus(), Job.Status.RUNNING);
+        assertEquals(otherJava.getStatus(), Job.Status.QUEUED);
+        assertEquals(python.getStatus(), Job.Status.RUNNING);
+
+        release.countDown();
+        assertEquals(await(otherJava).getCode(), "java2");
+    }
+
+    @Test
+    public void testFullQueueIsRejected() throws Exception {
+        // the running job does not count
+        queue.submit("java", blocked("1"));
+        queue.submit("java", blocked("2"));
+        Job last = queue.submit("java", blocked("3"));
+        try {
+            queue.submit("python", blocked("4"));
+            fail("queue should be full");
+        } catch (TooManyRequestsException e) {
+            assertEquals(e.getCode(), TooManyRequestsException.SC_TOO_MANY_REQUESTS);
+        }
+
+        release.countDown();
+        await(last);
+        queue.submit("python", blocked("5"));
+    }
+
+    @Test
+    public void testFailedJobHasMessage() throws Exception {
+        Job failed = await(queue.submit("java", new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new BadRequestException("No swagger specification was supplied");
+            }
+        }));
+        assertEquals(failed.getStatus(), Job.Status.FAILED);
+        assertEquals(failed.getMessage(), "No swagger specification was supplied");
+        assertNull(failed.getCode());
+
+        failed = await(queue.submit("java", new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                throw new IllegalStateException("boom");
+            }
+        }));
+        assertEquals(failed.getMessage(), "Unable to build target: boom");
+    }
+
+    private Callable<String> blocked(final String code) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                assertTrue(release.await(30, TimeUnit.SECONDS));
+                return code;
+            }
+        };
+    }
+
+    private Job await(Job job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (System.nanoTime() < deadline) {
+            Job current = queue.getJob(job.getId());
+            if (current.getStatus() == Job.Status.DONE || current.getStatus() == Job.Status.FAILED) {
+                return current;
+            }
+            Thread.sleep(10);
+        }
+        fail("job " + job.getId() + " did not finish");
+        return null;
+    }
+}
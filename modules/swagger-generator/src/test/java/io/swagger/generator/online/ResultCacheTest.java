@@ -0,0 +1,107 @@
+package io.swagger.generator.online;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertTrue;
+
+public class ResultCacheTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private File folder;
+
+    @BeforeMethod
+    public void setUp() throws Exception {
+        folder = Files.createTempDirectory("result-cache").toFile();
+    }
+
+    @AfterMethod
+    public void tearDown() {
+        FileUtils.deleteQuietly(folder);
+    }
+
+    @Test
+    public void testKeyIgnoresFieldOrder() throws Exception {
+        Map<String, String> options = new LinkedHashMap<String, String>();
+        options.put("packageName", "pet_store");
+        options.put("packageVersion", "1.0.0");
+        Map<String, String> reordered = new LinkedHashMap<String, String>();
+        reordered.put("packageVersion", "1.0.0");
+        reordered.put("packageName", "pet_store");
+        String key = ResultCache.key("python", Generator.Type.CLIENT, options,
+                mapper.readTree("{\"swagger\": \"2.0\", \"info\": {\"title\": \"Pets\", \"version\": \"1\"}}"), null);
+
+        assertEquals(ResultCache.key("python", Generator.Type.CLIENT, reordered,
+                mapper.readTree("{\"info\": {\"version\": \"1\", \"title\": \"Pets\"}, \"swagger\": \"2.0\"}"), null), key);
+        assertNotEquals(ResultCache.key("python", Generator.Type.SERVER, options,
+                mapper.readTree("{\"swagger\": \"2.0\", \"info\": {\"title\": \"Pets\", \"version\": \"1\"}}"), null), key);
+        assertNotEquals(ResultCache.key("python", Generator.Type.CLIENT, Collections.singletonMap("packageName", "pet_store"),
+                mapper.readTree("{\"swagger\": \"2.0\", \"info\": {\"title\": \"Pets\", \"version\": \"1\"}}"), null), key);
+        assertNotEquals(ResultCache.key("python", Generator.Type.CLIENT, options,
+                mapper.readTree("{\"swagger\": \"2.0\", \"info\": {\"title\": \"Pets\", \"version\": \"2\"}}"), null), key);
+    }
+
+    @Test
+    public void testCachedResultIsCopied() throws Exception {
+        File directory = new File(folder, "cache");
+        ResultCache cache = new ResultCache(directory, 1024);
+        File target = new File(folder, "target.zip");
+        assertFalse(cache.get("a", target));
+
+        cache.put("a", zip("a", 10));
+        assertTrue(cache.contains("a"));
+        assertTrue(cache.get("a", target));
+        assertEquals(FileUtils.readFileToString(target, UTF_8), content("a", 10));
+
+        // the index is rebuilt from the directory
+        assertTrue(new ResultCache(directory, 1024).contains("a"));
+        assertFalse(new ResultCache(directory, 0).contains("a"));
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultsAreEvicted() throws Exception {
+        File directory = new File(folder, "cache");
+        ResultCache cache = new ResultCache(directory, 100);
+        cache.put("a", zip("a", 40));
+        cache.put("b", zip("b", 40));
+        assertTrue(cache.get("a", new File(folder, "target.zip")));
+
+        cache.put("c", zip("c", 40));
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertFalse(new File(directory, "b.zip").exists());
+        assertTrue(cache.contains("c"));
+
+        // too large to be cached
+        cache.put("d", zip("d", 101));
+        assertFalse(cache.contains("d"));
+        assertEquals(cache.size(), 2);
+    }
+
+    private File zip(String name, int size) throws Exception {
+        File zip = new File(folder, name + ".zip");
+        FileUtils.writeStringToFile(zip, content(name, size), UTF_8);
+        return zip;
+    }
+
+    private static String content(String name, int size) {
+        StringBuilder content = new StringBuilder();
+        while (content.length() < size) {
+            content.append(name);
+        }
+        return content.toString();
+    }
+}
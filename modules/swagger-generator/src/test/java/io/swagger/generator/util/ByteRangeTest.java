@@ -0,0 +1,51 @@
+package io.swagger.generator.util;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+public class ByteRangeTest {
+
+    @Test
+    public void testRanges() {
+        ByteRange range = ByteRange.parse("bytes=100-199", 1000);
+        assertEquals(range.getStart(), 100);
+        assertEquals(range.getEnd(), 199);
+        assertEquals(range.getLength(), 100);
+        assertEquals(range.contentRange(1000), "bytes 100-199/1000");
+
+        range = ByteRange.parse("bytes=900-", 1000);
+        assertEquals(range.contentRange(1000), "bytes 900-999/1000");
+
+        // limited to the file
+        range = ByteRange.parse("bytes=900-2000", 1000);
+        assertEquals(range.contentRange(1000), "bytes 900-999/1000");
+
+        range = ByteRange.parse("bytes=-100", 1000);
+        assertEquals(range.contentRange(1000), "bytes 900-999/1000");
+        range = ByteRange.parse("bytes=-2000", 1000);
+        assertEquals(range.contentRange(1000), "bytes 0-999/1000");
+    }
+
+    @Test
+    public void testWholeFile() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("bytes=-", 1000));
+        assertNull(ByteRange.parse("bytes=0-10,20-30", 1000));
+        assertNull(ByteRange.parse("items=0-10", 1000));
+        assertNull(ByteRange.parse("bytes=20-10", 1000));
+        assertNull(ByteRange.parse("bytes=99999999999999999999-", 1000));
+    }
+
+    @Test
+    public void testNotSatisfiable() {
+        ByteRange range = ByteRange.parse("bytes=1000-", 1000);
+        assertFalse(range.isSatisfiable());
+        assertEquals(range.contentRange(1000), "bytes */1000");
+        assertFalse(ByteRange.parse("bytes=-0", 1000).isSatisfiable());
+        assertTrue(ByteRange.parse("bytes=999-", 1000).isSatisfiable());
+    }
+}